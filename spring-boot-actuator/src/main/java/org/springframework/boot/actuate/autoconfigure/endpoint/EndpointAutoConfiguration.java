@@ -17,14 +17,21 @@
 package org.springframework.boot.actuate.autoconfigure.endpoint;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import liquibase.integration.spring.SpringLiquibase;
 import org.flywaydb.core.Flyway;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.audit.AuditEventRepository;
+import org.springframework.boot.actuate.autoconfigure.health.ConcurrentHealthIndicatorProperties;
+import org.springframework.boot.actuate.autoconfigure.health.SnapshotHealthIndicatorProperties;
 import org.springframework.boot.actuate.endpoint.AuditEventsEndpoint;
 import org.springframework.boot.actuate.endpoint.AutoConfigurationReportEndpoint;
 import org.springframework.boot.actuate.endpoint.BeansEndpoint;
@@ -39,6 +46,7 @@ import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.endpoint.RequestMappingEndpoint;
 import org.springframework.boot.actuate.endpoint.ShutdownEndpoint;
+import org.springframework.boot.actuate.endpoint.StartupEndpoint;
 import org.springframework.boot.actuate.endpoint.StatusEndpoint;
 import org.springframework.boot.actuate.endpoint.ThreadDumpEndpoint;
 import org.springframework.boot.actuate.endpoint.TraceEndpoint;
@@ -46,8 +54,9 @@ import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.health.HealthIndicatorFactory;
 import org.springframework.boot.actuate.health.OrderedHealthAggregator;
+import org.springframework.boot.actuate.health.SnapshotHealthIndicator;
 import org.springframework.boot.actuate.info.InfoContributor;
-import org.springframework.boot.actuate.trace.InMemoryTraceRepository;
+import org.springframework.boot.actuate.trace.RingBufferTraceRepository;
 import org.springframework.boot.actuate.trace.TraceRepository;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -58,12 +67,16 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.SearchStrategy;
 import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.startup.StartupTimeline;
 import org.springframework.boot.endpoint.Endpoint;
 import org.springframework.boot.logging.LoggingSystem;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.servlet.handler.AbstractHandlerMethodMapping;
 
 /**
@@ -131,7 +144,7 @@ public class EndpointAutoConfiguration {
 	@ConditionalOnEnabledEndpoint
 	public TraceEndpoint traceEndpoint(ObjectProvider<TraceRepository> traceRepository) {
 		return new TraceEndpoint(
-				traceRepository.getIfAvailable(() -> new InMemoryTraceRepository()));
+				traceRepository.getIfAvailable(() -> new RingBufferTraceRepository()));
 	}
 
 	@Bean
@@ -173,16 +186,86 @@ public class EndpointAutoConfiguration {
 		return new AuditEventsEndpoint(auditEventRepository);
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnBean(StartupTimeline.class)
+	@ConditionalOnEnabledEndpoint
+	public StartupEndpoint startupEndpoint(StartupTimeline startupTimeline) {
+		return new StartupEndpoint(startupTimeline);
+	}
+
 	@Configuration
-	static class HealthEndpointConfiguration {
+	@EnableConfigurationProperties({ ConcurrentHealthIndicatorProperties.class,
+			SnapshotHealthIndicatorProperties.class })
+	static class HealthEndpointConfiguration implements DisposableBean {
+
+		private final ThreadPoolExecutor executor;
+
+		private final ThreadPoolTaskScheduler scheduler;
 
 		private final HealthIndicator healthIndicator;
 
 		HealthEndpointConfiguration(ObjectProvider<HealthAggregator> healthAggregator,
-				ObjectProvider<Map<String, HealthIndicator>> healthIndicators) {
-			this.healthIndicator = new HealthIndicatorFactory().createHealthIndicator(
+				ObjectProvider<Map<String, HealthIndicator>> healthIndicators,
+				ConcurrentHealthIndicatorProperties concurrentProperties,
+				SnapshotHealthIndicatorProperties snapshotProperties) {
+			this.executor = (concurrentProperties.isEnabled()
+					? createExecutor(concurrentProperties) : null);
+			this.scheduler = (snapshotProperties.isEnabled()
+					? createScheduler(snapshotProperties) : null);
+			Map<String, HealthIndicator> indicators = healthIndicators
+					.getIfAvailable(Collections::emptyMap);
+			if (this.scheduler != null) {
+				indicators = createSnapshots(indicators, snapshotProperties);
+			}
+			HealthIndicatorFactory factory = new HealthIndicatorFactory(this.executor,
+					concurrentProperties.getIndicatorTimeout(),
+					concurrentProperties.getTimeout());
+			this.healthIndicator = factory.createHealthIndicator(
 					healthAggregator.getIfAvailable(OrderedHealthAggregator::new),
-					healthIndicators.getIfAvailable(Collections::emptyMap));
+					indicators);
+		}
+
+		private ThreadPoolExecutor createExecutor(
+				ConcurrentHealthIndicatorProperties properties) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+					"health-");
+			threadFactory.setDaemon(true);
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(
+					properties.getPoolSize(), properties.getPoolSize(), 60,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(properties.getQueueCapacity()),
+					threadFactory);
+			executor.allowCoreThreadTimeOut(true);
+			return executor;
+		}
+
+		private ThreadPoolTaskScheduler createScheduler(
+				SnapshotHealthIndicatorProperties properties) {
+			ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+			scheduler.setPoolSize(properties.getPoolSize());
+			scheduler.setThreadNamePrefix("health-snapshot-");
+			scheduler.setDaemon(true);
+			scheduler.initialize();
+			return scheduler;
+		}
+
+		private Map<String, HealthIndicator> createSnapshots(
+				Map<String, HealthIndicator> indicators,
+				SnapshotHealthIndicatorProperties properties) {
+			Map<String, HealthIndicator> snapshots = new LinkedHashMap<>();
+			indicators.forEach((beanName, indicator) -> {
+				SnapshotHealthIndicator snapshot = new SnapshotHealthIndicator(indicator,
+						properties.determineInterval(getName(beanName)));
+				snapshot.start(this.scheduler);
+				snapshots.put(beanName, snapshot);
+			});
+			return snapshots;
+		}
+
+		private String getName(String beanName) {
+			int index = beanName.toLowerCase().indexOf("healthindicator");
+			return (index > 0 ? beanName.substring(0, index) : beanName);
 		}
 
 		@Bean
@@ -199,6 +282,16 @@ public class EndpointAutoConfiguration {
 			return new StatusEndpoint(this.healthIndicator);
 		}
 
+		@Override
+		public void destroy() {
+			if (this.executor != null) {
+				this.executor.shutdownNow();
+			}
+			if (this.scheduler != null) {
+				this.scheduler.shutdown();
+			}
+		}
+
 	}
 
 	@Configuration
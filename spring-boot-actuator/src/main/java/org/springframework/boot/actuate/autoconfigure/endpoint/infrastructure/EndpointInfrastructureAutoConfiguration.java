@@ -95,14 +95,19 @@ public class EndpointInfrastructureAutoConfiguration {
 				operationParameterMapper, cachingConfigurationFactory);
 	}
 
+	@Bean
+	public EndpointProvider<JmxEndpointOperation> jmxEndpointProvider(
+			JmxAnnotationEndpointDiscoverer endpointDiscoverer) {
+		return new EndpointProvider<>(this.applicationContext.getEnvironment(),
+				endpointDiscoverer, EndpointExposure.JMX);
+	}
+
 	@ConditionalOnSingleCandidate(MBeanServer.class)
 	@Bean
 	public JmxEndpointExporter jmxMBeanExporter(JmxEndpointExporterProperties properties,
-			MBeanServer mBeanServer, JmxAnnotationEndpointDiscoverer endpointDiscoverer,
+			MBeanServer mBeanServer,
+			EndpointProvider<JmxEndpointOperation> endpointProvider,
 			ObjectProvider<ObjectMapper> objectMapper) {
-		EndpointProvider<JmxEndpointOperation> endpointProvider = new EndpointProvider<>(
-				this.applicationContext.getEnvironment(), endpointDiscoverer,
-				EndpointExposure.JMX);
 		EndpointMBeanRegistrar endpointMBeanRegistrar = new EndpointMBeanRegistrar(
 				mBeanServer, new DefaultEndpointObjectNameFactory(properties, mBeanServer,
 						ObjectUtils.getIdentityHexString(this.applicationContext)));
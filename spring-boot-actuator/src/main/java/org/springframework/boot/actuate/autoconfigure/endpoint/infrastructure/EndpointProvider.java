@@ -17,6 +17,7 @@
 package org.springframework.boot.actuate.autoconfigure.endpoint.infrastructure;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.stream.Collectors;
 
 import org.springframework.boot.actuate.autoconfigure.endpoint.support.EndpointEnablementProvider;
@@ -28,7 +29,8 @@ import org.springframework.core.env.Environment;
 
 /**
  * Provides the endpoints that are enabled according to an {@link EndpointDiscoverer} and
- * the current {@link Environment}.
+ * the current {@link Environment}. Endpoints are discovered once so that every caller
+ * shares the same operation invokers.
  *
  * @param <T> the endpoint operation type
  * @author Stephane Nicoll
@@ -42,6 +44,8 @@ public final class EndpointProvider<T extends Operation> {
 
 	private final EndpointExposure exposure;
 
+	private volatile Collection<EndpointInfo<T>> endpoints;
+
 	/**
 	 * Creates a new instance.
 	 * @param environment the environment to use to check the endpoints that are enabled
@@ -56,8 +60,14 @@ public final class EndpointProvider<T extends Operation> {
 	}
 
 	public Collection<EndpointInfo<T>> getEndpoints() {
-		return this.discoverer.discoverEndpoints().stream().filter(this::isEnabled)
-				.collect(Collectors.toList());
+		Collection<EndpointInfo<T>> endpoints = this.endpoints;
+		if (endpoints == null) {
+			endpoints = Collections.unmodifiableList(
+					this.discoverer.discoverEndpoints().stream().filter(this::isEnabled)
+							.collect(Collectors.toList()));
+			this.endpoints = endpoints;
+		}
+		return endpoints;
 	}
 
 	private boolean isEnabled(EndpointInfo<?> endpoint) {
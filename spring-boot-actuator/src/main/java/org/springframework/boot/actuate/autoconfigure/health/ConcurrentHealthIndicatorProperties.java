@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.health;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.Assert;
+
+/**
+ * Configuration properties for the concurrent invocation of health indicators.
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+@ConfigurationProperties(prefix = "management.health.concurrent")
+public class ConcurrentHealthIndicatorProperties {
+
+	/**
+	 * Invoke health indicators concurrently rather than one after another.
+	 */
+	private boolean enabled;
+
+	/**
+	 * Maximum number of threads used to invoke health indicators.
+	 */
+	private int poolSize = 4;
+
+	/**
+	 * Maximum number of health indicator invocations waiting for a thread. Indicators
+	 * that cannot be queued are reported as UNKNOWN.
+	 */
+	private int queueCapacity = 100;
+
+	/**
+	 * Maximum time, in milliseconds, to wait for a single health indicator once it has
+	 * started to run before it is reported as UNKNOWN. A value of 0 or less means no
+	 * limit.
+	 */
+	private long indicatorTimeout = 10000;
+
+	/**
+	 * Maximum time, in milliseconds, to wait for all health indicators. Indicators that
+	 * have not responded by then are reported as UNKNOWN. A value of 0 or less means no
+	 * limit.
+	 */
+	private long timeout = 30000;
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getPoolSize() {
+		return this.poolSize;
+	}
+
+	public void setPoolSize(int poolSize) {
+		Assert.isTrue(poolSize > 0, "PoolSize must be greater than 0");
+		this.poolSize = poolSize;
+	}
+
+	public int getQueueCapacity() {
+		return this.queueCapacity;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		Assert.isTrue(queueCapacity > 0, "QueueCapacity must be greater than 0");
+		this.queueCapacity = queueCapacity;
+	}
+
+	public long getIndicatorTimeout() {
+		return this.indicatorTimeout;
+	}
+
+	public void setIndicatorTimeout(long indicatorTimeout) {
+		this.indicatorTimeout = indicatorTimeout;
+	}
+
+	public long getTimeout() {
+		return this.timeout;
+	}
+
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+}
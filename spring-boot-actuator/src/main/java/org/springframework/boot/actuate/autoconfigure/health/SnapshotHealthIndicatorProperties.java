@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.health;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.Assert;
+
+/**
+ * Configuration properties for health indicators that are refreshed in the background.
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+@ConfigurationProperties(prefix = "management.health.snapshot")
+public class SnapshotHealthIndicatorProperties {
+
+	/**
+	 * Serve the last known health of each health indicator and refresh it in the
+	 * background rather than invoking the indicators on each request.
+	 */
+	private boolean enabled;
+
+	/**
+	 * Time, in milliseconds, between two refreshes of a health indicator.
+	 */
+	private long interval = 10000;
+
+	/**
+	 * Time, in milliseconds, between two refreshes of specific health indicators, keyed
+	 * by the name under which they are reported (e.g. "db").
+	 */
+	private final Map<String, Long> intervals = new HashMap<>();
+
+	/**
+	 * Number of threads used to refresh health indicators.
+	 */
+	private int poolSize = 2;
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public long getInterval() {
+		return this.interval;
+	}
+
+	public void setInterval(long interval) {
+		Assert.isTrue(interval > 0, "Interval must be greater than 0");
+		this.interval = interval;
+	}
+
+	public Map<String, Long> getIntervals() {
+		return this.intervals;
+	}
+
+	public int getPoolSize() {
+		return this.poolSize;
+	}
+
+	public void setPoolSize(int poolSize) {
+		Assert.isTrue(poolSize > 0, "PoolSize must be greater than 0");
+		this.poolSize = poolSize;
+	}
+
+	/**
+	 * Return the refresh interval of the health indicator reported under the given
+	 * name.
+	 * @param name the name of the health indicator
+	 * @return the refresh interval in milliseconds
+	 */
+	public long determineInterval(String name) {
+		Long interval = this.intervals.get(name);
+		return (interval != null ? interval : this.interval);
+	}
+
+}
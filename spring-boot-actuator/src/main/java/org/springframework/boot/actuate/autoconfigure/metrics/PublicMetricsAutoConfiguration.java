@@ -17,8 +17,10 @@
 package org.springframework.boot.actuate.autoconfigure.metrics;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.servlet.Servlet;
 import javax.sql.DataSource;
@@ -28,9 +30,12 @@ import org.apache.catalina.startup.Tomcat;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.autoconfigure.cache.CacheStatisticsAutoConfiguration;
 import org.springframework.boot.actuate.autoconfigure.endpoint.EndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.endpoint.infrastructure.EndpointProvider;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
 import org.springframework.boot.actuate.endpoint.CachePublicMetrics;
 import org.springframework.boot.actuate.endpoint.DataSourcePublicMetrics;
+import org.springframework.boot.actuate.endpoint.EndpointCachePublicMetrics;
+import org.springframework.boot.actuate.endpoint.InMemoryRepositoryPublicMetrics;
 import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.endpoint.RichGaugeReaderPublicMetrics;
@@ -39,6 +44,8 @@ import org.springframework.boot.actuate.endpoint.TomcatPublicMetrics;
 import org.springframework.boot.actuate.metrics.integration.SpringIntegrationMetricReader;
 import org.springframework.boot.actuate.metrics.reader.CompositeMetricReader;
 import org.springframework.boot.actuate.metrics.reader.MetricReader;
+import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
+import org.springframework.boot.actuate.metrics.rich.InMemoryRichGaugeRepository;
 import org.springframework.boot.actuate.metrics.rich.RichGaugeReader;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
@@ -94,6 +101,27 @@ public class PublicMetricsAutoConfiguration {
 								.toArray(new MetricReader[this.metricReaders.size()])));
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	public InMemoryRepositoryPublicMetrics inMemoryRepositoryPublicMetrics(
+			ObjectProvider<Map<String, InMemoryMetricRepository>> metricRepositories,
+			ObjectProvider<Map<String, InMemoryRichGaugeRepository>> gaugeRepositories) {
+		return new InMemoryRepositoryPublicMetrics(
+				metricRepositories.getIfAvailable(Collections::emptyMap),
+				gaugeRepositories.getIfAvailable(Collections::emptyMap));
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public EndpointCachePublicMetrics endpointCachePublicMetrics(
+			ObjectProvider<List<EndpointProvider<?>>> endpointProviders) {
+		// Endpoints are discovered lazily as the metrics endpoint is itself an endpoint
+		return new EndpointCachePublicMetrics(() -> endpointProviders
+				.getIfAvailable(Collections::emptyList).stream()
+				.flatMap((provider) -> provider.getEndpoints().stream())
+				.collect(Collectors.toList()));
+	}
+
 	@Bean
 	@ConditionalOnBean(RichGaugeReader.class)
 	public RichGaugeReaderPublicMetrics richGaugePublicMetrics(
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.endpoint.CachingOperationInvoker;
+import org.springframework.boot.endpoint.EndpointInfo;
+import org.springframework.boot.endpoint.Operation;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link PublicMetrics} implementation that provides the hit and miss counts of the
+ * {@link CachingOperationInvoker caches} of endpoint operations. Counts are summed over
+ * the operations of each endpoint and reported as {@code endpoint.<id>.cache.hits} and
+ * {@code endpoint.<id>.cache.misses}. Endpoints without a cache are not reported.
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+public class EndpointCachePublicMetrics implements PublicMetrics {
+
+	private final Supplier<? extends Collection<? extends EndpointInfo<?>>> endpoints;
+
+	/**
+	 * Create a new {@link EndpointCachePublicMetrics} instance.
+	 * @param endpoints supplies the endpoints whose caches should be reported
+	 */
+	public EndpointCachePublicMetrics(
+			Supplier<? extends Collection<? extends EndpointInfo<?>>> endpoints) {
+		Assert.notNull(endpoints, "Endpoints must not be null");
+		this.endpoints = endpoints;
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		Map<String, long[]> counts = new LinkedHashMap<>();
+		for (EndpointInfo<?> endpoint : this.endpoints.get()) {
+			for (Operation operation : endpoint.getOperations()) {
+				if (operation.getInvoker() instanceof CachingOperationInvoker) {
+					CachingOperationInvoker invoker = (CachingOperationInvoker) operation
+							.getInvoker();
+					long[] endpointCounts = counts.computeIfAbsent(endpoint.getId(),
+							(id) -> new long[2]);
+					endpointCounts[0] += invoker.getHitCount();
+					endpointCounts[1] += invoker.getMissCount();
+				}
+			}
+		}
+		List<Metric<?>> metrics = new ArrayList<>(counts.size() * 2);
+		counts.forEach((id, endpointCounts) -> {
+			String prefix = "endpoint." + id + ".cache.";
+			metrics.add(new Metric<>(prefix + "hits", endpointCounts[0]));
+			metrics.add(new Metric<>(prefix + "misses", endpointCounts[1]));
+		});
+		return metrics;
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
+import org.springframework.boot.actuate.metrics.rich.InMemoryRichGaugeRepository;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link PublicMetrics} implementation that provides the number of metrics that have
+ * been evicted from {@link InMemoryMetricRepository} and
+ * {@link InMemoryRichGaugeRepository} beans. Each repository is reported as
+ * {@code repository.<beanName>.evictions}.
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+public class InMemoryRepositoryPublicMetrics implements PublicMetrics {
+
+	private final Map<String, InMemoryMetricRepository> metricRepositories;
+
+	private final Map<String, InMemoryRichGaugeRepository> richGaugeRepositories;
+
+	/**
+	 * Create a new {@link InMemoryRepositoryPublicMetrics} instance.
+	 * @param metricRepositories the metric repositories keyed by bean name
+	 * @param richGaugeRepositories the rich gauge repositories keyed by bean name
+	 */
+	public InMemoryRepositoryPublicMetrics(
+			Map<String, InMemoryMetricRepository> metricRepositories,
+			Map<String, InMemoryRichGaugeRepository> richGaugeRepositories) {
+		Assert.notNull(metricRepositories, "MetricRepositories must not be null");
+		Assert.notNull(richGaugeRepositories, "RichGaugeRepositories must not be null");
+		this.metricRepositories = metricRepositories;
+		this.richGaugeRepositories = richGaugeRepositories;
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		List<Metric<?>> metrics = new ArrayList<>();
+		this.metricRepositories.forEach((name, repository) -> metrics
+				.add(createEvictionsMetric(name, repository.getEvictionCount())));
+		this.richGaugeRepositories.forEach((name, repository) -> metrics
+				.add(createEvictionsMetric(name, repository.getEvictionCount())));
+		return metrics;
+	}
+
+	private Metric<Long> createEvictionsMetric(String beanName, long evictionCount) {
+		return new Metric<>("repository." + beanName + ".evictions", evictionCount);
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import org.springframework.boot.context.startup.StartupStep;
+import org.springframework.boot.context.startup.StartupTimeline;
+import org.springframework.boot.endpoint.Endpoint;
+import org.springframework.boot.endpoint.ReadOperation;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Endpoint} to expose the {@link StartupTimeline} recorded while the application
+ * started.
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+@Endpoint(id = "startup")
+public class StartupEndpoint {
+
+	private final StartupTimeline timeline;
+
+	public StartupEndpoint(StartupTimeline timeline) {
+		Assert.notNull(timeline, "Timeline must not be null");
+		this.timeline = timeline;
+	}
+
+	@ReadOperation
+	public Timeline startup() {
+		return new Timeline(this.timeline);
+	}
+
+	/**
+	 * Adapts a {@link StartupTimeline} to a JSON friendly structure.
+	 */
+	@JsonPropertyOrder({ "startTime", "droppedSteps", "steps" })
+	public static class Timeline {
+
+		private final long startTime;
+
+		private final int droppedSteps;
+
+		private final List<Step> steps = new ArrayList<>();
+
+		public Timeline(StartupTimeline timeline) {
+			this.startTime = timeline.getStartTime();
+			this.droppedSteps = timeline.getDroppedSteps();
+			Map<StartupStep, Step> adapted = new HashMap<>();
+			for (StartupStep startupStep : timeline.getSteps()) {
+				Step step = new Step(startupStep);
+				adapted.put(startupStep, step);
+				Step parent = adapted.get(startupStep.getParent());
+				(parent != null ? parent.children : this.steps).add(step);
+			}
+		}
+
+		public long getStartTime() {
+			return this.startTime;
+		}
+
+		public int getDroppedSteps() {
+			return this.droppedSteps;
+		}
+
+		public List<Step> getSteps() {
+			return this.steps;
+		}
+
+	}
+
+	/**
+	 * Adapts a {@link StartupStep} and its children to a JSON friendly structure. Times
+	 * are in nanoseconds relative to the start of the timeline.
+	 */
+	@JsonPropertyOrder({ "name", "thread", "startTime", "endTime", "duration", "tags",
+			"children" })
+	@JsonInclude(Include.NON_NULL)
+	public static class Step {
+
+		private final String name;
+
+		private final String thread;
+
+		private final long startTime;
+
+		private final Long endTime;
+
+		private final Long duration;
+
+		private final Map<String, String> tags;
+
+		private final List<Step> children = new ArrayList<>();
+
+		public Step(StartupStep step) {
+			this.name = step.getName();
+			this.thread = step.getThreadName();
+			this.startTime = step.getStartTime();
+			this.endTime = (step.isEnded() ? step.getEndTime() : null);
+			this.duration = (step.isEnded() ? step.getDuration() : null);
+			this.tags = step.getTags();
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public String getThread() {
+			return this.thread;
+		}
+
+		public long getStartTime() {
+			return this.startTime;
+		}
+
+		public Long getEndTime() {
+			return this.endTime;
+		}
+
+		public Long getDuration() {
+			return this.duration;
+		}
+
+		@JsonInclude(Include.NON_EMPTY)
+		public Map<String, String> getTags() {
+			return this.tags;
+		}
+
+		@JsonInclude(Include.NON_EMPTY)
+		public List<Step> getChildren() {
+			return this.children;
+		}
+
+	}
+
+}
@@ -18,11 +18,25 @@ package org.springframework.boot.actuate.health;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.springframework.util.Assert;
 
 /**
  * {@link HealthIndicator} that returns health indications from all registered delegates.
+ * <p>
+ * By default delegates are invoked one after another on the calling thread. When an
+ * {@link #setExecutor(Executor) executor} is configured they are invoked concurrently
+ * and a delegate that does not respond within the
+ * {@link #setIndicatorTimeout(long) indicator timeout} of starting to run, or before
+ * the overall {@link #setTimeout(long) timeout} has elapsed, is reported as
+ * {@link Status#UNKNOWN UNKNOWN}. So is a delegate that the executor rejects.
  *
  * @author Tyler J. Frederick
  * @author Phillip Webb
@@ -35,6 +49,12 @@ public class CompositeHealthIndicator implements HealthIndicator {
 
 	private final HealthAggregator healthAggregator;
 
+	private Executor executor;
+
+	private long indicatorTimeout;
+
+	private long timeout;
+
 	/**
 	 * Create a new {@link CompositeHealthIndicator}.
 	 * @param healthAggregator the health aggregator
@@ -61,13 +81,179 @@ public class CompositeHealthIndicator implements HealthIndicator {
 		this.indicators.put(name, indicator);
 	}
 
+	/**
+	 * Set the {@link Executor} used to invoke the delegates concurrently. When
+	 * {@code null} (the default) delegates are invoked sequentially on the calling
+	 * thread.
+	 * @param executor the executor or {@code null}
+	 * @since 2.0.0
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Set the maximum time in milliseconds to wait for a single delegate when they are
+	 * invoked concurrently, measured from the time the delegate starts to run. Time
+	 * spent waiting for a thread of the executor is only limited by the overall
+	 * {@link #setTimeout(long) timeout}. A value of 0 or less means no limit.
+	 * @param indicatorTimeout the indicator timeout in milliseconds
+	 * @since 2.0.0
+	 */
+	public void setIndicatorTimeout(long indicatorTimeout) {
+		this.indicatorTimeout = indicatorTimeout;
+	}
+
+	/**
+	 * Set the maximum time in milliseconds to wait for all delegates when they are
+	 * invoked concurrently. A value of 0 or less means no limit.
+	 * @param timeout the overall timeout in milliseconds
+	 * @since 2.0.0
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
 	@Override
 	public Health health() {
-		Map<String, Health> healths = new LinkedHashMap<>();
+		if (this.executor == null) {
+			Map<String, Health> healths = new LinkedHashMap<>();
+			for (Map.Entry<String, HealthIndicator> entry : this.indicators.entrySet()) {
+				healths.put(entry.getKey(), entry.getValue().health());
+			}
+			return this.healthAggregator.aggregate(healths);
+		}
+		return this.healthAggregator.aggregate(concurrentHealth(this.executor));
+	}
+
+	private Map<String, Health> concurrentHealth(Executor executor) {
+		long start = System.nanoTime();
+		long deadline = getDeadline(start);
+		Map<String, HealthTask> tasks = new LinkedHashMap<>();
 		for (Map.Entry<String, HealthIndicator> entry : this.indicators.entrySet()) {
-			healths.put(entry.getKey(), entry.getValue().health());
+			HealthTask task = new HealthTask(entry.getValue());
+			tasks.put(entry.getKey(), task);
+			try {
+				executor.execute(task);
+			}
+			catch (RejectedExecutionException ex) {
+				task.reject(ex);
+			}
+		}
+		Map<String, Health> healths = new LinkedHashMap<>();
+		for (Map.Entry<String, HealthTask> entry : tasks.entrySet()) {
+			healths.put(entry.getKey(), getHealth(entry.getValue(), start, deadline));
+		}
+		return healths;
+	}
+
+	private Health getHealth(HealthTask task, long start, long deadline) {
+		try {
+			if (!task.awaitStart(deadline)) {
+				return timeout(task, start);
+			}
+			long taskDeadline = getTaskDeadline(task, deadline);
+			if (taskDeadline == Long.MAX_VALUE) {
+				return task.get();
+			}
+			return task.get(taskDeadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException ex) {
+			return timeout(task, start);
+		}
+		catch (ExecutionException ex) {
+			return Health.down(toException(ex.getCause())).build();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			task.cancel(true);
+			return Health.unknown().withException(ex).build();
+		}
+	}
+
+	private Health timeout(HealthTask task, long start) {
+		task.cancel(true);
+		return Health.unknown().withDetail("timeout",
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms").build();
+	}
+
+	/**
+	 * Return the {@link System#nanoTime() time} by which every task must complete or
+	 * {@link Long#MAX_VALUE} if there is no limit. The overall timeout is measured from
+	 * the time the tasks were submitted so that a task waiting for a busy executor still
+	 * times out.
+	 * @param start the time at which the tasks were submitted
+	 * @return the deadline of the tasks
+	 */
+	private long getDeadline(long start) {
+		if (this.timeout > 0) {
+			return start + TimeUnit.MILLISECONDS.toNanos(this.timeout);
 		}
-		return this.healthAggregator.aggregate(healths);
+		return Long.MAX_VALUE;
+	}
+
+	/**
+	 * Return the {@link System#nanoTime() time} by which the given started task must
+	 * complete. The indicator timeout is measured from the time the task started to run
+	 * and is capped by the overall deadline.
+	 * @param task the started task
+	 * @param deadline the deadline of all tasks
+	 * @return the deadline of the task
+	 */
+	private long getTaskDeadline(HealthTask task, long deadline) {
+		if (this.indicatorTimeout > 0) {
+			return Math.min(deadline, task.getStartTime()
+					+ TimeUnit.MILLISECONDS.toNanos(this.indicatorTimeout));
+		}
+		return deadline;
+	}
+
+	private Exception toException(Throwable cause) {
+		return (cause instanceof Exception ? (Exception) cause
+				: new IllegalStateException(cause));
+	}
+
+	/**
+	 * A {@link FutureTask} that invokes a {@link HealthIndicator} and records when it
+	 * started to run. A task rejected by the executor completes immediately with an
+	 * {@link Status#UNKNOWN UNKNOWN} health.
+	 */
+	private static final class HealthTask extends FutureTask<Health> {
+
+		private final CountDownLatch started = new CountDownLatch(1);
+
+		private volatile long startTime;
+
+		HealthTask(HealthIndicator indicator) {
+			super(indicator::health);
+		}
+
+		@Override
+		public void run() {
+			this.startTime = System.nanoTime();
+			this.started.countDown();
+			super.run();
+		}
+
+		void reject(RejectedExecutionException ex) {
+			this.startTime = System.nanoTime();
+			set(Health.unknown().withException(ex).build());
+			this.started.countDown();
+		}
+
+		boolean awaitStart(long deadline) throws InterruptedException {
+			if (deadline == Long.MAX_VALUE) {
+				this.started.await();
+				return true;
+			}
+			return this.started.await(deadline - System.nanoTime(),
+					TimeUnit.NANOSECONDS);
+		}
+
+		long getStartTime() {
+			return this.startTime;
+		}
+
 	}
 
 }
@@ -17,6 +17,7 @@
 package org.springframework.boot.actuate.health;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.springframework.util.Assert;
 
@@ -28,6 +29,38 @@ import org.springframework.util.Assert;
  */
 public class HealthIndicatorFactory {
 
+	private final Executor executor;
+
+	private final long indicatorTimeout;
+
+	private final long timeout;
+
+	/**
+	 * Create a new {@link HealthIndicatorFactory} that creates indicators invoking their
+	 * delegates sequentially.
+	 */
+	public HealthIndicatorFactory() {
+		this(null, 0, 0);
+	}
+
+	/**
+	 * Create a new {@link HealthIndicatorFactory} that creates indicators invoking their
+	 * delegates concurrently using the given {@link Executor}.
+	 * @param executor the executor used to invoke the delegates or {@code null} to
+	 * invoke them sequentially
+	 * @param indicatorTimeout the maximum time in milliseconds to wait for a single
+	 * delegate, or 0 for no limit
+	 * @param timeout the maximum time in milliseconds to wait for all delegates, or 0
+	 * for no limit
+	 * @see CompositeHealthIndicator#setExecutor(Executor)
+	 */
+	public HealthIndicatorFactory(Executor executor, long indicatorTimeout,
+			long timeout) {
+		this.executor = executor;
+		this.indicatorTimeout = indicatorTimeout;
+		this.timeout = timeout;
+	}
+
 	/**
 	 * Create a {@link CompositeHealthIndicator} based on the specified health indicators.
 	 * @param healthAggregator the {@link HealthAggregator}
@@ -42,6 +75,9 @@ public class HealthIndicatorFactory {
 		Assert.notNull(healthIndicators, "HealthIndicators must not be null");
 		CompositeHealthIndicator healthIndicator = new CompositeHealthIndicator(
 				healthAggregator);
+		healthIndicator.setExecutor(this.executor);
+		healthIndicator.setIndicatorTimeout(this.indicatorTimeout);
+		healthIndicator.setTimeout(this.timeout);
 		for (Map.Entry<String, HealthIndicator> entry : healthIndicators.entrySet()) {
 			healthIndicator.addHealthIndicator(getKey(entry.getKey()), entry.getValue());
 		}
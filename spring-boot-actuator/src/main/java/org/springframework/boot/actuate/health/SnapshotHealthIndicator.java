@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.util.concurrent.ScheduledFuture;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.Assert;
+
+/**
+ * {@link HealthIndicator} that serves the last known health of a delegate
+ * {@link HealthIndicator} that is refreshed in the background at a fixed interval. Calls
+ * to {@link #health()} never invoke the delegate and so take the same time regardless of
+ * the state of the underlying system. As the interval starts when a refresh ends, a
+ * snapshot is expected to be replaced once it is as old as the interval plus the time
+ * taken by a refresh. When it is older than the interval plus the duration of the last
+ * refresh, for example because a refresh is taking longer than expected, it continues
+ * to be served with an additional {@code age} detail indicating, in milliseconds, how
+ * old it is.
+ * Until the first refresh has completed the health is {@link Status#UNKNOWN UNKNOWN}.
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+public class SnapshotHealthIndicator implements HealthIndicator {
+
+	private final HealthIndicator delegate;
+
+	private final long interval;
+
+	private volatile Snapshot snapshot;
+
+	private volatile ScheduledFuture<?> refresh;
+
+	/**
+	 * Create a new {@link SnapshotHealthIndicator} for the specified delegate.
+	 * @param delegate the health indicator to refresh
+	 * @param interval the time in milliseconds between the end of one refresh and the
+	 * start of the next
+	 */
+	public SnapshotHealthIndicator(HealthIndicator delegate, long interval) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.isTrue(interval > 0, "Interval must be greater than 0");
+		this.delegate = delegate;
+		this.interval = interval;
+	}
+
+	/**
+	 * Return the time in milliseconds between the end of one refresh and the start of
+	 * the next.
+	 * @return the refresh interval
+	 */
+	public long getInterval() {
+		return this.interval;
+	}
+
+	/**
+	 * Start refreshing the snapshot using the specified {@link TaskScheduler}. The first
+	 * refresh is scheduled immediately.
+	 * @param scheduler the scheduler to use
+	 */
+	public void start(TaskScheduler scheduler) {
+		Assert.notNull(scheduler, "Scheduler must not be null");
+		Assert.state(this.refresh == null, "Refresh has already been started");
+		this.refresh = scheduler.scheduleWithFixedDelay(this::refresh, this.interval);
+	}
+
+	/**
+	 * Refresh the snapshot by invoking the delegate on the calling thread.
+	 */
+	public void refresh() {
+		long startTime = System.currentTimeMillis();
+		Health health = invokeDelegate();
+		long endTime = System.currentTimeMillis();
+		this.snapshot = new Snapshot(health, endTime, endTime - startTime);
+	}
+
+	private Health invokeDelegate() {
+		try {
+			return this.delegate.health();
+		}
+		catch (Exception ex) {
+			return Health.down(ex).build();
+		}
+	}
+
+	@Override
+	public Health health() {
+		Snapshot snapshot = this.snapshot;
+		if (snapshot == null) {
+			return Health.unknown().build();
+		}
+		long age = System.currentTimeMillis() - snapshot.timestamp;
+		if (age > this.interval + snapshot.refreshDuration) {
+			return new Health.Builder(snapshot.health.getStatus(),
+					snapshot.health.getDetails()).withDetail("age", age).build();
+		}
+		return snapshot.health;
+	}
+
+	/**
+	 * Stop refreshing the snapshot.
+	 */
+	public void stop() {
+		ScheduledFuture<?> refresh = this.refresh;
+		if (refresh != null) {
+			refresh.cancel(true);
+		}
+	}
+
+	/**
+	 * A {@link Health} along with the time at which it was captured and how long that
+	 * took.
+	 */
+	private static final class Snapshot {
+
+		private final Health health;
+
+		private final long timestamp;
+
+		private final long refreshDuration;
+
+		Snapshot(Health health, long timestamp, long refreshDuration) {
+			this.health = health;
+			this.timestamp = timestamp;
+			this.refreshDuration = refreshDuration;
+		}
+
+	}
+
+}
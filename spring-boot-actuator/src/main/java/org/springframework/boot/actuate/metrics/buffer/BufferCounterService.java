@@ -28,7 +28,7 @@ import org.springframework.boot.actuate.metrics.CounterService;
  */
 public class BufferCounterService implements CounterService {
 
-	private final ConcurrentHashMap<String, String> names = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, CounterHandle> handles = new ConcurrentHashMap<>();
 
 	private final CounterBuffers buffers;
 
@@ -42,30 +42,33 @@ public class BufferCounterService implements CounterService {
 
 	@Override
 	public void increment(String metricName) {
-		this.buffers.increment(wrap(metricName), 1L);
+		getHandle(metricName).increment(1L);
 	}
 
 	@Override
 	public void decrement(String metricName) {
-		this.buffers.increment(wrap(metricName), -1L);
+		getHandle(metricName).increment(-1L);
 	}
 
 	@Override
 	public void reset(String metricName) {
-		this.buffers.reset(wrap(metricName));
+		getHandle(metricName).reset();
 	}
 
-	private String wrap(String metricName) {
-		String cached = this.names.get(metricName);
-		if (cached != null) {
-			return cached;
+	private CounterHandle getHandle(String metricName) {
+		CounterHandle handle = this.handles.get(metricName);
+		if (handle == null) {
+			handle = this.handles.computeIfAbsent(metricName,
+					(name) -> this.buffers.register(wrap(name)));
 		}
+		return handle;
+	}
+
+	private String wrap(String metricName) {
 		if (metricName.startsWith("counter") || metricName.startsWith("meter")) {
 			return metricName;
 		}
-		String name = "counter." + metricName;
-		this.names.put(metricName, name);
-		return name;
+		return "counter." + metricName;
 	}
 
 }
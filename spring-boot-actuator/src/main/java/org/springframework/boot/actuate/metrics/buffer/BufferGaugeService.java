@@ -28,7 +28,7 @@ import org.springframework.boot.actuate.metrics.GaugeService;
  */
 public class BufferGaugeService implements GaugeService {
 
-	private final ConcurrentHashMap<String, String> names = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, GaugeHandle> handles = new ConcurrentHashMap<>();
 
 	private final GaugeBuffers buffers;
 
@@ -42,21 +42,24 @@ public class BufferGaugeService implements GaugeService {
 
 	@Override
 	public void submit(String metricName, double value) {
-		this.buffers.set(wrap(metricName), value);
+		getHandle(metricName).set(value);
 	}
 
-	private String wrap(String metricName) {
-		String cached = this.names.get(metricName);
-		if (cached != null) {
-			return cached;
+	private GaugeHandle getHandle(String metricName) {
+		GaugeHandle handle = this.handles.get(metricName);
+		if (handle == null) {
+			handle = this.handles.computeIfAbsent(metricName,
+					(name) -> this.buffers.register(wrap(name)));
 		}
+		return handle;
+	}
+
+	private String wrap(String metricName) {
 		if (metricName.startsWith("gauge") || metricName.startsWith("histogram")
 				|| metricName.startsWith("timer")) {
 			return metricName;
 		}
-		String name = "gauge." + metricName;
-		this.names.put(metricName, name);
-		return name;
+		return "gauge." + metricName;
 	}
 
 }
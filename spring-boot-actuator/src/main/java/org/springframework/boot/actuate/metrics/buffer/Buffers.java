@@ -50,11 +50,15 @@ abstract class Buffers<B extends Buffer<?>> {
 	}
 
 	protected final void doWith(String name, Consumer<B> consumer) {
+		consumer.accept(getOrCreate(name));
+	}
+
+	protected final B getOrCreate(String name) {
 		B buffer = this.buffers.get(name);
 		if (buffer == null) {
 			buffer = this.buffers.computeIfAbsent(name, (k) -> createBuffer());
 		}
-		consumer.accept(buffer);
+		return buffer;
 	}
 
 	protected abstract B createBuffer();
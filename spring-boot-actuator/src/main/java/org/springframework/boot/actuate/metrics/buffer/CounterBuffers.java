@@ -25,17 +25,33 @@ package org.springframework.boot.actuate.metrics.buffer;
 public class CounterBuffers extends Buffers<CounterBuffer> {
 
 	public void increment(String name, long delta) {
-		doWith(name, (buffer) -> {
-			buffer.setTimestamp(System.currentTimeMillis());
-			buffer.add(delta);
-		});
+		increment(getOrCreate(name), delta);
 	}
 
 	public void reset(String name) {
-		doWith(name, (buffer) -> {
-			buffer.setTimestamp(System.currentTimeMillis());
-			buffer.reset();
-		});
+		reset(getOrCreate(name));
+	}
+
+	/**
+	 * Register a counter with the given name, returning a {@link CounterHandle} that
+	 * can be used to update it without further name lookups. Registering the same name
+	 * more than once returns handles that update the same counter.
+	 * @param name the name of the counter
+	 * @return a handle to the counter
+	 * @since 2.0.0
+	 */
+	public CounterHandle register(String name) {
+		return new CounterHandle(name, getOrCreate(name));
+	}
+
+	static void increment(CounterBuffer buffer, long delta) {
+		buffer.setTimestamp(System.currentTimeMillis());
+		buffer.add(delta);
+	}
+
+	static void reset(CounterBuffer buffer) {
+		buffer.setTimestamp(System.currentTimeMillis());
+		buffer.reset();
 	}
 
 	@Override
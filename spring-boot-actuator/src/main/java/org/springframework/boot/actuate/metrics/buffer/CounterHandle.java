@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.buffer;
+
+/**
+ * Handle to a counter registered with {@link CounterBuffers}. Updates through a handle
+ * go straight to the underlying {@link CounterBuffer} so they neither hash the metric
+ * name nor allocate.
+ *
+ * @author agent
+ * @since 2.0.0
+ * @see CounterBuffers#register(String)
+ */
+public final class CounterHandle {
+
+	private final String name;
+
+	private final CounterBuffer buffer;
+
+	CounterHandle(String name, CounterBuffer buffer) {
+		this.name = name;
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Return the name of the counter.
+	 * @return the name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Increment the counter by the given delta.
+	 * @param delta the amount to add (may be negative)
+	 */
+	public void increment(long delta) {
+		CounterBuffers.increment(this.buffer, delta);
+	}
+
+	/**
+	 * Reset the counter to zero.
+	 */
+	public void reset() {
+		CounterBuffers.reset(this.buffer);
+	}
+
+}
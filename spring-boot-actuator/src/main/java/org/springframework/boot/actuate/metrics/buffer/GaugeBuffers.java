@@ -25,10 +25,24 @@ package org.springframework.boot.actuate.metrics.buffer;
 public class GaugeBuffers extends Buffers<GaugeBuffer> {
 
 	public void set(String name, double value) {
-		doWith(name, (buffer) -> {
-			buffer.setTimestamp(System.currentTimeMillis());
-			buffer.setValue(value);
-		});
+		set(getOrCreate(name), value);
+	}
+
+	/**
+	 * Register a gauge with the given name, returning a {@link GaugeHandle} that can be
+	 * used to update it without further name lookups. Registering the same name more
+	 * than once returns handles that update the same gauge.
+	 * @param name the name of the gauge
+	 * @return a handle to the gauge
+	 * @since 2.0.0
+	 */
+	public GaugeHandle register(String name) {
+		return new GaugeHandle(name, getOrCreate(name));
+	}
+
+	static void set(GaugeBuffer buffer, double value) {
+		buffer.setTimestamp(System.currentTimeMillis());
+		buffer.setValue(value);
 	}
 
 	@Override
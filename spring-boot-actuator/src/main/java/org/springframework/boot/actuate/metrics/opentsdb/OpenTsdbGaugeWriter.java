@@ -123,10 +123,18 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 		this.namingStrategy = namingStrategy;
 	}
 
+	/**
+	 * Return the number of values to buffer before posting them to the server.
+	 * @return the buffer size
+	 * @since 2.0.0
+	 */
+	protected int getBufferSize() {
+		return this.bufferSize;
+	}
+
 	@Override
 	public void set(Metric<?> value) {
-		OpenTsdbData data = new OpenTsdbData(this.namingStrategy.getName(value.getName()),
-				value.getValue(), value.getTimestamp().getTime());
+		OpenTsdbData data = createData(value);
 		synchronized (this.buffer) {
 			this.buffer.add(data);
 			if (this.buffer.size() >= this.bufferSize) {
@@ -138,23 +146,54 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 	/**
 	 * Flush the buffer without waiting for it to fill any further.
 	 */
-	@SuppressWarnings("rawtypes")
 	public void flush() {
 		List<OpenTsdbData> snapshot = getBufferSnapshot();
 		if (snapshot.isEmpty()) {
 			return;
 		}
+		post(snapshot);
+	}
+
+	/**
+	 * Create the {@link OpenTsdbData} for the given metric.
+	 * @param value the metric
+	 * @return the data to post
+	 * @since 2.0.0
+	 */
+	protected OpenTsdbData createData(Metric<?> value) {
+		return new OpenTsdbData(this.namingStrategy.getName(value.getName()),
+				value.getValue(), value.getTimestamp().getTime());
+	}
+
+	/**
+	 * Post the given data to the server.
+	 * @param data the data to post
+	 * @since 2.0.0
+	 */
+	@SuppressWarnings("rawtypes")
+	protected void post(List<OpenTsdbData> data) {
 		HttpHeaders headers = new HttpHeaders();
 		headers.setAccept(Arrays.asList(this.mediaType));
 		headers.setContentType(this.mediaType);
 		ResponseEntity<Map> response = this.restTemplate.postForEntity(this.url,
-				new HttpEntity<>(snapshot, headers), Map.class);
+				createEntity(data, headers), Map.class);
 		if (!response.getStatusCode().is2xxSuccessful()) {
-			logger.warn("Cannot write metrics (discarded " + snapshot.size()
-					+ " values): " + response.getBody());
+			logger.warn("Cannot write metrics (discarded " + data.size() + " values): "
+					+ response.getBody());
 		}
 	}
 
+	/**
+	 * Create the request entity used to post the given data.
+	 * @param data the data to post
+	 * @param headers the request headers
+	 * @return the request entity
+	 * @since 2.0.0
+	 */
+	protected HttpEntity<?> createEntity(List<OpenTsdbData> data, HttpHeaders headers) {
+		return new HttpEntity<>(data, headers);
+	}
+
 	private List<OpenTsdbData> getBufferSnapshot() {
 		synchronized (this.buffer) {
 			if (this.buffer.isEmpty()) {
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.opentsdb;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.reader.MetricReader;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link OpenTsdbGaugeWriter} that never posts to the server on the thread that
+ * writes a value. Values are added to a bounded queue that is drained by a dedicated
+ * flusher thread. A batch is posted once {@link #setBufferSize(int) bufferSize} values
+ * have been collected or the {@link #setFlushInterval(long) flushInterval} has elapsed,
+ * whichever comes first. When the queue is full new values are dropped and counted
+ * rather than blocking the writer. Request bodies are gzip compressed unless
+ * {@link #setCompress(boolean) compression} is disabled.
+ * <p>
+ * The writer is also a {@link MetricReader} for its own queue depth, dropped values and
+ * flush latency so that it can be monitored like any other metric source.
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+public class PipelinedOpenTsdbGaugeWriter extends OpenTsdbGaugeWriter
+		implements MetricReader, DisposableBean {
+
+	private static final String METRIC_PREFIX = "opentsdb.";
+
+	private static final Log logger = LogFactory
+			.getLog(PipelinedOpenTsdbGaugeWriter.class);
+
+	private final BlockingQueue<OpenTsdbData> queue;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	private final LongAdder dropped = new LongAdder();
+
+	private final LongAdder flushed = new LongAdder();
+
+	private volatile long lastFlushDuration;
+
+	private volatile long flushInterval = 5000;
+
+	private volatile boolean compress = true;
+
+	private volatile Thread flusher;
+
+	/**
+	 * Create a new {@link PipelinedOpenTsdbGaugeWriter} with a queue capacity of 10000
+	 * values and the default connect (10 seconds) and read (30 seconds) timeouts.
+	 */
+	public PipelinedOpenTsdbGaugeWriter() {
+		this(10000);
+	}
+
+	/**
+	 * Create a new {@link PipelinedOpenTsdbGaugeWriter} with the given queue capacity and
+	 * the default connect (10 seconds) and read (30 seconds) timeouts.
+	 * @param queueCapacity the maximum number of values waiting to be posted
+	 */
+	public PipelinedOpenTsdbGaugeWriter(int queueCapacity) {
+		Assert.isTrue(queueCapacity > 0, "QueueCapacity must be greater than 0");
+		this.queue = new LinkedBlockingQueue<>(queueCapacity);
+	}
+
+	/**
+	 * Set the maximum time in milliseconds that a value waits before the batch
+	 * containing it is posted. Defaults to 5000.
+	 * @param flushInterval the flush interval in milliseconds
+	 */
+	public void setFlushInterval(long flushInterval) {
+		Assert.isTrue(flushInterval > 0, "FlushInterval must be greater than 0");
+		this.flushInterval = flushInterval;
+	}
+
+	/**
+	 * Set whether request bodies should be gzip compressed. Defaults to {@code true}.
+	 * @param compress if request bodies should be compressed
+	 */
+	public void setCompress(boolean compress) {
+		this.compress = compress;
+	}
+
+	@Override
+	public void set(Metric<?> value) {
+		startFlusherIfNecessary();
+		if (!this.queue.offer(createData(value))) {
+			this.dropped.increment();
+		}
+	}
+
+	/**
+	 * Post all queued values on the calling thread without waiting for the current batch
+	 * to fill any further.
+	 */
+	@Override
+	public void flush() {
+		List<OpenTsdbData> batch = new ArrayList<>();
+		while (this.queue.drainTo(batch, getBufferSize()) > 0) {
+			postBatch(batch);
+			batch = new ArrayList<>();
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		Thread flusher = this.flusher;
+		if (flusher != null) {
+			flusher.interrupt();
+			flusher.join(this.flushInterval);
+		}
+		flush();
+	}
+
+	@Override
+	public Metric<?> findOne(String metricName) {
+		for (Metric<?> metric : findAll()) {
+			if (metric.getName().equals(metricName)) {
+				return metric;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Iterable<Metric<?>> findAll() {
+		return Arrays.<Metric<?>>asList(
+				new Metric<>(METRIC_PREFIX + "queue.size", this.queue.size()),
+				new Metric<>(METRIC_PREFIX + "dropped", this.dropped.sum()),
+				new Metric<>(METRIC_PREFIX + "flushed", this.flushed.sum()),
+				new Metric<>(METRIC_PREFIX + "flush.duration", this.lastFlushDuration));
+	}
+
+	@Override
+	public long count() {
+		return 4;
+	}
+
+	@Override
+	protected HttpEntity<?> createEntity(List<OpenTsdbData> data, HttpHeaders headers) {
+		if (!this.compress) {
+			return super.createEntity(data, headers);
+		}
+		headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+		return new HttpEntity<>(compress(data), headers);
+	}
+
+	private byte[] compress(List<OpenTsdbData> data) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+				this.objectMapper.writeValue(gzip, data);
+			}
+			return bytes.toByteArray();
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to compress metrics", ex);
+		}
+	}
+
+	private void startFlusherIfNecessary() {
+		if (!this.started.get() && this.started.compareAndSet(false, true)) {
+			Thread flusher = new Thread(this::flushContinuously, "OpenTSDB Flusher");
+			flusher.setDaemon(true);
+			this.flusher = flusher;
+			flusher.start();
+		}
+	}
+
+	private void flushContinuously() {
+		List<OpenTsdbData> batch = new ArrayList<>(Math.max(getBufferSize(), 1));
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				fillBatch(batch);
+				if (!batch.isEmpty()) {
+					postBatch(batch);
+					batch.clear();
+				}
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			// Values already taken from the queue would otherwise be lost on destroy
+			if (!batch.isEmpty()) {
+				postBatch(batch);
+			}
+		}
+	}
+
+	private void fillBatch(List<OpenTsdbData> batch) throws InterruptedException {
+		int bufferSize = Math.max(getBufferSize(), 1);
+		long deadline = System.nanoTime()
+				+ TimeUnit.MILLISECONDS.toNanos(this.flushInterval);
+		while (batch.size() < bufferSize) {
+			long remaining = deadline - System.nanoTime();
+			OpenTsdbData data = (remaining > 0
+					? this.queue.poll(remaining, TimeUnit.NANOSECONDS) : null);
+			if (data == null) {
+				break;
+			}
+			batch.add(data);
+			this.queue.drainTo(batch, bufferSize - batch.size());
+		}
+	}
+
+	private void postBatch(List<OpenTsdbData> batch) {
+		long start = System.nanoTime();
+		try {
+			post(batch);
+			this.flushed.add(batch.size());
+		}
+		catch (Exception ex) {
+			logger.warn("Cannot write metrics (discarded " + batch.size() + " values)",
+					ex);
+		}
+		finally {
+			this.lastFlushDuration = TimeUnit.NANOSECONDS
+					.toMillis(System.nanoTime() - start);
+		}
+	}
+
+}
@@ -37,6 +37,36 @@ public class InMemoryMetricRepository implements MetricRepository {
 		this.metrics.setValues(values);
 	}
 
+	/**
+	 * Set the maximum number of metrics to retain. When exceeded, the least recently
+	 * updated metrics are evicted. Defaults to {@code 0} (unbounded).
+	 * @param maxSize the maximum number of metrics or {@code 0} for no limit
+	 * @since 2.0.0
+	 */
+	public void setMaxSize(int maxSize) {
+		this.metrics.setMaxSize(maxSize);
+	}
+
+	/**
+	 * Set the time in milliseconds after which a metric that has not been updated is
+	 * evicted. Defaults to {@code 0} (never).
+	 * @param maxIdleTime the maximum idle time in milliseconds or {@code 0} to never
+	 * evict idle metrics
+	 * @since 2.0.0
+	 */
+	public void setMaxIdleTime(long maxIdleTime) {
+		this.metrics.setMaxIdleTime(maxIdleTime);
+	}
+
+	/**
+	 * Return the number of metrics that have been evicted.
+	 * @return the eviction count
+	 * @since 2.0.0
+	 */
+	public long getEvictionCount() {
+		return this.metrics.getEvictionCount();
+	}
+
 	@Override
 	public void increment(Delta<?> delta) {
 		final String metricName = delta.getName();
@@ -18,7 +18,7 @@ package org.springframework.boot.actuate.metrics.repository;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.actuate.metrics.writer.Delta;
@@ -35,7 +35,7 @@ public class InMemoryMultiMetricRepository implements MultiMetricRepository {
 
 	private final InMemoryMetricRepository repository;
 
-	private final Collection<String> groups = new HashSet<>();
+	private final Collection<String> groups = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * Create a new {@link InMemoryMetricRepository} backed by a new
@@ -17,15 +17,20 @@
 package org.springframework.boot.actuate.metrics.repository.redis;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.actuate.metrics.repository.MetricRepository;
+import org.springframework.boot.actuate.metrics.repository.redis.RedisUtils.IndexedValue;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
 import org.springframework.data.redis.core.BoundZSetOperations;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.util.Assert;
@@ -37,6 +42,13 @@ import org.springframework.util.Assert;
  * multiple metrics repositories all point at the same instance of Redis, it may be useful
  * to change the prefix to be unique (but not if you want them to contribute to the same
  * metrics).
+ * <p>
+ * By default each write takes a single round trip. Writes can instead be
+ * {@link #setBatchWrites(boolean) batched}, in which case they are queued until
+ * {@link #flush()} is called, as the metric exporters do at the end of each export, and
+ * then sent together in one pipelined round trip. The queue is also flushed when it
+ * reaches {@link #setMaxPendingWrites(int) a maximum size} and before each read so that
+ * this repository always reads its own writes.
  *
  * @author Dave Syer
  */
@@ -46,6 +58,8 @@ public class RedisMetricRepository implements MetricRepository {
 
 	private static final String DEFAULT_KEY = "keys.spring.metrics";
 
+	private static final int DEFAULT_MAX_PENDING_WRITES = 10000;
+
 	private String prefix = DEFAULT_METRICS_PREFIX;
 
 	private String key = DEFAULT_KEY;
@@ -54,6 +68,15 @@ public class RedisMetricRepository implements MetricRepository {
 
 	private final RedisOperations<String, String> redisOperations;
 
+	private final Queue<Consumer<StringRedisConnection>> pendingWrites =
+			new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger pendingWriteCount = new AtomicInteger();
+
+	private volatile boolean batchWrites;
+
+	private volatile int maxPendingWrites = DEFAULT_MAX_PENDING_WRITES;
+
 	/**
 	 * Create a RedisMetricRepository with a default prefix to apply to all metric names.
 	 * If multiple repositories share a redis instance they will feed into the same global
@@ -110,61 +133,108 @@ public class RedisMetricRepository implements MetricRepository {
 		this.zSetOperations = this.redisOperations.boundZSetOps(this.key);
 	}
 
+	/**
+	 * Set whether writes should be queued until {@link #flush()} is called and then sent
+	 * in a single pipelined round trip. Values written but not yet flushed are not
+	 * visible to other Redis clients. Defaults to {@code false}.
+	 * @param batchWrites if writes should be batched
+	 * @since 2.0.0
+	 */
+	public void setBatchWrites(boolean batchWrites) {
+		this.batchWrites = batchWrites;
+		if (!batchWrites) {
+			flush();
+		}
+	}
+
+	/**
+	 * Set the maximum number of queued writes. When reached the queue is flushed on the
+	 * writing thread. Defaults to 10000.
+	 * @param maxPendingWrites the maximum number of queued writes
+	 * @since 2.0.0
+	 */
+	public void setMaxPendingWrites(int maxPendingWrites) {
+		Assert.isTrue(maxPendingWrites > 0, "MaxPendingWrites must be greater than 0");
+		this.maxPendingWrites = maxPendingWrites;
+	}
+
 	@Override
 	public Metric<?> findOne(String metricName) {
+		flush();
 		String redisKey = keyFor(metricName);
-		String raw = this.redisOperations.opsForValue().get(redisKey);
-		return deserialize(redisKey, raw, this.zSetOperations.score(redisKey));
+		List<Object> results = RedisUtils.executePipelined(this.redisOperations,
+				Collections.singletonList((connection) -> {
+					connection.get(redisKey);
+					connection.zScore(this.key, redisKey);
+				}));
+		return deserialize(redisKey, (String) results.get(0), (Double) results.get(1));
 	}
 
 	@Override
 	public Iterable<Metric<?>> findAll() {
-
-		// This set is sorted
-		Set<String> keys = this.zSetOperations.range(0, -1);
-		Iterator<String> keysIt = keys.iterator();
-
-		List<Metric<?>> result = new ArrayList<>(keys.size());
-		List<String> values = this.redisOperations.opsForValue().multiGet(keys);
-		for (String v : values) {
-			String key = keysIt.next();
-			Metric<?> value = deserialize(key, v, this.zSetOperations.score(key));
-			if (value != null) {
-				result.add(value);
+		flush();
+		// The index is sorted
+		List<IndexedValue> values = RedisUtils.findIndexedValues(this.redisOperations,
+				this.key);
+		List<Metric<?>> result = new ArrayList<>(values.size());
+		for (IndexedValue value : values) {
+			Metric<?> metric = deserialize(value.getKey(), value.getValue(),
+					value.getScore());
+			if (metric != null) {
+				result.add(metric);
 			}
 		}
 		return result;
-
 	}
 
 	@Override
 	public long count() {
+		flush();
 		return this.zSetOperations.size();
 	}
 
 	@Override
 	public void increment(Delta<?> delta) {
-		String name = delta.getName();
-		String key = keyFor(name);
-		trackMembership(key);
-		double value = this.zSetOperations.incrementScore(key,
-				delta.getValue().doubleValue());
-		String raw = serialize(new Metric<>(name, value, delta.getTimestamp()));
-		this.redisOperations.opsForValue().set(key, raw);
+		String key = keyFor(delta.getName());
+		double value = delta.getValue().doubleValue();
+		String raw = serialize(delta);
+		write((connection) -> {
+			connection.zIncrBy(this.key, value, key);
+			connection.set(key, raw);
+		});
 	}
 
 	@Override
 	public void set(Metric<?> value) {
-		String name = value.getName();
-		String key = keyFor(name);
-		trackMembership(key);
-		this.zSetOperations.add(key, value.getValue().doubleValue());
+		String key = keyFor(value.getName());
+		double score = value.getValue().doubleValue();
 		String raw = serialize(value);
-		this.redisOperations.opsForValue().set(key, raw);
+		write((connection) -> {
+			connection.zAdd(this.key, score, key);
+			connection.set(key, raw);
+		});
+	}
+
+	/**
+	 * Send any queued writes in a single pipelined round trip.
+	 * @since 2.0.0
+	 * @see #setBatchWrites(boolean)
+	 */
+	public void flush() {
+		List<Consumer<StringRedisConnection>> writes = new ArrayList<>();
+		Consumer<StringRedisConnection> write;
+		while ((write = this.pendingWrites.poll()) != null) {
+			this.pendingWriteCount.decrementAndGet();
+			writes.add(write);
+		}
+		if (!writes.isEmpty()) {
+			RedisUtils.executePipelined(this.redisOperations, writes);
+		}
 	}
 
 	@Override
 	public void reset(String metricName) {
+		flush();
 		String key = keyFor(metricName);
 		if (this.zSetOperations.remove(key) == 1) {
 			this.redisOperations.delete(key);
@@ -183,6 +253,19 @@ public class RedisMetricRepository implements MetricRepository {
 		return String.valueOf(entity.getTimestamp().getTime());
 	}
 
+	private void write(Consumer<StringRedisConnection> write) {
+		if (this.batchWrites) {
+			this.pendingWrites.add(write);
+			if (this.pendingWriteCount.incrementAndGet() >= this.maxPendingWrites) {
+				flush();
+			}
+		}
+		else {
+			RedisUtils.executePipelined(this.redisOperations,
+					Collections.singletonList(write));
+		}
+	}
+
 	private String keyFor(String name) {
 		return this.prefix + name;
 	}
@@ -191,8 +274,4 @@ public class RedisMetricRepository implements MetricRepository {
 		return redisKey.substring(this.prefix.length());
 	}
 
-	private void trackMembership(String redisKey) {
-		this.zSetOperations.incrementScore(redisKey, 0.0D);
-	}
-
 }
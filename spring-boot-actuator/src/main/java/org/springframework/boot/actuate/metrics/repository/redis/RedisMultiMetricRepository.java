@@ -18,15 +18,18 @@ package org.springframework.boot.actuate.metrics.repository.redis;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.actuate.metrics.repository.MultiMetricRepository;
+import org.springframework.boot.actuate.metrics.repository.redis.RedisUtils.IndexedValue;
 import org.springframework.boot.actuate.metrics.writer.Delta;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
 import org.springframework.data.redis.core.BoundZSetOperations;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.util.Assert;
@@ -35,7 +38,8 @@ import org.springframework.util.Assert;
  * {@link MultiMetricRepository} implementation backed by a redis store. Metric values are
  * stored as zset values and the timestamps as regular values, both against a key composed
  * of the group name prefixed with a constant prefix (default "spring.groups."). The group
- * names are stored as a zset under "keys." + {@code [prefix]}.
+ * names are stored as a zset under "keys." + {@code [prefix]}. Reading or writing a
+ * group takes a single round trip to Redis.
  *
  * @author Dave Syer
  */
@@ -69,48 +73,49 @@ public class RedisMultiMetricRepository implements MultiMetricRepository {
 
 	@Override
 	public Iterable<Metric<?>> findAll(String group) {
-
-		BoundZSetOperations<String, String> zSetOperations = this.redisOperations
-				.boundZSetOps(keyFor(group));
-
-		Set<String> keys = zSetOperations.range(0, -1);
-		Iterator<String> keysIt = keys.iterator();
-
-		List<Metric<?>> result = new ArrayList<>(keys.size());
-		List<String> values = this.redisOperations.opsForValue().multiGet(keys);
-		for (String v : values) {
-			String key = keysIt.next();
-			result.add(deserialize(group, key, v, zSetOperations.score(key)));
+		List<IndexedValue> values = RedisUtils.findIndexedValues(this.redisOperations,
+				keyFor(group));
+		List<Metric<?>> result = new ArrayList<>(values.size());
+		for (IndexedValue value : values) {
+			if (value.getValue() != null) {
+				result.add(deserialize(group, value.getKey(), value.getValue(),
+						value.getScore()));
+			}
 		}
 		return result;
-
 	}
 
 	@Override
 	public void set(String group, Collection<Metric<?>> values) {
 		String groupKey = keyFor(group);
-		trackMembership(groupKey);
-		BoundZSetOperations<String, String> zSetOperations = this.redisOperations
-				.boundZSetOps(groupKey);
+		List<Consumer<StringRedisConnection>> writes = new ArrayList<>(
+				values.size() + 1);
+		writes.add(trackMembership(groupKey));
 		for (Metric<?> metric : values) {
 			String raw = serialize(metric);
 			String key = keyFor(metric.getName());
-			zSetOperations.add(key, metric.getValue().doubleValue());
-			this.redisOperations.opsForValue().set(key, raw);
+			double score = metric.getValue().doubleValue();
+			writes.add((connection) -> {
+				connection.zAdd(groupKey, score, key);
+				connection.set(key, raw);
+			});
 		}
+		RedisUtils.executePipelined(this.redisOperations, writes);
 	}
 
 	@Override
 	public void increment(String group, Delta<?> delta) {
 		String groupKey = keyFor(group);
-		trackMembership(groupKey);
-		BoundZSetOperations<String, String> zSetOperations = this.redisOperations
-				.boundZSetOps(groupKey);
 		String key = keyFor(delta.getName());
-		double value = zSetOperations.incrementScore(key, delta.getValue().doubleValue());
-		String raw = serialize(
-				new Metric<>(delta.getName(), value, delta.getTimestamp()));
-		this.redisOperations.opsForValue().set(key, raw);
+		double value = delta.getValue().doubleValue();
+		String raw = serialize(delta);
+		Consumer<StringRedisConnection> trackMembership = trackMembership(groupKey);
+		RedisUtils.executePipelined(this.redisOperations,
+				Collections.singletonList((connection) -> {
+					trackMembership.accept(connection);
+					connection.zIncrBy(groupKey, value, key);
+					connection.set(key, raw);
+				}));
 	}
 
 	@Override
@@ -162,8 +167,8 @@ public class RedisMultiMetricRepository implements MultiMetricRepository {
 		return redisKey.substring(this.prefix.length());
 	}
 
-	private void trackMembership(String redisKey) {
-		this.zSetOperations.incrementScore(redisKey, 0.0D);
+	private Consumer<StringRedisConnection> trackMembership(String redisKey) {
+		return (connection) -> connection.zIncrBy(this.keys, 0.0D, redisKey);
 	}
 
 }
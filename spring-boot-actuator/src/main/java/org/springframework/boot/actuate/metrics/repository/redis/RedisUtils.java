@@ -16,10 +16,20 @@
 
 package org.springframework.boot.actuate.metrics.repository.redis;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -52,4 +62,85 @@ final class RedisUtils {
 		return new StringRedisTemplate(redisConnectionFactory);
 	}
 
+	/**
+	 * Return the members of the zset stored at the given index key, sorted by member,
+	 * along with their scores and values. Two round trips are needed regardless of the
+	 * number of members: one for the members and their scores and one to {@code MGET}
+	 * the values. Every key is passed explicitly so that the read also works when the
+	 * keys are spread across a Redis Cluster.
+	 * @param operations the redis operations, as created by
+	 * {@link #stringTemplate(RedisConnectionFactory)}
+	 * @param indexKey the key of the zset
+	 * @return the indexed values
+	 */
+	static List<IndexedValue> findIndexedValues(RedisOperations<String, String> operations,
+			String indexKey) {
+		Set<TypedTuple<String>> members = operations.opsForZSet()
+				.rangeWithScores(indexKey, 0, -1);
+		if (members == null || members.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<String> keys = new ArrayList<>(members.size());
+		for (TypedTuple<String> member : members) {
+			keys.add(member.getValue());
+		}
+		List<String> values = operations.opsForValue().multiGet(keys);
+		List<IndexedValue> result = new ArrayList<>(members.size());
+		int i = 0;
+		for (TypedTuple<String> member : members) {
+			result.add(new IndexedValue(member.getValue(), member.getScore(),
+					values.get(i++)));
+		}
+		return result;
+	}
+
+	/**
+	 * Execute the given commands in a single pipelined round trip.
+	 * @param operations the redis operations, as created by
+	 * {@link #stringTemplate(RedisConnectionFactory)}
+	 * @param commands the commands to execute
+	 * @return the results of the commands
+	 */
+	static List<Object> executePipelined(RedisOperations<String, String> operations,
+			Collection<Consumer<StringRedisConnection>> commands) {
+		return operations.executePipelined((RedisCallback<Object>) (connection) -> {
+			StringRedisConnection stringConnection = (StringRedisConnection) connection;
+			for (Consumer<StringRedisConnection> command : commands) {
+				command.accept(stringConnection);
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * A zset member along with its score and the value stored against the member's key.
+	 */
+	static final class IndexedValue {
+
+		private final String key;
+
+		private final Double score;
+
+		private final String value;
+
+		IndexedValue(String key, Double score, String value) {
+			this.key = key;
+			this.score = score;
+			this.value = value;
+		}
+
+		String getKey() {
+			return this.key;
+		}
+
+		Double getScore() {
+			return this.score;
+		}
+
+		String getValue() {
+			return this.value;
+		}
+
+	}
+
 }
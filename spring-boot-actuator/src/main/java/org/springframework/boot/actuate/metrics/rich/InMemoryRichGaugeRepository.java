@@ -34,6 +34,36 @@ public class InMemoryRichGaugeRepository implements RichGaugeRepository {
 
 	private final SimpleInMemoryRepository<RichGauge> repository = new SimpleInMemoryRepository<>();
 
+	/**
+	 * Set the maximum number of gauges to retain. When exceeded, the least recently
+	 * updated gauges are evicted. Defaults to {@code 0} (unbounded).
+	 * @param maxSize the maximum number of gauges or {@code 0} for no limit
+	 * @since 2.0.0
+	 */
+	public void setMaxSize(int maxSize) {
+		this.repository.setMaxSize(maxSize);
+	}
+
+	/**
+	 * Set the time in milliseconds after which a gauge that has not been updated is
+	 * evicted. Defaults to {@code 0} (never).
+	 * @param maxIdleTime the maximum idle time in milliseconds or {@code 0} to never
+	 * evict idle gauges
+	 * @since 2.0.0
+	 */
+	public void setMaxIdleTime(long maxIdleTime) {
+		this.repository.setMaxIdleTime(maxIdleTime);
+	}
+
+	/**
+	 * Return the number of gauges that have been evicted.
+	 * @return the eviction count
+	 * @since 2.0.0
+	 */
+	public long getEvictionCount() {
+		return this.repository.getEvictionCount();
+	}
+
 	@Override
 	public void increment(Delta<?> delta) {
 		this.repository.update(delta.getName(), (current) -> {
@@ -41,8 +71,7 @@ public class InMemoryRichGaugeRepository implements RichGaugeRepository {
 			if (current == null) {
 				return new RichGauge(delta.getName(), value);
 			}
-			current.set(current.getValue() + value);
-			return current;
+			return copy(current).set(current.getValue() + value);
 		});
 	}
 
@@ -54,8 +83,7 @@ public class InMemoryRichGaugeRepository implements RichGaugeRepository {
 			if (current == null) {
 				return new RichGauge(name, value);
 			}
-			current.set(value);
-			return current;
+			return copy(current).set(value);
 		});
 	}
 
@@ -79,4 +107,10 @@ public class InMemoryRichGaugeRepository implements RichGaugeRepository {
 		return this.repository.count();
 	}
 
+	private RichGauge copy(RichGauge gauge) {
+		// Updates may be retried so the current gauge must not be modified in place
+		return new RichGauge(gauge.getName(), gauge.getValue(), gauge.getAlpha(),
+				gauge.getAverage(), gauge.getMax(), gauge.getMin(), gauge.getCount());
+	}
+
 }
@@ -17,14 +17,25 @@
 package org.springframework.boot.actuate.metrics.util;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
 
 /**
  * Repository utility that stores stuff in memory with period-separated String keys.
+ * Updates are applied atomically without locking. The number of keys can optionally be
+ * bounded, in which case the least recently updated keys are evicted when the
+ * {@link #setMaxSize(int) maximum size} is exceeded, and keys that have not been updated
+ * for longer than the {@link #setMaxIdleTime(long) maximum idle time} are evicted
+ * periodically.
  *
  * @param <T> the type to store
  * @author Dave Syer
@@ -34,32 +45,68 @@ public class SimpleInMemoryRepository<T> {
 
 	private ConcurrentNavigableMap<String, T> values = new ConcurrentSkipListMap<>();
 
-	private final ConcurrentMap<String, Object> locks = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Long> lastUpdated = new ConcurrentHashMap<>();
 
-	public T update(String name, Callback<T> callback) {
-		Object lock = getLock(name);
-		synchronized (lock) {
-			T current = this.values.get(name);
-			T value = callback.modify(current);
-			this.values.put(name, value);
-			return value;
-		}
+	private final AtomicBoolean evicting = new AtomicBoolean();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	private volatile int maxSize;
+
+	private volatile long maxIdleTime;
+
+	private volatile long lastIdleCheck = System.currentTimeMillis();
+
+	/**
+	 * Set the maximum number of keys to retain. When exceeded, the least recently
+	 * updated keys are evicted. Defaults to {@code 0} (unbounded).
+	 * @param maxSize the maximum number of keys or {@code 0} for no limit
+	 * @since 2.0.0
+	 */
+	public void setMaxSize(int maxSize) {
+		Assert.isTrue(maxSize >= 0, "MaxSize must not be negative");
+		this.maxSize = maxSize;
 	}
 
-	private Object getLock(String name) {
-		Object lock = this.locks.get(name);
-		if (lock == null) {
-			Object newLock = new Object();
-			lock = this.locks.putIfAbsent(name, newLock);
-			if (lock == null) {
-				lock = newLock;
-			}
-		}
-		return lock;
+	/**
+	 * Set the time in milliseconds after which a key that has not been updated is
+	 * evicted. Defaults to {@code 0} (never).
+	 * @param maxIdleTime the maximum idle time in milliseconds or {@code 0} to never
+	 * evict idle keys
+	 * @since 2.0.0
+	 */
+	public void setMaxIdleTime(long maxIdleTime) {
+		Assert.isTrue(maxIdleTime >= 0, "MaxIdleTime must not be negative");
+		this.maxIdleTime = maxIdleTime;
+	}
+
+	/**
+	 * Return the number of keys that have been evicted because the repository was full
+	 * or because they were idle.
+	 * @return the eviction count
+	 * @since 2.0.0
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+	/**
+	 * Atomically update the value with the given name. The callback may be invoked more
+	 * than once when there is contention on the same name so it should not modify the
+	 * current value in place.
+	 * @param name the name of the value
+	 * @param callback the callback used to compute the new value
+	 * @return the updated value
+	 */
+	public T update(String name, Callback<T> callback) {
+		T value = this.values.compute(name, (key, current) -> callback.modify(current));
+		updated(name);
+		return value;
 	}
 
 	public void set(String name, T value) {
 		this.values.put(name, value);
+		updated(name);
 	}
 
 	public long count() {
@@ -68,6 +115,7 @@ public class SimpleInMemoryRepository<T> {
 
 	public void remove(String name) {
 		this.values.remove(name);
+		this.lastUpdated.remove(name);
 	}
 
 	public T findOne(String name) {
@@ -75,10 +123,12 @@ public class SimpleInMemoryRepository<T> {
 	}
 
 	public Iterable<T> findAll() {
+		evictIdleIfNecessary();
 		return new ArrayList<>(this.values.values());
 	}
 
 	public Iterable<T> findAllWithPrefix(String prefix) {
+		evictIdleIfNecessary();
 		if (prefix.endsWith(".*")) {
 			prefix = prefix.substring(0, prefix.length() - 1);
 		}
@@ -91,12 +141,78 @@ public class SimpleInMemoryRepository<T> {
 
 	public void setValues(ConcurrentNavigableMap<String, T> values) {
 		this.values = values;
+		this.lastUpdated.clear();
 	}
 
 	protected NavigableMap<String, T> getValues() {
 		return this.values;
 	}
 
+	private void updated(String name) {
+		if (this.maxSize > 0 || this.maxIdleTime > 0) {
+			Long previous = this.lastUpdated.put(name, System.currentTimeMillis());
+			if (previous == null) {
+				evictIfNecessary();
+			}
+		}
+	}
+
+	private void evictIfNecessary() {
+		int maxSize = this.maxSize;
+		if (maxSize > 0 && this.lastUpdated.size() > maxSize) {
+			evict(maxSize);
+		}
+		else {
+			evictIdleIfNecessary();
+		}
+	}
+
+	private void evictIdleIfNecessary() {
+		long maxIdleTime = this.maxIdleTime;
+		if (maxIdleTime > 0
+				&& System.currentTimeMillis() - this.lastIdleCheck >= maxIdleTime) {
+			evict(this.maxSize);
+		}
+	}
+
+	private void evict(int maxSize) {
+		if (!this.evicting.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			long now = System.currentTimeMillis();
+			long maxIdleTime = this.maxIdleTime;
+			List<Map.Entry<String, Long>> retained = new ArrayList<>();
+			for (Map.Entry<String, Long> entry : this.lastUpdated.entrySet()) {
+				if (maxIdleTime > 0 && now - entry.getValue() > maxIdleTime) {
+					evict(entry.getKey());
+				}
+				else {
+					retained.add(entry);
+				}
+			}
+			this.lastIdleCheck = now;
+			if (maxSize > 0 && retained.size() > maxSize) {
+				// Evict down to 90% of the maximum so that the sort is amortized
+				int target = maxSize - maxSize / 10;
+				retained.sort(Map.Entry.comparingByValue());
+				for (int i = 0; i < retained.size() - target; i++) {
+					evict(retained.get(i).getKey());
+				}
+			}
+		}
+		finally {
+			this.evicting.set(false);
+		}
+	}
+
+	private void evict(String name) {
+		this.lastUpdated.remove(name);
+		if (this.values.remove(name) != null) {
+			this.evictionCount.increment();
+		}
+	}
+
 	/**
 	 * Callback used to update a value.
 	 *
@@ -17,9 +17,12 @@
 package org.springframework.boot.actuate.metrics.web.servlet;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import javax.servlet.FilterChain;
@@ -58,6 +61,10 @@ public final class MetricsFilter extends OncePerRequestFilter {
 
 	private static final String UNKNOWN_PATH_SUFFIX = "/unmapped";
 
+	private static final int MAX_CACHED_METHODS = 16;
+
+	private static final int MAX_CACHED_STATUSES = 16;
+
 	private static final Log logger = LogFactory.getLog(MetricsFilter.class);
 
 	private final CounterService counterService;
@@ -68,6 +75,8 @@ public final class MetricsFilter extends OncePerRequestFilter {
 
 	private final Set<MetricsFilterSubmission> gaugeSubmissions;
 
+	private final ConcurrentMap<String, PatternMetricNames> patternMetricNames = new ConcurrentHashMap<>();
+
 	private static final Set<PatternReplacer> STATUS_REPLACERS;
 
 	static {
@@ -147,28 +156,38 @@ public final class MetricsFilter extends OncePerRequestFilter {
 
 	private void recordMetrics(HttpServletRequest request, String path, int status,
 			long time) {
-		String suffix = determineMetricNameSuffix(request, path, status);
-		submitMetrics(MetricsFilterSubmission.MERGED, request, status, time, suffix);
-		submitMetrics(MetricsFilterSubmission.PER_HTTP_METHOD, request, status, time,
-				suffix);
+		PatternMetricNames names = getMetricNames(request, path, status);
+		submitMetrics(MetricsFilterSubmission.MERGED, names.getMerged(), status, time);
+		submitMetrics(MetricsFilterSubmission.PER_HTTP_METHOD,
+				names.getPerMethod(request.getMethod()), status, time);
 	}
 
-	private String determineMetricNameSuffix(HttpServletRequest request, String path,
+	private PatternMetricNames getMetricNames(HttpServletRequest request, String path,
 			int status) {
 		Object bestMatchingPattern = request
 				.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
 		if (bestMatchingPattern != null) {
-			return fixSpecialCharacters(bestMatchingPattern.toString());
+			return getCachedMetricNames(bestMatchingPattern.toString());
 		}
 		Series series = getSeries(status);
 		if (Series.CLIENT_ERROR.equals(series) || Series.SERVER_ERROR.equals(series)
 				|| Series.REDIRECTION.equals(series)) {
-			return UNKNOWN_PATH_SUFFIX;
+			return getCachedMetricNames(UNKNOWN_PATH_SUFFIX);
 		}
-		return path;
+		// Raw paths are not cached as there is no bound on how many there can be
+		return new PatternMetricNames(path);
 	}
 
-	private String fixSpecialCharacters(String value) {
+	private PatternMetricNames getCachedMetricNames(String pattern) {
+		PatternMetricNames names = this.patternMetricNames.get(pattern);
+		if (names == null) {
+			names = this.patternMetricNames.computeIfAbsent(pattern,
+					(key) -> new PatternMetricNames(fixSpecialCharacters(key)));
+		}
+		return names;
+	}
+
+	private static String fixSpecialCharacters(String value) {
 		String result = value;
 		for (PatternReplacer replacer : STATUS_REPLACERS) {
 			result = replacer.apply(result);
@@ -191,17 +210,13 @@ public final class MetricsFilter extends OncePerRequestFilter {
 		}
 	}
 
-	private void submitMetrics(MetricsFilterSubmission submission,
-			HttpServletRequest request, int status, long time, String suffix) {
-		String prefix = "";
-		if (submission == MetricsFilterSubmission.PER_HTTP_METHOD) {
-			prefix = request.getMethod() + ".";
-		}
+	private void submitMetrics(MetricsFilterSubmission submission, MetricNames names,
+			int status, long time) {
 		if (shouldSubmitToGauge(submission)) {
-			submitToGauge(getKey("response." + prefix + suffix), time);
+			submitToGauge(names.getResponse(), time);
 		}
 		if (shouldSubmitToCounter(submission)) {
-			incrementCounter(getKey("status." + prefix + status + suffix));
+			incrementCounter(names.getStatus(status));
 		}
 	}
 
@@ -218,7 +233,7 @@ public final class MetricsFilter extends OncePerRequestFilter {
 		return submissions != null && submissions.contains(submission);
 	}
 
-	private String getKey(String string) {
+	private static String getKey(String string) {
 		// graphite compatible metric names
 		String key = string;
 		for (PatternReplacer replacer : KEY_REPLACERS) {
@@ -251,6 +266,120 @@ public final class MetricsFilter extends OncePerRequestFilter {
 		}
 	}
 
+	/**
+	 * Metric names for a request pattern, both merged and per HTTP method. Names are
+	 * created the first time they are needed so that recording a request does not
+	 * build any strings.
+	 */
+	private static class PatternMetricNames {
+
+		private final String suffix;
+
+		private final MetricNames merged;
+
+		private final ConcurrentMap<String, MetricNames> perMethod = new ConcurrentHashMap<>();
+
+		PatternMetricNames(String suffix) {
+			this.suffix = suffix;
+			this.merged = new MetricNames("", suffix);
+		}
+
+		MetricNames getMerged() {
+			return this.merged;
+		}
+
+		MetricNames getPerMethod(String method) {
+			MetricNames names = this.perMethod.get(method);
+			if (names == null) {
+				names = new MetricNames(method + ".", this.suffix);
+				if (this.perMethod.size() < MAX_CACHED_METHODS) {
+					MetricNames existing = this.perMethod.putIfAbsent(method, names);
+					names = (existing != null ? existing : names);
+				}
+			}
+			return names;
+		}
+
+	}
+
+	/**
+	 * Response gauge and status counter names for a given prefix and suffix. Status
+	 * counter names are held in a small copy-on-write table that is scanned without
+	 * locking or boxing the status code.
+	 */
+	private static class MetricNames {
+
+		private final String prefix;
+
+		private final String suffix;
+
+		private final String response;
+
+		private volatile StatusNames statuses = new StatusNames(new int[0],
+				new String[0]);
+
+		MetricNames(String prefix, String suffix) {
+			this.prefix = prefix;
+			this.suffix = suffix;
+			this.response = getKey("response." + prefix + suffix);
+		}
+
+		String getResponse() {
+			return this.response;
+		}
+
+		String getStatus(int status) {
+			StatusNames statuses = this.statuses;
+			String name = statuses.get(status);
+			if (name == null) {
+				name = getKey("status." + this.prefix + status + this.suffix);
+				if (statuses.size() < MAX_CACHED_STATUSES) {
+					this.statuses = statuses.with(status, name);
+				}
+			}
+			return name;
+		}
+
+	}
+
+	/**
+	 * Immutable table of status codes to metric names.
+	 */
+	private static final class StatusNames {
+
+		private final int[] statuses;
+
+		private final String[] names;
+
+		StatusNames(int[] statuses, String[] names) {
+			this.statuses = statuses;
+			this.names = names;
+		}
+
+		String get(int status) {
+			for (int i = 0; i < this.statuses.length; i++) {
+				if (this.statuses[i] == status) {
+					return this.names[i];
+				}
+			}
+			return null;
+		}
+
+		int size() {
+			return this.statuses.length;
+		}
+
+		StatusNames with(int status, String name) {
+			int size = this.statuses.length;
+			int[] statuses = Arrays.copyOf(this.statuses, size + 1);
+			String[] names = Arrays.copyOf(this.names, size + 1);
+			statuses[size] = status;
+			names[size] = name;
+			return new StatusNames(statuses, names);
+		}
+
+	}
+
 	private static class PatternReplacer {
 
 		private final Pattern pattern;
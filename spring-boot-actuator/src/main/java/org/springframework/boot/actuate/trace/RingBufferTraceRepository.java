@@ -0,0 +1,135 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * Lock-free, fixed capacity implementation of {@link TraceRepository} backed by a
+ * preallocated ring buffer. Writers claim a slot by atomically incrementing a sequence
+ * and never block each other or readers. {@link #findAll()} returns the most recently
+ * published traces without blocking writers; a trace whose slot has been claimed but
+ * not yet published is simply omitted from the snapshot.
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+public class RingBufferTraceRepository implements TraceRepository {
+
+	private static final int DEFAULT_CAPACITY = 100;
+
+	private final AtomicReferenceArray<Slot> slots;
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private volatile boolean reverse = true;
+
+	/**
+	 * Create a new {@link RingBufferTraceRepository} with the default capacity of
+	 * {@value #DEFAULT_CAPACITY} traces.
+	 */
+	public RingBufferTraceRepository() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@link RingBufferTraceRepository} with the specified capacity.
+	 * @param capacity the maximum number of traces to retain
+	 */
+	public RingBufferTraceRepository(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.slots = new AtomicReferenceArray<>(capacity);
+	}
+
+	/**
+	 * Flag to say that the repository lists traces in reverse order.
+	 * @param reverse flag value (default true)
+	 */
+	public void setReverse(boolean reverse) {
+		this.reverse = reverse;
+	}
+
+	/**
+	 * Return the capacity of the repository.
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return this.slots.length();
+	}
+
+	@Override
+	public List<Trace> findAll() {
+		int capacity = this.slots.length();
+		long end = this.sequence.get();
+		long start = Math.max(0, end - capacity);
+		List<Trace> traces = new ArrayList<>((int) (end - start));
+		for (long sequence = start; sequence < end; sequence++) {
+			Slot slot = this.slots.get(indexOf(sequence, capacity));
+			if (slot != null && slot.sequence == sequence) {
+				traces.add(slot.trace);
+			}
+		}
+		if (this.reverse) {
+			Collections.reverse(traces);
+		}
+		return Collections.unmodifiableList(traces);
+	}
+
+	@Override
+	public void add(Map<String, Object> map) {
+		Slot slot = new Slot(this.sequence.getAndIncrement(),
+				new Trace(new Date(), map));
+		int index = indexOf(slot.sequence, this.slots.length());
+		Slot current = this.slots.get(index);
+		while (current == null || current.sequence < slot.sequence) {
+			if (this.slots.compareAndSet(index, current, slot)) {
+				return;
+			}
+			current = this.slots.get(index);
+		}
+		// A writer that claimed a later sequence for the same slot has already won
+	}
+
+	private static int indexOf(long sequence, int capacity) {
+		return (int) (sequence % capacity);
+	}
+
+	/**
+	 * A published {@link Trace} along with the sequence that was claimed for it.
+	 */
+	private static final class Slot {
+
+		private final long sequence;
+
+		private final Trace trace;
+
+		Slot(long sequence, Trace trace) {
+			this.sequence = sequence;
+			this.trace = trace;
+		}
+
+	}
+
+}
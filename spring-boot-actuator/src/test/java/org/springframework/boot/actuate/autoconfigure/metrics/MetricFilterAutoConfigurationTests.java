@@ -51,6 +51,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.NestedServletException;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -381,6 +382,50 @@ public class MetricFilterAutoConfigurationTests {
 		context.close();
 	}
 
+	@Test
+	public void recordsRepeatedHttpInteractionsWithSamePatternAndDifferentStatuses()
+			throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(Config.class, MetricFilterAutoConfiguration.class);
+		TestPropertyValues
+				.of("management.metrics.filter.gauge-submissions=merged,per-http-method",
+						"management.metrics.filter.counter-submissions=merged,per-http-method")
+				.applyTo(context);
+		context.refresh();
+		Filter filter = context.getBean(Filter.class);
+		performWithPattern(filter, "PUT", "/test/{id}", 200);
+		performWithPattern(filter, "PUT", "/test/{id}", 200);
+		performWithPattern(filter, "GET", "/test/{id}", 500);
+		verify(context.getBean(GaugeService.class), times(3))
+				.submit(eq("response.test.id"), anyDouble());
+		verify(context.getBean(GaugeService.class), times(2))
+				.submit(eq("response.PUT.test.id"), anyDouble());
+		verify(context.getBean(GaugeService.class))
+				.submit(eq("response.GET.test.id"), anyDouble());
+		verify(context.getBean(CounterService.class), times(2))
+				.increment(eq("status.200.test.id"));
+		verify(context.getBean(CounterService.class), times(2))
+				.increment(eq("status.PUT.200.test.id"));
+		verify(context.getBean(CounterService.class))
+				.increment(eq("status.500.test.id"));
+		verify(context.getBean(CounterService.class))
+				.increment(eq("status.GET.500.test.id"));
+		context.close();
+	}
+
+	private void performWithPattern(Filter filter, String method, String pattern,
+			int status) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, "/test/1");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = mock(FilterChain.class);
+		willAnswer((invocation) -> {
+			response.setStatus(status);
+			return null;
+		}).given(chain).doFilter(request, response);
+		filter.doFilter(request, response, chain);
+	}
+
 	@Test
 	public void doesNotRecordRolledUpMetricsIfConfigured() throws Exception {
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
@@ -32,12 +32,14 @@ import org.junit.Test;
 import org.springframework.boot.actuate.autoconfigure.cache.CacheStatisticsAutoConfiguration;
 import org.springframework.boot.actuate.endpoint.CachePublicMetrics;
 import org.springframework.boot.actuate.endpoint.DataSourcePublicMetrics;
+import org.springframework.boot.actuate.endpoint.InMemoryRepositoryPublicMetrics;
 import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.endpoint.RichGaugeReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.SystemPublicMetrics;
 import org.springframework.boot.actuate.endpoint.TomcatPublicMetrics;
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
 import org.springframework.boot.actuate.metrics.rich.RichGauge;
 import org.springframework.boot.actuate.metrics.rich.RichGaugeReader;
 import org.springframework.boot.actuate.servlet.MockServletWebServerFactory;
@@ -93,6 +95,18 @@ public class PublicMetricsAutoConfigurationTests {
 				.hasSize(2);
 	}
 
+	@Test
+	public void inMemoryRepositoryPublicMetrics() throws Exception {
+		load(InMemoryRepositoryConfig.class);
+		InMemoryMetricRepository repository = this.context
+				.getBean(InMemoryMetricRepository.class);
+		repository.set(new Metric<>("a", 1));
+		repository.set(new Metric<>("b", 2));
+		PublicMetrics bean = this.context.getBean(InMemoryRepositoryPublicMetrics.class);
+		assertHasMetric(bean.metrics(),
+				new Metric<>("repository.boundedRepository.evictions", 1L));
+	}
+
 	@Test
 	public void richGaugePublicMetrics() {
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
@@ -251,6 +265,18 @@ public class PublicMetricsAutoConfigurationTests {
 		this.context = context;
 	}
 
+	@Configuration
+	static class InMemoryRepositoryConfig {
+
+		@Bean
+		public InMemoryMetricRepository boundedRepository() {
+			InMemoryMetricRepository repository = new InMemoryMetricRepository();
+			repository.setMaxSize(1);
+			return repository;
+		}
+
+	}
+
 	@Configuration
 	static class MultipleDataSourcesConfig {
 
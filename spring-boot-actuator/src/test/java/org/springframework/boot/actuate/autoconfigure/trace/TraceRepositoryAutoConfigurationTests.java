@@ -18,7 +18,7 @@ package org.springframework.boot.actuate.autoconfigure.trace;
 
 import org.junit.Test;
 
-import org.springframework.boot.actuate.trace.InMemoryTraceRepository;
+import org.springframework.boot.actuate.trace.RingBufferTraceRepository;
 import org.springframework.boot.actuate.trace.TraceRepository;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -35,10 +35,10 @@ import static org.mockito.Mockito.mock;
 public class TraceRepositoryAutoConfigurationTests {
 
 	@Test
-	public void configuresInMemoryTraceRepository() throws Exception {
+	public void configuresRingBufferTraceRepository() throws Exception {
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
 				TraceRepositoryAutoConfiguration.class);
-		assertThat(context.getBean(InMemoryTraceRepository.class)).isNotNull();
+		assertThat(context.getBean(RingBufferTraceRepository.class)).isNotNull();
 		context.close();
 	}
 
@@ -46,7 +46,7 @@ public class TraceRepositoryAutoConfigurationTests {
 	public void skipsIfRepositoryExists() throws Exception {
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
 				Config.class, TraceRepositoryAutoConfiguration.class);
-		assertThat(context.getBeansOfType(InMemoryTraceRepository.class)).isEmpty();
+		assertThat(context.getBeansOfType(RingBufferTraceRepository.class)).isEmpty();
 		assertThat(context.getBeansOfType(TraceRepository.class)).hasSize(1);
 		context.close();
 	}
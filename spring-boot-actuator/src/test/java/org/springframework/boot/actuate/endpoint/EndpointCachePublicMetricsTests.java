@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.endpoint.CachingOperationInvoker;
+import org.springframework.boot.endpoint.EndpointInfo;
+import org.springframework.boot.endpoint.Operation;
+import org.springframework.boot.endpoint.OperationInvoker;
+import org.springframework.boot.endpoint.OperationType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests for {@link EndpointCachePublicMetrics}.
+ *
+ * @author agent
+ */
+public class EndpointCachePublicMetricsTests {
+
+	@Test
+	public void metricsSumCountsOfCachedOperationsPerEndpoint() throws Exception {
+		OperationInvoker target = (arguments) -> arguments.get("name");
+		CachingOperationInvoker first = new CachingOperationInvoker(target, 10000);
+		CachingOperationInvoker second = new CachingOperationInvoker(target, 10000);
+		first.invoke(Collections.singletonMap("name", "a"));
+		first.invoke(Collections.singletonMap("name", "a"));
+		second.invoke(Collections.singletonMap("name", "b"));
+		EndpointInfo<Operation> cached = new EndpointInfo<>("cached", true,
+				Arrays.asList(createOperation(first), createOperation(second)));
+		EndpointInfo<Operation> uncached = new EndpointInfo<>("uncached", true,
+				Collections.singletonList(createOperation(target)));
+		EndpointCachePublicMetrics publicMetrics = new EndpointCachePublicMetrics(
+				() -> Arrays.asList(cached, uncached));
+		assertThat(publicMetrics.metrics()).extracting(Metric::getName, Metric::getValue)
+				.containsExactly(tuple("endpoint.cached.cache.hits", 1L),
+						tuple("endpoint.cached.cache.misses", 2L));
+	}
+
+	private Operation createOperation(OperationInvoker invoker) {
+		return new Operation(OperationType.READ, invoker, true);
+	}
+
+}
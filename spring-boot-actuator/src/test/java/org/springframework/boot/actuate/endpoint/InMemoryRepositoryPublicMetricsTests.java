@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
+import org.springframework.boot.actuate.metrics.rich.InMemoryRichGaugeRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests for {@link InMemoryRepositoryPublicMetrics}.
+ *
+ * @author agent
+ */
+public class InMemoryRepositoryPublicMetricsTests {
+
+	@Test
+	public void metricsReportEvictionsPerRepository() throws Exception {
+		InMemoryMetricRepository metricRepository = new InMemoryMetricRepository();
+		metricRepository.setMaxSize(1);
+		metricRepository.set(new Metric<>("a", 1));
+		metricRepository.set(new Metric<>("b", 2));
+		InMemoryRichGaugeRepository richGaugeRepository = new InMemoryRichGaugeRepository();
+		richGaugeRepository.set(new Metric<>("c", 3.0));
+		InMemoryRepositoryPublicMetrics publicMetrics = new InMemoryRepositoryPublicMetrics(
+				Collections.singletonMap("metricRepository", metricRepository),
+				Collections.singletonMap("richGaugeRepository", richGaugeRepository));
+		assertThat(publicMetrics.metrics()).extracting(Metric::getName, Metric::getValue)
+				.containsExactly(tuple("repository.metricRepository.evictions", 1L),
+						tuple("repository.richGaugeRepository.evictions", 0L));
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.endpoint.StartupEndpoint.Step;
+import org.springframework.boot.actuate.endpoint.StartupEndpoint.Timeline;
+import org.springframework.boot.context.startup.StartupStep;
+import org.springframework.boot.context.startup.StartupTimeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupEndpoint}.
+ *
+ * @author agent
+ */
+public class StartupEndpointTests {
+
+	@Test
+	public void stepsAreNestedUnderTheirParents() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		StartupStep parent = timeline.start("parent");
+		timeline.start("child").tag("key", "value").end();
+		parent.end();
+		timeline.start("open");
+		Timeline result = new StartupEndpoint(timeline).startup();
+		assertThat(result.getStartTime()).isEqualTo(timeline.getStartTime());
+		assertThat(result.getDroppedSteps()).isEqualTo(0);
+		List<Step> steps = result.getSteps();
+		assertThat(steps).extracting(Step::getName).containsExactly("parent", "open");
+		assertThat(steps.get(0).getDuration()).isEqualTo(parent.getDuration());
+		assertThat(steps.get(0).getThread()).isEqualTo(Thread.currentThread().getName());
+		Step child = steps.get(0).getChildren().get(0);
+		assertThat(child.getName()).isEqualTo("child");
+		assertThat(child.getTags()).containsEntry("key", "value");
+		assertThat(child.getChildren()).isEmpty();
+		assertThat(steps.get(1).getEndTime()).isNull();
+		assertThat(steps.get(1).getDuration()).isNull();
+	}
+
+	@Test
+	public void droppedStepsAreReported() throws Exception {
+		StartupTimeline timeline = new StartupTimeline(1);
+		timeline.start("first").end();
+		timeline.start("second").end();
+		Timeline result = new StartupEndpoint(timeline).startup();
+		assertThat(result.getSteps()).extracting(Step::getName).containsExactly("first");
+		assertThat(result.getDroppedSteps()).isEqualTo(1);
+	}
+
+}
@@ -18,8 +18,14 @@ package org.springframework.boot.actuate.health;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -27,6 +33,7 @@ import org.mockito.MockitoAnnotations;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
  * Tests for {@link CompositeHealthIndicator}
@@ -39,6 +46,8 @@ public class CompositeHealthIndicatorTests {
 
 	private HealthAggregator healthAggregator;
 
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
 	@Mock
 	private HealthIndicator one;
 
@@ -61,6 +70,11 @@ public class CompositeHealthIndicatorTests {
 		this.healthAggregator = new OrderedHealthAggregator();
 	}
 
+	@After
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
 	@Test
 	public void createWithIndicators() throws Exception {
 		Map<String, HealthIndicator> indicators = new HashMap<>();
@@ -126,4 +140,152 @@ public class CompositeHealthIndicatorTests {
 						+ "\"db2\":{\"status\":\"UNKNOWN\",\"2\":\"2\"}}}");
 	}
 
+	@Test
+	public void concurrentInvocation() throws Exception {
+		CountDownLatch latch = new CountDownLatch(2);
+		HealthIndicator first = awaiting(latch, "1");
+		HealthIndicator second = awaiting(latch, "2");
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator);
+		composite.addHealthIndicator("one", first);
+		composite.addHealthIndicator("two", second);
+		composite.setExecutor(this.executor);
+		composite.setIndicatorTimeout(5000);
+		Health result = composite.health();
+		assertThat(result.getStatus()).isEqualTo(Status.UP);
+		assertThat(result.getDetails()).containsOnlyKeys("one", "two");
+		assertThat(result.getDetails()).containsEntry("one",
+				new Health.Builder().up().withDetail("1", "1").build());
+	}
+
+	@Test
+	public void concurrentInvocationWithIndicatorTimeout() throws Exception {
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator);
+		composite.addHealthIndicator("one", this.one);
+		composite.addHealthIndicator("slow", sleeping(5000));
+		composite.setExecutor(this.executor);
+		composite.setIndicatorTimeout(50);
+		long start = System.currentTimeMillis();
+		Health result = composite.health();
+		assertThat(System.currentTimeMillis() - start).isLessThan(2000);
+		assertThat(result.getDetails()).containsEntry("one",
+				new Health.Builder().unknown().withDetail("1", "1").build());
+		Health slow = (Health) result.getDetails().get("slow");
+		assertThat(slow.getStatus()).isEqualTo(Status.UNKNOWN);
+		assertThat(slow.getDetails()).containsKey("timeout");
+	}
+
+	@Test
+	public void concurrentInvocationWithIndicatorTimeoutWhenExecutorIsSaturated()
+			throws Exception {
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator);
+		composite.addHealthIndicator("blocking1", sleeping(600));
+		composite.addHealthIndicator("blocking2", sleeping(600));
+		composite.addHealthIndicator("queued", sleeping(400));
+		composite.setExecutor(this.executor);
+		composite.setIndicatorTimeout(800);
+		composite.setTimeout(5000);
+		Health result = composite.health();
+		assertThat(result.getDetails()).hasSize(3);
+		result.getDetails().values().forEach((health) -> assertThat(
+				((Health) health).getStatus()).isEqualTo(Status.UP));
+	}
+
+	@Test
+	public void concurrentInvocationWithIndicatorTimeoutIsCappedByTimeout()
+			throws Exception {
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator);
+		composite.addHealthIndicator("blocking1", sleeping(500));
+		composite.addHealthIndicator("blocking2", sleeping(500));
+		composite.addHealthIndicator("queued", sleeping(500));
+		composite.setExecutor(this.executor);
+		composite.setIndicatorTimeout(800);
+		composite.setTimeout(800);
+		Health result = composite.health();
+		assertThat(((Health) result.getDetails().get("blocking1")).getStatus())
+				.isEqualTo(Status.UP);
+		assertThat(((Health) result.getDetails().get("blocking2")).getStatus())
+				.isEqualTo(Status.UP);
+		Health queued = (Health) result.getDetails().get("queued");
+		assertThat(queued.getStatus()).isEqualTo(Status.UNKNOWN);
+		assertThat(queued.getDetails()).containsKey("timeout");
+	}
+
+	@Test
+	public void concurrentInvocationWhenExecutorRejects() throws Exception {
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator);
+		composite.addHealthIndicator("one", this.one);
+		composite.setExecutor((task) -> {
+			throw new RejectedExecutionException("Rejected");
+		});
+		Health result = composite.health();
+		Health one = (Health) result.getDetails().get("one");
+		assertThat(one.getStatus()).isEqualTo(Status.UNKNOWN);
+		assertThat(one.getDetails()).containsEntry("error",
+				"java.util.concurrent.RejectedExecutionException: Rejected");
+		verifyZeroInteractions(this.one);
+	}
+
+	@Test
+	public void concurrentInvocationWithTimeout() throws Exception {
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator);
+		composite.addHealthIndicator("slow1", sleeping(5000));
+		composite.addHealthIndicator("slow2", sleeping(5000));
+		composite.addHealthIndicator("slow3", sleeping(5000));
+		composite.setExecutor(this.executor);
+		composite.setTimeout(100);
+		long start = System.currentTimeMillis();
+		Health result = composite.health();
+		assertThat(System.currentTimeMillis() - start).isLessThan(2000);
+		assertThat(result.getDetails()).hasSize(3);
+		result.getDetails().values().forEach((health) -> assertThat(
+				((Health) health).getStatus()).isEqualTo(Status.UNKNOWN));
+	}
+
+	@Test
+	public void concurrentInvocationWithFailure() throws Exception {
+		given(this.two.health()).willThrow(new IllegalStateException("Failed"));
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator);
+		composite.addHealthIndicator("one", this.one);
+		composite.addHealthIndicator("two", this.two);
+		composite.setExecutor(this.executor);
+		Health result = composite.health();
+		Health two = (Health) result.getDetails().get("two");
+		assertThat(two.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(two.getDetails()).containsEntry("error",
+				"java.lang.IllegalStateException: Failed");
+	}
+
+	private HealthIndicator awaiting(CountDownLatch latch, String detail) {
+		return () -> {
+			latch.countDown();
+			try {
+				// Only completes if the other indicator is running at the same time
+				assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return new Health.Builder().up().withDetail(detail, detail).build();
+		};
+	}
+
+	private HealthIndicator sleeping(long millis) {
+		return () -> {
+			try {
+				Thread.sleep(millis);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return new Health.Builder().up().build();
+		};
+	}
+
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * Tests for {@link SnapshotHealthIndicator}.
+ *
+ * @author agent
+ */
+public class SnapshotHealthIndicatorTests {
+
+	private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+	@Before
+	public void setup() {
+		this.scheduler.initialize();
+	}
+
+	@After
+	public void shutdown() {
+		this.scheduler.shutdown();
+	}
+
+	@Test
+	public void healthIsUnknownBeforeFirstRefresh() {
+		HealthIndicator delegate = mock(HealthIndicator.class);
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(delegate, 1000);
+		assertThat(indicator.health()).isEqualTo(Health.unknown().build());
+		verifyZeroInteractions(delegate);
+	}
+
+	@Test
+	public void healthServesLastSnapshot() {
+		HealthIndicator delegate = mock(HealthIndicator.class);
+		given(delegate.health()).willReturn(Health.up().build(),
+				Health.down().build());
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(delegate, 1000);
+		indicator.refresh();
+		assertThat(indicator.health()).isEqualTo(Health.up().build());
+		assertThat(indicator.health()).isEqualTo(Health.up().build());
+		indicator.refresh();
+		assertThat(indicator.health()).isEqualTo(Health.down().build());
+		verify(delegate, times(2)).health();
+	}
+
+	@Test
+	public void refreshFailureIsReportedAsDown() {
+		HealthIndicator delegate = mock(HealthIndicator.class);
+		given(delegate.health()).willThrow(new IllegalStateException("Failed"));
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(delegate, 1000);
+		indicator.refresh();
+		Health health = indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error",
+				"java.lang.IllegalStateException: Failed");
+	}
+
+	@Test
+	public void startRefreshesInTheBackground() throws Exception {
+		CountDownLatch refreshed = new CountDownLatch(2);
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(() -> {
+			refreshed.countDown();
+			return Health.up().build();
+		}, 10);
+		indicator.start(this.scheduler);
+		assertThat(refreshed.await(5, TimeUnit.SECONDS)).isTrue();
+		indicator.stop();
+		assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+	}
+
+	@Test
+	public void overrunningRefreshServesStaleSnapshotWithAge() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		HealthIndicator delegate = mock(HealthIndicator.class);
+		given(delegate.health()).willReturn(Health.up().build())
+				.willAnswer((invocation) -> {
+					release.await();
+					return Health.down().build();
+				});
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(delegate, 20);
+		indicator.refresh();
+		Thread refresh = new Thread(indicator::refresh);
+		refresh.start();
+		Thread.sleep(100);
+		Health health = indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat((Long) health.getDetails().get("age")).isGreaterThanOrEqualTo(100);
+		release.countDown();
+		refresh.join(5000);
+		assertThat(indicator.health()).isEqualTo(Health.down().build());
+	}
+
+	@Test
+	public void snapshotWithinIntervalAndRefreshDurationIsServedWithoutAge()
+			throws Exception {
+		HealthIndicator delegate = mock(HealthIndicator.class);
+		given(delegate.health()).willAnswer((invocation) -> {
+			Thread.sleep(500);
+			return Health.up().build();
+		});
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(delegate, 100);
+		indicator.refresh();
+		Thread.sleep(200);
+		assertThat(indicator.health()).isEqualTo(Health.up().build());
+		Thread.sleep(500);
+		assertThat((Long) indicator.health().getDetails().get("age"))
+				.isGreaterThanOrEqualTo(700);
+	}
+
+	@Test
+	public void snapshotOlderThanIntervalIsServedWithAge() throws Exception {
+		HealthIndicator delegate = mock(HealthIndicator.class);
+		given(delegate.health()).willReturn(Health.up().build());
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(delegate, 20);
+		indicator.refresh();
+		Thread.sleep(100);
+		Health health = indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat((Long) health.getDetails().get("age")).isGreaterThanOrEqualTo(100);
+	}
+
+}
@@ -55,4 +55,13 @@ public class BufferMetricReaderTests {
 		assertThat(this.reader.count()).isEqualTo(1);
 	}
 
+	@Test
+	public void findRegisteredHandles() {
+		this.counters.register("foo").increment(3);
+		this.gauges.register("bar").set(1.5);
+		assertThat(this.reader.findOne("foo").getValue()).isEqualTo(3L);
+		assertThat(this.reader.findOne("bar").getValue()).isEqualTo(1.5);
+		assertThat(this.reader.count()).isEqualTo(2);
+	}
+
 }
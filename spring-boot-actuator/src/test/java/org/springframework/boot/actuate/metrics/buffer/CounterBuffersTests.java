@@ -46,6 +46,42 @@ public class CounterBuffersTests {
 		assertThat(this.value).isEqualTo(0);
 	}
 
+	@Test
+	public void findReturnsBufferOnceRegistered() {
+		assertThat(this.buffers.find("foo")).isNull();
+		this.buffers.register("foo");
+		assertThat(this.buffers.find("foo").getValue()).isEqualTo(0);
+		this.buffers.increment("foo", 2);
+		assertThat(this.buffers.find("foo").getValue()).isEqualTo(2);
+	}
+
+	@Test
+	public void registeredHandleUpdatesBuffer() {
+		CounterHandle handle = this.buffers.register("foo");
+		handle.increment(2);
+		handle.increment(3);
+		this.buffers.increment("foo", 1);
+		assertThat(handle.getName()).isEqualTo("foo");
+		assertThat(this.buffers.find("foo").getValue()).isEqualTo(6);
+		assertThat(this.buffers.find("foo").getTimestamp()).isGreaterThan(0);
+	}
+
+	@Test
+	public void handlesForSameNameShareBuffer() {
+		this.buffers.register("foo").increment(2);
+		this.buffers.register("foo").increment(2);
+		assertThat(this.buffers.find("foo").getValue()).isEqualTo(4);
+		assertThat(this.buffers.count()).isEqualTo(1);
+	}
+
+	@Test
+	public void registeredHandleReset() {
+		CounterHandle handle = this.buffers.register("foo");
+		handle.increment(2);
+		handle.reset();
+		assertThat(this.buffers.find("foo").getValue()).isEqualTo(0);
+	}
+
 	@Test
 	public void findNonExistent() {
 		assertThat(this.buffers.find("foo")).isNull();
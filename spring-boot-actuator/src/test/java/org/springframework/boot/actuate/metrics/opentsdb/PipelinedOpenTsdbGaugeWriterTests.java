@@ -0,0 +1,185 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.opentsdb;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseCreator;
+import org.springframework.test.web.client.response.MockRestResponseCreators;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestOperations;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+
+/**
+ * Tests for {@link PipelinedOpenTsdbGaugeWriter}.
+ *
+ * @author agent
+ */
+public class PipelinedOpenTsdbGaugeWriterTests {
+
+	private PipelinedOpenTsdbGaugeWriter writer;
+
+	private MockRestServiceServer server;
+
+	@Before
+	public void init() {
+		RestTemplate restTemplate = new RestTemplate();
+		this.server = MockRestServiceServer.bindTo(restTemplate).build();
+		this.writer = new PipelinedOpenTsdbGaugeWriter();
+		this.writer.setRestTemplate(restTemplate);
+	}
+
+	@After
+	public void close() throws Exception {
+		this.writer.destroy();
+	}
+
+	@Test
+	public void postCompressedBatchWhenBufferSizeReached() throws Exception {
+		this.server.expect(requestTo("http://localhost:4242/api/put"))
+				.andExpect(header("Content-Encoding", "gzip"))
+				.andExpect((request) -> assertThat(
+						decompress(((MockClientHttpRequest) request).getBodyAsBytes()))
+								.contains("\"metric\":\"foo\"")
+								.contains("\"metric\":\"bar\""))
+				.andRespond(jsonResponse());
+		this.writer.setBufferSize(2);
+		this.writer.set(new Metric<>("foo", 2.4));
+		this.writer.set(new Metric<>("bar", 1.2));
+		awaitFlushed(2);
+		this.server.verify();
+	}
+
+	@Test
+	public void postBatchWhenFlushIntervalElapsed() throws Exception {
+		this.server.expect(requestTo("http://localhost:4242/api/put"))
+				.andRespond(jsonResponse());
+		this.writer.setFlushInterval(10);
+		this.writer.set(new Metric<>("foo", 2.4));
+		awaitFlushed(1);
+		this.server.verify();
+	}
+
+	@Test
+	public void postUncompressed() throws Exception {
+		this.server.expect(requestTo("http://localhost:4242/api/put"))
+				.andExpect((request) -> assertThat(request.getHeaders())
+						.doesNotContainKey("Content-Encoding"))
+				.andRespond(jsonResponse());
+		this.writer.setCompress(false);
+		this.writer.setBufferSize(1);
+		this.writer.set(new Metric<>("foo", 2.4));
+		awaitFlushed(1);
+		this.server.verify();
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void dropValuesWhenQueueIsFull() throws Exception {
+		CountDownLatch posting = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		RestOperations restTemplate = mock(RestOperations.class);
+		given(restTemplate.postForEntity(anyString(), any(Object.class),
+				anyResponseType()))
+				.willAnswer((invocation) -> {
+					posting.countDown();
+					release.await();
+					return new ResponseEntity<Map>(Collections.emptyMap(), HttpStatus.OK);
+				});
+		this.writer = new PipelinedOpenTsdbGaugeWriter(1);
+		this.writer.setRestTemplate(restTemplate);
+		this.writer.setBufferSize(1);
+		this.writer.set(new Metric<>("foo", 1));
+		assertThat(posting.await(5, TimeUnit.SECONDS)).isTrue();
+		this.writer.set(new Metric<>("foo", 2));
+		this.writer.set(new Metric<>("foo", 3));
+		assertThat(this.writer.findOne("opentsdb.queue.size").getValue()).isEqualTo(1);
+		assertThat(this.writer.findOne("opentsdb.dropped").getValue()).isEqualTo(1L);
+		release.countDown();
+		awaitFlushed(2);
+	}
+
+	@Test
+	public void destroyPostsValuesTakenFromQueue() throws Exception {
+		this.server.expect(requestTo("http://localhost:4242/api/put"))
+				.andRespond(jsonResponse());
+		this.writer.setBufferSize(10);
+		this.writer.setFlushInterval(60000);
+		this.writer.set(new Metric<>("foo", 1));
+		this.writer.set(new Metric<>("bar", 2));
+		long deadline = System.currentTimeMillis() + 5000;
+		while (this.writer.findOne("opentsdb.queue.size").getValue().intValue() > 0
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(this.writer.findOne("opentsdb.flushed").getValue()).isEqualTo(0L);
+		this.writer.destroy();
+		assertThat(this.writer.findOne("opentsdb.flushed").getValue()).isEqualTo(2L);
+		this.server.verify();
+	}
+
+	private void awaitFlushed(long count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (this.writer.findOne("opentsdb.flushed").getValue().longValue() < count
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(this.writer.findOne("opentsdb.flushed").getValue()).isEqualTo(count);
+	}
+
+	private String decompress(byte[] bytes) throws IOException {
+		try (InputStream stream = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			return StreamUtils.copyToString(stream, StandardCharsets.UTF_8);
+		}
+	}
+
+	private ResponseCreator jsonResponse() {
+		return MockRestResponseCreators.withSuccess("{}", MediaType.APPLICATION_JSON);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Class<Map> anyResponseType() {
+		return any(Class.class);
+	}
+
+}
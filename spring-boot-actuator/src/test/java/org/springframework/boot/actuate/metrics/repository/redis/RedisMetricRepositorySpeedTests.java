@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.repository.redis;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Iterables;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.writer.Delta;
+import org.springframework.boot.testsupport.rule.RedisTestServer;
+import org.springframework.util.StopWatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Speed tests for {@link RedisMetricRepository} exporting a large number of metrics with
+ * and without batched writes.
+ *
+ * @author agent
+ */
+public class RedisMetricRepositorySpeedTests {
+
+	private static final int metrics = 2000;
+
+	private static final int cycles = Boolean.getBoolean("performance.test") ? 100 : 5;
+
+	private static StopWatch watch = new StopWatch("redis");
+
+	@Rule
+	public RedisTestServer redis = new RedisTestServer();
+
+	private RedisMetricRepository repository;
+
+	private String prefix;
+
+	@Before
+	public void init() {
+		this.prefix = "spring.speed." + System.currentTimeMillis();
+		this.repository = new RedisMetricRepository(this.redis.getConnectionFactory(),
+				this.prefix);
+	}
+
+	@After
+	public void clear() {
+		for (int i = 0; i < metrics; i++) {
+			this.repository.reset(name(i));
+		}
+	}
+
+	@AfterClass
+	public static void washup() {
+		System.err.println(watch.prettyPrint());
+	}
+
+	@Test
+	public void unbatched() {
+		export("unbatched");
+	}
+
+	@Test
+	public void batched() {
+		this.repository.setBatchWrites(true);
+		export("batched");
+	}
+
+	private void export(String taskName) {
+		watch.start(taskName);
+		for (int cycle = 0; cycle < cycles; cycle++) {
+			for (int i = 0; i < metrics; i++) {
+				if (i % 2 == 0) {
+					this.repository.increment(new Delta<>(name(i), 1L));
+				}
+				else {
+					this.repository.set(new Metric<>(name(i), cycle));
+				}
+			}
+			this.repository.flush();
+			assertThat(Iterables.collection(this.repository.findAll())).hasSize(metrics);
+		}
+		watch.stop();
+	}
+
+	private String name(int i) {
+		return (i % 2 == 0 ? "counter.test." : "gauge.test.") + i;
+	}
+
+}
@@ -105,4 +105,62 @@ public class RedisMetricRepositoryTests {
 		assertThat(this.repository.count()).isEqualTo(2);
 	}
 
+	@Test
+	public void writesAreVisibleToOtherClientsImmediatelyByDefault() {
+		this.repository.set(new Metric<Number>("foo", 12.3));
+		this.repository.increment(new Delta<>("bar", 3L));
+		assertThat(getRawValue("foo")).isNotNull();
+		assertThat(getRawValue("bar")).isNotNull();
+	}
+
+	@Test
+	public void batchWritesAreVisibleToOtherClientsAfterFlush() {
+		this.repository.setBatchWrites(true);
+		this.repository.set(new Metric<Number>("foo", 12.3));
+		this.repository.increment(new Delta<>("foo", 3L));
+		this.repository.increment(new Delta<>("bar", 3L));
+		assertThat(getRawValue("foo")).isNull();
+		this.repository.flush();
+		assertThat(getRawValue("foo")).isNotNull();
+		assertThat(getRawValue("bar")).isNotNull();
+	}
+
+	@Test
+	public void batchWritesAreVisibleToReads() {
+		this.repository.setBatchWrites(true);
+		this.repository.set(new Metric<Number>("foo", 12.3));
+		this.repository.increment(new Delta<>("foo", 3L));
+		this.repository.increment(new Delta<>("bar", 3L));
+		assertThat(this.repository.findOne("foo").getValue().doubleValue())
+				.isEqualTo(15.3, offset(0.01));
+		assertThat(this.repository.findOne("bar").getValue().longValue()).isEqualTo(3);
+		assertThat(Iterables.collection(this.repository.findAll())).hasSize(2);
+	}
+
+	@Test
+	public void batchWritesAreFlushedWhenMaxPendingWritesReached() {
+		this.repository.setBatchWrites(true);
+		this.repository.setMaxPendingWrites(2);
+		this.repository.set(new Metric<Number>("foo", 12.3));
+		assertThat(getRawValue("foo")).isNull();
+		this.repository.set(new Metric<Number>("bar", 12.3));
+		assertThat(getRawValue("foo")).isNotNull();
+		assertThat(getRawValue("bar")).isNotNull();
+	}
+
+	@Test
+	public void disablingBatchWritesFlushesPendingWrites() {
+		this.repository.setBatchWrites(true);
+		this.repository.set(new Metric<Number>("foo", 12.3));
+		this.repository.setBatchWrites(false);
+		assertThat(getRawValue("foo")).isNotNull();
+		this.repository.set(new Metric<Number>("bar", 12.3));
+		assertThat(getRawValue("bar")).isNotNull();
+	}
+
+	private String getRawValue(String name) {
+		return new StringRedisTemplate(this.redis.getConnectionFactory()).opsForValue()
+				.get(this.prefix + "." + name);
+	}
+
 }
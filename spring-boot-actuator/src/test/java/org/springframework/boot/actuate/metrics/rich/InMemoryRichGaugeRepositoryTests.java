@@ -16,6 +16,12 @@
 
 package org.springframework.boot.actuate.metrics.rich;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Test;
 
 import org.springframework.boot.actuate.metrics.Metric;
@@ -57,4 +63,35 @@ public class InMemoryRichGaugeRepositoryTests {
 		assertThat(this.repository.findOne("foo").getValue()).isEqualTo(2d, offset(0.01));
 	}
 
+	@Test
+	public void setConcurrent() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 1000; j++) {
+						this.repository.set(new Metric<>("foo", 1d));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		assertThat(this.repository.findOne("foo").getCount()).isEqualTo(8000L);
+	}
+
+	@Test
+	public void maxSizeEvictsGauges() {
+		this.repository.setMaxSize(1);
+		this.repository.set(new Metric<>("foo", 1d));
+		this.repository.set(new Metric<>("bar", 1d));
+		assertThat(this.repository.count()).isEqualTo(1L);
+		assertThat(this.repository.getEvictionCount()).isEqualTo(1L);
+	}
+
 }
@@ -74,6 +74,43 @@ public class SimpleInMemoryRepositoryTests {
 		assertThat(iterator.hasNext()).isFalse();
 	}
 
+	@Test
+	public void maxSizeEvictsLeastRecentlyUpdated() {
+		this.repository.setMaxSize(10);
+		for (int i = 0; i < 10; i++) {
+			this.repository.set("foo" + i, "bar");
+			sleepQuietly(1);
+		}
+		this.repository.update("foo0", (current) -> "spam");
+		this.repository.set("foo10", "bar");
+		assertThat(this.repository.count()).isEqualTo(9);
+		assertThat(this.repository.getEvictionCount()).isEqualTo(2);
+		assertThat(this.repository.findOne("foo0")).isEqualTo("spam");
+		assertThat(this.repository.findOne("foo1")).isNull();
+		assertThat(this.repository.findOne("foo2")).isNull();
+		assertThat(this.repository.findOne("foo10")).isEqualTo("bar");
+	}
+
+	@Test
+	public void maxIdleTimeEvictsIdleKeys() {
+		this.repository.setMaxIdleTime(10);
+		this.repository.set("foo", "bar");
+		sleepQuietly(20);
+		this.repository.set("bar", "spam");
+		assertThat(this.repository.findAll()).containsExactly("spam");
+		assertThat(this.repository.findOne("foo")).isNull();
+		assertThat(this.repository.getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void removeDoesNotCountAsEviction() {
+		this.repository.setMaxSize(10);
+		this.repository.set("foo", "bar");
+		this.repository.remove("foo");
+		assertThat(this.repository.count()).isEqualTo(0);
+		assertThat(this.repository.getEvictionCount()).isEqualTo(0);
+	}
+
 	@Test
 	public void updateConcurrent() throws Exception {
 		SimpleInMemoryRepository<Integer> repository = new SimpleInMemoryRepository<>();
@@ -89,6 +126,15 @@ public class SimpleInMemoryRepositoryTests {
 		assertThat(repository.findOne("foo")).isEqualTo(0);
 	}
 
+	private void sleepQuietly(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	private static class RepositoryUpdate implements Callable<Boolean> {
 
 		private final SimpleInMemoryRepository<Integer> repository;
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RingBufferTraceRepository}.
+ *
+ * @author agent
+ */
+public class RingBufferTraceRepositoryTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void capacityMustBePositive() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Capacity must be greater than 0");
+		new RingBufferTraceRepository(0);
+	}
+
+	@Test
+	public void emptyRepository() {
+		assertThat(new RingBufferTraceRepository().findAll()).isEmpty();
+	}
+
+	@Test
+	public void capacityLimited() {
+		RingBufferTraceRepository repository = new RingBufferTraceRepository(2);
+		repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+		repository.add(Collections.<String, Object>singletonMap("bar", "foo"));
+		repository.add(Collections.<String, Object>singletonMap("bar", "bar"));
+		List<Trace> traces = repository.findAll();
+		assertThat(traces).hasSize(2);
+		assertThat(traces.get(0).getInfo().get("bar")).isEqualTo("bar");
+		assertThat(traces.get(1).getInfo().get("bar")).isEqualTo("foo");
+	}
+
+	@Test
+	public void reverseFalse() {
+		RingBufferTraceRepository repository = new RingBufferTraceRepository(2);
+		repository.setReverse(false);
+		repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+		repository.add(Collections.<String, Object>singletonMap("bar", "foo"));
+		repository.add(Collections.<String, Object>singletonMap("bar", "bar"));
+		List<Trace> traces = repository.findAll();
+		assertThat(traces).hasSize(2);
+		assertThat(traces.get(1).getInfo().get("bar")).isEqualTo("bar");
+		assertThat(traces.get(0).getInfo().get("bar")).isEqualTo("foo");
+	}
+
+	@Test
+	public void concurrentWritersRetainMostRecentTraces() throws Exception {
+		RingBufferTraceRepository repository = new RingBufferTraceRepository(50);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int thread = 0; thread < 8; thread++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 10000; i++) {
+						repository.add(Collections.<String, Object>singletonMap("i", i));
+						repository.findAll();
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		List<Trace> traces = repository.findAll();
+		assertThat(traces).hasSize(50);
+		assertThat(traces).doesNotContainNull();
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.AfterClass;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import org.springframework.util.StopWatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Speed tests comparing {@link InMemoryTraceRepository} and
+ * {@link RingBufferTraceRepository} with an increasing number of writer threads.
+ *
+ * @author agent
+ */
+@RunWith(Theories.class)
+public class TraceRepositorySpeedTests {
+
+	@DataPoints
+	public static int[] threadCounts = new int[] { 1, 8, 64 };
+
+	private static final int number = Boolean.getBoolean("performance.test") ? 10000000
+			: 100000;
+
+	private static final Map<String, Object> info = Collections
+			.<String, Object>singletonMap("method", "GET");
+
+	private static StopWatch watch = new StopWatch("trace");
+
+	@AfterClass
+	public static void washup() {
+		System.err.println(watch.prettyPrint());
+	}
+
+	@Theory
+	public void inMemory(int threadCount) throws Exception {
+		iterate("inMemory" + threadCount, new InMemoryTraceRepository(), threadCount);
+	}
+
+	@Theory
+	public void ringBuffer(int threadCount) throws Exception {
+		iterate("ringBuffer" + threadCount, new RingBufferTraceRepository(),
+				threadCount);
+	}
+
+	private void iterate(String taskName, TraceRepository repository, int threadCount)
+			throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(threadCount);
+		int perThread = number / threadCount;
+		Runnable task = () -> {
+			for (int i = 0; i < perThread; i++) {
+				repository.add(info);
+			}
+		};
+		watch.start(taskName);
+		try {
+			Collection<Future<?>> futures = new HashSet<>();
+			for (int i = 0; i < threadCount; i++) {
+				futures.add(pool.submit(task));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			watch.stop();
+			pool.shutdown();
+		}
+		double rate = (double) perThread * threadCount / watch.getLastTaskTimeMillis()
+				* 1000;
+		System.err.println(taskName + " rate=" + rate);
+		assertThat(repository.findAll()).hasSize(100);
+	}
+
+}
@@ -36,6 +36,8 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.startup.StartupStep;
+import org.springframework.boot.context.startup.StartupTimeline;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.DeferredImportSelector;
@@ -85,6 +87,9 @@ public class AutoConfigurationImportSelector
 		if (!isEnabled(annotationMetadata)) {
 			return NO_IMPORTS;
 		}
+		StartupStep step = StartupTimeline.get(this.beanFactory)
+				.start("spring.boot.autoconfigure.imports")
+				.tag("importingClass", annotationMetadata.getClassName());
 		try {
 			AutoConfigurationMetadata autoConfigurationMetadata = AutoConfigurationMetadataLoader
 					.loadMetadata(this.beanClassLoader);
@@ -92,17 +97,24 @@ public class AutoConfigurationImportSelector
 			List<String> configurations = getCandidateConfigurations(annotationMetadata,
 					attributes);
 			configurations = removeDuplicates(configurations);
+			// Sort before filtering so that ordering through filtered out classes is kept
 			configurations = sort(configurations, autoConfigurationMetadata);
+			step.tag("candidates", configurations.size());
 			Set<String> exclusions = getExclusions(annotationMetadata, attributes);
 			checkExcludedClasses(configurations, exclusions);
 			configurations.removeAll(exclusions);
 			configurations = filter(configurations, autoConfigurationMetadata);
 			fireAutoConfigurationImportEvents(configurations, exclusions);
+			step.tag("exclusions", exclusions.size()).tag("imports",
+					configurations.size());
 			return configurations.toArray(new String[configurations.size()]);
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException(ex);
 		}
+		finally {
+			step.end();
+		}
 	}
 
 	protected boolean isEnabled(AnnotationMetadata metadata) {
@@ -234,27 +246,21 @@ public class AutoConfigurationImportSelector
 			AutoConfigurationMetadata autoConfigurationMetadata) {
 		long startTime = System.nanoTime();
 		String[] candidates = configurations.toArray(new String[configurations.size()]);
-		boolean[] skip = new boolean[candidates.length];
-		boolean skipped = false;
+		StartupTimeline timeline = StartupTimeline.get(this.beanFactory);
 		for (AutoConfigurationImportFilter filter : getAutoConfigurationImportFilters()) {
+			StartupStep step = timeline.start("spring.boot.autoconfigure.filter")
+					.tag("filter", filter.getClass().getName());
 			invokeAwareMethods(filter);
 			boolean[] match = filter.match(candidates, autoConfigurationMetadata);
-			for (int i = 0; i < match.length; i++) {
-				if (!match[i]) {
-					skip[i] = true;
-					skipped = true;
-				}
-			}
+			// Later filters only consider the candidates that are still matching
+			String[] matching = getMatching(candidates, match);
+			step.tag("filtered", candidates.length - matching.length).end();
+			candidates = matching;
 		}
-		if (!skipped) {
+		if (candidates.length == configurations.size()) {
 			return configurations;
 		}
-		List<String> result = new ArrayList<>(candidates.length);
-		for (int i = 0; i < candidates.length; i++) {
-			if (!skip[i]) {
-				result.add(candidates[i]);
-			}
-		}
+		List<String> result = Arrays.asList(candidates);
 		if (logger.isTraceEnabled()) {
 			int numberFiltered = configurations.size() - result.size();
 			logger.trace("Filtered " + numberFiltered + " auto configuration class in "
@@ -264,6 +270,24 @@ public class AutoConfigurationImportSelector
 		return new ArrayList<>(result);
 	}
 
+	private String[] getMatching(String[] candidates, boolean[] match) {
+		int count = 0;
+		for (int i = 0; i < match.length; i++) {
+			count += (match[i] ? 1 : 0);
+		}
+		if (count == candidates.length) {
+			return candidates;
+		}
+		String[] matching = new String[count];
+		int index = 0;
+		for (int i = 0; i < match.length; i++) {
+			if (match[i]) {
+				matching[index++] = candidates[i];
+			}
+		}
+		return matching;
+	}
+
 	protected List<AutoConfigurationImportFilter> getAutoConfigurationImportFilters() {
 		return SpringFactoriesLoader.loadFactories(AutoConfigurationImportFilter.class,
 				this.beanClassLoader);
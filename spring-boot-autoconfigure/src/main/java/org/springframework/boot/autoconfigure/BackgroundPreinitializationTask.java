@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+
+/**
+ * A time consuming task, typically the loading and initialization of classes, that can
+ * be registered with {@code spring.factories} so that it is run early by the
+ * {@link BackgroundPreinitializer}, off the main thread and in parallel with other
+ * tasks.
+ * <p>
+ * Tasks are run at most once per JVM. Any exception thrown by a task is ignored as the
+ * work will happen again, more slowly, on the main thread when it is needed.
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+@FunctionalInterface
+public interface BackgroundPreinitializationTask {
+
+	/**
+	 * Perform the preinitialization.
+	 * @throws Exception on error
+	 */
+	void run() throws Exception;
+
+	/**
+	 * Return if the application should wait for this task to complete before the
+	 * {@link ApplicationReadyEvent} is published. Tasks that are not awaited may still
+	 * be running once the application is ready.
+	 * @return if the task is awaited
+	 */
+	default boolean isAwaited() {
+		return true;
+	}
+
+}
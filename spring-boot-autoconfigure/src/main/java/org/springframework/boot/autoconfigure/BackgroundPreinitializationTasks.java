@@ -0,0 +1,198 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Runs {@link BackgroundPreinitializationTask tasks} in parallel on a small number of
+ * daemon threads, recording the duration of each task.
+ *
+ * @author agent
+ * @see BackgroundPreinitializer
+ */
+final class BackgroundPreinitializationTasks {
+
+	private static final Log logger = LogFactory
+			.getLog(BackgroundPreinitializationTasks.class);
+
+	private static final int MAX_THREADS = 4;
+
+	private final List<BackgroundPreinitializationTask> tasks;
+
+	private final int threads;
+
+	private final CountDownLatch awaitedTasksComplete;
+
+	private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+	BackgroundPreinitializationTasks(List<BackgroundPreinitializationTask> tasks) {
+		this(tasks, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+	}
+
+	BackgroundPreinitializationTasks(List<BackgroundPreinitializationTask> tasks,
+			int maxThreads) {
+		this.tasks = tasks;
+		this.threads = Math.min(tasks.size(), Math.max(1, maxThreads));
+		this.awaitedTasksComplete = new CountDownLatch(
+				(int) tasks.stream().filter(BackgroundPreinitializationTask::isAwaited)
+						.count());
+	}
+
+	/**
+	 * Load the {@link BackgroundPreinitializationTask tasks} registered in
+	 * {@code spring.factories}.
+	 * @param classLoader the class loader used to load the tasks
+	 * @return the tasks
+	 * @see #instantiate(List, ClassLoader)
+	 */
+	static List<BackgroundPreinitializationTask> load(ClassLoader classLoader) {
+		return instantiate(SpringFactoriesLoader.loadFactoryNames(
+				BackgroundPreinitializationTask.class, classLoader), classLoader);
+	}
+
+	/**
+	 * Instantiate the {@link BackgroundPreinitializationTask tasks} with the given class
+	 * names. A task that cannot be instantiated, for example because a class that it
+	 * needs is not available, is skipped.
+	 * @param names the class names of the tasks
+	 * @param classLoader the class loader used to load the tasks
+	 * @return the tasks that could be instantiated
+	 */
+	static List<BackgroundPreinitializationTask> instantiate(List<String> names,
+			ClassLoader classLoader) {
+		List<BackgroundPreinitializationTask> tasks = new ArrayList<>(names.size());
+		for (String name : names) {
+			try {
+				tasks.add(BeanUtils.instantiateClass(
+						ClassUtils.forName(name, classLoader),
+						BackgroundPreinitializationTask.class));
+			}
+			catch (Throwable ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Skipping background preinitialization task " + name,
+							ex);
+				}
+			}
+		}
+		AnnotationAwareOrderComparator.sort(tasks);
+		return tasks;
+	}
+
+	/**
+	 * Start running the tasks in the background.
+	 */
+	public void start() {
+		Queue<BackgroundPreinitializationTask> queue = new ConcurrentLinkedQueue<>(
+				this.tasks);
+		int started = 0;
+		try {
+			while (started < this.threads) {
+				Thread thread = new Thread(() -> runTasks(queue),
+						"background-preinit-" + started);
+				thread.setDaemon(true);
+				thread.start();
+				started++;
+			}
+		}
+		catch (Exception ex) {
+			// This will fail on GAE where creating threads is prohibited. We can safely
+			// continue but startup will be slightly slower as the initialization will now
+			// happen on the main thread.
+			if (started == 0) {
+				skipTasks(queue);
+			}
+		}
+	}
+
+	private void runTasks(Queue<BackgroundPreinitializationTask> queue) {
+		BackgroundPreinitializationTask task = queue.poll();
+		while (task != null) {
+			run(task);
+			task = queue.poll();
+		}
+	}
+
+	private void run(BackgroundPreinitializationTask task) {
+		long startTime = System.nanoTime();
+		try {
+			task.run();
+		}
+		catch (Throwable ex) {
+			// Ignore
+		}
+		finally {
+			long duration = TimeUnit.NANOSECONDS
+					.toMillis(System.nanoTime() - startTime);
+			this.durations.put(task.getClass().getName(), duration);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Background preinitialization task "
+						+ task.getClass().getName() + " took " + duration + "ms");
+			}
+			complete(task);
+		}
+	}
+
+	private void skipTasks(Queue<BackgroundPreinitializationTask> queue) {
+		BackgroundPreinitializationTask task = queue.poll();
+		while (task != null) {
+			complete(task);
+			task = queue.poll();
+		}
+	}
+
+	private void complete(BackgroundPreinitializationTask task) {
+		if (task.isAwaited()) {
+			this.awaitedTasksComplete.countDown();
+		}
+	}
+
+	/**
+	 * Wait for all tasks that are {@link BackgroundPreinitializationTask#isAwaited()
+	 * awaited} to complete.
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void awaitCompletion() throws InterruptedException {
+		this.awaitedTasksComplete.await();
+	}
+
+	/**
+	 * Return the duration in milliseconds of each completed task, keyed by task class
+	 * name.
+	 * @return the durations of the completed tasks
+	 */
+	public Map<String, Long> getDurations() {
+		return Collections.unmodifiableMap(this.durations);
+	}
+
+}
@@ -16,7 +16,6 @@
 
 package org.springframework.boot.autoconfigure;
 
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.validation.Validation;
@@ -35,8 +34,12 @@ import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.support.AllEncompassingFormHttpMessageConverter;
 
 /**
- * {@link ApplicationListener} to trigger early initialization in a background thread of
- * time consuming tasks.
+ * {@link ApplicationListener} to trigger early initialization in background threads of
+ * time consuming tasks. The {@link BackgroundPreinitializationTask tasks} are loaded
+ * from {@code spring.factories}, skipping any that cannot be instantiated, and run in
+ * parallel on a small number of threads. Tasks that are
+ * {@link BackgroundPreinitializationTask#isAwaited() awaited} must complete before the
+ * {@link ApplicationReadyEvent} is handled.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -48,19 +51,33 @@ public class BackgroundPreinitializer
 
 	private static final AtomicBoolean preinitializationStarted = new AtomicBoolean(false);
 
-	private static final CountDownLatch preinitializationComplete = new CountDownLatch(1);
+	private static volatile BackgroundPreinitializationTasks preinitializationTasks;
 
 	@Override
 	public void onApplicationEvent(SpringApplicationEvent event) {
 		if (event instanceof ApplicationEnvironmentPreparedEvent) {
 			if (preinitializationStarted.compareAndSet(false, true)) {
-				performPreinitialization();
+				performPreinitialization(event.getSpringApplication().getClassLoader());
 			}
 		}
 		if (event instanceof ApplicationReadyEvent
 				|| event instanceof ApplicationFailedEvent) {
+			awaitPreinitialization();
+		}
+	}
+
+	private void performPreinitialization(ClassLoader classLoader) {
+		BackgroundPreinitializationTasks tasks = new BackgroundPreinitializationTasks(
+				BackgroundPreinitializationTasks.load(classLoader));
+		tasks.start();
+		preinitializationTasks = tasks;
+	}
+
+	private void awaitPreinitialization() {
+		BackgroundPreinitializationTasks tasks = preinitializationTasks;
+		if (tasks != null) {
 			try {
-				preinitializationComplete.await();
+				tasks.awaitCompletion();
 			}
 			catch (InterruptedException ex) {
 				Thread.currentThread().interrupt();
@@ -68,44 +85,10 @@ public class BackgroundPreinitializer
 		}
 	}
 
-	private void performPreinitialization() {
-		try {
-			Thread thread = new Thread(new Runnable() {
-
-				@Override
-				public void run() {
-					runSafely(new MessageConverterInitializer());
-					runSafely(new MBeanFactoryInitializer());
-					runSafely(new ValidationInitializer());
-					runSafely(new JacksonInitializer());
-					runSafely(new ConversionServiceInitializer());
-					preinitializationComplete.countDown();
-				}
-
-				public void runSafely(Runnable runnable) {
-					try {
-						runnable.run();
-					}
-					catch (Throwable ex) {
-						// Ignore
-					}
-				}
-
-			}, "background-preinit");
-			thread.start();
-		}
-		catch (Exception ex) {
-			// This will fail on GAE where creating threads is prohibited. We can safely
-			// continue but startup will be slightly slower as the initialization will now
-			// happen on the main thread.
-			preinitializationComplete.countDown();
-		}
-	}
-
 	/**
 	 * Early initializer for Spring MessageConverters.
 	 */
-	private static class MessageConverterInitializer implements Runnable {
+	static class MessageConverterInitializer implements BackgroundPreinitializationTask {
 
 		@Override
 		public void run() {
@@ -117,7 +100,7 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer to load Tomcat MBean XML.
 	 */
-	private static class MBeanFactoryInitializer implements Runnable {
+	static class MBeanFactoryInitializer implements BackgroundPreinitializationTask {
 
 		@Override
 		public void run() {
@@ -129,7 +112,7 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer for javax.validation.
 	 */
-	private static class ValidationInitializer implements Runnable {
+	static class ValidationInitializer implements BackgroundPreinitializationTask {
 
 		@Override
 		public void run() {
@@ -141,7 +124,7 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer for Jackson.
 	 */
-	private static class JacksonInitializer implements Runnable {
+	static class JacksonInitializer implements BackgroundPreinitializationTask {
 
 		@Override
 		public void run() {
@@ -153,7 +136,7 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer for Spring's ConversionService.
 	 */
-	private static class ConversionServiceInitializer implements Runnable {
+	static class ConversionServiceInitializer implements BackgroundPreinitializationTask {
 
 		@Override
 		public void run() {
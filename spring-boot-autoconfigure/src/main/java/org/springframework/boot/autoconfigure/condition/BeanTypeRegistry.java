@@ -18,10 +18,14 @@ package org.springframework.boot.autoconfigure.condition;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -59,6 +63,9 @@ import org.springframework.util.StringUtils;
  * <li>Beans definitions will not be removed.</li>
  * <li>Beans will not be created in parallel.</li>
  * </ul>
+ * Bean names are indexed by every superclass and interface of their type when they are
+ * first seen, and by every annotation once annotations are first matched, so that
+ * matching does not need to consider every bean.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -76,6 +83,18 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 
 	private final Map<String, Class<?>> beanTypes = new HashMap<>();
 
+	private final Map<Class<?>, Set<String>> namesByType = new HashMap<>();
+
+	private final Map<Class<? extends Annotation>, Set<String>> namesByAnnotation =
+			new HashMap<>();
+
+	private final List<String> namesWithoutIndexedAnnotations = new ArrayList<>();
+
+	private final Map<Class<?>, Set<Class<?>>> typeHierarchies = new HashMap<>();
+
+	private final Map<Class<?>, Set<Class<? extends Annotation>>> typeAnnotations =
+			new HashMap<>();
+
 	private int lastBeanDefinitionCount = 0;
 
 	private BeanTypeRegistry(DefaultListableBeanFactory beanFactory) {
@@ -89,7 +108,8 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 	 */
 	static BeanTypeRegistry get(ListableBeanFactory beanFactory) {
 		Assert.isInstanceOf(DefaultListableBeanFactory.class, beanFactory);
-		DefaultListableBeanFactory listableBeanFactory = (DefaultListableBeanFactory) beanFactory;
+		DefaultListableBeanFactory listableBeanFactory =
+				(DefaultListableBeanFactory) beanFactory;
 		Assert.isTrue(listableBeanFactory.isAllowEagerClassLoading(),
 				"Bean factory must allow eager class loading");
 		if (!listableBeanFactory.containsLocalBean(BEAN_NAME)) {
@@ -107,18 +127,22 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 	 * the case of {@link FactoryBean FactoryBeans}. Will include singletons but will not
 	 * cause early bean initialization.
 	 * @param type the class or interface to match (must not be {@code null})
-	 * @return the names of beans (or objects created by FactoryBeans) matching the given
-	 * object type (including subclasses), or an empty set if none
+	 * @return the unmodifiable names of beans (or objects created by FactoryBeans)
+	 * matching the given object type (including subclasses), or an empty set if none
 	 */
 	Set<String> getNamesForType(Class<?> type) {
 		updateTypesIfNecessary();
-		Set<String> matches = new LinkedHashSet<>();
-		for (Map.Entry<String, Class<?>> entry : this.beanTypes.entrySet()) {
-			if (entry.getValue() != null && type.isAssignableFrom(entry.getValue())) {
-				matches.add(entry.getKey());
+		if (type.isArray()) {
+			// Array covariance is not indexed
+			Set<String> matches = new LinkedHashSet<>();
+			for (Map.Entry<String, Class<?>> entry : this.beanTypes.entrySet()) {
+				if (entry.getValue() != null && type.isAssignableFrom(entry.getValue())) {
+					matches.add(entry.getKey());
+				}
 			}
+			return matches;
 		}
-		return matches;
+		return getNames(this.namesByType, type);
 	}
 
 	/**
@@ -127,31 +151,36 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 	 * the case of {@link FactoryBean FactoryBeans}. Will include singletons but will not
 	 * cause early bean initialization.
 	 * @param annotation the annotation to match (must not be {@code null})
-	 * @return the names of beans (or objects created by FactoryBeans) annotated with the
-	 * given annotation, or an empty set if none
+	 * @return the unmodifiable names of beans (or objects created by FactoryBeans)
+	 * annotated with the given annotation, or an empty set if none
 	 */
 	Set<String> getNamesForAnnotation(Class<? extends Annotation> annotation) {
 		updateTypesIfNecessary();
-		Set<String> matches = new LinkedHashSet<>();
-		for (Map.Entry<String, Class<?>> entry : this.beanTypes.entrySet()) {
-			if (entry.getValue() != null && AnnotationUtils
-					.findAnnotation(entry.getValue(), annotation) != null) {
-				matches.add(entry.getKey());
-			}
-		}
-		return matches;
+		indexAnnotationsIfNecessary();
+		return getNames(this.namesByAnnotation, annotation);
+	}
+
+	private <K> Set<String> getNames(Map<K, Set<String>> index, K key) {
+		Set<String> names = index.get(key);
+		return (names == null ? Collections.emptySet()
+				: Collections.unmodifiableSet(names));
 	}
 
 	@Override
 	public void afterSingletonsInstantiated() {
 		// We're done at this point, free up some memory
 		this.beanTypes.clear();
+		this.namesByType.clear();
+		this.namesByAnnotation.clear();
+		this.namesWithoutIndexedAnnotations.clear();
+		this.typeHierarchies.clear();
+		this.typeAnnotations.clear();
 		this.lastBeanDefinitionCount = 0;
 	}
 
 	private void addBeanType(String name) {
 		if (this.beanFactory.containsSingleton(name)) {
-			this.beanTypes.put(name, this.beanFactory.getType(name));
+			addBeanType(name, this.beanFactory.getType(name));
 		}
 		else if (!this.beanFactory.isAlias(name)) {
 			addBeanTypeForNonAliasDefinition(name);
@@ -168,12 +197,11 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 				if (this.beanFactory.isFactoryBean(factoryName)) {
 					Class<?> factoryBeanGeneric = getFactoryBeanGeneric(this.beanFactory,
 							beanDefinition, name);
-					this.beanTypes.put(name, factoryBeanGeneric);
-					this.beanTypes.put(factoryName,
-							this.beanFactory.getType(factoryName));
+					addBeanType(name, factoryBeanGeneric);
+					addBeanType(factoryName, this.beanFactory.getType(factoryName));
 				}
 				else {
-					this.beanTypes.put(name, this.beanFactory.getType(name));
+					addBeanType(name, this.beanFactory.getType(name));
 				}
 			}
 		}
@@ -187,6 +215,90 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 		}
 	}
 
+	private void addBeanType(String name, Class<?> type) {
+		this.beanTypes.put(name, type);
+		if (type != null) {
+			for (Class<?> candidate : getTypeHierarchy(type)) {
+				index(this.namesByType, candidate, name);
+			}
+			this.namesWithoutIndexedAnnotations.add(name);
+		}
+	}
+
+	private void indexAnnotationsIfNecessary() {
+		// Annotations are rarely matched so are only indexed when first needed
+		for (String name : this.namesWithoutIndexedAnnotations) {
+			for (Class<? extends Annotation> annotation : getTypeAnnotations(
+					this.beanTypes.get(name))) {
+				index(this.namesByAnnotation, annotation, name);
+			}
+		}
+		this.namesWithoutIndexedAnnotations.clear();
+	}
+
+	private Set<Class<?>> getTypeHierarchy(Class<?> type) {
+		return this.typeHierarchies.computeIfAbsent(type, (key) -> {
+			Set<Class<?>> types = new LinkedHashSet<>();
+			collectTypes(key, types);
+			types.add(Object.class);
+			return types;
+		});
+	}
+
+	private Set<Class<? extends Annotation>> getTypeAnnotations(Class<?> type) {
+		return this.typeAnnotations.computeIfAbsent(type, (key) -> {
+			Set<Class<? extends Annotation>> annotations = new LinkedHashSet<>();
+			Set<Class<?>> visited = new HashSet<>();
+			for (Class<?> candidate : getTypeHierarchy(key)) {
+				collectAnnotations(candidate, annotations, visited);
+			}
+			return annotations;
+		});
+	}
+
+	private void collectTypes(Class<?> type, Set<Class<?>> types) {
+		if (type != null && types.add(type)) {
+			collectTypes(type.getSuperclass(), types);
+			for (Class<?> implemented : type.getInterfaces()) {
+				collectTypes(implemented, types);
+			}
+		}
+	}
+
+	/**
+	 * Collect the annotations that {@link AnnotationUtils#findAnnotation(Class, Class)}
+	 * would find on the given type, not including those found on its supertypes.
+	 * @param type the type to inspect
+	 * @param annotations the collected annotations
+	 * @param visited annotation types whose meta-annotations have been collected
+	 */
+	private void collectAnnotations(Class<?> type,
+			Set<Class<? extends Annotation>> annotations, Set<Class<?>> visited) {
+		Annotation[] declaredAnnotations;
+		try {
+			declaredAnnotations = type.getDeclaredAnnotations();
+		}
+		catch (Throwable ex) {
+			// Ignore annotations that cannot be loaded, as AnnotationUtils does
+			return;
+		}
+		for (Annotation declaredAnnotation : declaredAnnotations) {
+			annotations.add(declaredAnnotation.annotationType());
+		}
+		for (Annotation declaredAnnotation : declaredAnnotations) {
+			Class<? extends Annotation> annotationType = declaredAnnotation
+					.annotationType();
+			if (!AnnotationUtils.isInJavaLangAnnotationPackage(declaredAnnotation)
+					&& visited.add(annotationType)) {
+				collectAnnotations(annotationType, annotations, visited);
+			}
+		}
+	}
+
+	private <K> void index(Map<K, Set<String>> index, K key, String name) {
+		index.computeIfAbsent(key, (k) -> new LinkedHashSet<>()).add(name);
+	}
+
 	private void logIgnoredError(String message, String name, Exception ex) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Ignoring " + message + " '" + name + "'", ex);
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Abstract base class for a {@link SpringBootCondition} that also implements
+ * {@link AutoConfigurationImportFilter} so that auto-configuration classes can be
+ * rejected using only the meta-data written by the auto-configure annotation processor.
+ *
+ * @author agent
+ */
+abstract class FilteringSpringBootCondition extends SpringBootCondition
+		implements AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware {
+
+	// Class loading contends on the class loader so more than one additional thread
+	// makes things worse, see AutoConfigurationImportFilterSpeedTests
+	private static final int MAX_PARALLELISM = 2;
+
+	private BeanFactory beanFactory;
+
+	private ClassLoader beanClassLoader;
+
+	private int parallelism = Math.min(MAX_PARALLELISM,
+			Runtime.getRuntime().availableProcessors());
+
+	@Override
+	public boolean[] match(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		ConditionEvaluationReport report = getConditionEvaluationReport();
+		ConditionOutcome[] outcomes = getOutcomes(autoConfigurationClasses,
+				autoConfigurationMetadata);
+		boolean[] match = new boolean[outcomes.length];
+		for (int i = 0; i < outcomes.length; i++) {
+			match[i] = (outcomes[i] == null || outcomes[i].isMatch());
+			if (!match[i] && outcomes[i] != null) {
+				logOutcome(autoConfigurationClasses[i], outcomes[i]);
+				if (report != null) {
+					report.recordConditionEvaluation(autoConfigurationClasses[i], this,
+							outcomes[i]);
+				}
+			}
+		}
+		return match;
+	}
+
+	/**
+	 * Return the outcomes for the given auto-configuration classes.
+	 * @param autoConfigurationClasses the auto-configuration classes
+	 * @param autoConfigurationMetadata the auto-configuration meta-data
+	 * @return the outcomes, with {@code null} entries for classes that should not be
+	 * rejected
+	 */
+	protected abstract ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata);
+
+	/**
+	 * Resolve the outcomes for the given auto-configuration classes in parallel. Should
+	 * only be used when the outcomes do not depend on state that is unsafe to access
+	 * from multiple threads.
+	 * @param autoConfigurationClasses the auto-configuration classes
+	 * @param outcomeResolver resolves the outcome of a single class
+	 * @return the outcomes in the same order as the classes
+	 */
+	protected final ConditionOutcome[] resolveOutcomes(String[] autoConfigurationClasses,
+			Function<String, ConditionOutcome> outcomeResolver) {
+		return new ForkJoinOutcomesResolver(this.parallelism)
+				.resolveOutcomes(autoConfigurationClasses, outcomeResolver);
+	}
+
+	void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	private ConditionEvaluationReport getConditionEvaluationReport() {
+		if (this.beanFactory != null
+				&& this.beanFactory instanceof ConfigurableListableBeanFactory) {
+			return ConditionEvaluationReport
+					.get((ConfigurableListableBeanFactory) this.beanFactory);
+		}
+		return null;
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+	}
+
+	protected final BeanFactory getBeanFactory() {
+		return this.beanFactory;
+	}
+
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.beanClassLoader = classLoader;
+	}
+
+	protected final ClassLoader getBeanClassLoader() {
+		return this.beanClassLoader;
+	}
+
+	/**
+	 * Return the bean class loader or, if it has not been set, the default class loader
+	 * of the calling thread. Should be used before resolving outcomes in parallel as
+	 * pool threads may have a different thread context class loader.
+	 * @return the class loader to use
+	 */
+	protected final ClassLoader getClassLoader() {
+		return (this.beanClassLoader != null ? this.beanClassLoader
+				: ClassUtils.getDefaultClassLoader());
+	}
+
+	protected List<String> getMatches(Collection<String> candidates,
+			MatchType matchType, ClassLoader classLoader) {
+		List<String> matches = new ArrayList<>(candidates.size());
+		for (String candidate : candidates) {
+			if (matchType.matches(candidate, classLoader)) {
+				matches.add(candidate);
+			}
+		}
+		return matches;
+	}
+
+	protected enum MatchType {
+
+		PRESENT {
+
+			@Override
+			public boolean matches(String className, ClassLoader classLoader) {
+				return isPresent(className, classLoader);
+			}
+
+		},
+
+		MISSING {
+
+			@Override
+			public boolean matches(String className, ClassLoader classLoader) {
+				return !isPresent(className, classLoader);
+			}
+
+		};
+
+		private static boolean isPresent(String className, ClassLoader classLoader) {
+			if (classLoader == null) {
+				classLoader = ClassUtils.getDefaultClassLoader();
+			}
+			try {
+				forName(className, classLoader);
+				return true;
+			}
+			catch (Throwable ex) {
+				return false;
+			}
+		}
+
+		private static Class<?> forName(String className, ClassLoader classLoader)
+				throws ClassNotFoundException {
+			if (classLoader != null) {
+				return classLoader.loadClass(className);
+			}
+			return Class.forName(className);
+		}
+
+		public abstract boolean matches(String className, ClassLoader classLoader);
+
+	}
+
+}
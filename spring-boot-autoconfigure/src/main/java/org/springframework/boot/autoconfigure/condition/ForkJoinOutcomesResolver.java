@@ -0,0 +1,135 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.security.AccessControlException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+/**
+ * Resolves the {@link ConditionOutcome outcomes} of auto-configuration classes using a
+ * {@link ForkJoinPool}. Candidates are split recursively into small chunks so that idle
+ * threads can steal work from busy ones. Each outcome is written to the index of its
+ * candidate so the result does not depend on the order in which chunks complete.
+ *
+ * @author agent
+ */
+final class ForkJoinOutcomesResolver {
+
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private final int parallelism;
+
+	ForkJoinOutcomesResolver(int parallelism) {
+		Assert.isTrue(parallelism > 0, "Parallelism must be greater than 0");
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Resolve the outcomes of the given auto-configuration classes.
+	 * @param autoConfigurationClasses the auto-configuration classes
+	 * @param outcomeResolver resolves the outcome of a single class, possibly from
+	 * another thread
+	 * @return the outcomes in the same order as the classes
+	 */
+	public ConditionOutcome[] resolveOutcomes(String[] autoConfigurationClasses,
+			Function<String, ConditionOutcome> outcomeResolver) {
+		ConditionOutcome[] outcomes = new ConditionOutcome[autoConfigurationClasses.length];
+		int threshold = Math.max(1, autoConfigurationClasses.length
+				/ (this.parallelism * CHUNKS_PER_THREAD));
+		ForkJoinPool pool = (this.parallelism == 1
+				|| autoConfigurationClasses.length <= threshold ? null : createPool());
+		if (pool == null) {
+			resolve(autoConfigurationClasses, outcomes, outcomeResolver, 0,
+					autoConfigurationClasses.length);
+			return outcomes;
+		}
+		try {
+			pool.invoke(new ResolveTask(autoConfigurationClasses, outcomes,
+					outcomeResolver, 0, autoConfigurationClasses.length, threshold));
+		}
+		finally {
+			pool.shutdown();
+		}
+		return outcomes;
+	}
+
+	private ForkJoinPool createPool() {
+		try {
+			return new ForkJoinPool(this.parallelism);
+		}
+		catch (AccessControlException ex) {
+			return null;
+		}
+	}
+
+	private static void resolve(String[] autoConfigurationClasses,
+			ConditionOutcome[] outcomes,
+			Function<String, ConditionOutcome> outcomeResolver, int start, int end) {
+		for (int i = start; i < end; i++) {
+			outcomes[i] = outcomeResolver.apply(autoConfigurationClasses[i]);
+		}
+	}
+
+	private static final class ResolveTask extends RecursiveAction {
+
+		private final String[] autoConfigurationClasses;
+
+		private final ConditionOutcome[] outcomes;
+
+		private final Function<String, ConditionOutcome> outcomeResolver;
+
+		private final int start;
+
+		private final int end;
+
+		private final int threshold;
+
+		private ResolveTask(String[] autoConfigurationClasses,
+				ConditionOutcome[] outcomes,
+				Function<String, ConditionOutcome> outcomeResolver, int start, int end,
+				int threshold) {
+			this.autoConfigurationClasses = autoConfigurationClasses;
+			this.outcomes = outcomes;
+			this.outcomeResolver = outcomeResolver;
+			this.start = start;
+			this.end = end;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.end - this.start <= this.threshold) {
+				resolve(this.autoConfigurationClasses, this.outcomes,
+						this.outcomeResolver, this.start, this.end);
+				return;
+			}
+			int split = (this.start + this.end) >>> 1;
+			invokeAll(createSubtask(this.start, split), createSubtask(split, this.end));
+		}
+
+		private ResolveTask createSubtask(int start, int end) {
+			return new ResolveTask(this.autoConfigurationClasses, this.outcomes,
+					this.outcomeResolver, start, end, this.threshold);
+		}
+
+	}
+
+}
@@ -33,6 +33,7 @@ import org.springframework.beans.factory.HierarchicalBeanFactory;
 import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
 import org.springframework.boot.autoconfigure.condition.ConditionMessage.Style;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Condition;
@@ -48,7 +49,10 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 
 /**
- * {@link Condition} that checks for the presence or absence of specific beans.
+ * {@link Condition} that checks for the presence or absence of specific beans. Also acts
+ * as an {@link org.springframework.boot.autoconfigure.AutoConfigurationImportFilter
+ * AutoConfigurationImportFilter} that rejects auto-configuration classes requiring beans
+ * whose types are not on the classpath.
  *
  * @author Phillip Webb
  * @author Dave Syer
@@ -57,7 +61,8 @@ import org.springframework.util.StringUtils;
  * @author Andy Wilkinson
  */
 @Order(Ordered.LOWEST_PRECEDENCE)
-class OnBeanCondition extends SpringBootCondition implements ConfigurationCondition {
+class OnBeanCondition extends FilteringSpringBootCondition
+		implements ConfigurationCondition {
 
 	/**
 	 * Bean definition attribute name for factory beans to signal their product type (if
@@ -70,6 +75,39 @@ class OnBeanCondition extends SpringBootCondition implements ConfigurationCondit
 		return ConfigurationPhase.REGISTER_BEAN;
 	}
 
+	@Override
+	protected ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		ClassLoader classLoader = getClassLoader();
+		return resolveOutcomes(autoConfigurationClasses, (autoConfigurationClass) -> {
+			ConditionOutcome outcome = getOutcome(
+					autoConfigurationMetadata.getSet(autoConfigurationClass,
+							"ConditionalOnBean"),
+					ConditionalOnBean.class, classLoader);
+			if (outcome == null) {
+				outcome = getOutcome(
+						autoConfigurationMetadata.getSet(autoConfigurationClass,
+								"ConditionalOnSingleCandidate"),
+						ConditionalOnSingleCandidate.class, classLoader);
+			}
+			return outcome;
+		});
+	}
+
+	private ConditionOutcome getOutcome(Set<String> requiredBeanTypes,
+			Class<? extends Annotation> annotation, ClassLoader classLoader) {
+		if (requiredBeanTypes != null) {
+			List<String> missing = getMatches(requiredBeanTypes, MatchType.MISSING,
+					classLoader);
+			if (!missing.isEmpty()) {
+				return ConditionOutcome.noMatch(ConditionMessage.forCondition(annotation)
+						.didNotFind("required type", "required types")
+						.items(Style.QUOTE, missing));
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public ConditionOutcome getMatchOutcome(ConditionContext context,
 			AnnotatedTypeMetadata metadata) {
@@ -22,12 +22,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
 import org.springframework.boot.autoconfigure.condition.ConditionMessage.Style;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.core.env.PropertyResolver;
 import org.springframework.core.type.AnnotatedTypeMetadata;
 import org.springframework.util.Assert;
@@ -35,7 +38,10 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 
 /**
- * {@link Condition} that checks if properties are defined in environment.
+ * {@link Condition} that checks if properties are defined in environment. Also acts as
+ * an {@link org.springframework.boot.autoconfigure.AutoConfigurationImportFilter
+ * AutoConfigurationImportFilter} that rejects auto-configuration classes whose required
+ * properties do not match.
  *
  * @author Maciej Walkowiak
  * @author Phillip Webb
@@ -45,7 +51,45 @@ import org.springframework.util.StringUtils;
  * @see ConditionalOnProperty
  */
 @Order(Ordered.HIGHEST_PRECEDENCE + 40)
-class OnPropertyCondition extends SpringBootCondition {
+class OnPropertyCondition extends FilteringSpringBootCondition
+		implements EnvironmentAware {
+
+	private Environment environment;
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		this.environment = environment;
+	}
+
+	@Override
+	protected ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		ConditionOutcome[] outcomes = new ConditionOutcome[autoConfigurationClasses.length];
+		if (this.environment == null) {
+			return outcomes;
+		}
+		for (int i = 0; i < outcomes.length; i++) {
+			outcomes[i] = getOutcome(autoConfigurationClasses[i],
+					autoConfigurationMetadata);
+		}
+		return outcomes;
+	}
+
+	private ConditionOutcome getOutcome(String autoConfigurationClass,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		String names = autoConfigurationMetadata.get(autoConfigurationClass,
+				"ConditionalOnProperty");
+		if (!StringUtils.hasLength(names)) {
+			return null;
+		}
+		Spec spec = new Spec(StringUtils.commaDelimitedListToStringArray(names),
+				autoConfigurationMetadata.get(autoConfigurationClass,
+						"ConditionalOnProperty.havingValue", ""),
+				Boolean.parseBoolean(autoConfigurationMetadata.get(
+						autoConfigurationClass, "ConditionalOnProperty.matchIfMissing")));
+		ConditionOutcome outcome = determineOutcome(spec, this.environment);
+		return (outcome.isMatch() ? null : outcome);
+	}
 
 	@Override
 	public ConditionOutcome getMatchOutcome(ConditionContext context,
@@ -56,7 +100,7 @@ class OnPropertyCondition extends SpringBootCondition {
 		List<ConditionMessage> noMatch = new ArrayList<>();
 		List<ConditionMessage> match = new ArrayList<>();
 		for (AnnotationAttributes annotationAttributes : allAnnotationAttributes) {
-			ConditionOutcome outcome = determineOutcome(annotationAttributes,
+			ConditionOutcome outcome = determineOutcome(new Spec(annotationAttributes),
 					context.getEnvironment());
 			(outcome.isMatch() ? match : noMatch).add(outcome.getConditionMessage());
 		}
@@ -89,9 +133,7 @@ class OnPropertyCondition extends SpringBootCondition {
 		return annotationAttributes;
 	}
 
-	private ConditionOutcome determineOutcome(AnnotationAttributes annotationAttributes,
-			PropertyResolver resolver) {
-		Spec spec = new Spec(annotationAttributes);
+	private ConditionOutcome determineOutcome(Spec spec, PropertyResolver resolver) {
 		List<String> missingProperties = new ArrayList<>();
 		List<String> nonMatchingProperties = new ArrayList<>();
 		spec.collectProperties(resolver, missingProperties, nonMatchingProperties);
@@ -133,6 +175,13 @@ class OnPropertyCondition extends SpringBootCondition {
 			this.matchIfMissing = annotationAttributes.getBoolean("matchIfMissing");
 		}
 
+		Spec(String[] names, String havingValue, boolean matchIfMissing) {
+			this.prefix = "";
+			this.havingValue = havingValue;
+			this.names = names;
+			this.matchIfMissing = matchIfMissing;
+		}
+
 		private String[] getNames(Map<String, Object> annotationAttributes) {
 			String[] value = (String[]) annotationAttributes.get("value");
 			String[] name = (String[]) annotationAttributes.get("name");
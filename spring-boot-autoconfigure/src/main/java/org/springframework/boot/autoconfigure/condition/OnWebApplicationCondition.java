@@ -18,38 +18,91 @@ package org.springframework.boot.autoconfigure.condition;
 
 import java.util.Map;
 
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.boot.web.reactive.context.ReactiveWebApplicationContext;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.type.AnnotatedTypeMetadata;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.context.ConfigurableWebEnvironment;
 import org.springframework.web.context.WebApplicationContext;
 
 /**
  * {@link Condition} that checks for the presence or absence of
- * {@link WebApplicationContext}.
+ * {@link WebApplicationContext}. Also acts as an
+ * {@link org.springframework.boot.autoconfigure.AutoConfigurationImportFilter
+ * AutoConfigurationImportFilter} that rejects auto-configuration classes requiring a
+ * type of web application that is not being run.
  *
  * @author Dave Syer
  * @see ConditionalOnWebApplication
  * @see ConditionalOnNotWebApplication
  */
 @Order(Ordered.HIGHEST_PRECEDENCE + 20)
-class OnWebApplicationCondition extends SpringBootCondition {
+class OnWebApplicationCondition extends FilteringSpringBootCondition
+		implements EnvironmentAware, ResourceLoaderAware {
 
 	private static final String WEB_CONTEXT_CLASS = "org.springframework.web.context."
 			+ "support.GenericWebApplicationContext";
 
+	private Environment environment;
+
+	private ResourceLoader resourceLoader;
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		this.environment = environment;
+	}
+
+	@Override
+	public void setResourceLoader(ResourceLoader resourceLoader) {
+		this.resourceLoader = resourceLoader;
+	}
+
+	@Override
+	protected ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		ConditionOutcome[] outcomes = new ConditionOutcome[autoConfigurationClasses.length];
+		if (this.environment == null || this.resourceLoader == null) {
+			return outcomes;
+		}
+		ConditionContext context = new FilterConditionContext();
+		for (int i = 0; i < outcomes.length; i++) {
+			String type = autoConfigurationMetadata.get(autoConfigurationClasses[i],
+					"ConditionalOnWebApplication");
+			if (type != null) {
+				outcomes[i] = getOutcome(context, type);
+			}
+		}
+		return outcomes;
+	}
+
+	private ConditionOutcome getOutcome(ConditionContext context, String type) {
+		ConditionOutcome outcome = isWebApplication(context,
+				(StringUtils.hasLength(type) ? Type.valueOf(type) : Type.ANY), true);
+		return (outcome.isMatch() ? null
+				: ConditionOutcome.noMatch(outcome.getConditionMessage()));
+	}
+
 	@Override
 	public ConditionOutcome getMatchOutcome(ConditionContext context,
 			AnnotatedTypeMetadata metadata) {
 		boolean required = metadata
 				.isAnnotated(ConditionalOnWebApplication.class.getName());
-		ConditionOutcome outcome = isWebApplication(context, metadata, required);
+		ConditionOutcome outcome = isWebApplication(context, deduceType(metadata),
+				required);
 		if (required && !outcome.isMatch()) {
 			return ConditionOutcome.noMatch(outcome.getConditionMessage());
 		}
@@ -59,11 +112,10 @@ class OnWebApplicationCondition extends SpringBootCondition {
 		return ConditionOutcome.match(outcome.getConditionMessage());
 	}
 
-	private ConditionOutcome isWebApplication(ConditionContext context,
-			AnnotatedTypeMetadata metadata, boolean required) {
+	private ConditionOutcome isWebApplication(ConditionContext context, Type type,
+			boolean required) {
 		ConditionMessage.Builder message = ConditionMessage.forCondition(
 				ConditionalOnWebApplication.class, required ? "(required)" : "");
-		Type type = deduceType(metadata);
 		if (Type.SERVLET == type) {
 			return isServletWebApplication(context);
 		}
@@ -131,4 +183,40 @@ class OnWebApplicationCondition extends SpringBootCondition {
 		return Type.ANY;
 	}
 
+	/**
+	 * {@link ConditionContext} used when the condition is applied as an import filter.
+	 */
+	private class FilterConditionContext implements ConditionContext {
+
+		@Override
+		public BeanDefinitionRegistry getRegistry() {
+			BeanFactory beanFactory = getBeanFactory();
+			return (beanFactory instanceof BeanDefinitionRegistry
+					? (BeanDefinitionRegistry) beanFactory : null);
+		}
+
+		@Override
+		public ConfigurableListableBeanFactory getBeanFactory() {
+			BeanFactory beanFactory = OnWebApplicationCondition.this.getBeanFactory();
+			return (beanFactory instanceof ConfigurableListableBeanFactory
+					? (ConfigurableListableBeanFactory) beanFactory : null);
+		}
+
+		@Override
+		public Environment getEnvironment() {
+			return OnWebApplicationCondition.this.environment;
+		}
+
+		@Override
+		public ResourceLoader getResourceLoader() {
+			return OnWebApplicationCondition.this.resourceLoader;
+		}
+
+		@Override
+		public ClassLoader getClassLoader() {
+			return getBeanClassLoader();
+		}
+
+	}
+
 }
@@ -19,6 +19,8 @@ package org.springframework.boot.autoconfigure.condition;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.boot.context.startup.StartupStep;
+import org.springframework.boot.context.startup.StartupTimeline;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.type.AnnotatedTypeMetadata;
@@ -43,10 +45,14 @@ public abstract class SpringBootCondition implements Condition {
 	public final boolean matches(ConditionContext context,
 			AnnotatedTypeMetadata metadata) {
 		String classOrMethodName = getClassOrMethodName(metadata);
+		StartupStep step = StartupTimeline.get(context.getBeanFactory())
+				.start("spring.boot.condition").tag("condition", getClass().getName())
+				.tag("on", classOrMethodName);
 		try {
 			ConditionOutcome outcome = getMatchOutcome(context, metadata);
 			logOutcome(classOrMethodName, outcome);
 			recordEvaluation(context, classOrMethodName, outcome);
+			step.tag("matched", outcome.isMatch());
 			return outcome.isMatch();
 		}
 		catch (NoClassDefFoundError ex) {
@@ -63,6 +69,9 @@ public abstract class SpringBootCondition implements Condition {
 			throw new IllegalStateException(
 					"Error processing condition on " + getName(metadata), ex);
 		}
+		finally {
+			step.end();
+		}
 	}
 
 	private String getName(AnnotatedTypeMetadata metadata) {
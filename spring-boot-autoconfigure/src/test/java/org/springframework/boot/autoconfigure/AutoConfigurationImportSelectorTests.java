@@ -218,6 +218,20 @@ public class AutoConfigurationImportSelectorTests {
 				defaultImports[4]);
 	}
 
+	@Test
+	public void filterShouldOnlyReceiveCandidatesThatHaveNotBeenFiltered()
+			throws Exception {
+		String[] defaultImports = selectImports(BasicEnableAutoConfiguration.class);
+		this.filters.add(new TestAutoConfigurationImportFilter(defaultImports, 1));
+		TestAutoConfigurationImportFilter filter = new TestAutoConfigurationImportFilter(
+				defaultImports, 3);
+		this.filters.add(filter);
+		String[] filtered = selectImports(BasicEnableAutoConfiguration.class);
+		assertThat(filter.getCandidates()).hasSize(defaultImports.length - 1)
+				.doesNotContainNull().doesNotContain(defaultImports[1]);
+		assertThat(filtered).hasSize(defaultImports.length - 2);
+	}
+
 	@Test
 	public void filterShouldSupportAware() throws Exception {
 		TestAutoConfigurationImportFilter filter = new TestAutoConfigurationImportFilter(
@@ -265,6 +279,8 @@ public class AutoConfigurationImportSelectorTests {
 
 		private BeanFactory beanFactory;
 
+		private String[] candidates;
+
 		TestAutoConfigurationImportFilter(String[] configurations, int... nonMatching) {
 			for (int i : nonMatching) {
 				this.nonMatching.add(configurations[i]);
@@ -274,6 +290,7 @@ public class AutoConfigurationImportSelectorTests {
 		@Override
 		public boolean[] match(String[] autoConfigurationClasses,
 				AutoConfigurationMetadata autoConfigurationMetadata) {
+			this.candidates = autoConfigurationClasses.clone();
 			boolean[] result = new boolean[autoConfigurationClasses.length];
 			for (int i = 0; i < result.length; i++) {
 				result[i] = !this.nonMatching.contains(autoConfigurationClasses[i]);
@@ -290,6 +307,10 @@ public class AutoConfigurationImportSelectorTests {
 			return this.beanFactory;
 		}
 
+		public String[] getCandidates() {
+			return this.candidates;
+		}
+
 	}
 
 	@Configuration
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BackgroundPreinitializationTasks}.
+ *
+ * @author agent
+ */
+public class BackgroundPreinitializationTasksTests {
+
+	@Test
+	public void defaultTasksAreRegistered() throws Exception {
+		List<BackgroundPreinitializationTask> tasks = SpringFactoriesLoader
+				.loadFactories(BackgroundPreinitializationTask.class, null);
+		assertThat(tasks)
+				.hasAtLeastOneElementOfType(
+						BackgroundPreinitializer.JacksonInitializer.class)
+				.hasAtLeastOneElementOfType(
+						BackgroundPreinitializer.ConversionServiceInitializer.class);
+	}
+
+	@Test
+	public void tasksRunInParallel() throws Exception {
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		BackgroundPreinitializationTask task = () -> barrier.await(10,
+				TimeUnit.SECONDS);
+		BackgroundPreinitializationTasks tasks = new BackgroundPreinitializationTasks(
+				Arrays.asList(task, task), 2);
+		tasks.start();
+		tasks.awaitCompletion();
+		assertThat(barrier.isBroken()).isFalse();
+	}
+
+	@Test
+	public void awaitCompletionOnlyWaitsForAwaitedTasks() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch awaitedComplete = new CountDownLatch(1);
+		BackgroundPreinitializationTasks tasks = new BackgroundPreinitializationTasks(
+				Arrays.asList(new NotAwaitedTask(release), awaitedComplete::countDown),
+				2);
+		tasks.start();
+		tasks.awaitCompletion();
+		assertThat(awaitedComplete.getCount()).isEqualTo(0);
+		assertThat(release.getCount()).isEqualTo(1);
+		assertThat(tasks.getDurations())
+				.doesNotContainKey(NotAwaitedTask.class.getName());
+		release.countDown();
+	}
+
+	@Test
+	public void durationIsRecordedForEachTask() throws Exception {
+		BackgroundPreinitializationTasks tasks = new BackgroundPreinitializationTasks(
+				Collections.singletonList(new SleepingTask()), 1);
+		tasks.start();
+		tasks.awaitCompletion();
+		assertThat(tasks.getDurations().get(SleepingTask.class.getName()))
+				.isGreaterThanOrEqualTo(50L);
+	}
+
+	@Test
+	public void tasksRunOnDaemonThreads() throws Exception {
+		AtomicBoolean daemon = new AtomicBoolean();
+		BackgroundPreinitializationTasks tasks = new BackgroundPreinitializationTasks(
+				Collections.singletonList(
+						() -> daemon.set(Thread.currentThread().isDaemon())),
+				1);
+		tasks.start();
+		tasks.awaitCompletion();
+		assertThat(daemon.get()).isTrue();
+	}
+
+	@Test
+	public void tasksThatCannotBeInstantiatedAreSkipped() throws Exception {
+		List<BackgroundPreinitializationTask> tasks = BackgroundPreinitializationTasks
+				.instantiate(Arrays.asList("com.example.MissingTask",
+						FailingConstructorTask.class.getName(),
+						BackgroundPreinitializer.ConversionServiceInitializer.class
+								.getName()),
+						null);
+		assertThat(tasks).hasSize(1).hasOnlyElementsOfType(
+				BackgroundPreinitializer.ConversionServiceInitializer.class);
+	}
+
+	@Test
+	public void failingTaskIsIgnored() throws Exception {
+		CountDownLatch complete = new CountDownLatch(1);
+		BackgroundPreinitializationTasks tasks = new BackgroundPreinitializationTasks(
+				Arrays.asList(() -> {
+					throw new IllegalStateException("Failed");
+				}, complete::countDown), 1);
+		tasks.start();
+		tasks.awaitCompletion();
+		assertThat(complete.getCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void noTasks() throws Exception {
+		BackgroundPreinitializationTasks tasks = new BackgroundPreinitializationTasks(
+				Collections.emptyList());
+		tasks.start();
+		tasks.awaitCompletion();
+		assertThat(tasks.getDurations()).isEmpty();
+	}
+
+	private static class NotAwaitedTask implements BackgroundPreinitializationTask {
+
+		private final CountDownLatch release;
+
+		NotAwaitedTask(CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		public void run() throws Exception {
+			this.release.await();
+		}
+
+		@Override
+		public boolean isAwaited() {
+			return false;
+		}
+
+	}
+
+	private static class SleepingTask implements BackgroundPreinitializationTask {
+
+		@Override
+		public void run() throws Exception {
+			Thread.sleep(50);
+		}
+
+	}
+
+	static class FailingConstructorTask implements BackgroundPreinitializationTask {
+
+		FailingConstructorTask() {
+			throw new NoClassDefFoundError("com/example/Missing");
+		}
+
+		@Override
+		public void run() {
+		}
+
+	}
+
+}
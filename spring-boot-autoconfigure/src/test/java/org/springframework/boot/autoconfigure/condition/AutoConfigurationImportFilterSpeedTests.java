@@ -0,0 +1,258 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StopWatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Speed tests for the class presence {@link FilteringSpringBootCondition filters} with
+ * the full set of auto-configuration candidates, resolved using 1, 2 and 4 threads. Each
+ * run uses a new class loader so that classes are really loaded.
+ *
+ * @author agent
+ */
+public class AutoConfigurationImportFilterSpeedTests {
+
+	private static final int number = Boolean.getBoolean("performance.test") ? 50 : 2;
+
+	private static StopWatch watch = new StopWatch("autoConfigurationImportFilter");
+
+	private static String[] candidates;
+
+	private static AutoConfigurationMetadata metadata;
+
+	private static URL[] urls;
+
+	private static boolean[] expected;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		ClassLoader classLoader = AutoConfigurationImportFilterSpeedTests.class
+				.getClassLoader();
+		List<String> names = SpringFactoriesLoader
+				.loadFactoryNames(EnableAutoConfiguration.class, classLoader);
+		candidates = names.toArray(new String[names.size()]);
+		metadata = new ReadingAutoConfigurationMetadata(
+				new SimpleMetadataReaderFactory(classLoader), candidates);
+		List<URL> classPath = new ArrayList<>();
+		for (String path : System.getProperty("java.class.path")
+				.split(File.pathSeparator)) {
+			classPath.add(new File(path).toURI().toURL());
+		}
+		urls = classPath.toArray(new URL[classPath.size()]);
+		// Warm up so that the first test is not penalized
+		for (int i = 0; i < number; i++) {
+			filter(1);
+		}
+	}
+
+	@AfterClass
+	public static void washup() {
+		System.err.println(watch.prettyPrint());
+	}
+
+	@Test
+	public void singleThread() throws Exception {
+		filter("singleThread", 1);
+	}
+
+	@Test
+	public void twoThreads() throws Exception {
+		filter("twoThreads", 2);
+	}
+
+	@Test
+	public void fourThreads() throws Exception {
+		filter("fourThreads", 4);
+	}
+
+	private void filter(String taskName, int parallelism) throws Exception {
+		boolean[] match = null;
+		watch.start(taskName);
+		try {
+			for (int i = 0; i < number; i++) {
+				match = filter(parallelism);
+			}
+		}
+		finally {
+			watch.stop();
+		}
+		verify(match);
+		double rate = (double) number * candidates.length
+				/ watch.getLastTaskTimeMillis() * 1000;
+		System.err.println(taskName + " rate=" + rate);
+	}
+
+	private static boolean[] filter(int parallelism) throws IOException {
+		try (URLClassLoader classLoader = new URLClassLoader(urls, null)) {
+			boolean[] match = filter(new OnClassCondition(), parallelism, classLoader,
+					candidates);
+			return filter(new OnBeanCondition(), parallelism, classLoader,
+					removeUnmatched(candidates, match));
+		}
+	}
+
+	private static boolean[] filter(FilteringSpringBootCondition filter,
+			int parallelism, ClassLoader classLoader, String[] candidates) {
+		filter.setBeanClassLoader(classLoader);
+		filter.setParallelism(parallelism);
+		return filter.match(candidates, metadata);
+	}
+
+	private static String[] removeUnmatched(String[] candidates, boolean[] match) {
+		List<String> remaining = new ArrayList<>(candidates.length);
+		for (int i = 0; i < candidates.length; i++) {
+			if (match[i]) {
+				remaining.add(candidates[i]);
+			}
+		}
+		return remaining.toArray(new String[remaining.size()]);
+	}
+
+	private static synchronized void verify(boolean[] match) {
+		// The outcome must not depend on the number of threads
+		if (expected == null) {
+			expected = match;
+		}
+		assertThat(match).isEqualTo(expected);
+	}
+
+	/**
+	 * {@link AutoConfigurationMetadata} read from the annotations of the candidates
+	 * without loading them, as the annotation processor would.
+	 */
+	private static class ReadingAutoConfigurationMetadata
+			implements AutoConfigurationMetadata {
+
+		private final Map<String, Map<String, Set<String>>> values = new HashMap<>();
+
+		ReadingAutoConfigurationMetadata(MetadataReaderFactory metadataReaderFactory,
+				String[] candidates) {
+			for (String candidate : candidates) {
+				try {
+					AnnotationMetadata annotationMetadata = metadataReaderFactory
+							.getMetadataReader(candidate).getAnnotationMetadata();
+					Map<String, Set<String>> candidateValues = new HashMap<>();
+					add(candidateValues, annotationMetadata, ConditionalOnClass.class,
+							"value", "name");
+					add(candidateValues, annotationMetadata,
+							ConditionalOnMissingClass.class, "value");
+					add(candidateValues, annotationMetadata, ConditionalOnBean.class,
+							"value", "type");
+					add(candidateValues, annotationMetadata,
+							ConditionalOnSingleCandidate.class, "value", "type");
+					this.values.put(candidate, candidateValues);
+				}
+				catch (IOException ex) {
+					// Not processed
+				}
+			}
+		}
+
+		private void add(Map<String, Set<String>> candidateValues,
+				AnnotationMetadata annotationMetadata, Class<?> annotation,
+				String... attributeNames) {
+			MultiValueMap<String, Object> attributes = annotationMetadata
+					.getAllAnnotationAttributes(annotation.getName(), true);
+			if (attributes == null) {
+				return;
+			}
+			Set<String> values = new LinkedHashSet<>();
+			for (String attributeName : attributeNames) {
+				for (Object value : attributes.getOrDefault(attributeName,
+						new ArrayList<>())) {
+					if (value instanceof String[]) {
+						values.addAll(Arrays.asList((String[]) value));
+					}
+					else {
+						values.add((String) value);
+					}
+				}
+			}
+			values.remove("");
+			if (!values.isEmpty()) {
+				candidateValues.put(annotation.getSimpleName(), values);
+			}
+		}
+
+		@Override
+		public boolean wasProcessed(String className) {
+			return this.values.containsKey(className);
+		}
+
+		@Override
+		public Integer getInteger(String className, String key) {
+			return null;
+		}
+
+		@Override
+		public Integer getInteger(String className, String key, Integer defaultValue) {
+			return defaultValue;
+		}
+
+		@Override
+		public Set<String> getSet(String className, String key) {
+			return getSet(className, key, null);
+		}
+
+		@Override
+		public Set<String> getSet(String className, String key,
+				Set<String> defaultValue) {
+			Map<String, Set<String>> candidateValues = this.values.get(className);
+			Set<String> value = (candidateValues == null ? null
+					: candidateValues.get(key));
+			return (value == null ? defaultValue : value);
+		}
+
+		@Override
+		public String get(String className, String key) {
+			return null;
+		}
+
+		@Override
+		public String get(String className, String key, String defaultValue) {
+			return defaultValue;
+		}
+
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StopWatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Speed tests for {@link BeanTypeRegistry} with 2,000 bean definitions, queried for the
+ * bean types used by the conditions of the full set of auto-configuration classes. A
+ * scan of every bean type, as performed before the types were indexed, is included for
+ * comparison.
+ *
+ * @author agent
+ */
+public class BeanTypeRegistrySpeedTests {
+
+	private static final int BEANS = 2000;
+
+	private static final int number = Boolean.getBoolean("performance.test") ? 100 : 2;
+
+	private static StopWatch watch = new StopWatch("beanTypeRegistry");
+
+	private static List<Class<?>> queriedTypes = new ArrayList<>();
+
+	private static List<Class<?>> beanTypes = new ArrayList<>();
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		ClassLoader classLoader = BeanTypeRegistrySpeedTests.class.getClassLoader();
+		MetadataReaderFactory metadataReaderFactory = new SimpleMetadataReaderFactory(
+				classLoader);
+		Set<String> typeNames = new LinkedHashSet<>();
+		for (String candidate : SpringFactoriesLoader
+				.loadFactoryNames(EnableAutoConfiguration.class, classLoader)) {
+			collectTypeNames(metadataReaderFactory, candidate, typeNames);
+		}
+		for (String typeName : typeNames) {
+			try {
+				Class<?> type = ClassUtils.forName(typeName, classLoader);
+				queriedTypes.add(type);
+				if (!type.isInterface() && !type.isArray()
+						&& !FactoryBean.class.isAssignableFrom(type)) {
+					beanTypes.add(type);
+				}
+			}
+			catch (Throwable ex) {
+				// Not on the classpath
+			}
+		}
+		assertThat(beanTypes).isNotEmpty();
+	}
+
+	private static void collectTypeNames(MetadataReaderFactory metadataReaderFactory,
+			String className, Set<String> typeNames) {
+		try {
+			MetadataReader metadataReader = metadataReaderFactory
+					.getMetadataReader(className);
+			for (MethodMetadata method : metadataReader.getAnnotationMetadata()
+					.getAnnotatedMethods(ConditionalOnMissingBean.class.getName())) {
+				typeNames.add(method.getReturnTypeName());
+				collectTypeNames(method, ConditionalOnMissingBean.class, typeNames);
+				collectTypeNames(method, ConditionalOnBean.class, typeNames);
+			}
+			ClassMetadata classMetadata = metadataReader.getClassMetadata();
+			for (String memberClassName : classMetadata.getMemberClassNames()) {
+				collectTypeNames(metadataReaderFactory, memberClassName, typeNames);
+			}
+		}
+		catch (IOException ex) {
+			// Not on the classpath
+		}
+	}
+
+	private static void collectTypeNames(MethodMetadata method, Class<?> annotation,
+			Set<String> typeNames) {
+		Map<String, Object> attributes = method
+				.getAnnotationAttributes(annotation.getName(), true);
+		if (attributes != null) {
+			for (String attributeName : new String[] { "value", "type" }) {
+				for (String typeName : (String[]) attributes.get(attributeName)) {
+					typeNames.add(typeName);
+				}
+			}
+		}
+	}
+
+	@AfterClass
+	public static void washup() {
+		System.err.println(watch.prettyPrint());
+	}
+
+	@Test
+	public void scanBeanTypes() throws Exception {
+		getNamesForTypes("scanBeanTypes", (beanFactory) -> {
+			Map<String, Class<?>> types = new LinkedHashMap<>();
+			for (String name : beanFactory.getBeanDefinitionNames()) {
+				types.put(name, beanFactory.getType(name));
+			}
+			return (type) -> {
+				Set<String> names = new LinkedHashSet<>();
+				types.forEach((name, beanType) -> {
+					if (beanType != null && type.isAssignableFrom(beanType)) {
+						names.add(name);
+					}
+				});
+				return names;
+			};
+		});
+	}
+
+	@Test
+	public void beanTypeRegistry() throws Exception {
+		getNamesForTypes("beanTypeRegistry", (beanFactory) -> {
+			BeanTypeRegistry registry = BeanTypeRegistry.get(beanFactory);
+			return registry::getNamesForType;
+		});
+	}
+
+	private void getNamesForTypes(String taskName,
+			Function<DefaultListableBeanFactory, Function<Class<?>, Set<String>>> lookup) {
+		int matches = 0;
+		int queries = 0;
+		watch.start(taskName);
+		try {
+			for (int i = 0; i < number; i++) {
+				DefaultListableBeanFactory beanFactory = createBeanFactory();
+				Function<Class<?>, Set<String>> getNamesForType = lookup
+						.apply(beanFactory);
+				for (Class<?> type : queriedTypes) {
+					matches += getNamesForType.apply(type).size();
+					queries++;
+				}
+			}
+		}
+		finally {
+			watch.stop();
+		}
+		assertThat(matches).isGreaterThanOrEqualTo(BEANS / beanTypes.size() * number);
+		double rate = (double) queries / watch.getLastTaskTimeMillis() * 1000;
+		System.err.println(taskName + " rate=" + rate);
+	}
+
+	private DefaultListableBeanFactory createBeanFactory() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		for (int i = 0; i < BEANS; i++) {
+			beanFactory.registerBeanDefinition("bean" + i,
+					new RootBeanDefinition(beanTypes.get(i % beanTypes.size())));
+		}
+		return beanFactory;
+	}
+
+}
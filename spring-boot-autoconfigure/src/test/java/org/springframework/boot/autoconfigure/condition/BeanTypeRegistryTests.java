@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.io.Serializable;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BeanTypeRegistry}.
+ *
+ * @author agent
+ */
+public class BeanTypeRegistryTests {
+
+	private DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	@Test
+	public void getNamesForTypeMatchesSuperclassesAndInterfaces() throws Exception {
+		register("example", ExampleService.class);
+		register("list", ArrayList.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(ExampleService.class))
+				.containsExactly("example");
+		assertThat(registry.getNamesForType(AbstractService.class))
+				.containsExactly("example");
+		assertThat(registry.getNamesForType(ServiceInterface.class))
+				.containsExactly("example");
+		assertThat(registry.getNamesForType(BaseInterface.class))
+				.containsExactly("example");
+		assertThat(registry.getNamesForType(Serializable.class))
+				.containsExactly("example", "list");
+		assertThat(registry.getNamesForType(Object.class)).contains("example", "list");
+		assertThat(registry.getNamesForType(String.class)).isEmpty();
+	}
+
+	@Test
+	public void getNamesForAnnotationMatchesSupertypesAndMetaAnnotations()
+			throws Exception {
+		register("example", ExampleService.class);
+		register("list", ArrayList.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForAnnotation(Service.class))
+				.containsExactly("example");
+		assertThat(registry.getNamesForAnnotation(Component.class))
+				.containsExactly("example");
+		assertThat(registry.getNamesForAnnotation(Marker.class))
+				.containsExactly("example");
+		assertThat(registry.getNamesForAnnotation(Documented.class))
+				.containsExactly("example");
+		assertThat(registry.getNamesForAnnotation(Deprecated.class)).isEmpty();
+	}
+
+	@Test
+	public void getNamesForTypeIncludesLaterBeanDefinitions() throws Exception {
+		register("first", ExampleService.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(ServiceInterface.class))
+				.containsExactly("first");
+		register("second", ExampleService.class);
+		assertThat(registry.getNamesForType(ServiceInterface.class))
+				.containsExactly("first", "second");
+		assertThat(registry.getNamesForAnnotation(Marker.class))
+				.containsExactly("first", "second");
+	}
+
+	@Test
+	public void getNamesForArrayType() throws Exception {
+		register("strings", String[].class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(CharSequence[].class))
+				.containsExactly("strings");
+	}
+
+	private void register(String name, Class<?> type) {
+		this.beanFactory.registerBeanDefinition(name, new RootBeanDefinition(type));
+	}
+
+	@Target(ElementType.TYPE)
+	@Retention(RetentionPolicy.RUNTIME)
+	@Documented
+	@interface Marker {
+
+	}
+
+	@Marker
+	interface BaseInterface {
+
+	}
+
+	interface ServiceInterface extends BaseInterface {
+
+	}
+
+	@Service
+	abstract static class AbstractService implements ServiceInterface {
+
+	}
+
+	static class ExampleService extends AbstractService implements Serializable {
+
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ForkJoinOutcomesResolver}.
+ *
+ * @author agent
+ */
+public class ForkJoinOutcomesResolverTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void parallelismMustBePositive() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Parallelism must be greater than 0");
+		new ForkJoinOutcomesResolver(0);
+	}
+
+	@Test
+	public void resolveOutcomesWithSingleThread() throws Exception {
+		Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+		String[] classes = createClasses(100);
+		ConditionOutcome[] outcomes = new ForkJoinOutcomesResolver(1)
+				.resolveOutcomes(classes, recordingThreads(threads));
+		assertOutcomes(classes, outcomes);
+		assertThat(threads).containsExactly(Thread.currentThread());
+	}
+
+	@Test
+	public void resolveOutcomesInParallelKeepsOrder() throws Exception {
+		String[] classes = createClasses(1000);
+		for (int parallelism = 2; parallelism <= 16; parallelism *= 2) {
+			ConditionOutcome[] outcomes = new ForkJoinOutcomesResolver(parallelism)
+					.resolveOutcomes(classes, this::getOutcome);
+			assertOutcomes(classes, outcomes);
+		}
+	}
+
+	@Test
+	public void resolveOutcomesInParallelUsesPoolThreads() throws Exception {
+		Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+		new ForkJoinOutcomesResolver(4).resolveOutcomes(createClasses(100),
+				recordingThreads(threads));
+		assertThat(threads).isNotEmpty().doesNotContain(Thread.currentThread());
+	}
+
+	@Test
+	public void resolveOutcomesWithNoClasses() throws Exception {
+		assertThat(new ForkJoinOutcomesResolver(4).resolveOutcomes(new String[0],
+				this::getOutcome)).isEmpty();
+	}
+
+	private String[] createClasses(int size) {
+		String[] classes = new String[size];
+		for (int i = 0; i < size; i++) {
+			classes[i] = "test.Configuration" + i;
+		}
+		return classes;
+	}
+
+	private Function<String, ConditionOutcome> recordingThreads(Set<Thread> threads) {
+		return (autoConfigurationClass) -> {
+			threads.add(Thread.currentThread());
+			return getOutcome(autoConfigurationClass);
+		};
+	}
+
+	private ConditionOutcome getOutcome(String autoConfigurationClass) {
+		return ConditionOutcome.noMatch(autoConfigurationClass);
+	}
+
+	private void assertOutcomes(String[] classes, ConditionOutcome[] outcomes) {
+		assertThat(outcomes).hasSameSizeAs(classes);
+		for (int i = 0; i < classes.length; i++) {
+			assertThat(outcomes[i].getMessage()).isEqualTo(classes[i]);
+		}
+	}
+
+}
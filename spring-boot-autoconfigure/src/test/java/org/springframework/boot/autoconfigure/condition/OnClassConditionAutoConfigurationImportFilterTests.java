@@ -72,6 +72,15 @@ public class OnClassConditionAutoConfigurationImportFilterTests {
 				.containsKey("test.nomatch");
 	}
 
+	@Test
+	public void matchShouldMatchMissingClasses() throws Exception {
+		String[] autoConfigurationClasses = new String[] { "test.missing",
+				"test.present" };
+		boolean[] result = this.filter.match(autoConfigurationClasses,
+				getAutoConfigurationMetadata());
+		assertThat(result).containsExactly(true, false);
+	}
+
 	private AutoConfigurationMetadata getAutoConfigurationMetadata() {
 		AutoConfigurationMetadata metadata = mock(AutoConfigurationMetadata.class);
 		given(metadata.wasProcessed("test.match")).willReturn(true);
@@ -80,6 +89,10 @@ public class OnClassConditionAutoConfigurationImportFilterTests {
 		given(metadata.wasProcessed("test.nomatch")).willReturn(true);
 		given(metadata.getSet("test.nomatch", "ConditionalOnClass"))
 				.willReturn(Collections.<String>singleton("java.io.DoesNotExist"));
+		given(metadata.getSet("test.missing", "ConditionalOnMissingClass"))
+				.willReturn(Collections.<String>singleton("java.io.DoesNotExist"));
+		given(metadata.getSet("test.present", "ConditionalOnMissingClass"))
+				.willReturn(Collections.<String>singleton("java.io.InputStream"));
 		return metadata;
 	}
 
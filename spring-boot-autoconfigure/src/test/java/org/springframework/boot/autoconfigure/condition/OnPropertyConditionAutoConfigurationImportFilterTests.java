@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the {@link AutoConfigurationImportFilter} part of
+ * {@link OnPropertyCondition}.
+ *
+ * @author agent
+ */
+public class OnPropertyConditionAutoConfigurationImportFilterTests {
+
+	private OnPropertyCondition filter = new OnPropertyCondition();
+
+	private DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	private StandardEnvironment environment = new StandardEnvironment();
+
+	@Before
+	public void setup() {
+		this.filter.setBeanClassLoader(getClass().getClassLoader());
+		this.filter.setBeanFactory(this.beanFactory);
+		this.filter.setEnvironment(this.environment);
+		TestPropertyValues.of("test.enabled=true", "test.disabled=false",
+				"test.mode=fast").applyTo(this.environment);
+	}
+
+	@Test
+	public void shouldBeRegistered() throws Exception {
+		assertThat(SpringFactoriesLoader
+				.loadFactories(AutoConfigurationImportFilter.class, null))
+						.hasAtLeastOneElementOfType(OnPropertyCondition.class);
+	}
+
+	@Test
+	public void matchShouldMatchProperties() throws Exception {
+		AutoConfigurationMetadata metadata = mock(AutoConfigurationMetadata.class);
+		given(metadata.get("test.enabled", "ConditionalOnProperty"))
+				.willReturn("test.enabled");
+		given(metadata.get("test.disabled", "ConditionalOnProperty"))
+				.willReturn("test.disabled");
+		given(metadata.get("test.missing", "ConditionalOnProperty"))
+				.willReturn("test.missing");
+		given(metadata.get("test.unconditional", "ConditionalOnProperty"))
+				.willReturn(null);
+		boolean[] result = this.filter.match(new String[] { "test.enabled",
+				"test.disabled", "test.missing", "test.unconditional" }, metadata);
+		assertThat(result).containsExactly(true, false, false, true);
+	}
+
+	@Test
+	public void matchShouldMatchHavingValue() throws Exception {
+		AutoConfigurationMetadata metadata = mock(AutoConfigurationMetadata.class);
+		given(metadata.get("test.fast", "ConditionalOnProperty"))
+				.willReturn("test.mode");
+		given(metadata.get("test.fast", "ConditionalOnProperty.havingValue", ""))
+				.willReturn("fast");
+		given(metadata.get("test.slow", "ConditionalOnProperty"))
+				.willReturn("test.mode");
+		given(metadata.get("test.slow", "ConditionalOnProperty.havingValue", ""))
+				.willReturn("slow");
+		boolean[] result = this.filter
+				.match(new String[] { "test.fast", "test.slow" }, metadata);
+		assertThat(result).containsExactly(true, false);
+	}
+
+	@Test
+	public void matchShouldMatchIfMissing() throws Exception {
+		AutoConfigurationMetadata metadata = mock(AutoConfigurationMetadata.class);
+		given(metadata.get("test.missing", "ConditionalOnProperty"))
+				.willReturn("test.missing,test.enabled");
+		given(metadata.get("test.missing", "ConditionalOnProperty.matchIfMissing"))
+				.willReturn("true");
+		boolean[] result = this.filter.match(new String[] { "test.missing" },
+				metadata);
+		assertThat(result).containsExactly(true);
+	}
+
+}
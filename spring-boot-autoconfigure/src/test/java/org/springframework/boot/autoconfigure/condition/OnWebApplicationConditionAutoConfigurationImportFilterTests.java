@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import org.junit.Test;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.boot.web.reactive.context.GenericReactiveWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the {@link AutoConfigurationImportFilter} part of
+ * {@link OnWebApplicationCondition}.
+ *
+ * @author agent
+ */
+public class OnWebApplicationConditionAutoConfigurationImportFilterTests {
+
+	private static final String[] AUTO_CONFIGURATION_CLASSES = { "test.any",
+			"test.servlet", "test.reactive", "test.unconditional" };
+
+	@Test
+	public void shouldBeRegistered() throws Exception {
+		assertThat(SpringFactoriesLoader
+				.loadFactories(AutoConfigurationImportFilter.class, null))
+						.hasAtLeastOneElementOfType(OnWebApplicationCondition.class);
+	}
+
+	@Test
+	public void matchWhenNotWebApplication() throws Exception {
+		assertThat(match(new GenericApplicationContext())).containsExactly(false,
+				false, false, true);
+	}
+
+	@Test
+	public void matchWhenServletWebApplication() throws Exception {
+		assertThat(match(new GenericWebApplicationContext(new MockServletContext())))
+				.containsExactly(true, true, false, true);
+	}
+
+	@Test
+	public void matchWhenReactiveWebApplication() throws Exception {
+		assertThat(match(new GenericReactiveWebApplicationContext()))
+				.containsExactly(true, false, true, true);
+	}
+
+	private boolean[] match(ConfigurableApplicationContext context) {
+		OnWebApplicationCondition filter = new OnWebApplicationCondition();
+		filter.setBeanClassLoader(getClass().getClassLoader());
+		filter.setBeanFactory(context.getBeanFactory());
+		filter.setEnvironment(context.getEnvironment());
+		filter.setResourceLoader(context);
+		return filter.match(AUTO_CONFIGURATION_CLASSES, getAutoConfigurationMetadata());
+	}
+
+	private AutoConfigurationMetadata getAutoConfigurationMetadata() {
+		AutoConfigurationMetadata metadata = mock(AutoConfigurationMetadata.class);
+		given(metadata.get("test.any", "ConditionalOnWebApplication"))
+				.willReturn("ANY");
+		given(metadata.get("test.servlet", "ConditionalOnWebApplication"))
+				.willReturn("SERVLET");
+		given(metadata.get("test.reactive", "ConditionalOnWebApplication"))
+				.willReturn("REACTIVE");
+		return metadata;
+	}
+
+}
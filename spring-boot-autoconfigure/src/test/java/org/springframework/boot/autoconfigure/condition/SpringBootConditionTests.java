@@ -16,10 +16,15 @@
 
 package org.springframework.boot.autoconfigure.condition;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import org.springframework.boot.context.startup.StartupStep;
+import org.springframework.boot.context.startup.StartupTimeline;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ConditionContext;
@@ -27,6 +32,8 @@ import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.type.AnnotatedTypeMetadata;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Tests for {@link SpringBootCondition}.
  *
@@ -54,6 +61,33 @@ public class SpringBootConditionTests {
 		new AnnotationConfigApplicationContext(ErrorOnMethod.class);
 	}
 
+	@Test
+	public void conditionEvaluationIsRecordedOnStartupTimeline() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		timeline.register(context.getBeanFactory());
+		context.register(MatchOnClass.class);
+		context.refresh();
+		context.close();
+		assertThat(timeline.getSteps())
+				.filteredOn((step) -> step.getName().equals("spring.boot.condition"))
+				.extracting(StartupStep::getTags).contains(expectedTags());
+	}
+
+	private Map<String, String> expectedTags() {
+		Map<String, String> tags = new LinkedHashMap<>();
+		tags.put("condition", AlwaysMatchesCondition.class.getName());
+		tags.put("on", MatchOnClass.class.getName());
+		tags.put("matched", "true");
+		return tags;
+	}
+
+	@Configuration
+	@Conditional(AlwaysMatchesCondition.class)
+	public static class MatchOnClass {
+
+	}
+
 	@Configuration
 	@Conditional(AlwaysThrowsCondition.class)
 	public static class ErrorOnClass {
@@ -81,4 +115,14 @@ public class SpringBootConditionTests {
 
 	}
 
+	public static class AlwaysMatchesCondition extends SpringBootCondition {
+
+		@Override
+		public ConditionOutcome getMatchOutcome(ConditionContext context,
+				AnnotatedTypeMetadata metadata) {
+			return ConditionOutcome.match();
+		}
+
+	}
+
 }
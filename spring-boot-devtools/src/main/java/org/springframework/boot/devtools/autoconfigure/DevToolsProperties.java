@@ -92,6 +92,18 @@ public class DevToolsProperties {
 		 */
 		private long quietPeriod = DEFAULT_RESTART_QUIET_PERIOD;
 
+		/**
+		 * Use native file system events, when available, to detect classpath changes
+		 * rather than polling.
+		 */
+		private boolean nativeEvents = true;
+
+		/**
+		 * Compare the content of changed classpath files so that files rewritten with
+		 * identical content, for example by a recompile, do not trigger a restart.
+		 */
+		private boolean compareContent;
+
 		/**
 		 * Name of a specific file that when changed will trigger the restart check. If
 		 * not specified any classpath file change will trigger the restart.
@@ -155,6 +167,22 @@ public class DevToolsProperties {
 			this.quietPeriod = quietPeriod;
 		}
 
+		public boolean isNativeEvents() {
+			return this.nativeEvents;
+		}
+
+		public void setNativeEvents(boolean nativeEvents) {
+			this.nativeEvents = nativeEvents;
+		}
+
+		public boolean isCompareContent() {
+			return this.compareContent;
+		}
+
+		public void setCompareContent(boolean compareContent) {
+			this.compareContent = compareContent;
+		}
+
 		public String getTriggerFile() {
 			return this.triggerFile;
 		}
@@ -40,9 +40,12 @@ import org.springframework.boot.devtools.remote.server.HandlerMapper;
 import org.springframework.boot.devtools.remote.server.HttpHeaderAccessManager;
 import org.springframework.boot.devtools.remote.server.HttpStatusHandler;
 import org.springframework.boot.devtools.remote.server.UrlHandlerMapper;
+import org.springframework.boot.devtools.restart.RestartScope;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesDecoder;
 import org.springframework.boot.devtools.restart.server.DefaultSourceFolderUrlFilter;
 import org.springframework.boot.devtools.restart.server.HttpRestartServer;
 import org.springframework.boot.devtools.restart.server.HttpRestartServerHandler;
+import org.springframework.boot.devtools.restart.server.RestartServer;
 import org.springframework.boot.devtools.restart.server.SourceFolderUrlFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -123,11 +126,20 @@ public class RemoteDevToolsAutoConfiguration {
 			return new DefaultSourceFolderUrlFilter();
 		}
 
+		@Bean
+		@RestartScope
+		@ConditionalOnMissingBean
+		public ClassLoaderFilesDecoder remoteRestartClassLoaderFilesDecoder() {
+			return new ClassLoaderFilesDecoder();
+		}
+
 		@Bean
 		@ConditionalOnMissingBean
 		public HttpRestartServer remoteRestartHttpRestartServer(
-				SourceFolderUrlFilter sourceFolderUrlFilter) {
-			return new HttpRestartServer(sourceFolderUrlFilter);
+				SourceFolderUrlFilter sourceFolderUrlFilter,
+				ClassLoaderFilesDecoder classLoaderFilesDecoder) {
+			return new HttpRestartServer(new RestartServer(sourceFolderUrlFilter),
+					classLoaderFilesDecoder);
 		}
 
 		@Bean
@@ -17,6 +17,7 @@
 package org.springframework.boot.devtools.filewatch;
 
 import java.io.File;
+import java.util.Arrays;
 
 import org.springframework.util.Assert;
 
@@ -35,6 +36,8 @@ class FileSnapshot {
 
 	private final long lastModified;
 
+	private final byte[] contentHash;
+
 	FileSnapshot(File file) {
 		Assert.notNull(file, "File must not be null");
 		Assert.isTrue(file.isFile() || !file.exists(), "File must not be a folder");
@@ -42,12 +45,45 @@ class FileSnapshot {
 		this.exists = file.exists();
 		this.length = file.length();
 		this.lastModified = file.lastModified();
+		this.contentHash = null;
+	}
+
+	/**
+	 * Create a new {@link FileSnapshot} for an existing file with the given attributes.
+	 * When a content hash is provided, snapshots with the same hash are considered equal
+	 * regardless of their last modified time.
+	 * @param file the file
+	 * @param length the length of the file
+	 * @param lastModified the last modified time of the file
+	 * @param contentHash the hash of the file's content or {@code null}
+	 */
+	FileSnapshot(File file, long length, long lastModified, byte[] contentHash) {
+		Assert.notNull(file, "File must not be null");
+		this.file = file;
+		this.exists = true;
+		this.length = length;
+		this.lastModified = lastModified;
+		this.contentHash = contentHash;
 	}
 
 	public File getFile() {
 		return this.file;
 	}
 
+	byte[] getContentHash() {
+		return this.contentHash;
+	}
+
+	/**
+	 * Return if the snapshot is of an existing file with the given attributes.
+	 * @param length the length of the file
+	 * @param lastModified the last modified time of the file
+	 * @return {@code true} if the attributes match
+	 */
+	boolean hasAttributes(long length, long lastModified) {
+		return this.exists && this.length == length && this.lastModified == lastModified;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj) {
@@ -61,6 +97,9 @@ class FileSnapshot {
 			boolean equals = this.file.equals(other.file);
 			equals = equals && this.exists == other.exists;
 			equals = equals && this.length == other.length;
+			if (this.contentHash != null || other.contentHash != null) {
+				return equals && Arrays.equals(this.contentHash, other.contentHash);
+			}
 			equals = equals && this.lastModified == other.lastModified;
 			return equals;
 		}
@@ -72,6 +111,9 @@ class FileSnapshot {
 		int hashCode = this.file.hashCode();
 		hashCode = 31 * hashCode + Boolean.hashCode(this.exists);
 		hashCode = 31 * hashCode + Long.hashCode(this.length);
+		if (this.contentHash != null) {
+			return 31 * hashCode + Arrays.hashCode(this.contentHash);
+		}
 		hashCode = 31 * hashCode + Long.hashCode(this.lastModified);
 		return hashCode;
 	}
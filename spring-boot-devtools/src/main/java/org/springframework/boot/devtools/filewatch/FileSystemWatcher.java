@@ -18,6 +18,7 @@ package org.springframework.boot.devtools.filewatch;
 
 import java.io.File;
 import java.io.FileFilter;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -53,6 +54,8 @@ public class FileSystemWatcher {
 
 	private final long quietPeriod;
 
+	private final boolean nativeEvents;
+
 	private final AtomicInteger remainingScans = new AtomicInteger(-1);
 
 	private final Map<File, FolderSnapshot> folders = new HashMap<>();
@@ -61,6 +64,10 @@ public class FileSystemWatcher {
 
 	private FileFilter triggerFilter;
 
+	private boolean compareContent;
+
+	private final SnapshotStatistics statistics = new SnapshotStatistics();
+
 	private final Object monitor = new Object();
 
 	/**
@@ -78,6 +85,21 @@ public class FileSystemWatcher {
 	 * ensure that updates have completed
 	 */
 	public FileSystemWatcher(boolean daemon, long pollInterval, long quietPeriod) {
+		this(daemon, pollInterval, quietPeriod, false);
+	}
+
+	/**
+	 * Create a new {@link FileSystemWatcher} instance.
+	 * @param daemon if a daemon thread used to monitor changes
+	 * @param pollInterval the amount of time to wait between checking for changes
+	 * @param quietPeriod the amount of time required after a change has been detected to
+	 * ensure that updates have completed
+	 * @param nativeEvents if native file system events should be used to detect changes,
+	 * falling back to polling when they are not available
+	 * @since 2.0.0
+	 */
+	public FileSystemWatcher(boolean daemon, long pollInterval, long quietPeriod,
+			boolean nativeEvents) {
 		Assert.isTrue(pollInterval > 0, "PollInterval must be positive");
 		Assert.isTrue(quietPeriod > 0, "QuietPeriod must be positive");
 		Assert.isTrue(pollInterval > quietPeriod,
@@ -85,6 +107,7 @@ public class FileSystemWatcher {
 		this.daemon = daemon;
 		this.pollInterval = pollInterval;
 		this.quietPeriod = quietPeriod;
+		this.nativeEvents = nativeEvents;
 	}
 
 	/**
@@ -139,6 +162,30 @@ public class FileSystemWatcher {
 		}
 	}
 
+	/**
+	 * Set if the content of files should be compared when their attributes change, so
+	 * that files that are rewritten with identical content do not trigger a change. When
+	 * enabled, the content of every file is hashed when the watcher is started. Cannot be
+	 * called after the watcher has been {@link #start() started}.
+	 * @param compareContent if the content of files should be compared
+	 * @since 2.0.0
+	 */
+	public void setCompareContent(boolean compareContent) {
+		synchronized (this.monitor) {
+			checkNotStarted();
+			this.compareContent = compareContent;
+		}
+	}
+
+	/**
+	 * Return statistics about the scans that have been performed.
+	 * @return the statistics
+	 * @since 2.0.0
+	 */
+	public SnapshotStatistics getStatistics() {
+		return this.statistics;
+	}
+
 	private void checkNotStarted() {
 		synchronized (this.monitor) {
 			Assert.state(this.watchThread == null, "FileSystemWatcher already started");
@@ -150,13 +197,19 @@ public class FileSystemWatcher {
 	 */
 	public void start() {
 		synchronized (this.monitor) {
+			FolderWatchService watchService = null;
+			if (this.nativeEvents && this.watchThread == null) {
+				// Register before the snapshots are taken so that no change is missed
+				watchService = FolderWatchService.get(this.folders.keySet());
+			}
 			saveInitialSnapshots();
 			if (this.watchThread == null) {
 				Map<File, FolderSnapshot> localFolders = new HashMap<>();
 				localFolders.putAll(this.folders);
 				this.watchThread = new Thread(new Watcher(this.remainingScans,
 						new ArrayList<>(this.listeners), this.triggerFilter,
-						this.pollInterval, this.quietPeriod, localFolders));
+						this.pollInterval, this.quietPeriod, localFolders,
+						watchService, this.statistics));
 				this.watchThread.setName("File Watcher");
 				this.watchThread.setDaemon(this.daemon);
 				this.watchThread.start();
@@ -166,7 +219,8 @@ public class FileSystemWatcher {
 
 	private void saveInitialSnapshots() {
 		for (File folder : this.folders.keySet()) {
-			this.folders.put(folder, new FolderSnapshot(folder));
+			this.folders.put(folder,
+					new FolderSnapshot(folder, this.compareContent, this.statistics));
 		}
 	}
 
@@ -216,15 +270,25 @@ public class FileSystemWatcher {
 
 		private Map<File, FolderSnapshot> folders;
 
+		private final FolderWatchService watchService;
+
+		private Map<File, FolderSnapshot> latest;
+
+		private final SnapshotStatistics statistics;
+
 		private Watcher(AtomicInteger remainingScans, List<FileChangeListener> listeners,
 				FileFilter triggerFilter, long pollInterval, long quietPeriod,
-				Map<File, FolderSnapshot> folders) {
+				Map<File, FolderSnapshot> folders, FolderWatchService watchService,
+				SnapshotStatistics statistics) {
 			this.remainingScans = remainingScans;
 			this.listeners = listeners;
 			this.triggerFilter = triggerFilter;
 			this.pollInterval = pollInterval;
 			this.quietPeriod = quietPeriod;
 			this.folders = folders;
+			this.watchService = watchService;
+			this.latest = folders;
+			this.statistics = statistics;
 		}
 
 		@Override
@@ -242,21 +306,63 @@ public class FileSystemWatcher {
 				}
 				remainingScans = this.remainingScans.get();
 			}
+			closeWatchService();
 		};
 
+		private void closeWatchService() {
+			if (this.watchService != null) {
+				try {
+					this.watchService.close();
+				}
+				catch (IOException ex) {
+					// Ignore
+				}
+			}
+		}
+
 		private void scan() throws InterruptedException {
+			if (this.watchService != null) {
+				scanChangedDirectories();
+				return;
+			}
 			Thread.sleep(this.pollInterval - this.quietPeriod);
+			long unchangedContentFiles = this.statistics.getUnchangedContentFiles();
 			Map<File, FolderSnapshot> previous;
-			Map<File, FolderSnapshot> current = this.folders;
+			Map<File, FolderSnapshot> current = this.latest;
 			do {
 				previous = current;
-				current = getCurrentSnapshots();
+				current = getCurrentSnapshots(previous);
 				Thread.sleep(this.quietPeriod);
 			}
 			while (isDifferent(previous, current));
+			applySnapshots(current, unchangedContentFiles);
+		}
+
+		private void scanChangedDirectories() throws InterruptedException {
+			Map<File, Set<File>> changes = this.watchService
+					.getChangedDirectories(this.pollInterval, this.quietPeriod);
+			if (changes.isEmpty()) {
+				return;
+			}
+			long unchangedContentFiles = this.statistics.getUnchangedContentFiles();
+			Map<File, FolderSnapshot> current = new LinkedHashMap<>(this.latest);
+			changes.forEach((folder, directories) -> current.put(folder,
+					current.get(folder).update(directories)));
+			applySnapshots(current, unchangedContentFiles);
+		}
+
+		private void applySnapshots(Map<File, FolderSnapshot> current,
+				long unchangedContentFiles) {
+			this.latest = current;
 			if (isDifferent(this.folders, current)) {
 				updateSnapshots(current.values());
 			}
+			else if (this.statistics.getUnchangedContentFiles() > unchangedContentFiles
+					&& current.equals(this.folders)) {
+				// Files were rewritten but their content is identical
+				this.statistics.avoidedChange();
+				this.folders = current;
+			}
 		}
 
 		private boolean isDifferent(Map<File, FolderSnapshot> previous,
@@ -274,11 +380,10 @@ public class FileSystemWatcher {
 			return false;
 		}
 
-		private Map<File, FolderSnapshot> getCurrentSnapshots() {
+		private Map<File, FolderSnapshot> getCurrentSnapshots(
+				Map<File, FolderSnapshot> previous) {
 			Map<File, FolderSnapshot> snapshots = new LinkedHashMap<>();
-			for (File folder : this.folders.keySet()) {
-				snapshots.put(folder, new FolderSnapshot(folder));
-			}
+			previous.forEach((folder, snapshot) -> snapshots.put(folder, snapshot.rescan()));
 			return snapshots;
 		}
 
@@ -298,6 +403,7 @@ public class FileSystemWatcher {
 				fireListeners(Collections.unmodifiableSet(changeSet));
 			}
 			this.folders = updated;
+			this.latest = updated;
 		}
 
 		private void fireListeners(Set<ChangedFiles> changeSet) {
@@ -18,20 +18,31 @@ package org.springframework.boot.devtools.filewatch;
 
 import java.io.File;
 import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.springframework.boot.devtools.filewatch.ChangedFile.Type;
 import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
 
 /**
- * A snapshot of a folder at a given point in time.
+ * A snapshot of a folder at a given point in time. Snapshots are taken incrementally:
+ * the entries of a directory are only listed again when the directory has been modified
+ * and unchanged {@link FileSnapshot files} are shared with the previous snapshot.
  *
  * @author Phillip Webb
  */
@@ -44,34 +55,177 @@ class FolderSnapshot {
 
 	private final Date time;
 
-	private Set<FileSnapshot> files;
+	private final boolean compareContent;
+
+	private final SnapshotStatistics statistics;
+
+	private final Map<File, FileSnapshot> files = new LinkedHashMap<>();
+
+	private final Map<File, DirectoryListing> listings = new HashMap<>();
 
 	/**
 	 * Create a new {@link FolderSnapshot} for the given folder.
 	 * @param folder the source folder
 	 */
 	FolderSnapshot(File folder) {
+		this(folder, false, new SnapshotStatistics());
+	}
+
+	/**
+	 * Create a new {@link FolderSnapshot} for the given folder.
+	 * @param folder the source folder
+	 * @param compareContent if the content of files should be hashed so that files that
+	 * are rewritten with identical content are not considered to have changed
+	 * @param statistics the statistics to update
+	 */
+	FolderSnapshot(File folder, boolean compareContent, SnapshotStatistics statistics) {
 		Assert.notNull(folder, "Folder must not be null");
 		Assert.isTrue(folder.isDirectory(), "Folder must not be a file");
+		Assert.notNull(statistics, "Statistics must not be null");
 		this.folder = folder;
 		this.time = new Date();
-		Set<FileSnapshot> files = new LinkedHashSet<>();
-		collectFiles(folder, files);
-		this.files = Collections.unmodifiableSet(files);
+		this.compareContent = compareContent;
+		this.statistics = statistics;
+		collectFiles(folder, null, Collections.emptySet());
 	}
 
-	private void collectFiles(File source, Set<FileSnapshot> result) {
-		File[] children = source.listFiles();
-		if (children != null) {
-			for (File child : children) {
-				if (child.isDirectory() && !DOT_FOLDERS.contains(child.getName())) {
-					collectFiles(child, result);
-				}
-				else if (child.isFile()) {
-					result.add(new FileSnapshot(child));
-				}
+	private FolderSnapshot(FolderSnapshot previous) {
+		this.folder = previous.folder;
+		this.time = new Date();
+		this.compareContent = previous.compareContent;
+		this.statistics = previous.statistics;
+	}
+
+	/**
+	 * Create a new snapshot of the same folder, reusing the parts of this snapshot that
+	 * have not changed.
+	 * @return the new snapshot or this snapshot if nothing has changed
+	 */
+	FolderSnapshot rescan() {
+		if (!hasChanges()) {
+			return this;
+		}
+		FolderSnapshot snapshot = new FolderSnapshot(this);
+		snapshot.collectFiles(this.folder, this, Collections.emptySet());
+		return snapshot;
+	}
+
+	private boolean hasChanges() {
+		for (Map.Entry<File, DirectoryListing> entry : this.listings.entrySet()) {
+			if (!entry.getValue().isUnchanged(entry.getKey().lastModified())) {
+				return true;
 			}
 		}
+		for (FileSnapshot file : this.files.values()) {
+			BasicFileAttributes attributes = readAttributes(file.getFile());
+			if (attributes == null || !file.hasAttributes(attributes.size(),
+					attributes.lastModifiedTime().toMillis())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Create a new snapshot of the same folder by scanning the specified directories, and
+	 * their sub-directories, again. Files in other directories are assumed to be
+	 * unchanged.
+	 * @param directories the directories to scan
+	 * @return the updated snapshot
+	 */
+	FolderSnapshot update(Set<File> directories) {
+		Set<File> roots = new LinkedHashSet<>();
+		for (File directory : directories) {
+			if (!isContained(directory, directories)) {
+				roots.add(directory);
+			}
+		}
+		FolderSnapshot snapshot = new FolderSnapshot(this);
+		this.files.forEach((file, fileSnapshot) -> {
+			if (!isContained(file, roots)) {
+				snapshot.files.put(file, fileSnapshot);
+			}
+		});
+		this.listings.forEach((directory, listing) -> {
+			if (!roots.contains(directory) && !isContained(directory, roots)) {
+				snapshot.listings.put(directory, listing);
+			}
+		});
+		for (File root : roots) {
+			snapshot.collectFiles(root, this, directories);
+		}
+		return snapshot;
+	}
+
+	private boolean isContained(File file, Set<File> directories) {
+		String path = file.getPath();
+		for (File directory : directories) {
+			if (path.startsWith(directory.getPath() + File.separator)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void collectFiles(File directory, FolderSnapshot previous,
+			Set<File> modifiedDirectories) {
+		long lastModified = directory.lastModified();
+		DirectoryListing listing = (previous == null ? null
+				: previous.listings.get(directory));
+		if (listing == null || modifiedDirectories.contains(directory)
+				|| !listing.isUnchanged(lastModified)) {
+			listing = DirectoryListing.list(directory, lastModified);
+			this.statistics.listedDirectory();
+		}
+		this.listings.put(directory, listing);
+		for (File file : listing.files) {
+			FileSnapshot snapshot = getFileSnapshot(file,
+					(previous == null ? null : previous.files.get(file)));
+			if (snapshot != null) {
+				this.files.put(file, snapshot);
+			}
+		}
+		for (File child : listing.directories) {
+			collectFiles(child, previous, modifiedDirectories);
+		}
+	}
+
+	private FileSnapshot getFileSnapshot(File file, FileSnapshot previous) {
+		BasicFileAttributes attributes = readAttributes(file);
+		if (attributes == null || !attributes.isRegularFile()) {
+			return null;
+		}
+		long length = attributes.size();
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		if (previous != null && previous.hasAttributes(length, lastModified)) {
+			return previous;
+		}
+		byte[] contentHash = (this.compareContent ? getContentHash(file) : null);
+		if (contentHash != null) {
+			this.statistics.hashedFile(previous != null
+					&& Arrays.equals(contentHash, previous.getContentHash()));
+		}
+		return new FileSnapshot(file, length, lastModified, contentHash);
+	}
+
+	private BasicFileAttributes readAttributes(File file) {
+		this.statistics.scannedFile();
+		try {
+			return Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	private byte[] getContentHash(File file) {
+		try (InputStream inputStream = new FileInputStream(file)) {
+			return DigestUtils.md5Digest(inputStream);
+		}
+		catch (IOException ex) {
+			// Fall back to comparing attributes, the file is probably being written
+			return null;
+		}
 	}
 
 	public ChangedFiles getChangedFiles(FolderSnapshot snapshot,
@@ -81,8 +235,8 @@ class FolderSnapshot {
 		Assert.isTrue(snapshot.folder.equals(folder),
 				"Snapshot source folder must be '" + folder + "'");
 		Set<ChangedFile> changes = new LinkedHashSet<>();
-		Map<File, FileSnapshot> previousFiles = getFilesMap();
-		for (FileSnapshot currentFile : snapshot.files) {
+		Map<File, FileSnapshot> previousFiles = new LinkedHashMap<>(this.files);
+		for (FileSnapshot currentFile : snapshot.files.values()) {
 			if (acceptChangedFile(triggerFilter, currentFile)) {
 				FileSnapshot previousFile = previousFiles.remove(currentFile.getFile());
 				if (previousFile == null) {
@@ -106,14 +260,6 @@ class FolderSnapshot {
 		return (triggerFilter == null || !triggerFilter.accept(file.getFile()));
 	}
 
-	private Map<File, FileSnapshot> getFilesMap() {
-		Map<File, FileSnapshot> files = new LinkedHashMap<>();
-		for (FileSnapshot file : this.files) {
-			files.put(file.getFile(), file);
-		}
-		return files;
-	}
-
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj) {
@@ -130,23 +276,24 @@ class FolderSnapshot {
 
 	public boolean equals(FolderSnapshot other, FileFilter filter) {
 		if (this.folder.equals(other.folder)) {
-			Set<FileSnapshot> ourFiles = filter(this.files, filter);
-			Set<FileSnapshot> otherFiles = filter(other.files, filter);
+			Map<File, FileSnapshot> ourFiles = filter(this.files, filter);
+			Map<File, FileSnapshot> otherFiles = filter(other.files, filter);
 			return ourFiles.equals(otherFiles);
 		}
 		return false;
 	}
 
-	private Set<FileSnapshot> filter(Set<FileSnapshot> source, FileFilter filter) {
+	private Map<File, FileSnapshot> filter(Map<File, FileSnapshot> source,
+			FileFilter filter) {
 		if (filter == null) {
 			return source;
 		}
-		Set<FileSnapshot> filtered = new LinkedHashSet<>();
-		for (FileSnapshot file : source) {
-			if (filter.accept(file.getFile())) {
-				filtered.add(file);
+		Map<File, FileSnapshot> filtered = new LinkedHashMap<>();
+		source.forEach((file, fileSnapshot) -> {
+			if (filter.accept(file)) {
+				filtered.put(file, fileSnapshot);
 			}
-		}
+		});
 		return filtered;
 	}
 
@@ -170,4 +317,59 @@ class FolderSnapshot {
 		return this.folder + " snapshot at " + this.time;
 	}
 
+	/**
+	 * The entries of a directory at the time that it was listed.
+	 */
+	private static final class DirectoryListing {
+
+		/**
+		 * Directories modified this close to the time that they were listed may have
+		 * changed again without a change to their last modified time, which has a
+		 * granularity of up to two seconds.
+		 */
+		private static final long MODIFIED_TIME_GRANULARITY = 2000;
+
+		private final long lastModified;
+
+		private final long listedAt;
+
+		private final List<File> files;
+
+		private final List<File> directories;
+
+		private DirectoryListing(long lastModified, long listedAt, List<File> files,
+				List<File> directories) {
+			this.lastModified = lastModified;
+			this.listedAt = listedAt;
+			this.files = files;
+			this.directories = directories;
+		}
+
+		public boolean isUnchanged(long lastModified) {
+			return (lastModified == this.lastModified && lastModified != 0
+					&& lastModified < this.listedAt - MODIFIED_TIME_GRANULARITY);
+		}
+
+		public static DirectoryListing list(File directory, long lastModified) {
+			long listedAt = System.currentTimeMillis();
+			List<File> files = new ArrayList<>();
+			List<File> directories = new ArrayList<>();
+			File[] children = directory.listFiles();
+			if (children != null) {
+				for (File child : children) {
+					if (child.isDirectory()) {
+						if (!DOT_FOLDERS.contains(child.getName())) {
+							directories.add(child);
+						}
+					}
+					else {
+						files.add(child);
+					}
+				}
+			}
+			return new DirectoryListing(lastModified, listedAt, files, directories);
+		}
+
+	}
+
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.filewatch;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uses native file system events from a {@link WatchService} to track the directories
+ * of source folders that contain changes, so that only those directories need to be
+ * scanned again. Every directory of each source folder is registered, including
+ * directories that are created while watching.
+ *
+ * @author agent
+ * @see FileSystemWatcher
+ */
+class FolderWatchService implements Closeable {
+
+	private static final String POLLING_WATCH_SERVICE = "sun.nio.fs.PollingWatchService";
+
+	private final WatchService watchService;
+
+	private final Map<WatchKey, WatchedDirectory> directories = new ConcurrentHashMap<>();
+
+	private FolderWatchService(WatchService watchService) {
+		this.watchService = watchService;
+	}
+
+	/**
+	 * Return the changed directories of each source folder, waiting up to
+	 * {@code timeout} milliseconds for the first change. Once a change has been
+	 * detected, changes are collected until no further change occurs for
+	 * {@code quietPeriod} milliseconds.
+	 * @param timeout the maximum time to wait for a change
+	 * @param quietPeriod the time without changes after which collection stops
+	 * @return the changed directories keyed by source folder, or an empty map if
+	 * nothing changed
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public Map<File, Set<File>> getChangedDirectories(long timeout, long quietPeriod)
+			throws InterruptedException {
+		Map<File, Set<File>> changes = new LinkedHashMap<>();
+		WatchKey key = this.watchService.poll(timeout, TimeUnit.MILLISECONDS);
+		while (key != null) {
+			processEvents(key, changes);
+			key = this.watchService.poll(quietPeriod, TimeUnit.MILLISECONDS);
+		}
+		return changes;
+	}
+
+	private void processEvents(WatchKey key, Map<File, Set<File>> changes) {
+		WatchedDirectory directory = this.directories.get(key);
+		if (directory == null) {
+			key.cancel();
+			return;
+		}
+		Set<File> changedDirectories = changes.computeIfAbsent(directory.sourceFolder,
+				(folder) -> new LinkedHashSet<>());
+		changedDirectories.add(directory.path.toFile());
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				// Events have been lost so the whole source folder must be rescanned
+				changedDirectories.add(directory.sourceFolder);
+			}
+			else if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+				Path child = directory.path.resolve((Path) event.context());
+				if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+					registerQuietly(directory.sourceFolder, child);
+				}
+			}
+		}
+		if (!key.reset()) {
+			// The directory has gone, the event on its parent covers the change
+			this.directories.remove(key);
+		}
+	}
+
+	private void registerQuietly(File sourceFolder, Path directory) {
+		try {
+			register(sourceFolder, directory);
+		}
+		catch (IOException ex) {
+			// The directory will be rescanned as part of its parent
+		}
+	}
+
+	private void register(File sourceFolder, Path root) throws IOException {
+		Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir,
+					BasicFileAttributes attributes) throws IOException {
+				WatchKey key = dir.register(FolderWatchService.this.watchService,
+						StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_DELETE,
+						StandardWatchEventKinds.ENTRY_MODIFY);
+				FolderWatchService.this.directories.put(key,
+						new WatchedDirectory(sourceFolder, dir));
+				return FileVisitResult.CONTINUE;
+			}
+
+		});
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.watchService.close();
+	}
+
+	/**
+	 * Create a {@link FolderWatchService} for the specified source folders.
+	 * @param sourceFolders the source folders to watch
+	 * @return the watch service or {@code null} if the file system does not support
+	 * native events or if the folders cannot be registered
+	 */
+	static FolderWatchService get(Collection<File> sourceFolders) {
+		WatchService watchService;
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+		}
+		catch (IOException | UnsupportedOperationException ex) {
+			return null;
+		}
+		if (POLLING_WATCH_SERVICE.equals(watchService.getClass().getName())) {
+			// Polling ourselves is cheaper than the JDK's stat-based fallback
+			closeQuietly(watchService);
+			return null;
+		}
+		FolderWatchService folderWatchService = new FolderWatchService(watchService);
+		try {
+			for (File sourceFolder : sourceFolders) {
+				folderWatchService.register(sourceFolder, sourceFolder.toPath());
+			}
+		}
+		catch (IOException ex) {
+			// Typically when the limit of watched directories has been reached
+			closeQuietly(watchService);
+			return null;
+		}
+		return folderWatchService;
+	}
+
+	private static void closeQuietly(WatchService watchService) {
+		try {
+			watchService.close();
+		}
+		catch (IOException ex) {
+			// Ignore
+		}
+	}
+
+	/**
+	 * A registered directory and the source folder that contains it.
+	 */
+	private static final class WatchedDirectory {
+
+		private final File sourceFolder;
+
+		private final Path path;
+
+		private WatchedDirectory(File sourceFolder, Path path) {
+			this.sourceFolder = sourceFolder;
+			this.path = path;
+		}
+
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.filewatch;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.style.ToStringCreator;
+
+/**
+ * Statistics about the scans performed by a {@link FileSystemWatcher}.
+ *
+ * @author agent
+ * @since 2.0.0
+ * @see FileSystemWatcher#getStatistics()
+ */
+public final class SnapshotStatistics {
+
+	private final AtomicLong listedDirectories = new AtomicLong();
+
+	private final AtomicLong scannedFiles = new AtomicLong();
+
+	private final AtomicLong hashedFiles = new AtomicLong();
+
+	private final AtomicLong unchangedContentFiles = new AtomicLong();
+
+	private final AtomicLong avoidedChanges = new AtomicLong();
+
+	SnapshotStatistics() {
+	}
+
+	/**
+	 * Return the number of times that the entries of a directory have been listed.
+	 * Directories that have not been modified since they were last listed are not listed
+	 * again.
+	 * @return the number of listed directories
+	 */
+	public long getListedDirectories() {
+		return this.listedDirectories.get();
+	}
+
+	/**
+	 * Return the number of times that the attributes of a file have been read.
+	 * @return the number of scanned files
+	 */
+	public long getScannedFiles() {
+		return this.scannedFiles.get();
+	}
+
+	/**
+	 * Return the number of times that the content of a file has been hashed.
+	 * @return the number of hashed files
+	 */
+	public long getHashedFiles() {
+		return this.hashedFiles.get();
+	}
+
+	/**
+	 * Return the number of files whose attributes changed but whose content was
+	 * identical.
+	 * @return the number of files with unchanged content
+	 */
+	public long getUnchangedContentFiles() {
+		return this.unchangedContentFiles.get();
+	}
+
+	/**
+	 * Return the number of times that listeners were not notified, and so a restart was
+	 * avoided, because every changed file had identical content.
+	 * @return the number of avoided changes
+	 */
+	public long getAvoidedChanges() {
+		return this.avoidedChanges.get();
+	}
+
+	void listedDirectory() {
+		this.listedDirectories.incrementAndGet();
+	}
+
+	void scannedFile() {
+		this.scannedFiles.incrementAndGet();
+	}
+
+	void hashedFile(boolean unchangedContent) {
+		this.hashedFiles.incrementAndGet();
+		if (unchangedContent) {
+			this.unchangedContentFiles.incrementAndGet();
+		}
+	}
+
+	void avoidedChange() {
+		this.avoidedChanges.incrementAndGet();
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringCreator(this)
+				.append("listedDirectories", getListedDirectories())
+				.append("scannedFiles", getScannedFiles())
+				.append("hashedFiles", getHashedFiles())
+				.append("unchangedContentFiles", getUnchangedContentFiles())
+				.append("avoidedChanges", getAvoidedChanges()).toString();
+	}
+
+}
@@ -16,9 +16,7 @@
 
 package org.springframework.boot.devtools.remote.client;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.net.ConnectException;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -37,6 +35,7 @@ import org.springframework.boot.devtools.filewatch.ChangedFiles;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesEncoder;
 import org.springframework.context.ApplicationListener;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -74,6 +73,8 @@ public class ClassPathChangeUploader
 
 	private final ClientHttpRequestFactory requestFactory;
 
+	private final ClassLoaderFilesEncoder encoder = new ClassLoaderFilesEncoder();
+
 	public ClassPathChangeUploader(String url, ClientHttpRequestFactory requestFactory) {
 		Assert.hasLength(url, "URL must not be empty");
 		Assert.notNull(requestFactory, "RequestFactory must not be null");
@@ -89,20 +90,19 @@ public class ClassPathChangeUploader
 	@Override
 	public void onApplicationEvent(ClassPathChangedEvent event) {
 		try {
-			ClassLoaderFiles classLoaderFiles = getClassLoaderFiles(event);
-			byte[] bytes = serialize(classLoaderFiles);
-			performUpload(classLoaderFiles, bytes);
+			performUpload(getClassLoaderFiles(event));
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException(ex);
 		}
 	}
 
-	private void performUpload(ClassLoaderFiles classLoaderFiles, byte[] bytes)
-			throws IOException {
+	private void performUpload(ClassLoaderFiles classLoaderFiles) throws IOException {
 		try {
+			boolean resent = false;
 			while (true) {
 				try {
+					byte[] bytes = this.encoder.encode(classLoaderFiles);
 					ClientHttpRequest request = this.requestFactory
 							.createRequest(this.uri, HttpMethod.POST);
 					HttpHeaders headers = request.getHeaders();
@@ -110,9 +110,17 @@ public class ClassPathChangeUploader
 					headers.setContentLength(bytes.length);
 					FileCopyUtils.copy(bytes, request.getBody());
 					ClientHttpResponse response = request.execute();
+					if (response.getStatusCode() == HttpStatus.PRECONDITION_FAILED
+							&& !resent) {
+						// The remote application no longer has the previous contents
+						this.encoder.reset();
+						resent = true;
+						continue;
+					}
 					Assert.state(response.getStatusCode() == HttpStatus.OK,
 							"Unexpected " + response.getStatusCode()
 									+ " response uploading class files");
+					this.encoder.acknowledge();
 					logUpload(classLoaderFiles);
 					return;
 				}
@@ -135,14 +143,6 @@ public class ClassPathChangeUploader
 				"Uploaded " + size + " class " + (size == 1 ? "resource" : "resources"));
 	}
 
-	private byte[] serialize(ClassLoaderFiles classLoaderFiles) throws IOException {
-		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
-		objectOutputStream.writeObject(classLoaderFiles);
-		objectOutputStream.close();
-		return outputStream.toByteArray();
-	}
-
 	private ClassLoaderFiles getClassLoaderFiles(ClassPathChangedEvent event)
 			throws IOException {
 		ClassLoaderFiles files = new ClassLoaderFiles();
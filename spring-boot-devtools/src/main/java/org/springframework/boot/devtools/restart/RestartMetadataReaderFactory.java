@@ -0,0 +1,177 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.devtools.restart.classloader.RestartClassLoader;
+import org.springframework.boot.type.classreading.ConcurrentReferenceCachingMetadataReaderFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+
+/**
+ * {@link MetadataReaderFactory} that retains the metadata of classes in jars that are
+ * loaded by the parent of a {@link RestartClassLoader}. Those jars cannot change without
+ * restarting the JVM, so the metadata of their classes, typically auto-configuration
+ * classes, is read once and reused by every restart rather than being parsed again.
+ * Metadata of classes that can be reloaded is cached in the same way as Spring Boot's
+ * shared metadata reader factory, until the context has been refreshed.
+ *
+ * @author agent
+ */
+class RestartMetadataReaderFactory extends ConcurrentReferenceCachingMetadataReaderFactory
+		implements ApplicationListener<ContextRefreshedEvent> {
+
+	/**
+	 * Name of the shared metadata reader factory bean that is registered by Spring
+	 * Boot's auto-configuration support.
+	 */
+	static final String BEAN_NAME = "org.springframework.boot.autoconfigure."
+			+ "internalCachingMetadataReaderFactory";
+
+	private static final String JAR_URL_PREFIX = "jar:";
+
+	private static final String JAR_URL_SEPARATOR = "!/";
+
+	private final Set<String> restartUrls = new HashSet<>();
+
+	private final MetadataReaderFactory parentMetadataReaderFactory;
+
+	private final Map<String, MetadataReader> retainedMetadataReaders;
+
+	/**
+	 * Create a new {@link RestartMetadataReaderFactory} instance.
+	 * @param classLoader the restart class loader
+	 * @param retainedMetadataReaders the metadata readers retained across restarts,
+	 * keyed by the URL of the class file
+	 */
+	RestartMetadataReaderFactory(RestartClassLoader classLoader,
+			Map<String, MetadataReader> retainedMetadataReaders) {
+		super(classLoader);
+		for (URL url : classLoader.getURLs()) {
+			this.restartUrls.add(url.toString());
+		}
+		// Readers that are retained must not reference the restart class loader
+		this.parentMetadataReaderFactory = new SimpleMetadataReaderFactory(
+				classLoader.getParent());
+		this.retainedMetadataReaders = retainedMetadataReaders;
+	}
+
+	@Override
+	protected MetadataReader createMetadataReader(Resource resource) throws IOException {
+		String location = getRetainedLocation(resource);
+		if (location == null) {
+			return super.createMetadataReader(resource);
+		}
+		MetadataReader metadataReader = this.retainedMetadataReaders.get(location);
+		if (metadataReader == null) {
+			metadataReader = this.parentMetadataReaderFactory
+					.getMetadataReader(new UrlResource(location));
+			this.retainedMetadataReaders.put(location, metadataReader);
+		}
+		return metadataReader;
+	}
+
+	private String getRetainedLocation(Resource resource) {
+		String location;
+		try {
+			location = resource.getURL().toString();
+		}
+		catch (IOException ex) {
+			return null;
+		}
+		int separatorIndex = location.indexOf(JAR_URL_SEPARATOR);
+		if (!location.startsWith(JAR_URL_PREFIX) || separatorIndex == -1) {
+			return null;
+		}
+		String jar = location.substring(JAR_URL_PREFIX.length(), separatorIndex);
+		return (this.restartUrls.contains(jar) ? null : location);
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		clearCache();
+	}
+
+	/**
+	 * Register a {@link RestartMetadataReaderFactory} with the given context, replacing
+	 * the shared metadata reader factory if it is used.
+	 * @param applicationContext the application context
+	 * @param classLoader the restart class loader
+	 * @param retainedMetadataReaders the metadata readers retained across restarts
+	 */
+	static void register(ConfigurableApplicationContext applicationContext,
+			RestartClassLoader classLoader,
+			Map<String, MetadataReader> retainedMetadataReaders) {
+		applicationContext.addBeanFactoryPostProcessor(
+				new RestartMetadataReaderFactoryPostProcessor(classLoader,
+						retainedMetadataReaders));
+	}
+
+	/**
+	 * {@link BeanDefinitionRegistryPostProcessor} to replace the shared metadata reader
+	 * factory. Added when the context has been prepared so that it runs after the post
+	 * processor that registers the shared factory.
+	 */
+	private static class RestartMetadataReaderFactoryPostProcessor
+			implements BeanDefinitionRegistryPostProcessor {
+
+		private final RestartClassLoader classLoader;
+
+		private final Map<String, MetadataReader> retainedMetadataReaders;
+
+		RestartMetadataReaderFactoryPostProcessor(RestartClassLoader classLoader,
+				Map<String, MetadataReader> retainedMetadataReaders) {
+			this.classLoader = classLoader;
+			this.retainedMetadataReaders = retainedMetadataReaders;
+		}
+
+		@Override
+		public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry)
+				throws BeansException {
+			if (registry.containsBeanDefinition(BEAN_NAME)) {
+				registry.removeBeanDefinition(BEAN_NAME);
+				registry.registerBeanDefinition(BEAN_NAME,
+						new RootBeanDefinition(RestartMetadataReaderFactory.class,
+								() -> new RestartMetadataReaderFactory(this.classLoader,
+										this.retainedMetadataReaders)));
+			}
+		}
+
+		@Override
+		public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory)
+				throws BeansException {
+		}
+
+	}
+
+}
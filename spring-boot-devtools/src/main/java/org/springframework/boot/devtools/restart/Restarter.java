@@ -31,6 +31,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadFactory;
@@ -53,6 +54,7 @@ import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
 
@@ -95,6 +97,10 @@ public class Restarter {
 
 	private final Map<String, Object> attributes = new HashMap<>();
 
+	private final Set<String> missingParentClasses = ConcurrentHashMap.newKeySet();
+
+	private final Map<String, MetadataReader> retainedMetadataReaders = new ConcurrentHashMap<>();
+
 	private final BlockingDeque<LeakSafeThread> leakSafeThreads = new LinkedBlockingDeque<>();
 
 	private final Lock stopLock = new ReentrantLock();
@@ -277,7 +283,7 @@ public class Restarter {
 		URL[] urls = this.urls.toArray(new URL[this.urls.size()]);
 		ClassLoaderFiles updatedFiles = new ClassLoaderFiles(this.classLoaderFiles);
 		ClassLoader classLoader = new RestartClassLoader(parent, urls, updatedFiles,
-				this.logger);
+				this.logger, this.missingParentClasses);
 		if (this.logger.isDebugEnabled()) {
 			this.logger.debug("Starting application " + this.mainClassName + " with URLs "
 					+ Arrays.asList(urls));
@@ -427,6 +433,13 @@ public class Restarter {
 		ResourceLoader resourceLoader = new ClassLoaderFilesResourcePatternResolver(
 				applicationContext, this.classLoaderFiles);
 		applicationContext.setResourceLoader(resourceLoader);
+		ClassLoader classLoader = applicationContext.getBeanFactory()
+				.getBeanClassLoader();
+		if (classLoader instanceof RestartClassLoader) {
+			// Metadata of classes that cannot be reloaded is reused by every restart
+			RestartMetadataReaderFactory.register(applicationContext,
+					(RestartClassLoader) classLoader, this.retainedMetadataReaders);
+		}
 	}
 
 	private LeakSafeThread getLeakSafeThread() {
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart.classloader;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
+import org.springframework.util.Assert;
+
+/**
+ * Decodes {@link ClassLoaderFiles} that have been encoded by a
+ * {@link ClassLoaderFilesEncoder}. The contents of decoded files are retained, up to a
+ * limit, so that they can be referenced by subsequent uploads.
+ *
+ * @author agent
+ * @since 2.0.0
+ * @see ClassLoaderFilesEncoder
+ */
+public class ClassLoaderFilesDecoder {
+
+	private static final int DEFAULT_MAX_CONTENTS = 4096;
+
+	private static final Kind[] KINDS = Kind.values();
+
+	private final Map<ByteBuffer, byte[]> contents;
+
+	/**
+	 * Create a new {@link ClassLoaderFilesDecoder} instance.
+	 */
+	public ClassLoaderFilesDecoder() {
+		this(DEFAULT_MAX_CONTENTS);
+	}
+
+	/**
+	 * Create a new {@link ClassLoaderFilesDecoder} instance.
+	 * @param maxContents the maximum number of file contents to retain
+	 */
+	public ClassLoaderFilesDecoder(int maxContents) {
+		Assert.isTrue(maxContents > 0, "MaxContents must be positive");
+		this.contents = Collections.synchronizedMap(
+				new LinkedHashMap<ByteBuffer, byte[]>(16, 0.75f, true) {
+
+					@Override
+					protected boolean removeEldestEntry(
+							Map.Entry<ByteBuffer, byte[]> eldest) {
+						return size() > maxContents;
+					}
+
+				});
+	}
+
+	/**
+	 * Decode files from the given input stream. The stream is read as it is decoded but
+	 * is not closed.
+	 * @param inputStream the input stream to decode
+	 * @return the decoded files
+	 * @throws IOException in case of I/O errors
+	 * @throws MissingContentException if the files reference contents that are no longer
+	 * retained
+	 */
+	public ClassLoaderFiles decode(InputStream inputStream) throws IOException {
+		Assert.notNull(inputStream, "InputStream must not be null");
+		DataInputStream input = new DataInputStream(new GZIPInputStream(inputStream));
+		Assert.state(input.readInt() == ClassLoaderFilesFormat.MAGIC,
+				"Unexpected class loader files content");
+		byte version = input.readByte();
+		Assert.state(version == ClassLoaderFilesFormat.VERSION,
+				() -> "Unsupported class loader files version " + version);
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		String sourceFolder = null;
+		byte type;
+		while ((type = input.readByte()) != ClassLoaderFilesFormat.END) {
+			if (type == ClassLoaderFilesFormat.SOURCE_FOLDER) {
+				sourceFolder = input.readUTF();
+			}
+			else if (type == ClassLoaderFilesFormat.FILE) {
+				Assert.state(sourceFolder != null, "No source folder");
+				String name = input.readUTF();
+				files.addFile(sourceFolder, name, readFile(input));
+			}
+			else {
+				throw new IllegalStateException("Unexpected record type " + type);
+			}
+		}
+		return files;
+	}
+
+	private ClassLoaderFile readFile(DataInputStream input) throws IOException {
+		int kind = input.readUnsignedByte();
+		Assert.state(kind < KINDS.length, () -> "Unexpected file kind " + kind);
+		long lastModified = input.readLong();
+		byte encoding = input.readByte();
+		byte[] contents = readContents(input, encoding);
+		if (contents != null) {
+			this.contents.put(ClassLoaderFilesFormat.hash(contents), contents);
+		}
+		return new ClassLoaderFile(KINDS[kind], lastModified, contents);
+	}
+
+	private byte[] readContents(DataInputStream input, byte encoding)
+			throws IOException {
+		switch (encoding) {
+		case ClassLoaderFilesFormat.NO_CONTENTS:
+			return null;
+		case ClassLoaderFilesFormat.FULL_CONTENTS:
+			return readBytes(input, input.readInt());
+		case ClassLoaderFilesFormat.REFERENCED_CONTENTS:
+			return getContents(readHash(input));
+		case ClassLoaderFilesFormat.DELTA_CONTENTS:
+			return readDelta(input);
+		}
+		throw new IllegalStateException("Unexpected contents encoding " + encoding);
+	}
+
+	private byte[] readDelta(DataInputStream input) throws IOException {
+		byte[] base = getContents(readHash(input));
+		ByteBuffer hash = readHash(input);
+		int prefix = input.readInt();
+		int suffix = input.readInt();
+		Assert.state(prefix >= 0 && suffix >= 0 && prefix <= base.length - suffix,
+				"Invalid delta");
+		byte[] changed = readBytes(input, input.readInt());
+		byte[] contents = new byte[prefix + changed.length + suffix];
+		System.arraycopy(base, 0, contents, 0, prefix);
+		System.arraycopy(changed, 0, contents, prefix, changed.length);
+		System.arraycopy(base, base.length - suffix, contents, prefix + changed.length,
+				suffix);
+		Assert.state(hash.equals(ClassLoaderFilesFormat.hash(contents)),
+				"Delta does not match expected contents");
+		return contents;
+	}
+
+	private ByteBuffer readHash(DataInputStream input) throws IOException {
+		return ByteBuffer.wrap(readBytes(input, ClassLoaderFilesFormat.HASH_LENGTH));
+	}
+
+	private byte[] readBytes(DataInputStream input, int length) throws IOException {
+		Assert.state(length >= 0 && length <= ClassLoaderFilesFormat.MAX_CONTENTS_LENGTH,
+				() -> "Invalid length " + length);
+		byte[] bytes = new byte[length];
+		input.readFully(bytes);
+		return bytes;
+	}
+
+	private byte[] getContents(ByteBuffer hash) {
+		byte[] contents = this.contents.get(hash);
+		if (contents == null) {
+			throw new MissingContentException();
+		}
+		return contents;
+	}
+
+	/**
+	 * Exception thrown when decoded files reference contents that are not retained. The
+	 * files should be encoded again with their contents in full.
+	 */
+	public static class MissingContentException extends IllegalStateException {
+
+		MissingContentException() {
+			super("Referenced class loader file contents are not available");
+		}
+
+	}
+
+}
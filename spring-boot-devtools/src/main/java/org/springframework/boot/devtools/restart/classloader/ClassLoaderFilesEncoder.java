@@ -0,0 +1,159 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart.classloader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles.SourceFolder;
+import org.springframework.util.Assert;
+
+/**
+ * Encodes {@link ClassLoaderFiles} so that they can be sent to a remote application
+ * that uses a {@link ClassLoaderFilesDecoder}. Contents that the remote application has
+ * {@link #acknowledge() acknowledged} are not sent again. Instead, a reference to the
+ * contents is sent when they are unchanged, and a delta against them is sent when the
+ * start or end of a file is unchanged.
+ *
+ * @author agent
+ * @since 2.0.0
+ * @see ClassLoaderFilesDecoder
+ */
+public class ClassLoaderFilesEncoder {
+
+	private final Map<String, byte[]> acknowledgedContents = new HashMap<>();
+
+	private final Set<ByteBuffer> acknowledgedHashes = new HashSet<>();
+
+	private final Map<String, byte[]> pendingContents = new LinkedHashMap<>();
+
+	/**
+	 * Encode the given files.
+	 * @param files the files to encode
+	 * @return the encoded files
+	 * @throws IOException in case of I/O errors
+	 */
+	public byte[] encode(ClassLoaderFiles files) throws IOException {
+		Assert.notNull(files, "Files must not be null");
+		this.pendingContents.clear();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(
+				new GZIPOutputStream(bytes))) {
+			output.writeInt(ClassLoaderFilesFormat.MAGIC);
+			output.writeByte(ClassLoaderFilesFormat.VERSION);
+			for (SourceFolder folder : files.getSourceFolders()) {
+				output.writeByte(ClassLoaderFilesFormat.SOURCE_FOLDER);
+				output.writeUTF(folder.getName());
+				for (Map.Entry<String, ClassLoaderFile> entry : folder
+						.getFilesEntrySet()) {
+					writeFile(output, entry.getKey(), entry.getValue());
+				}
+			}
+			output.writeByte(ClassLoaderFilesFormat.END);
+		}
+		return bytes.toByteArray();
+	}
+
+	private void writeFile(DataOutputStream output, String name, ClassLoaderFile file)
+			throws IOException {
+		output.writeByte(ClassLoaderFilesFormat.FILE);
+		output.writeUTF(name);
+		output.writeByte(file.getKind().ordinal());
+		output.writeLong(file.getLastModified());
+		byte[] contents = file.getContents();
+		this.pendingContents.put(name, contents);
+		if (contents == null) {
+			output.writeByte(ClassLoaderFilesFormat.NO_CONTENTS);
+			return;
+		}
+		ByteBuffer hash = ClassLoaderFilesFormat.hash(contents);
+		if (this.acknowledgedHashes.contains(hash)) {
+			output.writeByte(ClassLoaderFilesFormat.REFERENCED_CONTENTS);
+			output.write(hash.array());
+			return;
+		}
+		byte[] base = this.acknowledgedContents.get(name);
+		if (base == null || !writeDelta(output, base, contents, hash)) {
+			output.writeByte(ClassLoaderFilesFormat.FULL_CONTENTS);
+			output.writeInt(contents.length);
+			output.write(contents);
+		}
+	}
+
+	private boolean writeDelta(DataOutputStream output, byte[] base, byte[] contents,
+			ByteBuffer hash) throws IOException {
+		int maxLength = Math.min(base.length, contents.length);
+		int prefix = 0;
+		while (prefix < maxLength && base[prefix] == contents[prefix]) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < maxLength - prefix && base[base.length - suffix
+				- 1] == contents[contents.length - suffix - 1]) {
+			suffix++;
+		}
+		int changedLength = contents.length - prefix - suffix;
+		if (changedLength + 2 * ClassLoaderFilesFormat.HASH_LENGTH >= contents.length) {
+			return false;
+		}
+		output.writeByte(ClassLoaderFilesFormat.DELTA_CONTENTS);
+		output.write(ClassLoaderFilesFormat.hash(base).array());
+		output.write(hash.array());
+		output.writeInt(prefix);
+		output.writeInt(suffix);
+		output.writeInt(changedLength);
+		output.write(contents, prefix, changedLength);
+		return true;
+	}
+
+	/**
+	 * Acknowledge that the files that were last {@link #encode(ClassLoaderFiles)
+	 * encoded} have been received, so that their contents can be referenced by
+	 * subsequent encodings.
+	 */
+	public void acknowledge() {
+		this.pendingContents.forEach((name, contents) -> {
+			if (contents == null) {
+				this.acknowledgedContents.remove(name);
+			}
+			else {
+				this.acknowledgedContents.put(name, contents);
+				this.acknowledgedHashes.add(ClassLoaderFilesFormat.hash(contents));
+			}
+		});
+		this.pendingContents.clear();
+	}
+
+	/**
+	 * Forget all acknowledged contents so that the contents of every file is sent in
+	 * full. Used when the remote application no longer holds the acknowledged contents,
+	 * for example because it has been restarted.
+	 */
+	public void reset() {
+		this.acknowledgedContents.clear();
+		this.acknowledgedHashes.clear();
+	}
+
+}
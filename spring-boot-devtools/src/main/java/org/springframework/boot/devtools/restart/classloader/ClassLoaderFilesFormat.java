@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart.classloader;
+
+import java.nio.ByteBuffer;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * Constants and utilities for the binary format that is used to send
+ * {@link ClassLoaderFiles} to a remote application. The format is compressed and is a
+ * sequence of records, each starting with a type byte:
+ * <ul>
+ * <li>a source folder record, naming the folder of the file records that follow</li>
+ * <li>a file record with the file's name, kind, last modified time and contents</li>
+ * <li>an end record</li>
+ * </ul>
+ * The contents of a file are sent in full, as a reference to contents that the receiver
+ * already holds, or as a delta against such contents. Contents are identified by their
+ * MD5 hash.
+ *
+ * @author agent
+ * @see ClassLoaderFilesEncoder
+ * @see ClassLoaderFilesDecoder
+ */
+final class ClassLoaderFilesFormat {
+
+	static final int MAGIC = 0x53424446;
+
+	static final byte VERSION = 1;
+
+	static final byte END = 0;
+
+	static final byte SOURCE_FOLDER = 1;
+
+	static final byte FILE = 2;
+
+	static final byte NO_CONTENTS = 0;
+
+	static final byte FULL_CONTENTS = 1;
+
+	static final byte REFERENCED_CONTENTS = 2;
+
+	static final byte DELTA_CONTENTS = 3;
+
+	static final int HASH_LENGTH = 16;
+
+	static final int MAX_CONTENTS_LENGTH = 64 * 1024 * 1024;
+
+	private ClassLoaderFilesFormat() {
+	}
+
+	static ByteBuffer hash(byte[] contents) {
+		return ByteBuffer.wrap(DigestUtils.md5Digest(contents));
+	}
+
+}
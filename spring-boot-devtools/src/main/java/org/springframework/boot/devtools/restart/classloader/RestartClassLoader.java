@@ -23,6 +23,8 @@ import java.net.URLClassLoader;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Enumeration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -45,6 +47,8 @@ public class RestartClassLoader extends URLClassLoader implements SmartClassLoad
 
 	private final ClassLoaderFileRepository updatedFiles;
 
+	private final Set<String> missingParentClasses;
+
 	/**
 	 * Create a new {@link RestartClassLoader} instance.
 	 * @param parent the parent classloader
@@ -76,11 +80,31 @@ public class RestartClassLoader extends URLClassLoader implements SmartClassLoad
 	 */
 	public RestartClassLoader(ClassLoader parent, URL[] urls,
 			ClassLoaderFileRepository updatedFiles, Log logger) {
+		this(parent, urls, updatedFiles, logger, ConcurrentHashMap.newKeySet());
+	}
+
+	/**
+	 * Create a new {@link RestartClassLoader} instance.
+	 * @param parent the parent classloader
+	 * @param updatedFiles any files that have been updated since the JARs referenced in
+	 * URLs were created.
+	 * @param urls the urls managed by the classloader
+	 * @param logger the logger used for messages
+	 * @param missingParentClasses the names of classes that the parent cannot load. As
+	 * the parent does not change, the set can be shared with the classloaders used for
+	 * subsequent restarts so that they do not search the parent again.
+	 * @since 2.0.0
+	 */
+	public RestartClassLoader(ClassLoader parent, URL[] urls,
+			ClassLoaderFileRepository updatedFiles, Log logger,
+			Set<String> missingParentClasses) {
 		super(urls, parent);
 		Assert.notNull(parent, "Parent must not be null");
 		Assert.notNull(updatedFiles, "UpdatedFiles must not be null");
 		Assert.notNull(logger, "Logger must not be null");
+		Assert.notNull(missingParentClasses, "MissingParentClasses must not be null");
 		this.updatedFiles = updatedFiles;
+		this.missingParentClasses = missingParentClasses;
 		this.logger = logger;
 		if (logger.isDebugEnabled()) {
 			logger.debug("Created RestartClassLoader " + toString());
@@ -144,7 +168,7 @@ public class RestartClassLoader extends URLClassLoader implements SmartClassLoad
 				loadedClass = findClass(name);
 			}
 			catch (ClassNotFoundException ex) {
-				loadedClass = getParent().loadClass(name);
+				loadedClass = loadClassFromParent(name);
 			}
 		}
 		if (resolve) {
@@ -153,6 +177,19 @@ public class RestartClassLoader extends URLClassLoader implements SmartClassLoad
 		return loadedClass;
 	}
 
+	private Class<?> loadClassFromParent(String name) throws ClassNotFoundException {
+		if (this.missingParentClasses.contains(name)) {
+			throw new ClassNotFoundException(name);
+		}
+		try {
+			return getParent().loadClass(name);
+		}
+		catch (ClassNotFoundException ex) {
+			this.missingParentClasses.add(name);
+			throw ex;
+		}
+	}
+
 	@Override
 	protected Class<?> findClass(final String name) throws ClassNotFoundException {
 		String path = name.replace('.', '/').concat(".class");
@@ -17,12 +17,13 @@
 package org.springframework.boot.devtools.restart.server;
 
 import java.io.IOException;
-import java.io.ObjectInputStream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesDecoder;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesDecoder.MissingContentException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
@@ -42,6 +43,8 @@ public class HttpRestartServer {
 
 	private final RestartServer server;
 
+	private final ClassLoaderFilesDecoder decoder;
+
 	/**
 	 * Create a new {@link HttpRestartServer} instance.
 	 * @param sourceFolderUrlFilter the source filter used to link remote folder to the
@@ -50,6 +53,7 @@ public class HttpRestartServer {
 	public HttpRestartServer(SourceFolderUrlFilter sourceFolderUrlFilter) {
 		Assert.notNull(sourceFolderUrlFilter, "SourceFolderUrlFilter must not be null");
 		this.server = new RestartServer(sourceFolderUrlFilter);
+		this.decoder = new ClassLoaderFilesDecoder();
 	}
 
 	/**
@@ -57,8 +61,21 @@ public class HttpRestartServer {
 	 * @param restartServer the underlying restart server
 	 */
 	public HttpRestartServer(RestartServer restartServer) {
+		this(restartServer, new ClassLoaderFilesDecoder());
+	}
+
+	/**
+	 * Create a new {@link HttpRestartServer} instance.
+	 * @param restartServer the underlying restart server
+	 * @param decoder the decoder used to read uploaded files
+	 * @since 2.0.0
+	 */
+	public HttpRestartServer(RestartServer restartServer,
+			ClassLoaderFilesDecoder decoder) {
 		Assert.notNull(restartServer, "RestartServer must not be null");
+		Assert.notNull(decoder, "Decoder must not be null");
 		this.server = restartServer;
+		this.decoder = decoder;
 	}
 
 	/**
@@ -71,13 +88,14 @@ public class HttpRestartServer {
 			throws IOException {
 		try {
 			Assert.state(request.getHeaders().getContentLength() > 0, "No content");
-			ObjectInputStream objectInputStream = new ObjectInputStream(
-					request.getBody());
-			ClassLoaderFiles files = (ClassLoaderFiles) objectInputStream.readObject();
-			objectInputStream.close();
+			ClassLoaderFiles files = this.decoder.decode(request.getBody());
 			this.server.updateAndRestart(files);
 			response.setStatusCode(HttpStatus.OK);
 		}
+		catch (MissingContentException ex) {
+			logger.debug("Requesting upload of full class loader file contents");
+			response.setStatusCode(HttpStatus.PRECONDITION_FAILED);
+		}
 		catch (Exception ex) {
 			logger.warn("Unable to handler restart server HTTP request", ex);
 			response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
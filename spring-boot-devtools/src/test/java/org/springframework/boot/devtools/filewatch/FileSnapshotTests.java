@@ -96,6 +96,19 @@ public class FileSnapshotTests {
 		assertThat(snapshot1).isNotEqualTo(new FileSnapshot(file));
 	}
 
+	@Test
+	public void equalsIfContentHashIsTheSame() throws Exception {
+		File file = createNewFile("abc", MODIFIED);
+		FileSnapshot snapshot1 = new FileSnapshot(file, 3, MODIFIED, new byte[] { 1 });
+		FileSnapshot snapshot2 = new FileSnapshot(file, 3, MODIFIED + TWO_MINS,
+				new byte[] { 1 });
+		assertThat(snapshot1).isEqualTo(snapshot2);
+		assertThat(snapshot1.hashCode()).isEqualTo(snapshot2.hashCode());
+		assertThat(snapshot1).isNotEqualTo(
+				new FileSnapshot(file, 3, MODIFIED + TWO_MINS, new byte[] { 2 }));
+		assertThat(snapshot1).isNotEqualTo(new FileSnapshot(file, 3, MODIFIED, null));
+	}
+
 	private File createNewFile(String content, long lastModified) throws IOException {
 		File file = this.temporaryFolder.newFile();
 		setupFile(file, content, lastModified);
@@ -20,6 +20,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -271,12 +273,36 @@ public class FileSystemWatcherTests {
 		assertThat(actual).isEqualTo(expected);
 	}
 
+	@Test
+	public void withCompareContent() throws Exception {
+		File folder = this.temp.newFolder();
+		File file = new File(folder, "file.txt");
+		FileCopyUtils.copy("abc".getBytes(), file);
+		file.setLastModified(file.lastModified() - 10000);
+		this.watcher.addSourceFolder(folder);
+		this.watcher.setCompareContent(true);
+		this.watcher.start();
+		File rewritten = this.temp.newFile();
+		FileCopyUtils.copy("abc".getBytes(), rewritten);
+		Files.move(rewritten.toPath(), file.toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+		this.watcher.stopAfter(1);
+		assertThat(this.changes).isEmpty();
+		SnapshotStatistics statistics = this.watcher.getStatistics();
+		assertThat(statistics.getUnchangedContentFiles()).isEqualTo(1);
+		assertThat(statistics.getAvoidedChanges()).isEqualTo(1);
+	}
+
 	private void setupWatcher(long pollingInterval, long quietPeriod) {
-		this.watcher = new FileSystemWatcher(false, pollingInterval, quietPeriod);
+		this.watcher = createWatcher(pollingInterval, quietPeriod);
 		this.watcher.addListener(
 				(changeSet) -> FileSystemWatcherTests.this.changes.add(changeSet));
 	}
 
+	protected FileSystemWatcher createWatcher(long pollingInterval, long quietPeriod) {
+		return new FileSystemWatcher(false, pollingInterval, quietPeriod);
+	}
+
 	private File startWithNewFolder() throws IOException {
 		File folder = this.temp.newFolder();
 		this.watcher.addSourceFolder(folder);
@@ -18,6 +18,9 @@ package org.springframework.boot.devtools.filewatch;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -135,6 +138,97 @@ public class FolderSnapshotTests {
 		assertThat(getChangedFile(changedFiles, newFile).getType()).isEqualTo(Type.ADD);
 	}
 
+	@Test
+	public void updateOnlyScansSpecifiedDirectories() throws Exception {
+		File folder1 = new File(this.folder, "folder1");
+		File folder2 = new File(this.folder, "folder2");
+		folder2.mkdirs();
+		File file1 = new File(folder1, "file1");
+		File newFile = new File(folder2, "newfile");
+		FileCopyUtils.copy("updatedcontent".getBytes(), file1);
+		newFile.createNewFile();
+		FolderSnapshot updatedSnapshot = this.initialSnapshot
+				.update(Collections.singleton(folder2));
+		ChangedFiles changedFiles = this.initialSnapshot.getChangedFiles(updatedSnapshot,
+				null);
+		assertThat(changedFiles.getFiles())
+				.containsExactly(new ChangedFile(this.folder, newFile, Type.ADD));
+	}
+
+	@Test
+	public void updateMatchesFullScan() throws Exception {
+		File folder1 = new File(this.folder, "folder1");
+		File nested = new File(folder1, "nested");
+		nested.mkdirs();
+		new File(nested, "newfile").createNewFile();
+		new File(folder1, "file2").delete();
+		FolderSnapshot updatedSnapshot = this.initialSnapshot
+				.update(new HashSet<>(Arrays.asList(folder1, nested)));
+		assertThat(updatedSnapshot).isEqualTo(new FolderSnapshot(this.folder));
+	}
+
+	@Test
+	public void rescanWhenNothingHasChanged() throws Exception {
+		SnapshotStatistics statistics = new SnapshotStatistics();
+		FolderSnapshot snapshot = new FolderSnapshot(setOldLastModified(this.folder),
+				false, statistics);
+		long listedDirectories = statistics.getListedDirectories();
+		assertThat(snapshot.rescan()).isSameAs(snapshot);
+		assertThat(statistics.getListedDirectories()).isEqualTo(listedDirectories);
+		assertThat(statistics.getScannedFiles()).isEqualTo(4);
+	}
+
+	@Test
+	public void rescanDoesNotListUnmodifiedDirectories() throws Exception {
+		SnapshotStatistics statistics = new SnapshotStatistics();
+		FolderSnapshot snapshot = new FolderSnapshot(setOldLastModified(this.folder),
+				false, statistics);
+		long listedDirectories = statistics.getListedDirectories();
+		File file1 = new File(new File(this.folder, "folder1"), "file1");
+		FileCopyUtils.copy("updatedcontent".getBytes(), file1);
+		FolderSnapshot updatedSnapshot = snapshot.rescan();
+		assertThat(statistics.getListedDirectories()).isEqualTo(listedDirectories);
+		assertThat(snapshot.getChangedFiles(updatedSnapshot, null).getFiles())
+				.containsExactly(new ChangedFile(this.folder, file1, Type.MODIFY));
+		assertThat(updatedSnapshot).isEqualTo(new FolderSnapshot(this.folder));
+	}
+
+	@Test
+	public void rescanMatchesFullScan() throws Exception {
+		FolderSnapshot snapshot = new FolderSnapshot(setOldLastModified(this.folder));
+		File folder1 = new File(this.folder, "folder1");
+		File nested = new File(folder1, "nested");
+		nested.mkdirs();
+		new File(nested, "newfile").createNewFile();
+		new File(folder1, "file2").delete();
+		assertThat(snapshot.rescan()).isEqualTo(new FolderSnapshot(this.folder));
+	}
+
+	@Test
+	public void compareContentWhenContentIsUnchanged() throws Exception {
+		SnapshotStatistics statistics = new SnapshotStatistics();
+		FolderSnapshot snapshot = new FolderSnapshot(this.folder, true, statistics);
+		File file1 = new File(new File(this.folder, "folder1"), "file1");
+		file1.setLastModified(file1.lastModified() - 10000);
+		FolderSnapshot updatedSnapshot = snapshot.rescan();
+		assertThat(updatedSnapshot).isNotSameAs(snapshot);
+		assertThat(updatedSnapshot).isEqualTo(snapshot);
+		assertThat(statistics.getUnchangedContentFiles()).isEqualTo(1);
+	}
+
+	@Test
+	public void compareContentWhenContentHasChanged() throws Exception {
+		SnapshotStatistics statistics = new SnapshotStatistics();
+		FolderSnapshot snapshot = new FolderSnapshot(this.folder, true, statistics);
+		File file1 = new File(new File(this.folder, "folder1"), "file1");
+		FileCopyUtils.copy("xyz".getBytes(), file1);
+		file1.setLastModified(file1.lastModified() - 10000);
+		FolderSnapshot updatedSnapshot = snapshot.rescan();
+		assertThat(snapshot.getChangedFiles(updatedSnapshot, null).getFiles())
+				.containsExactly(new ChangedFile(this.folder, file1, Type.MODIFY));
+		assertThat(statistics.getUnchangedContentFiles()).isEqualTo(0);
+	}
+
 	private ChangedFile getChangedFile(ChangedFiles changedFiles, File file) {
 		for (ChangedFile changedFile : changedFiles) {
 			if (changedFile.getFile().equals(file)) {
@@ -144,6 +238,13 @@ public class FolderSnapshotTests {
 		return null;
 	}
 
+	private File setOldLastModified(File folder) {
+		long lastModified = System.currentTimeMillis() - 10000;
+		new File(folder, "folder1").setLastModified(lastModified);
+		folder.setLastModified(lastModified);
+		return folder;
+	}
+
 	private File createTestFolderStructure() throws IOException {
 		File root = this.temporaryFolder.newFolder();
 		File folder1 = new File(root, "folder1");
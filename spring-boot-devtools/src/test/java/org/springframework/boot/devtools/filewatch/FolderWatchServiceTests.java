@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.filewatch;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeNotNull;
+
+/**
+ * Tests for {@link FolderWatchService}.
+ *
+ * @author agent
+ */
+public class FolderWatchServiceTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File folder;
+
+	private FolderWatchService watchService;
+
+	@Before
+	public void setup() throws Exception {
+		this.folder = this.temporaryFolder.newFolder();
+		new File(this.folder, "a/b").mkdirs();
+		this.watchService = FolderWatchService.get(Collections.singleton(this.folder));
+		assumeNotNull(this.watchService);
+	}
+
+	@After
+	public void close() throws Exception {
+		if (this.watchService != null) {
+			this.watchService.close();
+		}
+	}
+
+	@Test
+	public void noChanges() throws Exception {
+		assertThat(this.watchService.getChangedDirectories(10, 10)).isEmpty();
+	}
+
+	@Test
+	public void changeInNestedDirectory() throws Exception {
+		File directory = new File(this.folder, "a/b");
+		FileCopyUtils.copy("abc".getBytes(), new File(directory, "file"));
+		Map<File, Set<File>> changes = this.watchService.getChangedDirectories(5000,
+				100);
+		assertThat(changes).containsOnlyKeys(this.folder);
+		assertThat(changes.get(this.folder)).containsExactly(directory);
+	}
+
+	@Test
+	public void createdDirectoryIsWatched() throws Exception {
+		File directory = new File(this.folder, "c");
+		directory.mkdirs();
+		assertThat(this.watchService.getChangedDirectories(5000, 100).get(this.folder))
+				.containsExactly(this.folder);
+		FileCopyUtils.copy("abc".getBytes(), new File(directory, "file"));
+		assertThat(this.watchService.getChangedDirectories(5000, 100).get(this.folder))
+				.containsExactly(directory);
+	}
+
+}
@@ -19,7 +19,6 @@ package org.springframework.boot.devtools.remote.client;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.net.ConnectException;
 import java.util.Collection;
 import java.util.Iterator;
@@ -40,12 +39,15 @@ import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles.SourceFolder;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesDecoder;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesDecoder.MissingContentException;
 import org.springframework.boot.devtools.test.MockClientHttpRequestFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.client.MockClientHttpRequest;
 import org.springframework.util.FileCopyUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 /**
  * Tests for {@link ClassPathChangeUploader}.
@@ -123,9 +125,41 @@ public class ClassPathChangeUploaderTests {
 				this.requestFactory.getExecutedRequests().get(1));
 	}
 
+	@Test
+	public void sendsFullContentsWhenPreconditionFailed() throws Exception {
+		File sourceFolder = this.temp.newFolder();
+		ClassPathChangedEvent event = createClassPathChangedEvent(sourceFolder);
+		this.requestFactory.willRespond(HttpStatus.OK);
+		this.requestFactory.willRespond(HttpStatus.PRECONDITION_FAILED);
+		this.requestFactory.willRespond(HttpStatus.OK);
+		this.uploader.onApplicationEvent(event);
+		this.uploader.onApplicationEvent(event);
+		assertThat(this.requestFactory.getExecutedRequests()).hasSize(3);
+		try {
+			decode(this.requestFactory.getExecutedRequests().get(1));
+			fail("Contents were not referenced");
+		}
+		catch (MissingContentException ex) {
+			// Expected
+		}
+		verifyUploadRequest(sourceFolder,
+				this.requestFactory.getExecutedRequests().get(2));
+	}
+
+	@Test
+	public void failsWhenPreconditionFailedAfterSendingFullContents() throws Exception {
+		File sourceFolder = this.temp.newFolder();
+		ClassPathChangedEvent event = createClassPathChangedEvent(sourceFolder);
+		this.requestFactory.willRespond(HttpStatus.PRECONDITION_FAILED);
+		this.requestFactory.willRespond(HttpStatus.PRECONDITION_FAILED);
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("Unexpected 412");
+		this.uploader.onApplicationEvent(event);
+	}
+
 	private void verifyUploadRequest(File sourceFolder, MockClientHttpRequest request)
-			throws IOException, ClassNotFoundException {
-		ClassLoaderFiles classLoaderFiles = deserialize(request.getBodyAsBytes());
+			throws IOException {
+		ClassLoaderFiles classLoaderFiles = decode(request);
 		Collection<SourceFolder> sourceFolders = classLoaderFiles.getSourceFolders();
 		assertThat(sourceFolders.size()).isEqualTo(1);
 		SourceFolder classSourceFolder = sourceFolders.iterator().next();
@@ -164,11 +198,9 @@ public class ClassPathChangeUploaderTests {
 		return file;
 	}
 
-	private ClassLoaderFiles deserialize(byte[] bytes)
-			throws IOException, ClassNotFoundException {
-		ObjectInputStream objectInputStream = new ObjectInputStream(
-				new ByteArrayInputStream(bytes));
-		return (ClassLoaderFiles) objectInputStream.readObject();
+	private ClassLoaderFiles decode(MockClientHttpRequest request) throws IOException {
+		return new ClassLoaderFilesDecoder()
+				.decode(new ByteArrayInputStream(request.getBodyAsBytes()));
 	}
 
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.devtools.restart.classloader.RestartClassLoader;
+import org.springframework.boot.devtools.restart.classloader.Sample;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RestartMetadataReaderFactory}.
+ *
+ * @author agent
+ */
+public class RestartMetadataReaderFactoryTests {
+
+	private static final String SAMPLE_CLASS = Sample.class.getName();
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private URL sampleJarUrl;
+
+	private URLClassLoader parentClassLoader;
+
+	private final Map<String, MetadataReader> retainedMetadataReaders = new HashMap<>();
+
+	@Before
+	public void setup() throws Exception {
+		this.sampleJarUrl = createSampleJarFile().toURI().toURL();
+		this.parentClassLoader = new URLClassLoader(new URL[] { this.sampleJarUrl },
+				null);
+	}
+
+	@After
+	public void cleanup() throws IOException {
+		this.parentClassLoader.close();
+	}
+
+	@Test
+	public void metadataOfParentClassIsRetainedAcrossRestarts() throws Exception {
+		MetadataReader metadataReader = createFactory()
+				.getMetadataReader(SAMPLE_CLASS);
+		assertThat(metadataReader.getClassMetadata().getClassName())
+				.isEqualTo(SAMPLE_CLASS);
+		assertThat(this.retainedMetadataReaders).hasSize(1);
+		assertThat(createFactory().getMetadataReader(SAMPLE_CLASS))
+				.isSameAs(metadataReader);
+	}
+
+	@Test
+	public void metadataOfReloadableClassIsNotRetained() throws Exception {
+		RestartMetadataReaderFactory factory = createFactory(this.sampleJarUrl);
+		MetadataReader metadataReader = factory.getMetadataReader(SAMPLE_CLASS);
+		assertThat(this.retainedMetadataReaders).isEmpty();
+		assertThat(factory.getMetadataReader(SAMPLE_CLASS)).isSameAs(metadataReader);
+		factory.clearCache();
+		assertThat(factory.getMetadataReader(SAMPLE_CLASS))
+				.isNotSameAs(metadataReader);
+	}
+
+	@Test
+	public void registerReplacesSharedMetadataReaderFactory() throws Exception {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBeanDefinition(RestartMetadataReaderFactory.BEAN_NAME,
+				new RootBeanDefinition(SimpleMetadataReaderFactory.class));
+		RestartMetadataReaderFactory.register(context,
+				new RestartClassLoader(this.parentClassLoader, new URL[0]),
+				this.retainedMetadataReaders);
+		context.refresh();
+		assertThat(context.getBean(RestartMetadataReaderFactory.BEAN_NAME))
+				.isInstanceOf(RestartMetadataReaderFactory.class);
+		context.close();
+	}
+
+	private RestartMetadataReaderFactory createFactory(URL... urls) {
+		return new RestartMetadataReaderFactory(
+				new RestartClassLoader(this.parentClassLoader, urls),
+				this.retainedMetadataReaders);
+	}
+
+	private File createSampleJarFile() throws IOException {
+		File file = this.temp.newFile("sample.jar");
+		String name = SAMPLE_CLASS.replace('.', '/') + ".class";
+		try (JarOutputStream jarOutputStream = new JarOutputStream(
+				new FileOutputStream(file))) {
+			jarOutputStream.putNextEntry(new ZipEntry(name));
+			StreamUtils.copy(getClass().getResourceAsStream("/" + name),
+					jarOutputStream);
+			jarOutputStream.closeEntry();
+		}
+		return file;
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.restart.classloader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesDecoder.MissingContentException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ClassLoaderFilesEncoder} and {@link ClassLoaderFilesDecoder}.
+ *
+ * @author agent
+ */
+public class ClassLoaderFilesEncoderTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final ClassLoaderFilesEncoder encoder = new ClassLoaderFilesEncoder();
+
+	private final ClassLoaderFilesDecoder decoder = new ClassLoaderFilesDecoder();
+
+	@Test
+	public void encodeAndDecode() throws Exception {
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("a", "one", new ClassLoaderFile(Kind.ADDED, 1L, bytes(1)));
+		files.addFile("a", "two", new ClassLoaderFile(Kind.MODIFIED, 2L, bytes(2)));
+		files.addFile("b", "three", new ClassLoaderFile(Kind.DELETED, 3L, null));
+		ClassLoaderFiles decoded = decode(this.encoder.encode(files));
+		assertThat(decoded.getSourceFolders()).extracting("name").containsExactly("a",
+				"b");
+		assertThat(decoded.getFile("one").getKind()).isEqualTo(Kind.ADDED);
+		assertThat(decoded.getFile("one").getLastModified()).isEqualTo(1L);
+		assertThat(decoded.getFile("one").getContents()).isEqualTo(bytes(1));
+		assertThat(decoded.getFile("two").getKind()).isEqualTo(Kind.MODIFIED);
+		assertThat(decoded.getFile("two").getContents()).isEqualTo(bytes(2));
+		assertThat(decoded.getFile("three").getKind()).isEqualTo(Kind.DELETED);
+		assertThat(decoded.getFile("three").getContents()).isNull();
+	}
+
+	@Test
+	public void acknowledgedContentsAreReferenced() throws Exception {
+		ClassLoaderFiles files = createFiles("one", bytes(1000));
+		byte[] full = this.encoder.encode(files);
+		decode(full);
+		this.encoder.acknowledge();
+		byte[] referenced = this.encoder.encode(createFiles("copy", bytes(1000)));
+		assertThat(referenced.length).isLessThan(full.length);
+		assertThat(decode(referenced).getFile("copy").getContents())
+				.isEqualTo(bytes(1000));
+	}
+
+	@Test
+	public void modifiedContentsAreSentAsDelta() throws Exception {
+		byte[] original = bytes(1000);
+		byte[] modified = original.clone();
+		modified[500]++;
+		byte[] full = this.encoder.encode(createFiles("one", modified));
+		this.encoder.reset();
+		decode(this.encoder.encode(createFiles("one", original)));
+		this.encoder.acknowledge();
+		byte[] delta = this.encoder.encode(createFiles("one", modified));
+		assertThat(delta.length).isLessThan(full.length);
+		assertThat(decode(delta).getFile("one").getContents()).isEqualTo(modified);
+	}
+
+	@Test
+	public void unacknowledgedContentsAreSentInFull() throws Exception {
+		ClassLoaderFiles files = createFiles("one", bytes(1000));
+		byte[] full = this.encoder.encode(files);
+		assertThat(this.encoder.encode(files)).isEqualTo(full);
+	}
+
+	@Test
+	public void resetSendsContentsInFull() throws Exception {
+		ClassLoaderFiles files = createFiles("one", bytes(1000));
+		byte[] full = this.encoder.encode(files);
+		this.encoder.acknowledge();
+		this.encoder.reset();
+		assertThat(this.encoder.encode(files)).isEqualTo(full);
+	}
+
+	@Test
+	public void decodeReferenceToMissingContents() throws Exception {
+		ClassLoaderFiles files = createFiles("one", bytes(1000));
+		this.encoder.encode(files);
+		this.encoder.acknowledge();
+		this.thrown.expect(MissingContentException.class);
+		decode(this.encoder.encode(files));
+	}
+
+	@Test
+	public void decodeReferenceToEvictedContents() throws Exception {
+		ClassLoaderFilesDecoder decoder = new ClassLoaderFilesDecoder(1);
+		ClassLoaderFiles files = createFiles("one", bytes(10));
+		files.addFile("two", new ClassLoaderFile(Kind.ADDED, bytes(20)));
+		decoder.decode(new ByteArrayInputStream(this.encoder.encode(files)));
+		this.encoder.acknowledge();
+		this.thrown.expect(MissingContentException.class);
+		decoder.decode(new ByteArrayInputStream(
+				this.encoder.encode(createFiles("one", bytes(10)))));
+	}
+
+	@Test
+	public void decodeBadData() throws Exception {
+		this.thrown.expect(IOException.class);
+		decode(new byte[] { 0, 0, 0 });
+	}
+
+	@Test
+	public void decodeContentsLengthOverMaximum() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(
+				new GZIPOutputStream(bytes))) {
+			output.writeInt(ClassLoaderFilesFormat.MAGIC);
+			output.writeByte(ClassLoaderFilesFormat.VERSION);
+			output.writeByte(ClassLoaderFilesFormat.SOURCE_FOLDER);
+			output.writeUTF("a");
+			output.writeByte(ClassLoaderFilesFormat.FILE);
+			output.writeUTF("one");
+			output.writeByte(Kind.ADDED.ordinal());
+			output.writeLong(1L);
+			output.writeByte(ClassLoaderFilesFormat.FULL_CONTENTS);
+			output.writeInt(Integer.MAX_VALUE);
+		}
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("Invalid length " + Integer.MAX_VALUE);
+		decode(bytes.toByteArray());
+	}
+
+	private ClassLoaderFiles createFiles(String name, byte[] contents) {
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile(name, new ClassLoaderFile(Kind.ADDED, contents));
+		return files;
+	}
+
+	private ClassLoaderFiles decode(byte[] bytes) throws IOException {
+		return this.decoder.decode(new ByteArrayInputStream(bytes));
+	}
+
+	private byte[] bytes(int length) {
+		byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+
+}
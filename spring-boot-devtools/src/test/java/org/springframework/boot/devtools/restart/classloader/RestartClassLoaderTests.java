@@ -25,10 +25,13 @@ import java.net.URLClassLoader;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.jar.JarOutputStream;
 import java.util.zip.ZipEntry;
 
+import org.apache.commons.logging.LogFactory;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -142,6 +145,24 @@ public class RestartClassLoaderTests {
 		assertThat(loaded.getClassLoader()).isEqualTo(getClass().getClassLoader());
 	}
 
+	@Test
+	public void loadClassMissingFromParentIsNotSearchedAgain() throws Exception {
+		Set<String> missingParentClasses = new HashSet<>();
+		RestartClassLoader reloadClassLoader = new RestartClassLoader(
+				this.parentClassLoader, new URL[0], this.updatedFiles,
+				LogFactory.getLog(getClass()), missingParentClasses);
+		try {
+			reloadClassLoader.loadClass(PACKAGE + ".Missing");
+		}
+		catch (ClassNotFoundException ex) {
+			// Expected
+		}
+		assertThat(missingParentClasses).containsExactly(PACKAGE + ".Missing");
+		missingParentClasses.add(PACKAGE + ".SampleParent");
+		this.thrown.expect(ClassNotFoundException.class);
+		reloadClassLoader.loadClass(PACKAGE + ".SampleParent");
+	}
+
 	@Test
 	public void getDeletedResource() throws Exception {
 		String name = PACKAGE_PATH + "/Sample.txt";
@@ -16,10 +16,6 @@
 
 package org.springframework.boot.devtools.restart.server;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectOutputStream;
-
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -32,6 +28,8 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFile.Kind;
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesDecoder;
+import org.springframework.boot.devtools.restart.classloader.ClassLoaderFilesEncoder;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -79,14 +77,20 @@ public class HttpRestartServerTests {
 		new HttpRestartServer((RestartServer) null);
 	}
 
+	@Test
+	public void decoderMustNotBeNull() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Decoder must not be null");
+		new HttpRestartServer(this.delegate, null);
+	}
+
 	@Test
 	public void sendClassLoaderFiles() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest();
 		MockHttpServletResponse response = new MockHttpServletResponse();
 		ClassLoaderFiles files = new ClassLoaderFiles();
 		files.addFile("name", new ClassLoaderFile(Kind.ADDED, new byte[0]));
-		byte[] bytes = serialize(files);
-		request.setContent(bytes);
+		request.setContent(new ClassLoaderFilesEncoder().encode(files));
 		this.server.handle(new ServletServerHttpRequest(request),
 				new ServletServerHttpResponse(response));
 		verify(this.delegate).updateAndRestart(this.filesCaptor.capture());
@@ -94,6 +98,23 @@ public class HttpRestartServerTests {
 		assertThat(response.getStatus()).isEqualTo(200);
 	}
 
+	@Test
+	public void sendReferencedContentsThatAreNotRetained() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("name", new ClassLoaderFile(Kind.ADDED, new byte[] { 1 }));
+		ClassLoaderFilesEncoder encoder = new ClassLoaderFilesEncoder();
+		encoder.encode(files);
+		encoder.acknowledge();
+		request.setContent(encoder.encode(files));
+		new HttpRestartServer(this.delegate, new ClassLoaderFilesDecoder()).handle(
+				new ServletServerHttpRequest(request),
+				new ServletServerHttpResponse(response));
+		verifyZeroInteractions(this.delegate);
+		assertThat(response.getStatus()).isEqualTo(412);
+	}
+
 	@Test
 	public void sendNoContent() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest();
@@ -116,12 +137,4 @@ public class HttpRestartServerTests {
 		assertThat(response.getStatus()).isEqualTo(500);
 	}
 
-	private byte[] serialize(Object object) throws IOException {
-		ByteArrayOutputStream bos = new ByteArrayOutputStream();
-		ObjectOutputStream oos = new ObjectOutputStream(bos);
-		oos.writeObject(object);
-		oos.close();
-		return bos.toByteArray();
-	}
-
 }
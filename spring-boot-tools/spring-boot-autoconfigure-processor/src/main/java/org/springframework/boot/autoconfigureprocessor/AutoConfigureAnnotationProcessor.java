@@ -19,6 +19,8 @@ package org.springframework.boot.autoconfigureprocessor;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -35,6 +37,7 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import javax.tools.FileObject;
@@ -49,6 +52,11 @@ import javax.tools.StandardLocation;
  */
 @SupportedAnnotationTypes({ "org.springframework.context.annotation.Configuration",
 		"org.springframework.boot.autoconfigure.condition.ConditionalOnClass",
+		"org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass",
+		"org.springframework.boot.autoconfigure.condition.ConditionalOnBean",
+		"org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate",
+		"org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication",
+		"org.springframework.boot.autoconfigure.condition.ConditionalOnProperty",
 		"org.springframework.boot.autoconfigure.AutoConfigureBefore",
 		"org.springframework.boot.autoconfigure.AutoConfigureAfter",
 		"org.springframework.boot.autoconfigure.AutoConfigureOrder" })
@@ -57,6 +65,12 @@ public class AutoConfigureAnnotationProcessor extends AbstractProcessor {
 	protected static final String PROPERTIES_PATH = "META-INF/"
 			+ "spring-autoconfigure-metadata.properties";
 
+	private static final Collection<String> NAME_AND_VALUE = Arrays.asList("name",
+			"value");
+
+	private static final Collection<String> TYPE_AND_VALUE = Arrays.asList("type",
+			"value");
+
 	private Map<String, String> annotations;
 
 	private final Properties properties = new Properties();
@@ -72,6 +86,16 @@ public class AutoConfigureAnnotationProcessor extends AbstractProcessor {
 				"org.springframework.context.annotation.Configuration");
 		annotations.put("ConditionalOnClass",
 				"org.springframework.boot.autoconfigure.condition.ConditionalOnClass");
+		annotations.put("ConditionalOnMissingClass",
+				"org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass");
+		annotations.put("ConditionalOnBean",
+				"org.springframework.boot.autoconfigure.condition.ConditionalOnBean");
+		annotations.put("ConditionalOnSingleCandidate",
+				"org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate");
+		annotations.put("ConditionalOnWebApplication",
+				"org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication");
+		annotations.put("ConditionalOnProperty",
+				"org.springframework.boot.autoconfigure.condition.ConditionalOnProperty");
 		annotations.put("AutoConfigureBefore",
 				"org.springframework.boot.autoconfigure.AutoConfigureBefore");
 		annotations.put("AutoConfigureAfter",
@@ -118,9 +142,18 @@ public class AutoConfigureAnnotationProcessor extends AbstractProcessor {
 			String qualifiedName = getQualifiedName(element);
 			AnnotationMirror annotation = getAnnotation(element, annotationName);
 			if (qualifiedName != null && annotation != null) {
-				List<Object> values = getValues(annotation);
-				this.properties.put(qualifiedName + "." + propertyKey,
-						toCommaDelimitedString(values));
+				String key = qualifiedName + "." + propertyKey;
+				if ("ConditionalOnProperty".equals(propertyKey)) {
+					putPropertyConditionValues(key, annotation);
+				}
+				else if ("ConditionalOnWebApplication".equals(propertyKey)) {
+					this.properties.put(key, toCommaDelimitedString(
+							getValues(annotation, Collections.singleton("type"), true)));
+				}
+				else {
+					this.properties.put(key, toCommaDelimitedString(
+							getValues(annotation, getValueAttributes(propertyKey), false)));
+				}
 				this.properties.put(qualifiedName, "");
 			}
 		}
@@ -130,6 +163,44 @@ public class AutoConfigureAnnotationProcessor extends AbstractProcessor {
 		}
 	}
 
+	private Collection<String> getValueAttributes(String propertyKey) {
+		if ("ConditionalOnBean".equals(propertyKey)
+				|| "ConditionalOnSingleCandidate".equals(propertyKey)) {
+			// Bean types must be present for a bean of that type to exist
+			return TYPE_AND_VALUE;
+		}
+		return NAME_AND_VALUE;
+	}
+
+	private void putPropertyConditionValues(String key, AnnotationMirror annotation) {
+		String prefix = getValue(annotation, "prefix").trim();
+		if (!prefix.isEmpty() && !prefix.endsWith(".")) {
+			prefix = prefix + ".";
+		}
+		List<Object> names = getValues(annotation, Collections.singleton("value"), true);
+		if (names.isEmpty()) {
+			names = getValues(annotation, Collections.singleton("name"), true);
+		}
+		List<Object> propertyNames = new ArrayList<>(names.size());
+		for (Object name : names) {
+			propertyNames.add(prefix + name);
+		}
+		this.properties.put(key, toCommaDelimitedString(propertyNames));
+		String havingValue = getValue(annotation, "havingValue");
+		if (!havingValue.isEmpty()) {
+			this.properties.put(key + ".havingValue", havingValue);
+		}
+		if (Boolean.parseBoolean(getValue(annotation, "matchIfMissing"))) {
+			this.properties.put(key + ".matchIfMissing", "true");
+		}
+	}
+
+	private String getValue(AnnotationMirror annotation, String attributeName) {
+		List<Object> values = getValues(annotation,
+				Collections.singleton(attributeName), true);
+		return (values.isEmpty() ? "" : values.get(0).toString());
+	}
+
 	private AnnotationMirror getAnnotation(Element element, String type) {
 		if (element != null) {
 			for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
@@ -151,26 +222,43 @@ public class AutoConfigureAnnotationProcessor extends AbstractProcessor {
 	}
 
 	@SuppressWarnings("unchecked")
-	private List<Object> getValues(AnnotationMirror annotation) {
+	private List<Object> getValues(AnnotationMirror annotation,
+			Collection<String> attributeNames, boolean includeDefaults) {
 		List<Object> result = new ArrayList<>();
-		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation
-				.getElementValues().entrySet()) {
+		Map<? extends ExecutableElement, ? extends AnnotationValue> elementValues = (includeDefaults
+				? this.processingEnv.getElementUtils()
+						.getElementValuesWithDefaults(annotation)
+				: annotation.getElementValues());
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elementValues
+				.entrySet()) {
 			String attributeName = entry.getKey().getSimpleName().toString();
-			if ("name".equals(attributeName) || "value".equals(attributeName)) {
+			if (attributeNames.contains(attributeName)) {
 				Object value = entry.getValue().getValue();
 				if (value instanceof List) {
 					for (AnnotationValue annotationValue : (List<AnnotationValue>) value) {
-						result.add(annotationValue.getValue());
+						result.add(asValue(annotationValue.getValue()));
 					}
 				}
 				else {
-					result.add(value);
+					result.add(asValue(value));
 				}
 			}
 		}
 		return result;
 	}
 
+	private Object asValue(Object value) {
+		if (value instanceof DeclaredType) {
+			// Use the binary name so that nested classes can be loaded
+			TypeElement element = (TypeElement) ((DeclaredType) value).asElement();
+			return this.processingEnv.getElementUtils().getBinaryName(element);
+		}
+		if (value instanceof VariableElement) {
+			return ((VariableElement) value).getSimpleName();
+		}
+		return value;
+	}
+
 	private String getQualifiedName(Element element) {
 		if (element != null) {
 			TypeElement enclosingElement = getEnclosingTypeElement(element.asType());
@@ -103,6 +103,38 @@ public class AutoConfigureAnnotationProcessorTests {
 						"123");
 	}
 
+	@Test
+	public void annotatedClassWithConditions() throws Exception {
+		Properties properties = compile(TestConditionsConfiguration.class);
+		String prefix = "org.springframework.boot.autoconfigureprocessor."
+				+ "TestConditionsConfiguration.";
+		assertThat(properties).containsEntry(prefix + "ConditionalOnBean",
+				"org.springframework.boot.autoconfigureprocessor."
+						+ "TestConditionsConfiguration$Nested,java.io.OutputStream");
+		assertThat(properties).containsEntry(prefix + "ConditionalOnWebApplication",
+				"SERVLET");
+		assertThat(properties).containsEntry(prefix + "ConditionalOnProperty",
+				"test.one,test.two");
+		assertThat(properties).containsEntry(prefix + "ConditionalOnProperty.havingValue",
+				"yes");
+		assertThat(properties)
+				.containsEntry(prefix + "ConditionalOnProperty.matchIfMissing", "true");
+	}
+
+	@Test
+	public void annotatedClassWithDefaultConditionAttributes() throws Exception {
+		Properties properties = compile(TestPropertyConfiguration.class);
+		String prefix = "org.springframework.boot.autoconfigureprocessor."
+				+ "TestPropertyConfiguration.";
+		assertThat(properties).containsEntry(prefix + "ConditionalOnWebApplication",
+				"ANY");
+		assertThat(properties).containsEntry(prefix + "ConditionalOnProperty",
+				"test.enabled");
+		assertThat(properties).doesNotContainKeys(
+				prefix + "ConditionalOnProperty.havingValue",
+				prefix + "ConditionalOnProperty.matchIfMissing");
+	}
+
 	private Properties compile(Class<?>... types) throws IOException {
 		TestConditionMetadataAnnotationProcessor processor = new TestConditionMetadataAnnotationProcessor(
 				this.compiler.getOutputLocation());
@@ -118,4 +118,22 @@ public interface BootArchive extends Task {
 	 */
 	void setExcludeDevtools(boolean excludeDevtools);
 
+	/**
+	 * Returns the number of threads that are used to compress the entries of the
+	 * archive. Defaults to {@code 1}.
+	 *
+	 * @return the number of compression threads
+	 */
+	@Input
+	int getCompressionThreads();
+
+	/**
+	 * Sets the number of threads that are used to compress the entries of the archive.
+	 * When greater than {@code 1}, entries are compressed in parallel and then written in
+	 * order so that the archive does not depend on the number of threads.
+	 *
+	 * @param compressionThreads the number of compression threads
+	 */
+	void setCompressionThreads(int compressionThreads);
+
 }
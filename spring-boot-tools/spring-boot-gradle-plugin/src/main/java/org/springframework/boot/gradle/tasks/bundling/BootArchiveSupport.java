@@ -65,6 +65,8 @@ class BootArchiveSupport {
 
 	private boolean excludeDevtools = true;
 
+	private int compressionThreads = 1;
+
 	BootArchiveSupport(String loaderMainClass,
 			Function<FileCopyDetails, ZipCompression> compressionResolver) {
 		this.loaderMainClass = loaderMainClass;
@@ -83,7 +85,8 @@ class BootArchiveSupport {
 		CopyAction copyAction = new BootZipCopyAction(jar.getArchivePath(),
 				jar.isPreserveFileTimestamps(), isUsingDefaultLoader(jar),
 				this.requiresUnpack.getAsSpec(), this.exclusions.getAsExcludeSpec(),
-				this.launchScript, this.compressionResolver, jar.getMetadataCharset());
+				this.launchScript, this.compressionResolver, jar.getMetadataCharset(),
+				this.compressionThreads);
 		if (!jar.isReproducibleFileOrder()) {
 			return copyAction;
 		}
@@ -120,6 +123,18 @@ class BootArchiveSupport {
 		configureExclusions();
 	}
 
+	int getCompressionThreads() {
+		return this.compressionThreads;
+	}
+
+	void setCompressionThreads(int compressionThreads) {
+		if (compressionThreads < 1) {
+			throw new IllegalArgumentException(
+					"Compression threads must be greater than 0");
+		}
+		this.compressionThreads = compressionThreads;
+	}
+
 	private void configureExclusions() {
 		Set<String> excludes = new HashSet<>();
 		if (this.excludeDevtools) {
@@ -131,6 +131,16 @@ public class BootWar extends War implements BootArchive {
 		this.support.setExcludeDevtools(excludeDevtools);
 	}
 
+	@Override
+	public int getCompressionThreads() {
+		return this.support.getCompressionThreads();
+	}
+
+	@Override
+	public void setCompressionThreads(int compressionThreads) {
+		this.support.setCompressionThreads(compressionThreads);
+	}
+
 	/**
 	 * Returns the {@link ZipCompression} that should be used when adding the file
 	 * represented by the given {@code details} to the jar.
@@ -43,6 +43,7 @@ import org.gradle.util.GUtil;
 
 import org.springframework.boot.loader.tools.DefaultLaunchScript;
 import org.springframework.boot.loader.tools.FileUtils;
+import org.springframework.boot.loader.tools.ParallelZipWriter;
 
 /**
  * A {@link CopyAction} for creating a Spring Boot zip archive (typically a jar or war).
@@ -68,11 +69,13 @@ class BootZipCopyAction implements CopyAction {
 
 	private final String encoding;
 
+	private final int compressionThreads;
+
 	BootZipCopyAction(File output, boolean preserveFileTimestamps,
 			boolean includeDefaultLoader, Spec<FileTreeElement> requiresUnpack,
 			Spec<FileTreeElement> exclusions, LaunchScriptConfiguration launchScript,
 			Function<FileCopyDetails, ZipCompression> compressionResolver,
-			String encoding) {
+			String encoding, int compressionThreads) {
 		this.output = output;
 		this.preserveFileTimestamps = preserveFileTimestamps;
 		this.includeDefaultLoader = includeDefaultLoader;
@@ -81,6 +84,7 @@ class BootZipCopyAction implements CopyAction {
 		this.launchScript = launchScript;
 		this.compressionResolver = compressionResolver;
 		this.encoding = encoding;
+		this.compressionThreads = compressionThreads;
 	}
 
 	@Override
@@ -100,9 +104,15 @@ class BootZipCopyAction implements CopyAction {
 			throw new GradleException("Failed to create " + this.output, ex);
 		}
 		try {
-			stream.process(new ZipStreamAction(zipStream, this.output,
-					this.preserveFileTimestamps, this.requiresUnpack,
-					createExclusionSpec(loaderEntries), this.compressionResolver));
+			try (ParallelZipWriter parallelWriter = new ParallelZipWriter(zipStream,
+					this.compressionThreads)) {
+				stream.process(new ZipStreamAction(parallelWriter, this.output,
+						this.preserveFileTimestamps, this.requiresUnpack,
+						createExclusionSpec(loaderEntries), this.compressionResolver));
+			}
+		}
+		catch (IOException ex) {
+			throw new GradleException("Failed to create " + this.output, ex);
 		}
 		finally {
 			try {
@@ -198,7 +208,7 @@ class BootZipCopyAction implements CopyAction {
 	private static final class ZipStreamAction
 			implements CopyActionProcessingStreamAction {
 
-		private final ZipArchiveOutputStream zipStream;
+		private final ParallelZipWriter parallelWriter;
 
 		private final File output;
 
@@ -210,11 +220,11 @@ class BootZipCopyAction implements CopyAction {
 
 		private final Function<FileCopyDetails, ZipCompression> compressionType;
 
-		private ZipStreamAction(ZipArchiveOutputStream zipStream, File output,
+		private ZipStreamAction(ParallelZipWriter parallelWriter, File output,
 				boolean preserveFileTimestamps, Spec<FileTreeElement> requiresUnpack,
 				Spec<FileTreeElement> exclusions,
 				Function<FileCopyDetails, ZipCompression> compressionType) {
-			this.zipStream = zipStream;
+			this.parallelWriter = parallelWriter;
 			this.output = output;
 			this.preserveFileTimestamps = preserveFileTimestamps;
 			this.requiresUnpack = requiresUnpack;
@@ -246,8 +256,7 @@ class BootZipCopyAction implements CopyAction {
 					details.getRelativePath().getPathString() + '/');
 			archiveEntry.setUnixMode(UnixStat.DIR_FLAG | details.getMode());
 			archiveEntry.setTime(getTime(details));
-			this.zipStream.putArchiveEntry(archiveEntry);
-			this.zipStream.closeArchiveEntry();
+			this.parallelWriter.writeEntry(archiveEntry, null);
 		}
 
 		private void createFile(FileCopyDetailsInternal details) throws IOException {
@@ -259,9 +268,7 @@ class BootZipCopyAction implements CopyAction {
 			if (compression == ZipCompression.STORED) {
 				prepareStoredEntry(details, archiveEntry);
 			}
-			this.zipStream.putArchiveEntry(archiveEntry);
-			details.copyTo(this.zipStream);
-			this.zipStream.closeArchiveEntry();
+			this.parallelWriter.writeEntry(archiveEntry, details::copyTo);
 		}
 
 		private void prepareStoredEntry(FileCopyDetailsInternal details,
@@ -105,6 +105,20 @@ public class PackagingDocumentationTests {
 		}
 	}
 
+	@Test
+	public void bootJarCompressionThreads() throws IOException {
+		this.gradleBuild
+				.script("src/main/gradle/packaging/boot-jar-compression-threads.gradle")
+				.build("bootJar");
+		File file = new File(this.gradleBuild.getProjectDir(),
+				"build/libs/" + this.gradleBuild.getProjectDir().getName() + ".jar");
+		assertThat(file).isFile();
+		try (JarFile jar = new JarFile(file)) {
+			assertThat(jar.getManifest().getMainAttributes().getValue("Start-Class"))
+					.isEqualTo("com.example.ExampleApplication");
+		}
+	}
+
 	@Test
 	public void bootJarRequiresUnpack() throws IOException {
 		this.gradleBuild
@@ -42,6 +42,7 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import org.springframework.boot.loader.tools.DefaultLaunchScript;
+import org.springframework.util.FileCopyUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -318,6 +319,50 @@ public abstract class AbstractBootArchiveTests<T extends Jar & BootArchive> {
 		}
 	}
 
+	@Test
+	public void entriesCanBeCompressedInParallel() throws IOException {
+		this.task.setMainClass("com.example.Main");
+		File classpathFolder = this.temp.newFolder();
+		File applicationClass = new File(classpathFolder,
+				"com/example/Application.class");
+		applicationClass.getParentFile().mkdirs();
+		Files.write(applicationClass.toPath(), "application".getBytes());
+		this.task.classpath(classpathFolder, this.temp.newFile("one.jar"));
+		this.task.setCompressionThreads(4);
+		this.task.execute();
+		try (JarFile jarFile = new JarFile(this.task.getArchivePath())) {
+			JarEntry entry = jarFile
+					.getJarEntry(this.classesPath + "/com/example/Application.class");
+			assertThat(entry.getMethod()).isEqualTo(JarEntry.DEFLATED);
+			assertThat(FileCopyUtils.copyToByteArray(jarFile.getInputStream(entry)))
+					.isEqualTo("application".getBytes());
+			assertThat(jarFile.getJarEntry(this.libPath + "/one.jar").getMethod())
+					.isEqualTo(JarEntry.STORED);
+		}
+	}
+
+	@Test
+	public void archiveIsIdenticalWhateverTheNumberOfCompressionThreads()
+			throws IOException {
+		File classpathFolder = this.temp.newFolder();
+		File applicationClass = new File(classpathFolder,
+				"com/example/Application.class");
+		applicationClass.getParentFile().mkdirs();
+		Files.write(applicationClass.toPath(), "application".getBytes());
+		File library = this.temp.newFile("one.jar");
+		T parallelTask = configure(this.task.getProject().getTasks()
+				.create("parallelArchive", this.taskClass));
+		for (T archive : Arrays.asList(this.task, parallelTask)) {
+			archive.setMainClass("com.example.Main");
+			archive.classpath(classpathFolder, library);
+		}
+		parallelTask.setCompressionThreads(4);
+		this.task.execute();
+		parallelTask.execute();
+		assertThat(Files.readAllBytes(parallelTask.getArchivePath().toPath()))
+				.isEqualTo(Files.readAllBytes(this.task.getArchivePath().toPath()));
+	}
+
 	@Test
 	public void allEntriesUseUnixPlatformAndUtf8NameEncoding() throws IOException {
 		this.task.setMainClass("com.example.Main");
@@ -62,6 +62,10 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 
 	private final Set<String> writtenEntries = new HashSet<>();
 
+	private final ParallelZipWriter parallelWriter;
+
+	private final long entryTime;
+
 	/**
 	 * Create a new {@link JarWriter} instance.
 	 * @param file the file to write
@@ -81,6 +85,44 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 	 */
 	public JarWriter(File file, LaunchScript launchScript)
 			throws FileNotFoundException, IOException {
+		this(file, launchScript, 1);
+	}
+
+	/**
+	 * Create a new {@link JarWriter} instance.
+	 * @param file the file to write
+	 * @param launchScript an optional launch script to prepend to the front of the jar
+	 * @param compressionThreads the number of threads used to compress entries. Entries
+	 * are always written in order so the archive does not depend on the number of
+	 * threads.
+	 * @throws IOException if the file cannot be opened
+	 * @throws FileNotFoundException if the file cannot be found
+	 * @since 2.0.0
+	 */
+	public JarWriter(File file, LaunchScript launchScript, int compressionThreads)
+			throws FileNotFoundException, IOException {
+		this(file, launchScript, compressionThreads, System.currentTimeMillis());
+	}
+
+	/**
+	 * Create a new {@link JarWriter} instance.
+	 * @param file the file to write
+	 * @param launchScript an optional launch script to prepend to the front of the jar
+	 * @param compressionThreads the number of threads used to compress entries. Entries
+	 * are always written in order so the archive does not depend on the number of
+	 * threads.
+	 * @param entryTime the time, in milliseconds since the epoch, of the entries that are
+	 * not copied from an existing archive or library such as the manifest and folders
+	 * @throws IOException if the file cannot be opened
+	 * @throws FileNotFoundException if the file cannot be found
+	 * @since 2.0.0
+	 */
+	public JarWriter(File file, LaunchScript launchScript, int compressionThreads,
+			long entryTime) throws FileNotFoundException, IOException {
+		if (compressionThreads < 1) {
+			throw new IllegalArgumentException(
+					"Compression threads must be greater than 0");
+		}
 		FileOutputStream fileOutputStream = new FileOutputStream(file);
 		if (launchScript != null) {
 			fileOutputStream.write(launchScript.toByteArray());
@@ -88,6 +130,8 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 		}
 		this.jarOutput = new JarArchiveOutputStream(fileOutputStream);
 		this.jarOutput.setEncoding("UTF-8");
+		this.parallelWriter = new ParallelZipWriter(this.jarOutput, compressionThreads);
+		this.entryTime = entryTime;
 	}
 
 	private void setExecutableFilePermission(File file) {
@@ -233,7 +277,12 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 	 */
 	@Override
 	public void close() throws IOException {
-		this.jarOutput.close();
+		try {
+			this.parallelWriter.close();
+		}
+		finally {
+			this.jarOutput.close();
+		}
 	}
 
 	/**
@@ -245,6 +294,9 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 	 */
 	private void writeEntry(JarArchiveEntry entry, EntryWriter entryWriter)
 			throws IOException {
+		if (entry.getTime() == -1) {
+			entry.setTime(this.entryTime);
+		}
 		String parent = entry.getName();
 		if (parent.endsWith("/")) {
 			parent = parent.substring(0, parent.length() - 1);
@@ -261,11 +313,8 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 		}
 
 		if (this.writtenEntries.add(entry.getName())) {
-			this.jarOutput.putArchiveEntry(entry);
-			if (entryWriter != null) {
-				entryWriter.write(this.jarOutput);
-			}
-			this.jarOutput.closeArchiveEntry();
+			this.parallelWriter.writeEntry(entry,
+					(entryWriter == null ? null : entryWriter::write));
 		}
 	}
 
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Builds the index of the directories (packages) contained in each nested archive of an
+ * executable archive. The index is read by the {@code LaunchedURLClassLoader} to only
+ * search the archives that can contain a given class or resource.
+ *
+ * @author agent
+ */
+final class PackageIndexWriter {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final Map<String, Set<String>> packages = new LinkedHashMap<>();
+
+	/**
+	 * Add the directories of all entries of the specified library.
+	 * @param archiveName the name of the library entry in the archive
+	 * @param file the library file
+	 * @throws IOException if the library cannot be read
+	 */
+	public void addLibrary(String archiveName, File file) throws IOException {
+		Set<String> packages = getPackages(archiveName);
+		try (JarFile jarFile = new JarFile(file)) {
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				addPackages(packages, entries.nextElement().getName());
+			}
+		}
+	}
+
+	/**
+	 * Add the directories of the specified entry.
+	 * @param archiveName the name of the nested archive that contains the entry
+	 * @param entryName the name of the entry, relative to the nested archive
+	 */
+	public void addEntry(String archiveName, String entryName) {
+		addPackages(getPackages(archiveName), entryName);
+	}
+
+	private Set<String> getPackages(String archiveName) {
+		return this.packages.computeIfAbsent(archiveName, (key) -> new TreeSet<>());
+	}
+
+	private void addPackages(Set<String> packages, String entryName) {
+		String name = (entryName.endsWith("/")
+				? entryName.substring(0, entryName.length() - 1)
+				: getParent(entryName));
+		// Ancestors have always been added along with their first descendant
+		while (!name.isEmpty() && packages.add(name)) {
+			name = getParent(name);
+		}
+	}
+
+	private String getParent(String name) {
+		int lastSlash = name.lastIndexOf('/');
+		return (lastSlash == -1 ? "" : name.substring(0, lastSlash));
+	}
+
+	/**
+	 * Return an {@link InputStream} of the index content.
+	 * @return the index content
+	 * @throws IOException if the index cannot be written
+	 */
+	public InputStream getInputStream() throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (Writer writer = new OutputStreamWriter(outputStream, UTF_8)) {
+			for (Map.Entry<String, Set<String>> entry : this.packages.entrySet()) {
+				writer.write(entry.getKey());
+				writer.write('\n');
+				for (String packageName : entry.getValue()) {
+					writer.write(packageName);
+					writer.write('\n');
+				}
+				writer.write('\n');
+			}
+		}
+		return new ByteArrayInputStream(outputStream.toByteArray());
+	}
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+/**
+ * Writes entries to a {@link ZipArchiveOutputStream}, deflating their content using a
+ * pool of worker threads. Entries that need to be deflated are buffered and compressed
+ * concurrently, then written in the order in which they were added. Stored entries and
+ * directories are written directly once all preceding entries have been written.
+ * <p>
+ * The archive that is produced does not depend on the number of threads that are used.
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+public class ParallelZipWriter implements Closeable {
+
+	private static final int BUFFER_SIZE = 32 * 1024;
+
+	private final ZipArchiveOutputStream output;
+
+	private final ExecutorService executor;
+
+	private final int maxPending;
+
+	private final Deque<Future<DeflatedEntry>> pending = new ArrayDeque<>();
+
+	/**
+	 * Create a new {@link ParallelZipWriter} instance.
+	 * @param output the destination of the entries
+	 * @param threads the number of threads used to deflate entries
+	 */
+	public ParallelZipWriter(ZipArchiveOutputStream output, int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Threads must be greater than 0");
+		}
+		this.output = output;
+		this.executor = Executors.newFixedThreadPool(threads,
+				new WorkerThreadFactory());
+		this.maxPending = threads * 4;
+	}
+
+	/**
+	 * Write the specified entry. Entries that use the {@link ZipEntry#DEFLATED DEFLATED}
+	 * method, or that do not specify a method, are compressed in the background.
+	 * @param entry the entry to write
+	 * @param content the content of the entry or {@code null} if there is no content
+	 * @throws IOException if the entry cannot be written
+	 */
+	public void writeEntry(ZipArchiveEntry entry, EntryContent content)
+			throws IOException {
+		if (content == null || entry.isDirectory()
+				|| entry.getMethod() == ZipEntry.STORED) {
+			flush();
+			this.output.putArchiveEntry(entry);
+			if (content != null) {
+				content.writeTo(this.output);
+			}
+			this.output.closeArchiveEntry();
+			return;
+		}
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		content.writeTo(buffer);
+		byte[] bytes = buffer.toByteArray();
+		this.pending.add(this.executor.submit(() -> deflate(entry, bytes)));
+		if (this.pending.size() >= this.maxPending) {
+			write(this.pending.poll());
+		}
+	}
+
+	private DeflatedEntry deflate(ZipArchiveEntry entry, byte[] bytes)
+			throws IOException {
+		CRC32 crc = new CRC32();
+		crc.update(bytes);
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		ByteArrayOutputStream deflated = new ByteArrayOutputStream(bytes.length / 2);
+		try (DeflaterOutputStream outputStream = new DeflaterOutputStream(deflated,
+				deflater, BUFFER_SIZE)) {
+			outputStream.write(bytes);
+		}
+		finally {
+			deflater.end();
+		}
+		entry.setMethod(ZipEntry.DEFLATED);
+		entry.setSize(bytes.length);
+		entry.setCompressedSize(deflated.size());
+		entry.setCrc(crc.getValue());
+		return new DeflatedEntry(entry, deflated.toByteArray());
+	}
+
+	/**
+	 * Write all pending entries.
+	 * @throws IOException if an entry cannot be written
+	 */
+	public void flush() throws IOException {
+		while (!this.pending.isEmpty()) {
+			write(this.pending.poll());
+		}
+	}
+
+	private void write(Future<DeflatedEntry> future) throws IOException {
+		DeflatedEntry deflatedEntry = get(future);
+		this.output.addRawArchiveEntry(deflatedEntry.entry,
+				new ByteArrayInputStream(deflatedEntry.content));
+	}
+
+	private DeflatedEntry get(Future<DeflatedEntry> future) throws IOException {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while compressing entries");
+		}
+		catch (ExecutionException ex) {
+			throw new IOException("Unable to compress entry", ex.getCause());
+		}
+	}
+
+	/**
+	 * Write all pending entries and stop the worker threads. The underlying stream is
+	 * not closed.
+	 * @throws IOException if an entry cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		}
+		finally {
+			this.executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Callback used to write the content of an entry.
+	 */
+	@FunctionalInterface
+	public interface EntryContent {
+
+		/**
+		 * Write the content of the entry to the specified stream.
+		 * @param outputStream the destination of the content
+		 * @throws IOException in case of I/O errors
+		 */
+		void writeTo(OutputStream outputStream) throws IOException;
+
+	}
+
+	/**
+	 * An entry and its deflated content.
+	 */
+	private static final class DeflatedEntry {
+
+		private final ZipArchiveEntry entry;
+
+		private final byte[] content;
+
+		private DeflatedEntry(ZipArchiveEntry entry, byte[] content) {
+			this.entry = entry;
+			this.content = content;
+		}
+
+	}
+
+	/**
+	 * Factory for the daemon threads used to deflate entries.
+	 */
+	private static class WorkerThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable,
+					"zip-deflater-" + this.threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
@@ -21,6 +21,8 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -55,8 +57,19 @@ public class Repackager {
 
 	private static final String BOOT_CLASSES_ATTRIBUTE = "Spring-Boot-Classes";
 
+	private static final String BOOT_PACKAGE_INDEX_ATTRIBUTE = "Spring-Boot-Package-Index";
+
+	private static final String PACKAGE_INDEX_NAME = "packages.idx";
+
 	private static final byte[] ZIP_FILE_HEADER = new byte[] { 'P', 'K', 3, 4 };
 
+	/**
+	 * Time of the entries that are created rather than copied, such as the manifest and
+	 * folders. Zip entries record local time so it is defined in the local time zone.
+	 */
+	private static final long ENTRY_TIME = new GregorianCalendar(1980, Calendar.FEBRUARY,
+			1, 0, 0, 0).getTimeInMillis();
+
 	private static final long FIND_WARNING_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
 
 	private static final String SPRING_BOOT_APPLICATION_CLASS_NAME = "org.springframework.boot.autoconfigure.SpringBootApplication";
@@ -67,6 +80,8 @@ public class Repackager {
 
 	private boolean backupSource = true;
 
+	private int compressionThreads = 1;
+
 	private final File source;
 
 	private Layout layout;
@@ -113,6 +128,22 @@ public class Repackager {
 		this.backupSource = backupSource;
 	}
 
+	/**
+	 * Sets the number of threads used to compress the entries of the repackaged archive.
+	 * Defaults to {@code 1}. Entries are always written in the same order and with the
+	 * same time, so repackaging the same source produces an identical archive whatever
+	 * the number of threads.
+	 * @param compressionThreads the number of compression threads
+	 * @since 2.0.0
+	 */
+	public void setCompressionThreads(int compressionThreads) {
+		if (compressionThreads < 1) {
+			throw new IllegalArgumentException(
+					"Compression threads must be greater than 0");
+		}
+		this.compressionThreads = compressionThreads;
+	}
+
 	/**
 	 * Sets the layout to use for the jar. Defaults to {@link Layouts#forFile(File)}.
 	 * @param layout the layout
@@ -227,7 +258,8 @@ public class Repackager {
 
 	private void repackage(JarFile sourceJar, File destination, Libraries libraries,
 			LaunchScript launchScript) throws IOException {
-		try (JarWriter writer = new JarWriter(destination, launchScript)) {
+		try (JarWriter writer = new JarWriter(destination, launchScript,
+				this.compressionThreads, ENTRY_TIME)) {
 			final List<Library> unpackLibraries = new ArrayList<>();
 			final List<Library> standardLibraries = new ArrayList<>();
 			libraries.doWithLibraries((library) -> {
@@ -249,21 +281,30 @@ public class Repackager {
 			final List<Library> unpackLibraries, final List<Library> standardLibraries)
 					throws IOException {
 		writer.writeManifest(buildManifest(sourceJar));
+		String packageIndexLocation = getPackageIndexLocation();
+		PackageIndexWriter packageIndex = (packageIndexLocation == null ? null
+				: new PackageIndexWriter());
 		Set<String> seen = new HashSet<>();
-		writeNestedLibraries(unpackLibraries, seen, writer);
-		if (this.layout instanceof RepackagingLayout) {
-			writer.writeEntries(sourceJar, new RenamingEntryTransformer(
-					((RepackagingLayout) this.layout).getRepackagedClassesLocation()));
-		}
-		else {
-			writer.writeEntries(sourceJar);
-		}
-		writeNestedLibraries(standardLibraries, seen, writer);
+		// Unpacked libraries are not indexed as they are loaded from a temporary file
+		writeNestedLibraries(unpackLibraries, seen, writer, null);
+		EntryTransformer entryTransformer = (this.layout instanceof RepackagingLayout)
+				? new RenamingEntryTransformer(((RepackagingLayout) this.layout)
+						.getRepackagedClassesLocation())
+				: (entry) -> entry;
+		if (packageIndex != null) {
+			entryTransformer = new PackageIndexEntryTransformer(entryTransformer,
+					getClassesLocation(), packageIndex);
+		}
+		writer.writeEntries(sourceJar, entryTransformer);
+		writeNestedLibraries(standardLibraries, seen, writer, packageIndex);
 		writeLoaderClasses(writer);
+		if (packageIndex != null) {
+			writer.writeEntry(packageIndexLocation, packageIndex.getInputStream());
+		}
 	}
 
 	private void writeNestedLibraries(List<Library> libraries, Set<String> alreadySeen,
-			JarWriter writer) throws IOException {
+			JarWriter writer, PackageIndexWriter packageIndex) throws IOException {
 		for (Library library : libraries) {
 			String destination = Repackager.this.layout
 					.getLibraryDestination(library.getName(), library.getScope());
@@ -273,10 +314,35 @@ public class Repackager {
 							"Duplicate library " + library.getName());
 				}
 				writer.writeNestedLibrary(destination, library);
+				if (packageIndex != null) {
+					packageIndex.addLibrary(destination + library.getName(),
+							library.getFile());
+				}
 			}
 		}
 	}
 
+	private String getClassesLocation() {
+		return (this.layout instanceof RepackagingLayout)
+				? ((RepackagingLayout) this.layout).getRepackagedClassesLocation()
+				: this.layout.getClassesLocation();
+	}
+
+	/**
+	 * Return the location of the package index, alongside the folder that contains the
+	 * libraries, or {@code null} if the archive should not be indexed.
+	 * @return the package index location or {@code null}
+	 */
+	private String getPackageIndexLocation() {
+		String lib = this.layout.getLibraryDestination("", LibraryScope.COMPILE);
+		if (!this.layout.isExecutable() || !StringUtils.hasLength(lib)
+				|| !StringUtils.hasLength(getClassesLocation())) {
+			return null;
+		}
+		String parent = lib.substring(0, lib.length() - 1);
+		return parent.substring(0, parent.lastIndexOf('/') + 1) + PACKAGE_INDEX_NAME;
+	}
+
 	private void writeLoaderClasses(JarWriter writer) throws IOException {
 		if (this.layout instanceof CustomLoaderLayout) {
 			((CustomLoaderLayout) this.layout).writeLoadedClasses(writer);
@@ -335,13 +401,16 @@ public class Repackager {
 		String bootVersion = getClass().getPackage().getImplementationVersion();
 		manifest.getMainAttributes().putValue(BOOT_VERSION_ATTRIBUTE, bootVersion);
 		manifest.getMainAttributes().putValue(BOOT_CLASSES_ATTRIBUTE,
-				(this.layout instanceof RepackagingLayout)
-						? ((RepackagingLayout) this.layout).getRepackagedClassesLocation()
-						: this.layout.getClassesLocation());
+				getClassesLocation());
 		String lib = this.layout.getLibraryDestination("", LibraryScope.COMPILE);
 		if (StringUtils.hasLength(lib)) {
 			manifest.getMainAttributes().putValue(BOOT_LIB_ATTRIBUTE, lib);
 		}
+		String packageIndexLocation = getPackageIndexLocation();
+		if (packageIndexLocation != null) {
+			manifest.getMainAttributes().putValue(BOOT_PACKAGE_INDEX_ATTRIBUTE,
+					packageIndexLocation);
+		}
 		return manifest;
 	}
 
@@ -391,6 +460,38 @@ public class Repackager {
 
 	}
 
+	/**
+	 * An {@code EntryTransformer} that adds the entries that end up in the classes
+	 * location to a {@link PackageIndexWriter}.
+	 */
+	private static final class PackageIndexEntryTransformer implements EntryTransformer {
+
+		private final EntryTransformer delegate;
+
+		private final String classesLocation;
+
+		private final PackageIndexWriter packageIndex;
+
+		private PackageIndexEntryTransformer(EntryTransformer delegate,
+				String classesLocation, PackageIndexWriter packageIndex) {
+			this.delegate = delegate;
+			this.classesLocation = classesLocation;
+			this.packageIndex = packageIndex;
+		}
+
+		@Override
+		public JarArchiveEntry transform(JarArchiveEntry entry) {
+			JarArchiveEntry transformedEntry = this.delegate.transform(entry);
+			if (transformedEntry != null
+					&& transformedEntry.getName().startsWith(this.classesLocation)) {
+				this.packageIndex.addEntry(this.classesLocation, transformedEntry
+						.getName().substring(this.classesLocation.length()));
+			}
+			return transformedEntry;
+		}
+
+	}
+
 	/**
 	 * An {@code EntryTransformer} that renames entries by applying a prefix.
 	 */
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.springframework.util.StreamUtils;
+
+/**
+ * Performs a training run of an executable jar or war to prepare it for class data
+ * sharing (AppCDS). The archive is exploded into a layout that the JVM can share:
+ * <pre class="code">
+ * application.jar   application classes, with a Class-Path to the libraries
+ * lib/              the nested libraries
+ * classes.lst       the classes that were loaded by the training run
+ * application.jsa   the shared archive (optional)
+ * source.key        the size and modification time of the source archive
+ * </pre>
+ * The application is then started from the exploded layout and stopped as soon as it is
+ * ready, recording the classes that it loaded. Classes loaded from nested jars cannot be
+ * shared, which is why the application is run from plain jars on the class path.
+ * <p>
+ * The class list can be moved to another host, whereas the shared archive is tied to the
+ * location of the layout. The launch script creates the archive on first start when it
+ * is missing or older than the class list, and only uses the layout when it was created
+ * from the archive being launched (see the {@code cdsFolder} launch script property).
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+public class TrainingRun {
+
+	/**
+	 * The name of the jar containing the application classes.
+	 */
+	public static final String APPLICATION_JAR_NAME = "application.jar";
+
+	/**
+	 * The name of the class list that is recorded by the training run.
+	 */
+	public static final String CLASS_LIST_NAME = "classes.lst";
+
+	/**
+	 * The name of the shared archive.
+	 */
+	public static final String SHARED_ARCHIVE_NAME = "application.jsa";
+
+	/**
+	 * The name of the file identifying the archive that the layout was created from by
+	 * its size in bytes and its modification time in seconds, separated by a colon.
+	 */
+	public static final String SOURCE_KEY_NAME = "source.key";
+
+	private static final String LIB_FOLDER = "lib/";
+
+	private static final String TRAINING_RUN_LAUNCHER = "org.springframework.boot.loader.TrainingRunLauncher";
+
+	private static final String START_CLASS_ATTRIBUTE = "Start-Class";
+
+	private static final String BOOT_CLASSES_ATTRIBUTE = "Spring-Boot-Classes";
+
+	private static final String BOOT_LIB_ATTRIBUTE = "Spring-Boot-Lib";
+
+	private static final String BOOT_PACKAGE_INDEX_ATTRIBUTE = "Spring-Boot-Package-Index";
+
+	private final File source;
+
+	private final File destination;
+
+	private List<String> jvmArguments = Collections.emptyList();
+
+	private List<String> arguments = Collections.emptyList();
+
+	private long timeout = TimeUnit.MINUTES.toMillis(5);
+
+	private boolean createSharedArchive;
+
+	/**
+	 * Create a new {@link TrainingRun} instance.
+	 * @param source the executable archive
+	 * @param destination the folder in which the layout is created
+	 */
+	public TrainingRun(File source, File destination) {
+		if (source == null || !source.isFile()) {
+			throw new IllegalArgumentException("Source must refer to an existing file");
+		}
+		if (destination == null || destination.isFile()) {
+			throw new IllegalArgumentException("Invalid destination");
+		}
+		this.source = source.getAbsoluteFile();
+		this.destination = destination.getAbsoluteFile();
+	}
+
+	/**
+	 * Sets the additional arguments of the JVM used for the training run. For example,
+	 * Oracle Java 8 requires {@code -XX:+UnlockCommercialFeatures -XX:+UseAppCDS}.
+	 * @param jvmArguments the JVM arguments
+	 */
+	public void setJvmArguments(List<String> jvmArguments) {
+		this.jvmArguments = (jvmArguments == null ? Collections.emptyList()
+				: new ArrayList<>(jvmArguments));
+	}
+
+	/**
+	 * Sets the arguments passed to the application during the training run.
+	 * @param arguments the application arguments
+	 */
+	public void setArguments(List<String> arguments) {
+		this.arguments = (arguments == null ? Collections.emptyList()
+				: new ArrayList<>(arguments));
+	}
+
+	/**
+	 * Sets the maximum time, in milliseconds, that each JVM may run for.
+	 * @param timeout the timeout
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Sets if the shared archive should be created once the classes have been recorded.
+	 * @param createSharedArchive if the shared archive should be created
+	 */
+	public void setCreateSharedArchive(boolean createSharedArchive) {
+		this.createSharedArchive = createSharedArchive;
+	}
+
+	/**
+	 * Explode the archive and record the classes that the application loads while
+	 * starting.
+	 * @throws IOException if the training run fails
+	 */
+	public void run() throws IOException {
+		// An archive from a previous training run no longer matches the class path
+		new File(this.destination, SHARED_ARCHIVE_NAME).delete();
+		String startClass = explode();
+		List<String> record = new ArrayList<>(this.jvmArguments);
+		record.add("-Xshare:off");
+		record.add("-XX:DumpLoadedClassList=" + CLASS_LIST_NAME);
+		record.add("-cp");
+		record.add(APPLICATION_JAR_NAME);
+		record.add(TRAINING_RUN_LAUNCHER);
+		record.add(startClass);
+		record.addAll(this.arguments);
+		run("Training run", record);
+		if (this.createSharedArchive) {
+			List<String> dump = new ArrayList<>(this.jvmArguments);
+			dump.add("-Xshare:dump");
+			dump.add("-XX:SharedClassListFile=" + CLASS_LIST_NAME);
+			dump.add("-XX:SharedArchiveFile=" + SHARED_ARCHIVE_NAME);
+			dump.add("-cp");
+			dump.add(APPLICATION_JAR_NAME);
+			run("Shared archive creation", dump);
+		}
+	}
+
+	private String explode() throws IOException {
+		File lib = new File(this.destination, LIB_FOLDER);
+		lib.mkdirs();
+		try (JarFile jarFile = new JarFile(this.source)) {
+			Manifest manifest = jarFile.getManifest();
+			Attributes attributes = (manifest == null ? null
+					: manifest.getMainAttributes());
+			String startClass = (attributes == null ? null
+					: attributes.getValue(START_CLASS_ATTRIBUTE));
+			if (startClass == null) {
+				throw new IllegalStateException(
+						"'" + this.source + "' is not an executable archive");
+			}
+			String classes = attributes.getValue(BOOT_CLASSES_ATTRIBUTE);
+			Set<String> libraries = extractLibraries(jarFile,
+					attributes.getValue(BOOT_LIB_ATTRIBUTE), lib);
+			writeApplicationJar(jarFile, manifest, startClass, classes, libraries);
+			writeSourceKey();
+			return startClass;
+		}
+	}
+
+	private Set<String> extractLibraries(JarFile jarFile, String libLocation,
+			File lib) throws IOException {
+		Set<String> libraries = new LinkedHashSet<>();
+		Enumeration<JarEntry> entries = jarFile.entries();
+		while (entries.hasMoreElements()) {
+			JarEntry entry = entries.nextElement();
+			if (isLibrary(entry, libLocation)) {
+				String name = entry.getName()
+						.substring(entry.getName().lastIndexOf('/') + 1);
+				if (libraries.add(LIB_FOLDER + name)) {
+					copy(jarFile.getInputStream(entry), new File(lib, name));
+				}
+			}
+		}
+		return libraries;
+	}
+
+	private boolean isLibrary(JarEntry entry, String libLocation) {
+		String name = entry.getName();
+		if (libLocation == null || entry.isDirectory() || !name.endsWith(".jar")) {
+			return false;
+		}
+		// Libraries only provided by a servlet container are needed when run embedded
+		String providedLocation = libLocation.replaceAll("/$", "-provided/");
+		return name.startsWith(libLocation) || name.startsWith(providedLocation);
+	}
+
+	private void writeApplicationJar(JarFile jarFile, Manifest manifest,
+			String startClass, String classes, Set<String> libraries)
+					throws IOException {
+		Manifest applicationManifest = new Manifest(manifest);
+		Attributes attributes = applicationManifest.getMainAttributes();
+		attributes.remove(new Attributes.Name(START_CLASS_ATTRIBUTE));
+		attributes.remove(new Attributes.Name(BOOT_CLASSES_ATTRIBUTE));
+		attributes.remove(new Attributes.Name(BOOT_LIB_ATTRIBUTE));
+		attributes.remove(new Attributes.Name(BOOT_PACKAGE_INDEX_ATTRIBUTE));
+		attributes.put(Attributes.Name.MAIN_CLASS, startClass);
+		attributes.put(Attributes.Name.CLASS_PATH, String.join(" ", libraries));
+		File applicationJar = new File(this.destination, APPLICATION_JAR_NAME);
+		try (JarWriter writer = new JarWriter(applicationJar)) {
+			writer.writeManifest(applicationManifest);
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				String name = getApplicationEntryName(entry, classes);
+				if (name != null) {
+					writer.writeEntry(name, jarFile.getInputStream(entry));
+				}
+			}
+		}
+	}
+
+	private void writeSourceKey() throws IOException {
+		// Cheap enough for the launch script to check on every start, unlike a hash
+		String key = this.source.length() + ":"
+				+ TimeUnit.MILLISECONDS.toSeconds(this.source.lastModified());
+		Files.write(new File(this.destination, SOURCE_KEY_NAME).toPath(),
+				key.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String getApplicationEntryName(JarEntry entry, String classes) {
+		String name = entry.getName();
+		if (entry.isDirectory() || name.equals(JarFile.MANIFEST_NAME)) {
+			return null;
+		}
+		if (classes != null && name.startsWith(classes)) {
+			return name.substring(classes.length());
+		}
+		if (name.startsWith("BOOT-INF/") || name.startsWith("WEB-INF/")) {
+			return null;
+		}
+		return name;
+	}
+
+	private void copy(InputStream inputStream, File file) throws IOException {
+		try (OutputStream outputStream = new FileOutputStream(file)) {
+			StreamUtils.copy(inputStream, outputStream);
+		}
+		finally {
+			inputStream.close();
+		}
+	}
+
+	private void run(String description, List<String> arguments) throws IOException {
+		ProcessBuilder builder = new JavaExecutable()
+				.processBuilder(arguments.toArray(new String[arguments.size()]));
+		builder.directory(this.destination);
+		builder.redirectErrorStream(true);
+		builder.redirectOutput(new File(this.destination, "training-run.log"));
+		Process process = builder.start();
+		try {
+			if (!process.waitFor(this.timeout, TimeUnit.MILLISECONDS)) {
+				process.destroyForcibly();
+				throw new IllegalStateException(description + " of '" + this.source
+						+ "' did not complete within " + this.timeout + "ms");
+			}
+			if (process.exitValue() != 0) {
+				throw new IllegalStateException(description + " of '" + this.source
+						+ "' failed with exit code " + process.exitValue()
+						+ ". Arguments: " + Arrays.toString(arguments.toArray()));
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			process.destroyForcibly();
+			throw new IllegalStateException(description + " was interrupted");
+		}
+	}
+
+}
@@ -126,6 +126,11 @@ public class DefaultLaunchScriptTests {
 		assertThatPlaceholderCanBeReplaced("stopWaitTime");
 	}
 
+	@Test
+	public void cdsFolderCanBeReplaced() throws Exception {
+		assertThatPlaceholderCanBeReplaced("cdsFolder");
+	}
+
 	@Test
 	public void defaultForUseStartStopDaemonIsTrue() throws Exception {
 		DefaultLaunchScript script = new DefaultLaunchScript(null, null);
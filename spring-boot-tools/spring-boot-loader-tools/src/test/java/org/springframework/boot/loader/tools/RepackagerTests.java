@@ -19,6 +19,8 @@ package org.springframework.boot.loader.tools;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.Calendar;
@@ -41,6 +43,7 @@ import org.zeroturnaround.zip.ZipUtil;
 import org.springframework.boot.loader.tools.sample.ClassWithMainMethod;
 import org.springframework.boot.loader.tools.sample.ClassWithoutMainMethod;
 import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StreamUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -63,6 +66,8 @@ public class RepackagerTests {
 
 	private static final long JAN_1_1985;
 
+	private static final long FEB_1_1980;
+
 	static {
 		Calendar calendar = Calendar.getInstance();
 		calendar.set(1980, 0, 1, 0, 0, 0);
@@ -70,6 +75,8 @@ public class RepackagerTests {
 		JAN_1_1980 = calendar.getTime().getTime();
 		calendar.set(Calendar.YEAR, 1985);
 		JAN_1_1985 = calendar.getTime().getTime();
+		calendar.set(1980, Calendar.FEBRUARY, 1);
+		FEB_1_1980 = calendar.getTime().getTime();
 	}
 
 	@Rule
@@ -314,6 +321,111 @@ public class RepackagerTests {
 		assertThat(entry.getComment().length()).isEqualTo(47);
 	}
 
+	@Test
+	public void packageIndex() throws Exception {
+		TestJarFile libJar = new TestJarFile(this.temporaryFolder);
+		libJar.addClass("a/b/C.class", ClassWithoutMainMethod.class);
+		libJar.addClass("d/E.class", ClassWithoutMainMethod.class);
+		final File libJarFile = libJar.getFile();
+		final File libJarFileToUnpack = libJar.getFile();
+		this.testJarFile.addClass("f/g/H.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.repackage((callback) -> {
+			callback.library(new Library(libJarFile, LibraryScope.COMPILE));
+			callback.library(new Library(libJarFileToUnpack, LibraryScope.COMPILE, true));
+		});
+		assertThat(getManifest(file).getMainAttributes())
+				.containsEntry(new Attributes.Name("Spring-Boot-Package-Index"),
+						"BOOT-INF/packages.idx");
+		assertThat(getEntryContent(file, "BOOT-INF/packages.idx")).isEqualTo(
+				"BOOT-INF/classes/\nf\nf/g\n\n" + "BOOT-INF/lib/" + libJarFile.getName()
+						+ "\na\na/b\nd\n\n");
+	}
+
+	@Test
+	public void packageIndexForWar() throws Exception {
+		this.testJarFile.addClass("WEB-INF/classes/a/b/C.class",
+				ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile("war");
+		Repackager repackager = new Repackager(file);
+		repackager.repackage(NO_LIBRARIES);
+		assertThat(getManifest(file).getMainAttributes())
+				.containsEntry(new Attributes.Name("Spring-Boot-Package-Index"),
+						"WEB-INF/packages.idx");
+		assertThat(getEntryContent(file, "WEB-INF/packages.idx"))
+				.isEqualTo("WEB-INF/classes/\na\na/b\n\n");
+	}
+
+	@Test
+	public void noPackageIndexWhenLayoutIsNone() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.setLayout(new Layouts.None());
+		repackager.repackage(NO_LIBRARIES);
+		assertThat(getManifest(file).getMainAttributes())
+				.doesNotContainKey(new Attributes.Name("Spring-Boot-Package-Index"));
+		assertThat(hasEntry(file, "BOOT-INF/packages.idx")).isFalse();
+	}
+
+	@Test
+	public void parallelCompressionProducesSameArchiveAsSerialCompression()
+			throws Exception {
+		TestJarFile libJar = new TestJarFile(this.temporaryFolder);
+		libJar.addClass("a/b/C.class", ClassWithoutMainMethod.class, JAN_1_1985);
+		File libJarFile = libJar.getFile();
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		this.testJarFile.addClass("d/E.class", ClassWithoutMainMethod.class);
+		File source = this.testJarFile.getFile();
+		Libraries libraries = (callback) -> callback
+				.library(new Library(libJarFile, LibraryScope.COMPILE));
+		File serial = this.temporaryFolder.newFile("serial.jar");
+		new Repackager(source).repackage(serial, libraries);
+		File parallel = repackageInParallel(source, libraries, 4);
+		assertThat(getEntry(parallel, "BOOT-INF/classes/a/b/C.class").getMethod())
+				.isEqualTo(ZipEntry.DEFLATED);
+		assertThat(getEntry(parallel, "BOOT-INF/lib/" + libJarFile.getName())
+				.getMethod()).isEqualTo(ZipEntry.STORED);
+		assertThat(Files.readAllBytes(parallel.toPath()))
+				.isEqualTo(Files.readAllBytes(serial.toPath()));
+	}
+
+	@Test
+	public void entriesThatAreNotCopiedUseAFixedTime() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		file.setLastModified(JAN_1_1985);
+		new Repackager(file).repackage(NO_LIBRARIES);
+		assertThat(getEntry(file, "META-INF/MANIFEST.MF").getTime())
+				.isEqualTo(FEB_1_1980);
+		assertThat(getEntry(file, "BOOT-INF/packages.idx").getTime())
+				.isEqualTo(FEB_1_1980);
+		assertThat(getEntry(file, "BOOT-INF/").getTime()).isEqualTo(FEB_1_1980);
+	}
+
+	@Test
+	public void repackagingTheSameSourceIsRepeatable() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File first = this.temporaryFolder.newFile("first.jar");
+		new Repackager(source).repackage(first, NO_LIBRARIES);
+		source.setLastModified(JAN_1_1985);
+		File second = this.temporaryFolder.newFile("second.jar");
+		new Repackager(source).repackage(second, NO_LIBRARIES);
+		assertThat(Files.readAllBytes(second.toPath()))
+				.isEqualTo(Files.readAllBytes(first.toPath()));
+	}
+
+	@Test
+	public void compressionThreadsMustBePositive() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		Repackager repackager = new Repackager(this.testJarFile.getFile());
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Compression threads must be greater than 0");
+		repackager.setCompressionThreads(0);
+	}
+
 	@Test
 	public void duplicateLibraries() throws Exception {
 		TestJarFile libJar = new TestJarFile(this.temporaryFolder);
@@ -575,6 +687,15 @@ public class RepackagerTests {
 		}
 	}
 
+	private File repackageInParallel(File source, Libraries libraries, int threads)
+			throws IOException {
+		File destination = this.temporaryFolder.newFile("parallel-" + threads + ".jar");
+		Repackager repackager = new Repackager(source);
+		repackager.setCompressionThreads(threads);
+		repackager.repackage(destination, libraries);
+		return destination;
+	}
+
 	private boolean hasLauncherClasses(File file) throws IOException {
 		return hasEntry(file, "org/springframework/boot/")
 				&& hasEntry(file, "org/springframework/boot/loader/JarLauncher.class");
@@ -584,6 +705,15 @@ public class RepackagerTests {
 		return getEntry(file, name) != null;
 	}
 
+	private String getEntryContent(File file, String name) throws IOException {
+		try (JarFile jarFile = new JarFile(file)) {
+			try (InputStream inputStream = jarFile
+					.getInputStream(jarFile.getJarEntry(name))) {
+				return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+			}
+		}
+	}
+
 	private JarEntry getEntry(File file, String name) throws IOException {
 		try (JarFile jarFile = new JarFile(file)) {
 			return jarFile.getJarEntry(name);
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.loader.tools.sample.ClassWithMainMethod;
+import org.springframework.boot.loader.tools.sample.ClassWithoutMainMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TrainingRun}.
+ *
+ * @author agent
+ */
+public class TrainingRunTests {
+
+	private static final String MAIN_CLASS = "org/springframework/boot/loader/tools/sample/ClassWithMainMethod.class";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private File destination;
+
+	@Before
+	public void setup() throws IOException {
+		this.destination = this.temporaryFolder.newFolder("cds");
+	}
+
+	@Test
+	public void missingSource() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		new TrainingRun(new File("missing"), this.destination);
+	}
+
+	@Test
+	public void sourceMustBeExecutable() throws Exception {
+		TestJarFile jar = new TestJarFile(this.temporaryFolder);
+		jar.addClass(MAIN_CLASS, ClassWithMainMethod.class);
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("is not an executable archive");
+		new TrainingRun(jar.getFile(), this.destination).run();
+	}
+
+	@Test
+	public void recordsLoadedClasses() throws Exception {
+		TestJarFile libJar = new TestJarFile(this.temporaryFolder);
+		libJar.addClass("a/b/C.class", ClassWithoutMainMethod.class);
+		File libJarFile = libJar.getFile();
+		TestJarFile jar = new TestJarFile(this.temporaryFolder);
+		jar.addClass(MAIN_CLASS, ClassWithMainMethod.class);
+		File source = jar.getFile();
+		new Repackager(source).repackage((callback) -> callback
+				.library(new Library(libJarFile, LibraryScope.COMPILE)));
+		new TrainingRun(source, this.destination).run();
+		assertThat(new File(this.destination, "lib/" + libJarFile.getName()))
+				.exists();
+		File applicationJar = new File(this.destination,
+				TrainingRun.APPLICATION_JAR_NAME);
+		try (JarFile jarFile = new JarFile(applicationJar)) {
+			assertThat(jarFile.getEntry(MAIN_CLASS)).isNotNull();
+			assertThat(jarFile.getEntry("BOOT-INF/classes/" + MAIN_CLASS)).isNull();
+			assertThat(jarFile.getEntry("BOOT-INF/lib/" + libJarFile.getName()))
+					.isNull();
+			Attributes attributes = jarFile.getManifest().getMainAttributes();
+			assertThat(attributes.getValue(Attributes.Name.MAIN_CLASS))
+					.isEqualTo(ClassWithMainMethod.class.getName());
+			assertThat(attributes.getValue(Attributes.Name.CLASS_PATH))
+					.isEqualTo("lib/" + libJarFile.getName());
+			assertThat(attributes.getValue("Spring-Boot-Lib")).isNull();
+		}
+		String classList = new String(Files.readAllBytes(
+				new File(this.destination, TrainingRun.CLASS_LIST_NAME).toPath()),
+				StandardCharsets.UTF_8);
+		assertThat(classList).contains("java/lang/Object");
+		// The JVM may also log warnings, for example when JAVA_TOOL_OPTIONS is set
+		String log = new String(Files.readAllBytes(
+				new File(this.destination, "training-run.log").toPath()),
+				StandardCharsets.UTF_8);
+		assertThat(log).contains("Hello World");
+	}
+
+	@Test
+	public void writesKeyOfSourceAndRemovesStaleSharedArchive() throws Exception {
+		TestJarFile jar = new TestJarFile(this.temporaryFolder);
+		jar.addClass(MAIN_CLASS, ClassWithMainMethod.class);
+		File source = jar.getFile();
+		new Repackager(source).repackage((callback) -> {
+		});
+		assertThat(source.setLastModified(1500000000999L)).isTrue();
+		File sharedArchive = new File(this.destination, TrainingRun.SHARED_ARCHIVE_NAME);
+		assertThat(sharedArchive.createNewFile()).isTrue();
+		new TrainingRun(source, this.destination).run();
+		assertThat(new File(this.destination, TrainingRun.SOURCE_KEY_NAME))
+				.hasContent(source.length() + ":1500000000");
+		assertThat(sharedArchive).doesNotExist();
+	}
+
+}
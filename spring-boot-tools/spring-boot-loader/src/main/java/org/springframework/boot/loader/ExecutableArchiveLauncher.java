@@ -16,6 +16,8 @@
 
 package org.springframework.boot.loader;
 
+import java.io.File;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.jar.JarEntry;
@@ -31,6 +33,8 @@ import org.springframework.boot.loader.archive.Archive;
  */
 public abstract class ExecutableArchiveLauncher extends Launcher {
 
+	private static final String BOOT_PACKAGE_INDEX_ATTRIBUTE = "Spring-Boot-Package-Index";
+
 	private final Archive archive;
 
 	public ExecutableArchiveLauncher() {
@@ -50,6 +54,25 @@ public abstract class ExecutableArchiveLauncher extends Launcher {
 		return this.archive;
 	}
 
+	@Override
+	protected void launch(String[] args) throws Exception {
+		String jarMode = System.getProperty(LayerExtractor.JAR_MODE);
+		if (jarMode == null) {
+			super.launch(args);
+			return;
+		}
+		if (!LayerExtractor.EXTRACT_MODE.equals(jarMode)) {
+			throw new IllegalStateException("Unsupported jar mode '" + jarMode + "'");
+		}
+		File root = getCodeSourceFile();
+		if (root.isDirectory()) {
+			throw new IllegalStateException(
+					"Unable to extract layers from exploded archive " + root);
+		}
+		String destination = System.getProperty(LayerExtractor.DESTINATION, ".");
+		new LayerExtractor(root).extract(new File(destination).getAbsoluteFile());
+	}
+
 	@Override
 	protected String getMainClass() throws Exception {
 		Manifest manifest = this.archive.getManifest();
@@ -72,6 +95,32 @@ public abstract class ExecutableArchiveLauncher extends Launcher {
 		return archives;
 	}
 
+	@Override
+	protected ClassLoader createClassLoader(URL[] urls) throws Exception {
+		PackageIndex packageIndex = getPackageIndex();
+		if (packageIndex == null) {
+			return super.createClassLoader(urls);
+		}
+		return new LaunchedURLClassLoader(urls, getClass().getClassLoader(),
+				packageIndex);
+	}
+
+	/**
+	 * Return the {@link PackageIndex} of the archive, as referenced by its
+	 * {@code Spring-Boot-Package-Index} manifest attribute.
+	 * @return the package index or {@code null} if the archive has not been indexed
+	 * @throws Exception if the index cannot be read
+	 */
+	protected PackageIndex getPackageIndex() throws Exception {
+		Manifest manifest = this.archive.getManifest();
+		String location = (manifest == null ? null
+				: manifest.getMainAttributes().getValue(BOOT_PACKAGE_INDEX_ATTRIBUTE));
+		if (location == null) {
+			return null;
+		}
+		return PackageIndex.load(new URL(this.archive.getUrl(), location));
+	}
+
 	/**
 	 * Determine if the specified {@link JarEntry} is a nested item that should be added
 	 * to the classpath. The method is called once for each entry.
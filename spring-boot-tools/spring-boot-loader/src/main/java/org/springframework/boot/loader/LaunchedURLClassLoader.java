@@ -16,20 +16,35 @@
 
 package org.springframework.boot.loader;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
 import java.security.AccessController;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 import org.springframework.boot.loader.jar.Handler;
 
 /**
- * {@link ClassLoader} used by the {@link Launcher}.
+ * {@link ClassLoader} used by the {@link Launcher}. When created with a
+ * {@link PackageIndex} classes and resources are only searched for in the archives that
+ * contain their package, falling back to a full search for URLs that are not indexed.
  *
  * @author Phillip Webb
  * @author Dave Syer
@@ -37,24 +52,56 @@ import org.springframework.boot.loader.jar.Handler;
  */
 public class LaunchedURLClassLoader extends URLClassLoader {
 
+	private static final int BUFFER_SIZE = 4096;
+
+	private static final String URL_PATH_CHARACTERS = "/-_.!~*'()$&+,;=:@";
+
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
 	static {
 		ClassLoader.registerAsParallelCapable();
 	}
 
+	private volatile ArchiveLookup archiveLookup;
+
 	/**
 	 * Create a new {@link LaunchedURLClassLoader} instance.
 	 * @param urls the URLs from which to load classes and resources
 	 * @param parent the parent class loader for delegation
 	 */
 	public LaunchedURLClassLoader(URL[] urls, ClassLoader parent) {
+		this(urls, parent, null);
+	}
+
+	/**
+	 * Create a new {@link LaunchedURLClassLoader} instance.
+	 * @param urls the URLs from which to load classes and resources
+	 * @param parent the parent class loader for delegation
+	 * @param packageIndex the index of the packages contained in each URL or
+	 * {@code null}
+	 */
+	public LaunchedURLClassLoader(URL[] urls, ClassLoader parent,
+			PackageIndex packageIndex) {
 		super(urls, parent);
+		this.archiveLookup = (packageIndex == null ? null
+				: new ArchiveLookup(urls, packageIndex));
 	}
 
 	@Override
 	public URL findResource(String name) {
 		Handler.setUseFastConnectionExceptions(true);
 		try {
-			return super.findResource(name);
+			URL[] urls = getCandidateUrls(name);
+			if (urls == null) {
+				return super.findResource(name);
+			}
+			for (URL url : urls) {
+				URL resource = findResource(url, name);
+				if (resource != null) {
+					return resource;
+				}
+			}
+			return null;
 		}
 		finally {
 			Handler.setUseFastConnectionExceptions(false);
@@ -65,13 +112,172 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 	public Enumeration<URL> findResources(String name) throws IOException {
 		Handler.setUseFastConnectionExceptions(true);
 		try {
-			return super.findResources(name);
+			URL[] urls = getCandidateUrls(name);
+			if (urls == null) {
+				return super.findResources(name);
+			}
+			List<URL> resources = new ArrayList<>();
+			for (URL url : urls) {
+				URL resource = findResource(url, name);
+				if (resource != null) {
+					resources.add(resource);
+				}
+			}
+			return Collections.enumeration(resources);
 		}
 		finally {
 			Handler.setUseFastConnectionExceptions(false);
 		}
 	}
 
+	private URL findResource(URL url, String name) {
+		try {
+			URL resource = new URL(url, encodePath(name));
+			URLConnection connection = resource.openConnection();
+			connection.getInputStream().close();
+			return resource;
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		String path = name.replace('.', '/').concat(".class");
+		URL[] urls = getCandidateUrls(path);
+		if (urls == null) {
+			return super.findClass(name);
+		}
+		try {
+			return AccessController
+					.doPrivileged((PrivilegedExceptionAction<Class<?>>) () -> {
+						for (URL url : urls) {
+							Class<?> type = defineClass(name, url, path);
+							if (type != null) {
+								return type;
+							}
+						}
+						throw new ClassNotFoundException(name);
+					}, AccessController.getContext());
+		}
+		catch (PrivilegedActionException ex) {
+			if (ex.getException() instanceof ClassNotFoundException) {
+				throw (ClassNotFoundException) ex.getException();
+			}
+			throw new ClassNotFoundException(name, ex.getException());
+		}
+	}
+
+	private Class<?> defineClass(String name, URL url, String path) throws IOException {
+		URLConnection connection;
+		byte[] bytes;
+		try {
+			connection = new URL(url, encodePath(path)).openConnection();
+			try (InputStream inputStream = connection.getInputStream()) {
+				bytes = readBytes(inputStream, connection.getContentLength());
+			}
+		}
+		catch (FileNotFoundException ex) {
+			return null;
+		}
+		CodeSigner[] signers = null;
+		if (connection instanceof JarURLConnection) {
+			JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+			signers = (entry == null ? null : entry.getCodeSigners());
+		}
+		definePackageWithoutManifestIfNecessary(name);
+		return defineClass(name, bytes, 0, bytes.length, new CodeSource(url, signers));
+	}
+
+	/**
+	 * Percent-encode the characters of the given resource path that cannot appear as-is
+	 * in the path of a URL, such as spaces, {@code #}, {@code %} and {@code ?}, in the
+	 * same way as {@link URLClassLoader}.
+	 * @param path the resource path
+	 * @return the encoded path
+	 */
+	private static String encodePath(String path) {
+		int length = path.length();
+		int i = 0;
+		while (i < length && !requiresEncoding(path.charAt(i))) {
+			i++;
+		}
+		if (i == length) {
+			return path;
+		}
+		StringBuilder encoded = new StringBuilder(length + 16).append(path, 0, i);
+		for (byte b : path.substring(i).getBytes(StandardCharsets.UTF_8)) {
+			char c = (char) (b & 0xFF);
+			if (requiresEncoding(c)) {
+				encoded.append('%').append(HEX_DIGITS[c >> 4])
+						.append(HEX_DIGITS[c & 0xF]);
+			}
+			else {
+				encoded.append(c);
+			}
+		}
+		return encoded.toString();
+	}
+
+	private static boolean requiresEncoding(char c) {
+		if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+				|| (c >= '0' && c <= '9')) {
+			return false;
+		}
+		return URL_PATH_CHARACTERS.indexOf(c) == -1;
+	}
+
+	private byte[] readBytes(InputStream inputStream, int length) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream(
+				length > 0 ? length : BUFFER_SIZE);
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int bytesRead;
+		while ((bytesRead = inputStream.read(buffer)) != -1) {
+			outputStream.write(buffer, 0, bytesRead);
+		}
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * Define a package, without a manifest, for a class that has been found using the
+	 * {@link PackageIndex} if {@link #definePackageIfNecessary(String)} has not already
+	 * been able to do so.
+	 * @param className the class name being defined
+	 */
+	private void definePackageWithoutManifestIfNecessary(String className) {
+		int lastDot = className.lastIndexOf('.');
+		if (lastDot >= 0) {
+			String packageName = className.substring(0, lastDot);
+			if (getPackage(packageName) == null) {
+				try {
+					definePackage(packageName, null, null, null, null, null, null, null);
+				}
+				catch (IllegalArgumentException ex) {
+					// Tolerate race condition due to being parallel capable
+				}
+			}
+		}
+	}
+
+	@Override
+	protected void addURL(URL url) {
+		super.addURL(url);
+		// The index no longer describes all of the URLs
+		this.archiveLookup = null;
+	}
+
+	/**
+	 * Return the URLs that should be searched for the resource with the specified name
+	 * or {@code null} if all URLs should be searched.
+	 * @param name the resource name
+	 * @return the URLs to search or {@code null}
+	 */
+	private URL[] getCandidateUrls(String name) {
+		ArchiveLookup archiveLookup = this.archiveLookup;
+		return (archiveLookup == null ? null : archiveLookup.getUrls(name));
+	}
+
 	@Override
 	protected Class<?> loadClass(String name, boolean resolve)
 			throws ClassNotFoundException {
@@ -131,7 +337,8 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 			AccessController.doPrivileged((PrivilegedExceptionAction<Object>) () -> {
 				String packageEntryName = packageName.replace('.', '/') + "/";
 				String classEntryName = className.replace('.', '/') + ".class";
-				for (URL url : getURLs()) {
+				URL[] urls = getCandidateUrls(classEntryName);
+				for (URL url : (urls != null ? urls : getURLs())) {
 					try {
 						URLConnection connection = url.openConnection();
 						if (connection instanceof JarURLConnection) {
@@ -182,4 +389,82 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		}
 	}
 
+	/**
+	 * Lookup of the URLs that can contain a given resource, built from a
+	 * {@link PackageIndex}.
+	 */
+	private static final class ArchiveLookup {
+
+		private final URL[] urls;
+
+		private final URL[] unindexedUrls;
+
+		private final Map<String, URL[]> packageUrls;
+
+		ArchiveLookup(URL[] urls, PackageIndex packageIndex) {
+			this.urls = urls.clone();
+			List<Integer> unindexed = new ArrayList<>();
+			Map<String, List<Integer>> packagePositions = new HashMap<>();
+			for (int i = 0; i < urls.length; i++) {
+				String archiveName = packageIndex.getArchiveName(urls[i]);
+				if (archiveName == null) {
+					unindexed.add(i);
+				}
+				else {
+					for (String packageName : packageIndex.getPackages(archiveName)) {
+						packagePositions
+								.computeIfAbsent(packageName, (key) -> new ArrayList<>())
+								.add(i);
+					}
+				}
+			}
+			this.unindexedUrls = getUrls(unindexed);
+			this.packageUrls = new HashMap<>(packagePositions.size() * 4 / 3 + 1);
+			packagePositions.forEach((packageName, positions) -> this.packageUrls
+					.put(packageName, getUrls(merge(positions, unindexed))));
+		}
+
+		private List<Integer> merge(List<Integer> positions, List<Integer> unindexed) {
+			if (unindexed.isEmpty()) {
+				return positions;
+			}
+			List<Integer> merged = new ArrayList<>(positions);
+			merged.addAll(unindexed);
+			Collections.sort(merged);
+			return merged;
+		}
+
+		private URL[] getUrls(List<Integer> positions) {
+			URL[] urls = new URL[positions.size()];
+			for (int i = 0; i < urls.length; i++) {
+				urls[i] = this.urls[positions.get(i)];
+			}
+			return urls;
+		}
+
+		/**
+		 * Return the URLs that can contain the resource with the specified name, in
+		 * class path order.
+		 * @param name the resource name
+		 * @return the URLs to search
+		 */
+		URL[] getUrls(String name) {
+			if (name.startsWith("/") || name.contains("!/") || name.contains("./")) {
+				return this.urls;
+			}
+			String packageName = (name.endsWith("/")
+					? name.substring(0, name.length() - 1) : name);
+			if (!name.endsWith("/")) {
+				int lastSlash = packageName.lastIndexOf('/');
+				packageName = (lastSlash == -1 ? "" : packageName.substring(0, lastSlash));
+			}
+			if (packageName.isEmpty()) {
+				return this.urls;
+			}
+			URL[] urls = this.packageUrls.get(packageName);
+			return (urls != null ? urls : this.unindexedUrls);
+		}
+
+	}
+
 }
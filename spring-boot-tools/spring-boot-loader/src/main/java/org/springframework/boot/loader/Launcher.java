@@ -114,6 +114,17 @@ public abstract class Launcher {
 	protected abstract List<Archive> getClassPathArchives() throws Exception;
 
 	protected final Archive createArchive() throws Exception {
+		File root = getCodeSourceFile();
+		return (root.isDirectory() ? new ExplodedArchive(root)
+				: new JarFileArchive(root));
+	}
+
+	/**
+	 * Returns the jar file or directory from which the launcher has been loaded.
+	 * @return the code source file
+	 * @throws Exception if the code source cannot be determined
+	 */
+	protected final File getCodeSourceFile() throws Exception {
 		ProtectionDomain protectionDomain = getClass().getProtectionDomain();
 		CodeSource codeSource = protectionDomain.getCodeSource();
 		URI location = (codeSource == null ? null : codeSource.getLocation().toURI());
@@ -126,8 +137,7 @@ public abstract class Launcher {
 			throw new IllegalStateException(
 					"Unable to determine code source archive from " + root);
 		}
-		return (root.isDirectory() ? new ExplodedArchive(root)
-				: new JarFileArchive(root));
+		return root;
 	}
 
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Extracts an executable jar or war into layers that are ordered by how often they
+ * change, so that each layer can be copied separately (for example into its own Docker
+ * image layer):
+ * <pre class="code">
+ * dependencies/lib/               release dependencies
+ * dependencies/org/...            the launcher classes
+ * snapshot-dependencies/lib/      snapshot dependencies
+ * application/classes/            application classes and resources
+ * application/META-INF/MANIFEST.MF
+ * </pre>
+ * Once the layers have been copied to the same directory, the application is started
+ * from that directory using {@link PropertiesLauncher} as the main class. The manifest
+ * that is written sets {@code Loader-Path} so that the classes and the libraries are
+ * loaded from plain directories and jars, rather than from nested jars.
+ * <p>
+ * Extraction is triggered by launching the archive with {@code -Djarmode=extract}. The
+ * layers are written to the working directory unless {@code -Djarmode.destination} is
+ * set.
+ *
+ * @author agent
+ * @see ExecutableArchiveLauncher
+ */
+public class LayerExtractor {
+
+	/**
+	 * System property used to select the mode in which an executable archive is
+	 * launched.
+	 */
+	public static final String JAR_MODE = "jarmode";
+
+	/**
+	 * Value of the {@link #JAR_MODE} property that triggers extraction.
+	 */
+	public static final String EXTRACT_MODE = "extract";
+
+	/**
+	 * System property for the directory in which the layers are written.
+	 */
+	public static final String DESTINATION = "jarmode.destination";
+
+	/**
+	 * Layer containing the dependencies that are not snapshots, along with the launcher.
+	 */
+	public static final String DEPENDENCIES_LAYER = "dependencies";
+
+	/**
+	 * Layer containing the snapshot dependencies.
+	 */
+	public static final String SNAPSHOT_DEPENDENCIES_LAYER = "snapshot-dependencies";
+
+	/**
+	 * Layer containing the application classes, resources and manifest.
+	 */
+	public static final String APPLICATION_LAYER = "application";
+
+	private static final String[] LAYERS = { DEPENDENCIES_LAYER,
+			SNAPSHOT_DEPENDENCIES_LAYER, APPLICATION_LAYER };
+
+	private static final String LIB = "lib/";
+
+	private static final String CLASSES = "classes/";
+
+	private static final String LOADER_PACKAGE = "org/springframework/boot/loader/";
+
+	private static final String MANIFEST_NAME = "META-INF/MANIFEST.MF";
+
+	private static final String LOADER_PATH_ATTRIBUTE = "Loader-Path";
+
+	private static final String[] REMOVED_ATTRIBUTES = { "Spring-Boot-Classes",
+			"Spring-Boot-Lib", "Spring-Boot-Package-Index" };
+
+	private static final int BUFFER_SIZE = 32 * 1024;
+
+	private final File archive;
+
+	/**
+	 * Create a new {@link LayerExtractor} instance.
+	 * @param archive the executable archive to extract
+	 */
+	public LayerExtractor(File archive) {
+		this.archive = archive;
+	}
+
+	/**
+	 * Extract the archive into layers in the specified directory.
+	 * @param destination the destination directory
+	 * @throws IOException if the archive cannot be extracted
+	 */
+	public void extract(File destination) throws IOException {
+		try (JarFile jarFile = new JarFile(this.archive)) {
+			Manifest manifest = jarFile.getManifest();
+			Attributes attributes = (manifest == null ? null
+					: manifest.getMainAttributes());
+			if (attributes == null || attributes.getValue("Start-Class") == null) {
+				throw new IllegalStateException(
+						"'" + this.archive + "' is not an executable archive");
+			}
+			String classes = getValue(attributes, "Spring-Boot-Classes",
+					JarLauncher.BOOT_INF_CLASSES);
+			String lib = getValue(attributes, "Spring-Boot-Lib",
+					JarLauncher.BOOT_INF_LIB);
+			// Layers are always created so that they can be copied unconditionally
+			for (String layer : LAYERS) {
+				new File(destination, layer).mkdirs();
+			}
+			Set<String> libraries = new HashSet<>();
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				String name = entry.getName();
+				if (entry.isDirectory() || name.equals(MANIFEST_NAME)) {
+					continue;
+				}
+				File file = getDestination(destination, name, classes, lib);
+				if (file != null && (!isLibrary(name, lib)
+						|| libraries.add(file.getName()))) {
+					copy(jarFile.getInputStream(entry), file);
+				}
+			}
+			writeManifest(manifest, new File(destination,
+					APPLICATION_LAYER + "/" + MANIFEST_NAME));
+		}
+	}
+
+	private String getValue(Attributes attributes, String name, String defaultValue) {
+		String value = attributes.getValue(name);
+		return (value == null ? defaultValue : value);
+	}
+
+	private File getDestination(File destination, String name, String classes,
+			String lib) throws IOException {
+		String path;
+		if (name.startsWith(classes)) {
+			path = APPLICATION_LAYER + "/" + CLASSES + name.substring(classes.length());
+		}
+		else if (isLibrary(name, lib)) {
+			String fileName = name.substring(name.lastIndexOf('/') + 1);
+			path = (fileName.contains("SNAPSHOT") ? SNAPSHOT_DEPENDENCIES_LAYER
+					: DEPENDENCIES_LAYER) + "/" + LIB + fileName;
+		}
+		else if (name.startsWith("BOOT-INF/") || name.startsWith("WEB-INF/")) {
+			return null;
+		}
+		else if (name.startsWith(LOADER_PACKAGE)) {
+			path = DEPENDENCIES_LAYER + "/" + name;
+		}
+		else {
+			path = APPLICATION_LAYER + "/" + name;
+		}
+		File file = new File(destination, path);
+		if (!file.getCanonicalPath()
+				.startsWith(destination.getCanonicalPath() + File.separator)) {
+			throw new IllegalStateException(
+					"Entry '" + name + "' is outside of the destination");
+		}
+		return file;
+	}
+
+	private boolean isLibrary(String name, String lib) {
+		// Libraries only provided by a servlet container are needed when run embedded
+		String providedLib = lib.replaceAll("/$", "-provided/");
+		return name.startsWith(lib) || name.startsWith(providedLib);
+	}
+
+	private void writeManifest(Manifest manifest, File file) throws IOException {
+		Manifest layeredManifest = new Manifest(manifest);
+		Attributes attributes = layeredManifest.getMainAttributes();
+		for (String name : REMOVED_ATTRIBUTES) {
+			attributes.remove(new Attributes.Name(name));
+		}
+		String loaderPath = CLASSES + "," + LIB;
+		String existingLoaderPath = attributes.getValue(LOADER_PATH_ATTRIBUTE);
+		if (existingLoaderPath != null) {
+			loaderPath += "," + existingLoaderPath;
+		}
+		attributes.putValue(LOADER_PATH_ATTRIBUTE, loaderPath);
+		attributes.put(Attributes.Name.MAIN_CLASS, PropertiesLauncher.class.getName());
+		file.getParentFile().mkdirs();
+		try (OutputStream outputStream = new FileOutputStream(file)) {
+			layeredManifest.write(outputStream);
+		}
+	}
+
+	private void copy(InputStream inputStream, File file) throws IOException {
+		file.getParentFile().mkdirs();
+		try (InputStream input = inputStream;
+				OutputStream outputStream = new FileOutputStream(file)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int bytesRead;
+			while ((bytesRead = input.read(buffer)) != -1) {
+				outputStream.write(buffer, 0, bytesRead);
+			}
+		}
+	}
+
+}
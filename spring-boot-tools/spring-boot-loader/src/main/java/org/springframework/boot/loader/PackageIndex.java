@@ -0,0 +1,144 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the directories (packages) contained in each nested archive of an executable
+ * archive. The index is written when the archive is repackaged and allows the
+ * {@link LaunchedURLClassLoader} to only search the archives that can contain a given
+ * class or resource.
+ * <p>
+ * The index is a UTF-8 encoded text file made up of one block per nested archive. Blocks
+ * are separated by an empty line. The first line of a block is the name of the archive
+ * entry (for example {@code BOOT-INF/lib/spring-core.jar} or {@code BOOT-INF/classes/})
+ * and each following line is a directory of the archive, using '{@code /}' as a
+ * separator and without a trailing '{@code /}'. The root directory is not listed.
+ *
+ * @author agent
+ * @see LaunchedURLClassLoader
+ */
+public class PackageIndex {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final Map<String, List<String>> packages;
+
+	PackageIndex(Map<String, List<String>> packages) {
+		this.packages = packages;
+	}
+
+	/**
+	 * Return the names of the archives in the index, in the order they were written.
+	 * @return the archive names
+	 */
+	public Set<String> getArchiveNames() {
+		return Collections.unmodifiableSet(this.packages.keySet());
+	}
+
+	/**
+	 * Return the directories contained in the specified archive.
+	 * @param archiveName the archive name
+	 * @return the directories or an empty list if the archive is not indexed
+	 */
+	public List<String> getPackages(String archiveName) {
+		List<String> packages = this.packages.get(archiveName);
+		return (packages == null ? Collections.emptyList()
+				: Collections.unmodifiableList(packages));
+	}
+
+	/**
+	 * Return the name of the indexed archive that is located at the specified URL or
+	 * {@code null} if the URL does not refer to an indexed archive.
+	 * @param url the URL of a nested archive
+	 * @return the archive name or {@code null}
+	 */
+	public String getArchiveName(URL url) {
+		String path = url.toString();
+		if (path.endsWith("!/")) {
+			path = path.substring(0, path.length() - 2);
+		}
+		else if (path.endsWith("/")) {
+			path = path.substring(0, path.length() - 1);
+		}
+		for (String archiveName : this.packages.keySet()) {
+			String name = (archiveName.endsWith("/")
+					? archiveName.substring(0, archiveName.length() - 1) : archiveName);
+			if (path.endsWith(name) && path.length() > name.length()
+					&& path.charAt(path.length() - name.length() - 1) == '/') {
+				return archiveName;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Load the index from the specified URL.
+	 * @param url the URL of the index
+	 * @return the index or {@code null} if it does not exist
+	 * @throws IOException if the index cannot be read
+	 */
+	public static PackageIndex load(URL url) throws IOException {
+		try (InputStream inputStream = url.openStream()) {
+			return load(inputStream);
+		}
+		catch (FileNotFoundException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Load the index from the specified stream. The stream is not closed.
+	 * @param inputStream the stream to read
+	 * @return the index
+	 * @throws IOException if the index cannot be read
+	 */
+	public static PackageIndex load(InputStream inputStream) throws IOException {
+		Map<String, List<String>> packages = new LinkedHashMap<>();
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(inputStream, UTF_8));
+		List<String> current = null;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.isEmpty()) {
+				current = null;
+			}
+			else if (current == null) {
+				current = new ArrayList<>();
+				packages.put(line, current);
+			}
+			else {
+				current.add(line);
+			}
+		}
+		return new PackageIndex(packages);
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.util.Arrays;
+
+/**
+ * Launcher used for the training run of an application whose archive has been exploded
+ * onto the regular class path. The main method of the class named by the first argument
+ * is called with the remaining arguments and the JVM exits as soon as it returns. As
+ * {@code SpringApplication.run} only returns once the application is ready, the classes
+ * that have been loaded at that point are those needed to start the application.
+ *
+ * @author agent
+ */
+public class TrainingRunLauncher {
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 0) {
+			throw new IllegalArgumentException("No main class specified");
+		}
+		String[] mainArgs = Arrays.copyOfRange(args, 1, args.length);
+		Thread.currentThread()
+				.setContextClassLoader(TrainingRunLauncher.class.getClassLoader());
+		new MainMethodRunner(args[0], mainArgs).run();
+		System.exit(0);
+	}
+
+}
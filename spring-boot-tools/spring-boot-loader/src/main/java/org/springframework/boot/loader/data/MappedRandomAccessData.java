@@ -0,0 +1,184 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * {@link RandomAccessData} implementation backed by a memory mapped {@link File}. Reads
+ * are served directly from the mapped buffer without any system call or locking and
+ * {@link #getSubsection(long, long) subsections} share the same mapping so that nested
+ * entries never copy data. Since a single mapping is limited to {@link Integer#MAX_VALUE}
+ * bytes, files that are larger cannot be mapped.
+ * <p>
+ * The mapping remains valid until the instance is garbage collected, the
+ * {@link ResourceAccess} hint is therefore ignored.
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+public class MappedRandomAccessData implements RandomAccessData {
+
+	private final ByteBuffer buffer;
+
+	private final int offset;
+
+	private final int length;
+
+	/**
+	 * Create a new {@link MappedRandomAccessData} by mapping the specified file.
+	 * @param file the underlying file
+	 * @throws IOException if the file cannot be mapped
+	 * @throws IllegalArgumentException if the file is null, does not exist or is too
+	 * large to be mapped
+	 * @see #isMappable(File)
+	 */
+	public MappedRandomAccessData(File file) throws IOException {
+		this(map(file));
+	}
+
+	/**
+	 * Create a new {@link MappedRandomAccessData} backed by the specified buffer. The
+	 * {@link ByteBuffer#position() position} and {@link ByteBuffer#limit() limit} of the
+	 * buffer are not modified.
+	 * @param buffer the underlying buffer
+	 */
+	public MappedRandomAccessData(ByteBuffer buffer) {
+		this(buffer.asReadOnlyBuffer(), buffer.position(), buffer.remaining());
+	}
+
+	/**
+	 * Private constructor used to create a {@link #getSubsection(long, long) subsection}.
+	 * @param buffer the underlying buffer
+	 * @param offset the offset of the section
+	 * @param length the length of the section
+	 */
+	private MappedRandomAccessData(ByteBuffer buffer, int offset, int length) {
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	private static ByteBuffer map(File file) throws IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("File must not be null");
+		}
+		if (!file.exists()) {
+			throw new IllegalArgumentException("File must exist");
+		}
+		if (!isMappable(file)) {
+			throw new IllegalArgumentException(
+					"File must not be larger than " + Integer.MAX_VALUE + " bytes");
+		}
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+			FileChannel channel = randomAccessFile.getChannel();
+			return channel.map(MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the specified file is small enough to be mapped.
+	 * @param file the file to check
+	 * @return if the file can be mapped
+	 */
+	public static boolean isMappable(File file) {
+		return file.length() <= Integer.MAX_VALUE;
+	}
+
+	@Override
+	public InputStream getInputStream(ResourceAccess access) {
+		ByteBuffer buffer = this.buffer.duplicate();
+		buffer.limit(this.offset + this.length);
+		buffer.position(this.offset);
+		return new DataInputStream(buffer);
+	}
+
+	@Override
+	public RandomAccessData getSubsection(long offset, long length) {
+		if (offset < 0 || length < 0 || offset + length > this.length) {
+			throw new IndexOutOfBoundsException();
+		}
+		return new MappedRandomAccessData(this.buffer, this.offset + (int) offset,
+				(int) length);
+	}
+
+	@Override
+	public long getSize() {
+		return this.length;
+	}
+
+	/**
+	 * {@link InputStream} that reads from a private view of the mapped buffer.
+	 */
+	private static class DataInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		DataInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return (this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1);
+		}
+
+		@Override
+		public int read(byte[] b) throws IOException {
+			return read(b, 0, b == null ? 0 : b.length);
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (b == null) {
+				throw new NullPointerException("Bytes must not be null");
+			}
+			if (len == 0) {
+				return 0;
+			}
+			int cappedLen = Math.min(this.buffer.remaining(), len);
+			if (cappedLen <= 0) {
+				return -1;
+			}
+			this.buffer.get(b, off, cappedLen);
+			return cappedLen;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			if (n <= 0) {
+				return 0;
+			}
+			int cappedSkip = (int) Math.min(this.buffer.remaining(), n);
+			this.buffer.position(this.buffer.position() + cappedSkip);
+			return cappedSkip;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return this.buffer.remaining();
+		}
+
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.jar;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of {@link FileHeader FileHeaders} keyed by their index in the central
+ * directory. Reads never block, only writers synchronize to update the ring of slots.
+ * Entries are evicted using the CLOCK algorithm: a hit only marks an entry as
+ * referenced, and writers sweep the ring, giving referenced entries a second chance
+ * before evicting them.
+ *
+ * @author agent
+ * @see JarFileEntries
+ */
+class FileHeaderCache {
+
+	private final Map<Integer, Node> nodes = new ConcurrentHashMap<>();
+
+	private final Node[] ring;
+
+	private int hand;
+
+	FileHeaderCache(int capacity) {
+		this.ring = new Node[capacity];
+	}
+
+	/**
+	 * Return the cached header with the specified index.
+	 * @param index the index of the header
+	 * @return the cached header or {@code null}
+	 */
+	public FileHeader get(int index) {
+		Node node = this.nodes.get(index);
+		if (node == null) {
+			return null;
+		}
+		node.referenced = true;
+		return node.header;
+	}
+
+	/**
+	 * Cache the header with the specified index, replacing any existing header with the
+	 * same index.
+	 * @param index the index of the header
+	 * @param header the header to cache
+	 */
+	public synchronized void put(int index, FileHeader header) {
+		Node existing = this.nodes.get(index);
+		if (existing != null) {
+			replace(new Node(index, header, existing.slot));
+		}
+		else if (!isEvictionAllowed()) {
+			this.nodes.put(index, new Node(index, header, -1));
+		}
+		else {
+			replace(new Node(index, header, evict()));
+		}
+	}
+
+	private void replace(Node node) {
+		if (node.slot != -1) {
+			this.ring[node.slot] = node;
+		}
+		this.nodes.put(node.index, node);
+	}
+
+	private int evict() {
+		while (true) {
+			int slot = this.hand;
+			this.hand = (slot + 1) % this.ring.length;
+			Node node = this.ring[slot];
+			if (node == null) {
+				return slot;
+			}
+			if (node.referenced) {
+				node.referenced = false;
+			}
+			else {
+				this.nodes.remove(node.index);
+				return slot;
+			}
+		}
+	}
+
+	/**
+	 * Return if entries can be evicted from the cache. When eviction is not allowed the
+	 * cache grows without bounds.
+	 * @return if entries can be evicted
+	 */
+	protected boolean isEvictionAllowed() {
+		return true;
+	}
+
+	/**
+	 * Remove all entries from the cache.
+	 */
+	public synchronized void clear() {
+		this.nodes.clear();
+		Arrays.fill(this.ring, null);
+		this.hand = 0;
+	}
+
+	/**
+	 * A cached header and its CLOCK state.
+	 */
+	private static final class Node {
+
+		private final int index;
+
+		private final FileHeader header;
+
+		private final int slot;
+
+		private volatile boolean referenced;
+
+		Node(int index, FileHeader header, int slot) {
+			this.index = index;
+			this.header = header;
+			this.slot = slot;
+		}
+
+	}
+
+}
@@ -30,6 +30,7 @@ import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
 import java.util.zip.ZipEntry;
 
+import org.springframework.boot.loader.data.MappedRandomAccessData;
 import org.springframework.boot.loader.data.RandomAccessData;
 import org.springframework.boot.loader.data.RandomAccessData.ResourceAccess;
 import org.springframework.boot.loader.data.RandomAccessDataFile;
@@ -42,6 +43,8 @@ import org.springframework.boot.loader.data.RandomAccessDataFile;
  * on any directory entry.</li>
  * <li>A nested {@link JarFile} can be {@link #getNestedJarFile(ZipEntry) obtained} for
  * embedded JAR files (as long as their entry is not compressed).</li>
+ * <li>The root file can be memory mapped so that entries and nested JAR files are read
+ * without system calls (see {@link #JarFile(File, boolean)}).</li>
  * </ul>
  *
  * @author Phillip Webb
@@ -54,6 +57,8 @@ public class JarFile extends java.util.jar.JarFile {
 
 	private static final String HANDLERS_PACKAGE = "org.springframework.boot.loader";
 
+	private static final String MAPPED = "loader.mapped";
+
 	private static final AsciiBytes META_INF = new AsciiBytes("META-INF/");
 
 	private static final AsciiBytes SIGNATURE_FILE_EXTENSION = new AsciiBytes(".SF");
@@ -84,12 +89,36 @@ public class JarFile extends java.util.jar.JarFile {
 	}
 
 	/**
-	 * Create a new {@link JarFile} backed by the specified file.
+	 * Create a new {@link JarFile} backed by the specified file. When {@code mapped} is
+	 * {@code true} the file is memory mapped and all entries, including nested JAR
+	 * files, are read directly from the mapping. Files that are too large to be mapped
+	 * are read using a {@link RandomAccessDataFile}.
+	 * @param file the root jar file
+	 * @param mapped if the file should be memory mapped
+	 * @throws IOException if the file cannot be read
+	 */
+	public JarFile(File file, boolean mapped) throws IOException {
+		this(new RandomAccessDataFile(file), mapped);
+	}
+
+	/**
+	 * Create a new {@link JarFile} backed by the specified file. The file is memory
+	 * mapped if the {@code loader.mapped} system property is {@code true}.
 	 * @param file the root jar file
 	 * @throws IOException if the file cannot be read
 	 */
 	JarFile(RandomAccessDataFile file) throws IOException {
-		this(file, "", file, JarFileType.DIRECT);
+		this(file, Boolean.getBoolean(MAPPED));
+	}
+
+	/**
+	 * Create a new {@link JarFile} backed by the specified file.
+	 * @param file the root jar file
+	 * @param mapped if the file should be memory mapped
+	 * @throws IOException if the file cannot be read
+	 */
+	JarFile(RandomAccessDataFile file, boolean mapped) throws IOException {
+		this(file, "", getRootData(file, mapped), JarFileType.DIRECT);
 	}
 
 	/**
@@ -119,6 +148,14 @@ public class JarFile extends java.util.jar.JarFile {
 		this.type = type;
 	}
 
+	private static RandomAccessData getRootData(RandomAccessDataFile file,
+			boolean mapped) throws IOException {
+		if (mapped && MappedRandomAccessData.isMappable(file.getFile())) {
+			return new MappedRandomAccessData(file.getFile());
+		}
+		return file;
+	}
+
 	private CentralDirectoryVisitor centralDirectoryVisitor() {
 		return new CentralDirectoryVisitor() {
 
@@ -206,7 +243,7 @@ public class JarFile extends java.util.jar.JarFile {
 	}
 
 	@Override
-	public synchronized InputStream getInputStream(ZipEntry ze) throws IOException {
+	public InputStream getInputStream(ZipEntry ze) throws IOException {
 		return getInputStream(ze, ResourceAccess.PER_READ);
 	}
 
@@ -228,7 +265,7 @@ public class JarFile extends java.util.jar.JarFile {
 	 * @return a {@link JarFile} for the entry
 	 * @throws IOException if the nested jar file cannot be read
 	 */
-	public synchronized JarFile getNestedJarFile(final ZipEntry entry)
+	public JarFile getNestedJarFile(final ZipEntry entry)
 			throws IOException {
 		return getNestedJarFile((JarEntry) entry);
 	}
@@ -239,7 +276,7 @@ public class JarFile extends java.util.jar.JarFile {
 	 * @return a {@link JarFile} for the entry
 	 * @throws IOException if the nested jar file cannot be read
 	 */
-	public synchronized JarFile getNestedJarFile(JarEntry entry) throws IOException {
+	public JarFile getNestedJarFile(JarEntry entry) throws IOException {
 		try {
 			return createJarFileFromEntry(entry);
 		}
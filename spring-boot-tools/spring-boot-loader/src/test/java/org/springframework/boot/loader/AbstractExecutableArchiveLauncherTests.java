@@ -29,6 +29,7 @@ import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
 import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 
@@ -49,9 +50,23 @@ public class AbstractExecutableArchiveLauncherTests {
 	public TemporaryFolder temp = new TemporaryFolder();
 
 	protected File createJarArchive(String name, String entryPrefix) throws IOException {
+		return createJarArchive(name, entryPrefix, false);
+	}
+
+	protected File createJarArchive(String name, String entryPrefix, boolean indexed)
+			throws IOException {
 		File archive = this.temp.newFile(name);
 		JarOutputStream jarOutputStream = new JarOutputStream(
 				new FileOutputStream(archive));
+		if (indexed) {
+			Manifest manifest = new Manifest();
+			manifest.getMainAttributes().putValue("Manifest-Version", "1.0");
+			manifest.getMainAttributes().putValue("Spring-Boot-Package-Index",
+					entryPrefix + "/packages.idx");
+			jarOutputStream.putNextEntry(new JarEntry("META-INF/"));
+			jarOutputStream.putNextEntry(new JarEntry("META-INF/MANIFEST.MF"));
+			manifest.write(jarOutputStream);
+		}
 		jarOutputStream.putNextEntry(new JarEntry(entryPrefix + "/"));
 		jarOutputStream.putNextEntry(new JarEntry(entryPrefix + "/classes/"));
 		jarOutputStream.putNextEntry(new JarEntry(entryPrefix + "/lib/"));
@@ -65,6 +80,11 @@ public class AbstractExecutableArchiveLauncherTests {
 		libFoo.setCrc(crc32.getValue());
 		jarOutputStream.putNextEntry(libFoo);
 		jarOutputStream.write(fooJarStream.toByteArray());
+		if (indexed) {
+			jarOutputStream.putNextEntry(new JarEntry(entryPrefix + "/packages.idx"));
+			jarOutputStream.write((entryPrefix + "/classes/\n\n" + entryPrefix
+					+ "/lib/foo.jar\n\n").getBytes("UTF-8"));
+		}
 		jarOutputStream.close();
 		return archive;
 	}
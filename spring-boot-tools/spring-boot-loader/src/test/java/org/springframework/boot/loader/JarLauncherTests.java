@@ -61,4 +61,36 @@ public class JarLauncherTests extends AbstractExecutableArchiveLauncherTests {
 				new URL("jar:" + jarRoot.toURI().toURL() + "!/BOOT-INF/lib/foo.jar!/"));
 	}
 
+	@Test
+	public void archivedJarWithPackageIndexUsesIndexedClassLoader() throws Exception {
+		File jarRoot = createJarArchive("archive.jar", "BOOT-INF", true);
+		JarLauncher launcher = new JarLauncher(new JarFileArchive(jarRoot));
+		PackageIndex packageIndex = launcher.getPackageIndex();
+		assertThat(packageIndex.getArchiveNames()).containsExactly("BOOT-INF/classes/",
+				"BOOT-INF/lib/foo.jar");
+		List<Archive> archives = launcher.getClassPathArchives();
+		for (Archive archive : archives) {
+			assertThat(packageIndex.getArchiveName(archive.getUrl())).isNotNull();
+		}
+		assertThat(launcher.createClassLoader(archives))
+				.isInstanceOf(LaunchedURLClassLoader.class);
+	}
+
+	@Test
+	public void explodedJarWithPackageIndex() throws Exception {
+		File explodedRoot = explode(createJarArchive("archive.jar", "BOOT-INF", true));
+		JarLauncher launcher = new JarLauncher(new ExplodedArchive(explodedRoot, true));
+		PackageIndex packageIndex = launcher.getPackageIndex();
+		for (Archive archive : launcher.getClassPathArchives()) {
+			assertThat(packageIndex.getArchiveName(archive.getUrl())).isNotNull();
+		}
+	}
+
+	@Test
+	public void archivedJarWithoutPackageIndex() throws Exception {
+		File jarRoot = createJarArchive("archive.jar", "BOOT-INF");
+		JarLauncher launcher = new JarLauncher(new JarFileArchive(jarRoot));
+		assertThat(launcher.getPackageIndex()).isNull();
+	}
+
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.loader.jar.JarFile;
+import org.springframework.util.StopWatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Speed tests for {@link LaunchedURLClassLoader} with a fat jar containing a large
+ * number of nested jars, with and without a {@link PackageIndex}.
+ *
+ * @author agent
+ */
+public class LaunchedURLClassLoaderSpeedTests {
+
+	private static final int JARS = 180;
+
+	private static final int PACKAGES = 5;
+
+	private static final int CLASSES = 20;
+
+	private static final int number = Boolean.getBoolean("performance.test") ? 5 : 1;
+
+	private static StopWatch watch = new StopWatch("launchedURLClassLoader");
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private URL[] urls;
+
+	private PackageIndex packageIndex;
+
+	@AfterClass
+	public static void washup() {
+		System.err.println(watch.prettyPrint());
+	}
+
+	@Before
+	public void setup() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		StringBuilder index = new StringBuilder();
+		try (JarOutputStream jarOutputStream = new JarOutputStream(
+				new FileOutputStream(file))) {
+			for (int jar = 0; jar < JARS; jar++) {
+				String name = "BOOT-INF/lib/lib" + jar + ".jar";
+				index.append(name).append("\n");
+				index.append("com\ncom/example\ncom/example/lib" + jar + "\n");
+				for (int pkg = 0; pkg < PACKAGES; pkg++) {
+					index.append("com/example/lib" + jar + "/p" + pkg + "\n");
+				}
+				index.append("\n");
+				writeNestedJar(jarOutputStream, name, jar);
+			}
+		}
+		JarFile jarFile = new JarFile(file);
+		this.urls = new URL[JARS];
+		for (int jar = 0; jar < JARS; jar++) {
+			this.urls[jar] = jarFile
+					.getNestedJarFile(jarFile.getEntry("BOOT-INF/lib/lib" + jar + ".jar"))
+					.getUrl();
+		}
+		this.packageIndex = PackageIndex
+				.load(new ByteArrayInputStream(index.toString().getBytes("UTF-8")));
+	}
+
+	@Test
+	public void findClassesWithoutIndex() throws Exception {
+		findClasses("findClassesWithoutIndex", null);
+	}
+
+	@Test
+	public void findClassesWithIndex() throws Exception {
+		findClasses("findClassesWithIndex", this.packageIndex);
+	}
+
+	@Test
+	public void missingClassesWithoutIndex() throws Exception {
+		missingClasses("missingClassesWithoutIndex", null);
+	}
+
+	@Test
+	public void missingClassesWithIndex() throws Exception {
+		missingClasses("missingClassesWithIndex", this.packageIndex);
+	}
+
+	private void findClasses(String taskName, PackageIndex packageIndex)
+			throws Exception {
+		boolean found = true;
+		int lookups = 0;
+		watch.start(taskName);
+		try {
+			for (int i = 0; i < number; i++) {
+				LaunchedURLClassLoader loader = new LaunchedURLClassLoader(this.urls,
+						null, packageIndex);
+				for (int jar = 0; jar < JARS; jar++) {
+					for (int pkg = 0; pkg < PACKAGES; pkg++) {
+						for (int type = 0; type < CLASSES; type++) {
+							found &= loader.getResource(
+									getClassEntryName(jar, pkg, type)) != null;
+							lookups++;
+						}
+					}
+				}
+			}
+		}
+		finally {
+			watch.stop();
+		}
+		assertThat(found).isTrue();
+		report(taskName, lookups);
+	}
+
+	private void missingClasses(String taskName, PackageIndex packageIndex)
+			throws Exception {
+		int missing = 0;
+		int lookups = 0;
+		watch.start(taskName);
+		try {
+			for (int i = 0; i < number; i++) {
+				LaunchedURLClassLoader loader = new LaunchedURLClassLoader(this.urls,
+						null, packageIndex);
+				for (int type = 0; type < 1000; type++) {
+					// The kind of probes made by OnClassCondition
+					try {
+						loader.loadClass("org.example.optional" + (type % 50) + ".Type"
+								+ type);
+					}
+					catch (ClassNotFoundException ex) {
+						missing++;
+					}
+					lookups++;
+				}
+			}
+		}
+		finally {
+			watch.stop();
+		}
+		assertThat(missing).isEqualTo(lookups);
+		report(taskName, lookups);
+	}
+
+	private void report(String taskName, int lookups) {
+		double rate = (double) lookups / watch.getLastTaskTimeMillis() * 1000;
+		System.err.println(taskName + " rate=" + rate);
+	}
+
+	private String getClassEntryName(int jar, int pkg, int type) {
+		return "com/example/lib" + jar + "/p" + pkg + "/Type" + type + ".class";
+	}
+
+	private void writeNestedJar(JarOutputStream jarOutputStream, String name, int jar)
+			throws Exception {
+		ByteArrayOutputStream nested = new ByteArrayOutputStream();
+		try (JarOutputStream nestedJarOutputStream = new JarOutputStream(nested)) {
+			for (int pkg = 0; pkg < PACKAGES; pkg++) {
+				for (int type = 0; type < CLASSES; type++) {
+					nestedJarOutputStream
+							.putNextEntry(new JarEntry(getClassEntryName(jar, pkg, type)));
+					nestedJarOutputStream.write(new byte[] { (byte) type });
+				}
+			}
+		}
+		byte[] bytes = nested.toByteArray();
+		JarEntry entry = new JarEntry(name);
+		entry.setMethod(ZipEntry.STORED);
+		entry.setSize(bytes.length);
+		CRC32 crc32 = new CRC32();
+		crc32.update(bytes);
+		entry.setCrc(crc32.getValue());
+		jarOutputStream.putNextEntry(entry);
+		jarOutputStream.write(bytes);
+	}
+
+}
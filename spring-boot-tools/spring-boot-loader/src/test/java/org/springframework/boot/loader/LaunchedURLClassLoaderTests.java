@@ -16,14 +16,25 @@
 
 package org.springframework.boot.loader;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
 import java.net.URL;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
 import org.springframework.boot.loader.jar.JarFile;
+import org.springframework.util.StreamUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -37,9 +48,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 @SuppressWarnings("resource")
 public class LaunchedURLClassLoaderTests {
 
+	private static final String SAMPLE_ENTRY = Sample.class.getName().replace('.', '/')
+			+ ".class";
+
 	@Rule
 	public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
 	@Test
 	public void resolveResourceFromArchive() throws Exception {
 		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(
@@ -105,4 +122,122 @@ public class LaunchedURLClassLoaderTests {
 		}
 	}
 
+	@Test
+	public void loadClassUsingPackageIndex() throws Exception {
+		URL[] urls = createNestedJarUrls();
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(urls, null,
+				createPackageIndex("a.jar\nx\nx/y\n\nb.jar\n"
+						+ getPackages(SAMPLE_ENTRY) + "\n"));
+		Class<?> type = loader.loadClass(Sample.class.getName());
+		assertThat(type.getClassLoader()).isSameAs(loader);
+		assertThat(type.getPackage().getName()).isEqualTo("org.springframework.boot.loader");
+		assertThat(type.getProtectionDomain().getCodeSource().getLocation())
+				.isEqualTo(urls[1]);
+		assertThat(loader.getResource("x/y/z.dat")).isNotNull();
+		assertThat(loader.getResources("x/y/z.dat").hasMoreElements()).isTrue();
+		assertThat(loader.getResource("x/y/missing.dat")).isNull();
+		assertThat(loader.getResource("missing/z.dat")).isNull();
+		assertThat(loader.getResources("missing/z.dat").hasMoreElements()).isFalse();
+		this.thrown.expect(ClassNotFoundException.class);
+		loader.loadClass("missing.Type");
+	}
+
+	@Test
+	public void loadClassOnlySearchesArchivesInPackageIndex() throws Exception {
+		URL[] urls = createNestedJarUrls();
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(urls, null,
+				createPackageIndex("a.jar\n" + getPackages(SAMPLE_ENTRY) + "\nx\nx/y\n\n"
+						+ "b.jar\n\n"));
+		assertThat(loader.getResource(SAMPLE_ENTRY)).isNull();
+		this.thrown.expect(ClassNotFoundException.class);
+		loader.loadClass(Sample.class.getName());
+	}
+
+	@Test
+	public void loadClassSearchesArchivesNotInPackageIndex() throws Exception {
+		URL[] urls = createNestedJarUrls();
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(urls, null,
+				createPackageIndex("a.jar\nx\nx/y\n\n"));
+		assertThat(loader.loadClass(Sample.class.getName()).getClassLoader())
+				.isSameAs(loader);
+		assertThat(loader.getResource("x/y/z.dat")).isNotNull();
+	}
+
+	@Test
+	public void resolveResourceWithSpecialCharactersUsingPackageIndex()
+			throws Exception {
+		String name = "x/a b#c%d?e\u00e9.dat";
+		File file = this.temporaryFolder.newFile();
+		try (JarOutputStream jarOutputStream = new JarOutputStream(
+				new FileOutputStream(file))) {
+			writeNestedJar(jarOutputStream, "a.jar", name, new byte[] { 1 });
+		}
+		JarFile jarFile = new JarFile(file);
+		URL[] urls = { jarFile.getNestedJarFile(jarFile.getEntry("a.jar")).getUrl() };
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(urls, null,
+				createPackageIndex("a.jar\nx\n\n"));
+		URL resource = loader.getResource(name);
+		assertThat(resource).isNotNull();
+		try (InputStream inputStream = resource.openStream()) {
+			assertThat(StreamUtils.copyToByteArray(inputStream))
+					.isEqualTo(new byte[] { 1 });
+		}
+		assertThat(Collections.list(loader.getResources(name))).hasSize(1);
+	}
+
+	private URL[] createNestedJarUrls() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		try (InputStream sample = getClass()
+				.getResourceAsStream("/" + SAMPLE_ENTRY)) {
+			byte[] sampleBytes = StreamUtils.copyToByteArray(sample);
+			try (JarOutputStream jarOutputStream = new JarOutputStream(
+					new FileOutputStream(file))) {
+				writeNestedJar(jarOutputStream, "a.jar", "x/y/z.dat", new byte[] { 1 });
+				writeNestedJar(jarOutputStream, "b.jar", SAMPLE_ENTRY, sampleBytes);
+			}
+		}
+		JarFile jarFile = new JarFile(file);
+		return new URL[] { jarFile.getNestedJarFile(jarFile.getEntry("a.jar")).getUrl(),
+				jarFile.getNestedJarFile(jarFile.getEntry("b.jar")).getUrl() };
+	}
+
+	private void writeNestedJar(JarOutputStream jarOutputStream, String name,
+			String entryName, byte[] content) throws Exception {
+		ByteArrayOutputStream nested = new ByteArrayOutputStream();
+		try (JarOutputStream nestedJarOutputStream = new JarOutputStream(nested)) {
+			nestedJarOutputStream.putNextEntry(new JarEntry(entryName));
+			nestedJarOutputStream.write(content);
+		}
+		byte[] bytes = nested.toByteArray();
+		JarEntry entry = new JarEntry(name);
+		entry.setMethod(ZipEntry.STORED);
+		entry.setSize(bytes.length);
+		CRC32 crc32 = new CRC32();
+		crc32.update(bytes);
+		entry.setCrc(crc32.getValue());
+		jarOutputStream.putNextEntry(entry);
+		jarOutputStream.write(bytes);
+	}
+
+	private String getPackages(String entryName) {
+		StringBuilder packages = new StringBuilder();
+		int slash = entryName.indexOf('/');
+		while (slash != -1) {
+			packages.append(entryName, 0, slash).append("\n");
+			slash = entryName.indexOf('/', slash + 1);
+		}
+		return packages.toString();
+	}
+
+	private PackageIndex createPackageIndex(String content) throws Exception {
+		return PackageIndex.load(new ByteArrayInputStream(content.getBytes("UTF-8")));
+	}
+
+	/**
+	 * Sample class loaded from a nested jar.
+	 */
+	public static class Sample {
+
+	}
+
 }
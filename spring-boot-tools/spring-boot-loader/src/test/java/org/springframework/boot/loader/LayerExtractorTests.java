@@ -0,0 +1,183 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.util.FileSystemUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LayerExtractor}.
+ *
+ * @author agent
+ */
+public class LayerExtractorTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private File destination;
+
+	@Before
+	public void setup() throws IOException {
+		this.destination = this.temporaryFolder.newFolder("layers");
+	}
+
+	@After
+	public void close() {
+		System.clearProperty("loader.home");
+		System.clearProperty("loader.config.name");
+	}
+
+	@Test
+	public void extractJar() throws Exception {
+		new LayerExtractor(createArchive("BOOT-INF/")).extract(this.destination);
+		assertThat(new File(this.destination, "dependencies/lib/a-1.0.jar")).isFile();
+		assertThat(new File(this.destination,
+				"dependencies/org/springframework/boot/loader/Launcher.class")).isFile();
+		assertThat(new File(this.destination,
+				"snapshot-dependencies/lib/b-1.0-SNAPSHOT.jar")).isFile();
+		assertThat(new File(this.destination,
+				"application/classes/com/example/App.class")).hasContent("app");
+		assertThat(new File(this.destination, "application/META-INF/maven/pom.xml"))
+				.isFile();
+		assertThat(new File(this.destination, "application/BOOT-INF")).doesNotExist();
+		Attributes attributes = getManifest().getMainAttributes();
+		assertThat(attributes.getValue("Main-Class"))
+				.isEqualTo(PropertiesLauncher.class.getName());
+		assertThat(attributes.getValue("Start-Class")).isEqualTo("com.example.App");
+		assertThat(attributes.getValue("Loader-Path")).isEqualTo("classes/,lib/");
+		assertThat(attributes.getValue("Spring-Boot-Lib")).isNull();
+		assertThat(attributes.getValue("Spring-Boot-Classes")).isNull();
+	}
+
+	@Test
+	public void extractWarIncludesProvidedLibraries() throws Exception {
+		new LayerExtractor(createArchive("WEB-INF/")).extract(this.destination);
+		assertThat(new File(this.destination,
+				"application/classes/com/example/App.class")).isFile();
+		assertThat(new File(this.destination, "dependencies/lib/a-1.0.jar")).isFile();
+		assertThat(new File(this.destination, "dependencies/lib/c-1.0.jar")).isFile();
+		assertThat(new File(this.destination, "snapshot-dependencies")).isDirectory();
+	}
+
+	@Test
+	public void extractNonExecutableArchive() throws Exception {
+		File archive = this.temporaryFolder.newFile("plain.jar");
+		new JarOutputStream(new FileOutputStream(archive), new Manifest()).close();
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("is not an executable archive");
+		new LayerExtractor(archive).extract(this.destination);
+	}
+
+	@Test
+	public void propertiesLauncherRunsFromLayers() throws Exception {
+		new LayerExtractor(createArchive("BOOT-INF/")).extract(this.destination);
+		File home = this.temporaryFolder.newFolder("home");
+		for (String layer : new String[] { "dependencies", "snapshot-dependencies",
+				"application" }) {
+			FileSystemUtils.copyRecursively(new File(this.destination, layer), home);
+		}
+		System.setProperty("loader.home", home.getAbsolutePath());
+		System.setProperty("loader.config.name", "layers");
+		PropertiesLauncher launcher = new PropertiesLauncher();
+		assertThat(launcher.getMainClass()).isEqualTo("com.example.App");
+		List<URL> urls = new ArrayList<>();
+		for (Archive archive : launcher.getClassPathArchives()) {
+			urls.add(archive.getUrl());
+		}
+		assertThat(urls).contains(new File(home, "classes").toURI().toURL(),
+				getJarUrl(new File(home, "lib/a-1.0.jar")),
+				getJarUrl(new File(home, "lib/b-1.0-SNAPSHOT.jar")));
+	}
+
+	private URL getJarUrl(File file) throws IOException {
+		return new URL("jar:" + file.toURI().toURL() + "!/");
+	}
+
+	private Manifest getManifest() throws IOException {
+		try (InputStream inputStream = new FileInputStream(
+				new File(this.destination, "application/META-INF/MANIFEST.MF"))) {
+			return new Manifest(inputStream);
+		}
+	}
+
+	private File createArchive(String prefix) throws IOException {
+		File archive = this.temporaryFolder.newFile();
+		Manifest manifest = new Manifest();
+		Attributes attributes = manifest.getMainAttributes();
+		attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		attributes.putValue("Main-Class", JarLauncher.class.getName());
+		attributes.putValue("Start-Class", "com.example.App");
+		attributes.putValue("Spring-Boot-Classes", prefix + "classes/");
+		attributes.putValue("Spring-Boot-Lib", prefix + "lib/");
+		try (JarOutputStream output = new JarOutputStream(
+				new FileOutputStream(archive), manifest)) {
+			writeEntry(output, "org/springframework/boot/loader/Launcher.class", null);
+			writeEntry(output, "META-INF/maven/pom.xml", null);
+			writeEntry(output, prefix + "classes/com/example/App.class",
+					"app".getBytes());
+			writeEntry(output, prefix + "lib/a-1.0.jar", createJar());
+			if (prefix.equals("BOOT-INF/")) {
+				writeEntry(output, prefix + "lib/b-1.0-SNAPSHOT.jar", createJar());
+			}
+			writeEntry(output, prefix + "lib-provided/c-1.0.jar", createJar());
+		}
+		return archive;
+	}
+
+	private byte[] createJar() throws IOException {
+		ByteArrayOutputStream jar = new ByteArrayOutputStream();
+		new JarOutputStream(jar).close();
+		return jar.toByteArray();
+	}
+
+	private void writeEntry(JarOutputStream output, String name, byte[] content)
+			throws IOException {
+		output.putNextEntry(new JarEntry(name));
+		if (content != null) {
+			output.write(content);
+		}
+		output.closeEntry();
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URL;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PackageIndex}.
+ *
+ * @author agent
+ */
+public class PackageIndexTests {
+
+	private static final String INDEX = "BOOT-INF/classes/\ncom\ncom/example\n\n"
+			+ "BOOT-INF/lib/a.jar\norg\norg/a\n\nBOOT-INF/lib/b.jar\n\n";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private PackageIndex index;
+
+	@Before
+	public void setup() throws Exception {
+		this.index = PackageIndex.load(new ByteArrayInputStream(INDEX.getBytes("UTF-8")));
+	}
+
+	@Test
+	public void getArchiveNames() throws Exception {
+		assertThat(this.index.getArchiveNames()).containsExactly("BOOT-INF/classes/",
+				"BOOT-INF/lib/a.jar", "BOOT-INF/lib/b.jar");
+	}
+
+	@Test
+	public void getPackages() throws Exception {
+		assertThat(this.index.getPackages("BOOT-INF/classes/")).containsExactly("com",
+				"com/example");
+		assertThat(this.index.getPackages("BOOT-INF/lib/a.jar")).containsExactly("org",
+				"org/a");
+		assertThat(this.index.getPackages("BOOT-INF/lib/b.jar")).isEmpty();
+		assertThat(this.index.getPackages("BOOT-INF/lib/c.jar")).isEmpty();
+	}
+
+	@Test
+	public void getArchiveNameForNestedArchives() throws Exception {
+		assertThat(this.index
+				.getArchiveName(new URL("jar:file:/app.jar!/BOOT-INF/classes!/")))
+						.isEqualTo("BOOT-INF/classes/");
+		assertThat(this.index
+				.getArchiveName(new URL("jar:file:/app.jar!/BOOT-INF/lib/a.jar!/")))
+						.isEqualTo("BOOT-INF/lib/a.jar");
+	}
+
+	@Test
+	public void getArchiveNameForExplodedArchives() throws Exception {
+		assertThat(this.index.getArchiveName(new URL("file:/app/BOOT-INF/classes/")))
+				.isEqualTo("BOOT-INF/classes/");
+		assertThat(this.index
+				.getArchiveName(new URL("jar:file:/app/BOOT-INF/lib/a.jar!/")))
+						.isEqualTo("BOOT-INF/lib/a.jar");
+	}
+
+	@Test
+	public void getArchiveNameForUnknownArchive() throws Exception {
+		assertThat(this.index
+				.getArchiveName(new URL("jar:file:/app.jar!/BOOT-INF/lib/c.jar!/")))
+						.isNull();
+		assertThat(this.index
+				.getArchiveName(new URL("jar:file:/app.jar!/BOOT-INF/lib/aa.jar!/")))
+						.isNull();
+		assertThat(this.index.getArchiveName(new URL("file:/tmp/a.jar"))).isNull();
+	}
+
+	@Test
+	public void loadMissingIndex() throws Exception {
+		File missing = new File(this.temporaryFolder.getRoot(), "missing.idx");
+		assertThat(PackageIndex.load(missing.toURI().toURL())).isNull();
+	}
+
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.data;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.loader.data.RandomAccessData.ResourceAccess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MappedRandomAccessData}.
+ *
+ * @author agent
+ */
+public class MappedRandomAccessDataTests {
+
+	private static final byte[] BYTES;
+
+	static {
+		BYTES = new byte[256];
+		for (int i = 0; i < BYTES.length; i++) {
+			BYTES[i] = (byte) i;
+		}
+	}
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private MappedRandomAccessData data;
+
+	private InputStream inputStream;
+
+	@Before
+	public void setup() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		FileOutputStream outputStream = new FileOutputStream(file);
+		outputStream.write(BYTES);
+		outputStream.close();
+		this.data = new MappedRandomAccessData(file);
+		this.inputStream = this.data.getInputStream(ResourceAccess.PER_READ);
+	}
+
+	@After
+	public void cleanup() throws Exception {
+		this.inputStream.close();
+	}
+
+	@Test
+	public void fileNotNull() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("File must not be null");
+		new MappedRandomAccessData((File) null);
+	}
+
+	@Test
+	public void fileExists() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("File must exist");
+		new MappedRandomAccessData(new File("/does/not/exist"));
+	}
+
+	@Test
+	public void getSize() throws Exception {
+		assertThat(this.data.getSize()).isEqualTo(256L);
+	}
+
+	@Test
+	public void inputStreamRead() throws Exception {
+		for (int i = 0; i <= 255; i++) {
+			assertThat(this.inputStream.read()).isEqualTo(i);
+		}
+		assertThat(this.inputStream.read()).isEqualTo(-1);
+	}
+
+	@Test
+	public void inputStreamReadNullBytes() throws Exception {
+		this.thrown.expect(NullPointerException.class);
+		this.thrown.expectMessage("Bytes must not be null");
+		this.inputStream.read(null);
+	}
+
+	@Test
+	public void inputStreamReadBytes() throws Exception {
+		byte[] b = new byte[256];
+		int amountRead = this.inputStream.read(b);
+		assertThat(b).isEqualTo(BYTES);
+		assertThat(amountRead).isEqualTo(256);
+	}
+
+	@Test
+	public void inputStreamReadOffsetBytes() throws Exception {
+		byte[] b = new byte[7];
+		this.inputStream.skip(1);
+		int amountRead = this.inputStream.read(b, 2, 3);
+		assertThat(b).isEqualTo(new byte[] { 0, 0, 1, 2, 3, 0, 0 });
+		assertThat(amountRead).isEqualTo(3);
+	}
+
+	@Test
+	public void inputStreamReadMoreBytesThanAvailable() throws Exception {
+		byte[] b = new byte[257];
+		int amountRead = this.inputStream.read(b);
+		assertThat(b).startsWith(BYTES);
+		assertThat(amountRead).isEqualTo(256);
+		assertThat(this.inputStream.read(b)).isEqualTo(-1);
+	}
+
+	@Test
+	public void inputStreamReadZeroLength() throws Exception {
+		byte[] b = new byte[] { 0x0F };
+		int amountRead = this.inputStream.read(b, 0, 0);
+		assertThat(b).isEqualTo(new byte[] { 0x0F });
+		assertThat(amountRead).isEqualTo(0);
+		assertThat(this.inputStream.read()).isEqualTo(0);
+	}
+
+	@Test
+	public void inputStreamSkipMoreThanAvailable() throws Exception {
+		long amountSkipped = this.inputStream.skip(257);
+		assertThat(this.inputStream.read()).isEqualTo(-1);
+		assertThat(amountSkipped).isEqualTo(256L);
+	}
+
+	@Test
+	public void inputStreamSkipNegative() throws Exception {
+		assertThat(this.inputStream.skip(-1)).isEqualTo(0L);
+	}
+
+	@Test
+	public void subsectionNegativeOffset() throws Exception {
+		this.thrown.expect(IndexOutOfBoundsException.class);
+		this.data.getSubsection(-1, 1);
+	}
+
+	@Test
+	public void subsectionTooBigWithOffset() throws Exception {
+		this.data.getSubsection(1, 255);
+		this.thrown.expect(IndexOutOfBoundsException.class);
+		this.data.getSubsection(1, 256);
+	}
+
+	@Test
+	public void nestedSubsection() throws Exception {
+		RandomAccessData subsection = this.data.getSubsection(10, 20).getSubsection(5,
+				3);
+		assertThat(subsection.getSize()).isEqualTo(3L);
+		InputStream inputStream = subsection.getInputStream(ResourceAccess.ONCE);
+		byte[] b = new byte[4];
+		assertThat(inputStream.read(b)).isEqualTo(3);
+		assertThat(b).isEqualTo(new byte[] { 15, 16, 17, 0 });
+		assertThat(inputStream.available()).isEqualTo(0);
+	}
+
+	@Test
+	public void inputStreamSkipPastSubsection() throws Exception {
+		RandomAccessData subsection = this.data.getSubsection(1, 2);
+		InputStream inputStream = subsection.getInputStream(ResourceAccess.PER_READ);
+		assertThat(inputStream.skip(3)).isEqualTo(2L);
+		assertThat(inputStream.read()).isEqualTo(-1);
+	}
+
+	@Test
+	public void createFromBuffer() throws Exception {
+		ByteBuffer buffer = ByteBuffer.wrap(BYTES);
+		buffer.position(2);
+		MappedRandomAccessData data = new MappedRandomAccessData(buffer);
+		assertThat(data.getSize()).isEqualTo(254L);
+		assertThat(data.getInputStream(ResourceAccess.ONCE).read()).isEqualTo(2);
+		assertThat(buffer.position()).isEqualTo(2);
+	}
+
+	@Test
+	public void concurrentReads() throws Exception {
+		ExecutorService executorService = Executors.newFixedThreadPool(20);
+		List<Future<Boolean>> results = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			results.add(executorService.submit(() -> {
+				InputStream subsectionInputStream = MappedRandomAccessDataTests.this.data
+						.getSubsection(0, 256).getInputStream(ResourceAccess.PER_READ);
+				byte[] b = new byte[256];
+				subsectionInputStream.read(b);
+				return Arrays.equals(b, BYTES);
+			}));
+		}
+		for (Future<Boolean> future : results) {
+			assertThat(future.get()).isTrue();
+		}
+		executorService.shutdown();
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.jar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link FileHeaderCache}.
+ *
+ * @author agent
+ */
+public class FileHeaderCacheTests {
+
+	private final FileHeaderCache cache = new FileHeaderCache(3);
+
+	@Test
+	public void getMissing() throws Exception {
+		assertThat(this.cache.get(0)).isNull();
+	}
+
+	@Test
+	public void putAndGet() throws Exception {
+		FileHeader header = mock(FileHeader.class);
+		this.cache.put(0, header);
+		assertThat(this.cache.get(0)).isSameAs(header);
+	}
+
+	@Test
+	public void putReplacesExisting() throws Exception {
+		FileHeader header = mock(FileHeader.class);
+		this.cache.put(0, mock(FileHeader.class));
+		this.cache.put(0, header);
+		this.cache.put(1, mock(FileHeader.class));
+		this.cache.put(2, mock(FileHeader.class));
+		assertThat(this.cache.get(0)).isSameAs(header);
+		assertThat(this.cache.get(1)).isNotNull();
+		assertThat(this.cache.get(2)).isNotNull();
+	}
+
+	@Test
+	public void evictsUnreferencedEntry() throws Exception {
+		this.cache.put(0, mock(FileHeader.class));
+		this.cache.put(1, mock(FileHeader.class));
+		this.cache.put(2, mock(FileHeader.class));
+		this.cache.put(3, mock(FileHeader.class));
+		assertThat(this.cache.get(0)).isNull();
+		assertThat(this.cache.get(1)).isNotNull();
+		assertThat(this.cache.get(2)).isNotNull();
+		assertThat(this.cache.get(3)).isNotNull();
+	}
+
+	@Test
+	public void referencedEntryGetsSecondChance() throws Exception {
+		this.cache.put(0, mock(FileHeader.class));
+		this.cache.put(1, mock(FileHeader.class));
+		this.cache.put(2, mock(FileHeader.class));
+		this.cache.get(0);
+		this.cache.put(3, mock(FileHeader.class));
+		assertThat(this.cache.get(0)).isNotNull();
+		assertThat(this.cache.get(1)).isNull();
+	}
+
+	@Test
+	public void noEvictionWhenNotAllowed() throws Exception {
+		FileHeaderCache cache = new FileHeaderCache(3) {
+
+			@Override
+			protected boolean isEvictionAllowed() {
+				return false;
+			}
+
+		};
+		for (int i = 0; i < 10; i++) {
+			cache.put(i, mock(FileHeader.class));
+		}
+		for (int i = 0; i < 10; i++) {
+			assertThat(cache.get(i)).isNotNull();
+		}
+	}
+
+	@Test
+	public void clear() throws Exception {
+		this.cache.put(0, mock(FileHeader.class));
+		this.cache.clear();
+		assertThat(this.cache.get(0)).isNull();
+		this.cache.put(1, mock(FileHeader.class));
+		assertThat(this.cache.get(1)).isNotNull();
+	}
+
+	@Test
+	public void concurrentAccess() throws Exception {
+		FileHeader[] headers = new FileHeader[20];
+		for (int i = 0; i < headers.length; i++) {
+			headers[i] = mock(FileHeader.class);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int thread = 0; thread < 4; thread++) {
+				results.add(executor.submit(() -> {
+					boolean consistent = true;
+					for (int i = 0; i < 10000; i++) {
+						int index = i % headers.length;
+						FileHeader cached = this.cache.get(index);
+						consistent &= (cached == null || cached == headers[index]);
+						this.cache.put(index, headers[index]);
+					}
+					return consistent;
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertThat(result.get(30, TimeUnit.SECONDS)).isTrue();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+}
@@ -39,6 +39,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
 import org.springframework.boot.loader.TestJarCreator;
+import org.springframework.boot.loader.data.MappedRandomAccessData;
 import org.springframework.boot.loader.data.RandomAccessDataFile;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StreamUtils;
@@ -420,6 +421,34 @@ public class JarFileTests {
 		getNestedJarFile();
 	}
 
+	@Test
+	public void mappedJarFile() throws Exception {
+		this.jarFile = new JarFile(this.rootJarFile, true);
+		assertThat(this.jarFile.getData()).isInstanceOf(MappedRandomAccessData.class);
+		// Call some other tests to verify
+		getEntries();
+		getInputStream();
+		getNestedJarFile();
+		getNestedJarDirectory();
+		JarFile nestedJarFile = this.jarFile
+				.getNestedJarFile(this.jarFile.getEntry("nested.jar"));
+		assertThat(nestedJarFile.getData()).isInstanceOf(MappedRandomAccessData.class);
+	}
+
+	@Test
+	public void mappedJarFileWithScriptAtTheStart() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		InputStream sourceJarContent = new FileInputStream(this.rootJarFile);
+		FileOutputStream outputStream = new FileOutputStream(file);
+		StreamUtils.copy("#/bin/bash", Charset.defaultCharset(), outputStream);
+		FileCopyUtils.copy(sourceJarContent, outputStream);
+		this.rootJarFile = file;
+		this.jarFile = new JarFile(file, true);
+		// Call some other tests to verify
+		getEntries();
+		getNestedJarFile();
+	}
+
 	@Test
 	public void cannotLoadMissingJar() throws Exception {
 		// relates to gh-1070
@@ -192,6 +192,15 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 	@Parameter(defaultValue = "false")
 	public boolean includeSystemScope;
 
+	/**
+	 * Number of threads used to compress the entries of the repackaged archive. When
+	 * greater than 1, entries are compressed in parallel and written in a deterministic
+	 * order so that the archive does not depend on the number of threads.
+	 * @since 2.0
+	 */
+	@Parameter(property = "spring-boot.repackage.compressionThreads", defaultValue = "1")
+	private int compressionThreads = 1;
+
 	@Override
 	public void execute() throws MojoExecutionException, MojoFailureException {
 		if (this.project.getPackaging().equals("pom")) {
@@ -240,6 +249,7 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 		repackager.addMainClassTimeoutWarningListener(
 				new LoggingMainClassTimeoutWarningListener());
 		repackager.setMainClass(this.mainClass);
+		repackager.setCompressionThreads(this.compressionThreads);
 		if (this.layout != null) {
 			getLog().info("Layout: " + this.layout);
 			repackager.setLayout(this.layout.layout());
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.maven;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import org.springframework.boot.loader.tools.TrainingRun;
+
+/**
+ * Perform a training run of the repackaged application to prepare it for class data
+ * sharing. The application is exploded into {@code outputDirectory}, started until it
+ * is ready, and the classes that it loaded are recorded. Must be declared after the
+ * {@code repackage} goal when both are bound to the same phase.
+ *
+ * @author agent
+ * @since 2.0.0
+ * @see TrainingRun
+ */
+@Mojo(name = "training-run", defaultPhase = LifecyclePhase.PACKAGE, threadSafe = true)
+public class TrainingRunMojo extends AbstractMojo {
+
+	/**
+	 * The executable archive used for the training run.
+	 * @since 2.0
+	 */
+	@Parameter(defaultValue = "${project.build.directory}/${project.build.finalName}.${project.packaging}", required = true)
+	private File archive;
+
+	/**
+	 * Directory containing the exploded application, the recorded class list and, if
+	 * created, the shared archive.
+	 * @since 2.0
+	 */
+	@Parameter(defaultValue = "${project.build.directory}/cds", required = true)
+	private File outputDirectory;
+
+	/**
+	 * JVM arguments that should be associated with the training run. On command line,
+	 * make sure to wrap multiple values between quotes.
+	 * @since 2.0
+	 */
+	@Parameter(property = "spring-boot.training-run.jvmArguments")
+	private String jvmArguments;
+
+	/**
+	 * Arguments that should be passed to the application during the training run.
+	 * @since 2.0
+	 */
+	@Parameter(property = "spring-boot.training-run.arguments")
+	private String[] arguments;
+
+	/**
+	 * The maximum time, in milliseconds, that the training run may take.
+	 * @since 2.0
+	 */
+	@Parameter(property = "spring-boot.training-run.timeout", defaultValue = "300000")
+	private long timeout;
+
+	/**
+	 * Create the shared archive once the classes have been recorded. The archive is tied
+	 * to the location of {@code outputDirectory} so this is only useful when the
+	 * application runs from the same location, otherwise the launch script creates the
+	 * archive on first start.
+	 * @since 2.0
+	 */
+	@Parameter(property = "spring-boot.training-run.createSharedArchive", defaultValue = "false")
+	private boolean createSharedArchive;
+
+	/**
+	 * Skip the execution.
+	 * @since 2.0
+	 */
+	@Parameter(property = "spring-boot.training-run.skip", defaultValue = "false")
+	private boolean skip;
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		if (this.skip) {
+			getLog().debug("skipping training run as per configuration.");
+			return;
+		}
+		if (!this.archive.isFile()) {
+			throw new MojoExecutionException(
+					"Archive '" + this.archive + "' must be created before the training run");
+		}
+		TrainingRun trainingRun = new TrainingRun(this.archive, this.outputDirectory);
+		trainingRun.setJvmArguments(new RunArguments(this.jvmArguments).getArgs());
+		if (this.arguments != null) {
+			trainingRun.setArguments(Arrays.asList(this.arguments));
+		}
+		trainingRun.setTimeout(this.timeout);
+		trainingRun.setCreateSharedArchive(this.createSharedArchive);
+		try {
+			getLog().info("Recording classes loaded by " + this.archive.getName());
+			trainingRun.run();
+		}
+		catch (Exception ex) {
+			throw new MojoExecutionException("Training run failed", ex);
+		}
+	}
+
+}
@@ -43,6 +43,8 @@ import org.springframework.boot.Banner.Mode;
 import org.springframework.boot.context.properties.bind.Bindable;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.startup.StartupStep;
+import org.springframework.boot.context.startup.StartupTimeline;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ApplicationListener;
@@ -233,6 +235,8 @@ public class SpringApplication {
 
 	private Set<String> additionalProfiles = new HashSet<>();
 
+	private StartupTimeline startupTimeline;
+
 	/**
 	 * Create a new {@link SpringApplication} instance. The application context will load
 	 * beans from the specified primary sources (see {@link SpringApplication class-level}
@@ -306,6 +310,10 @@ public class SpringApplication {
 	public ConfigurableApplicationContext run(String... args) {
 		StopWatch stopWatch = new StopWatch();
 		stopWatch.start();
+		StartupTimeline timeline = (this.startupTimeline != null ? this.startupTimeline
+				: StartupTimeline.none());
+		StartupStep runStep = timeline.start("spring.boot.application.run");
+		StartupStep step = null;
 		ConfigurableApplicationContext context = null;
 		Collection<SpringBootExceptionReporter> exceptionReporters = new ArrayList<>();
 		configureHeadlessProperty();
@@ -314,18 +322,28 @@ public class SpringApplication {
 		try {
 			ApplicationArguments applicationArguments = new DefaultApplicationArguments(
 					args);
+			step = timeline.start("spring.boot.environment.prepare");
 			ConfigurableEnvironment environment = prepareEnvironment(listeners,
 					applicationArguments);
+			step.end();
 			configureIgnoreBeanInfo(environment);
 			Banner printedBanner = printBanner(environment);
+			step = timeline.start("spring.boot.context.create");
 			context = createApplicationContext();
+			step.end();
 			exceptionReporters = getSpringFactoriesInstances(
 					SpringBootExceptionReporter.class,
 					new Class[] { ConfigurableApplicationContext.class }, context);
+			step = timeline.start("spring.boot.context.prepare");
 			prepareContext(context, environment, listeners, applicationArguments,
 					printedBanner);
+			step.end();
+			step = timeline.start("spring.boot.context.refresh");
 			refreshContext(context);
+			step.end();
+			step = timeline.start("spring.boot.application.runners");
 			afterRefresh(context, applicationArguments);
+			step.end();
 			listeners.finished(context, null);
 			stopWatch.stop();
 			if (this.logStartupInfo) {
@@ -338,6 +356,14 @@ public class SpringApplication {
 			handleRunFailure(context, listeners, exceptionReporters, ex);
 			throw new IllegalStateException(ex);
 		}
+		finally {
+			// Ends the step of the phase that failed, if any
+			if (step != null) {
+				step.end();
+			}
+			runStep.end();
+			timeline.finish();
+		}
 	}
 
 	private ConfigurableEnvironment prepareEnvironment(
@@ -374,6 +400,9 @@ public class SpringApplication {
 		if (printedBanner != null) {
 			context.getBeanFactory().registerSingleton("springBootBanner", printedBanner);
 		}
+		if (this.startupTimeline != null) {
+			this.startupTimeline.register(context.getBeanFactory());
+		}
 
 		// Load the sources
 		Set<Object> sources = getAllSources();
@@ -994,6 +1023,18 @@ public class SpringApplication {
 		this.banner = banner;
 	}
 
+	/**
+	 * Sets the {@link StartupTimeline} that should be used to record the steps taken
+	 * while the application starts, including the instantiation of each bean. The
+	 * timeline is registered with the {@link ApplicationContext} and finished once the
+	 * application has started. By default, no timeline is recorded.
+	 * @param startupTimeline the startup timeline to use
+	 * @since 2.0.0
+	 */
+	public void setStartupTimeline(StartupTimeline startupTimeline) {
+		this.startupTimeline = startupTimeline;
+	}
+
 	/**
 	 * Sets the mode used to display the banner when the application runs. Defaults to
 	 * {@code Banner.Mode.CONSOLE}.
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.function.Function;
 
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 
 /**
@@ -54,6 +55,9 @@ public final class ConfigurationPropertyName
 
 	private static final String EMPTY_STRING = "";
 
+	private static final Map<String, ConfigurationPropertyName> CACHE =
+			new ConcurrentReferenceHashMap<>();
+
 	/**
 	 * An empty {@link ConfigurationPropertyName}.
 	 */
@@ -64,7 +68,9 @@ public final class ConfigurationPropertyName
 
 	private final CharSequence[] uniformElements;
 
-	private int[] elementHashCodes;
+	private volatile int[] elementHashCodes;
+
+	private int hashCode;
 
 	private String string;
 
@@ -157,6 +163,7 @@ public final class ConfigurationPropertyName
 				result = cleanupCharSequence(result, (c, i) -> c == '-' || c == '_',
 						CharProcessor.LOWERCASE);
 			}
+			result = result.toString();
 			this.uniformElements[elementIndex] = result;
 		}
 		return result.toString();
@@ -239,8 +246,22 @@ public final class ConfigurationPropertyName
 		if (this.getNumberOfElements() >= name.getNumberOfElements()) {
 			return false;
 		}
-		for (int i = 0; i < this.elements.length; i++) {
-			if (!elementEquals(this.elements[i], name.elements[i])) {
+		return elementsEqual(name, this.elements.length);
+	}
+
+	private boolean elementsEqual(ConfigurationPropertyName other, int length) {
+		int[] hashCodes = this.elementHashCodes;
+		int[] otherHashCodes = other.elementHashCodes;
+		if (hashCodes != null && otherHashCodes != null) {
+			// Element hash codes are already known, use them to fail fast
+			for (int i = 0; i < length; i++) {
+				if (hashCodes[i] != otherHashCodes[i]) {
+					return false;
+				}
+			}
+		}
+		for (int i = 0; i < length; i++) {
+			if (!elementEquals(this.elements[i], other.elements[i])) {
 				return false;
 			}
 		}
@@ -324,16 +345,22 @@ public final class ConfigurationPropertyName
 
 	@Override
 	public int hashCode() {
-		if (this.elementHashCodes == null) {
-			this.elementHashCodes = getElementHashCodes();
+		int hashCode = this.hashCode;
+		if (hashCode == 0) {
+			hashCode = ObjectUtils.nullSafeHashCode(getElementHashCodes());
+			this.hashCode = hashCode;
 		}
-		return ObjectUtils.nullSafeHashCode(this.elementHashCodes);
+		return hashCode;
 	}
 
 	private int[] getElementHashCodes() {
-		int[] hashCodes = new int[this.elements.length];
-		for (int i = 0; i < this.elements.length; i++) {
-			hashCodes[i] = getElementHashCode(this.elements[i]);
+		int[] hashCodes = this.elementHashCodes;
+		if (hashCodes == null) {
+			hashCodes = new int[this.elements.length];
+			for (int i = 0; i < this.elements.length; i++) {
+				hashCodes[i] = getElementHashCode(this.elements[i]);
+			}
+			this.elementHashCodes = hashCodes;
 		}
 		return hashCodes;
 	}
@@ -362,12 +389,11 @@ public final class ConfigurationPropertyName
 		if (getNumberOfElements() != other.getNumberOfElements()) {
 			return false;
 		}
-		for (int i = 0; i < this.elements.length; i++) {
-			if (!elementEquals(this.elements[i], other.elements[i])) {
-				return false;
-			}
+		if (this.hashCode != 0 && other.hashCode != 0
+				&& this.hashCode != other.hashCode) {
+			return false;
 		}
-		return true;
+		return elementsEqual(other, this.elements.length);
 	}
 
 	private boolean elementEquals(CharSequence e1, CharSequence e2) {
@@ -443,6 +469,18 @@ public final class ConfigurationPropertyName
 	 */
 	public static ConfigurationPropertyName of(CharSequence name) {
 		Assert.notNull(name, "Name must not be null");
+		if (!(name instanceof String)) {
+			return parse(name);
+		}
+		ConfigurationPropertyName result = CACHE.get(name);
+		if (result == null) {
+			result = parse(name);
+			CACHE.put((String) name, result);
+		}
+		return result;
+	}
+
+	private static ConfigurationPropertyName parse(CharSequence name) {
 		if (name.length() >= 1
 				&& (name.charAt(0) == '.' || name.charAt(name.length() - 1) == '.')) {
 			throw new InvalidConfigurationPropertyNameException(name,
@@ -548,8 +586,18 @@ public final class ConfigurationPropertyName
 	private static void processElement(ElementProcessor processor, CharSequence name,
 			int start, int end, boolean indexed) {
 		if ((end - start) >= 1) {
-			processor.process(name.subSequence(start, end), start, end, indexed);
+			processor.process(subSequence(name, start, end), start, end, indexed);
+		}
+	}
+
+	private static CharSequence subSequence(CharSequence name, int start, int end) {
+		if (start == 0 && end == name.length()) {
+			return name;
+		}
+		if (name instanceof String) {
+			return new StringSlice((String) name, start, end);
 		}
+		return name.subSequence(start, end);
 	}
 
 	private static CharSequence cleanupCharSequence(CharSequence name, CharFilter filter,
@@ -573,6 +621,53 @@ public final class ConfigurationPropertyName
 		return name;
 	}
 
+	/**
+	 * A {@link CharSequence} view of part of a {@link String} used to hold elements
+	 * without copying them out of the name they were parsed from.
+	 */
+	private static final class StringSlice implements CharSequence {
+
+		private final String source;
+
+		private final int start;
+
+		private final int end;
+
+		private String string;
+
+		StringSlice(String source, int start, int end) {
+			this.source = source;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public int length() {
+			return this.end - this.start;
+		}
+
+		@Override
+		public char charAt(int index) {
+			return this.source.charAt(this.start + index);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return new StringSlice(this.source, this.start + start, this.start + end);
+		}
+
+		@Override
+		public String toString() {
+			String string = this.string;
+			if (string == null) {
+				string = this.source.substring(this.start, this.end);
+				this.string = string;
+			}
+			return string;
+		}
+
+	}
+
 	/**
 	 * The various forms that a non-indexed element value can take.
 	 */
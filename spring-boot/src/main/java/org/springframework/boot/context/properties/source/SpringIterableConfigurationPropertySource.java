@@ -18,8 +18,12 @@ package org.springframework.boot.context.properties.source;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.springframework.core.env.EnumerablePropertySource;
@@ -71,7 +75,8 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		ConfigurationProperty configurationProperty = super.getConfigurationProperty(
 				name);
 		if (configurationProperty == null) {
-			configurationProperty = find(getPropertyMappings(), name);
+			configurationProperty = find(getPropertyMappingIndex().getMappings(name),
+					name);
 		}
 		return configurationProperty;
 	}
@@ -89,7 +94,8 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 	@Override
 	public ConfigurationPropertyState containsDescendantOf(
 			ConfigurationPropertyName name) {
-		return ConfigurationPropertyState.search(this, name::isAncestorOf);
+		return (getPropertyMappingIndex().hasDescendants(name)
+				? ConfigurationPropertyState.PRESENT : ConfigurationPropertyState.ABSENT);
 	}
 
 	private List<ConfigurationPropertyName> getConfigurationPropertyNames() {
@@ -128,6 +134,19 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		return mappings;
 	}
 
+	private PropertyMappingIndex getPropertyMappingIndex() {
+		Cache cache = getCache();
+		PropertyMappingIndex index = (cache != null ? cache.getIndex() : null);
+		if (index != null) {
+			return index;
+		}
+		index = new PropertyMappingIndex(getPropertyMappings());
+		if (cache != null) {
+			cache.setIndex(index);
+		}
+		return index;
+	}
+
 	private Cache getCache() {
 		Object cacheKey = getCacheKey();
 		if (cacheKey == null) {
@@ -159,6 +178,8 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 
 		private List<PropertyMapping> mappings;
 
+		private PropertyMappingIndex index;
+
 		public List<ConfigurationPropertyName> getNames() {
 			return this.names;
 		}
@@ -175,6 +196,55 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 			this.mappings = mappings;
 		}
 
+		public PropertyMappingIndex getIndex() {
+			return this.index;
+		}
+
+		public void setIndex(PropertyMappingIndex index) {
+			this.index = index;
+		}
+
+	}
+
+	/**
+	 * Index of {@link PropertyMapping PropertyMappings} by
+	 * {@link ConfigurationPropertyName}, along with every name that is an ancestor of a
+	 * mapped name. Replaces linear scans of the mappings with hash lookups.
+	 */
+	private static class PropertyMappingIndex {
+
+		private final Map<ConfigurationPropertyName, List<PropertyMapping>> mappings;
+
+		private final Set<ConfigurationPropertyName> ancestors;
+
+		PropertyMappingIndex(List<PropertyMapping> mappings) {
+			this.mappings = new HashMap<>(mappings.size());
+			this.ancestors = new HashSet<>();
+			for (PropertyMapping mapping : mappings) {
+				ConfigurationPropertyName name = mapping.getConfigurationPropertyName();
+				this.mappings.computeIfAbsent(name, (key) -> new ArrayList<>(1))
+						.add(mapping);
+				addAncestors(name);
+			}
+		}
+
+		private void addAncestors(ConfigurationPropertyName name) {
+			for (int size = name.getNumberOfElements() - 1; size >= 0; size--) {
+				if (!this.ancestors.add(name.chop(size))) {
+					// Shorter ancestors have been added along with this one
+					return;
+				}
+			}
+		}
+
+		public List<PropertyMapping> getMappings(ConfigurationPropertyName name) {
+			return this.mappings.getOrDefault(name, Collections.emptyList());
+		}
+
+		public boolean hasDescendants(ConfigurationPropertyName name) {
+			return this.ancestors.contains(name);
+		}
+
 	}
 
 }
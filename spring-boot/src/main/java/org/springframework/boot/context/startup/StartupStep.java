@@ -0,0 +1,187 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.startup;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A single step recorded by a {@link StartupTimeline}. Steps started while another step
+ * is in progress on the same thread become its children, forming a tree. All times are
+ * in nanoseconds relative to the {@link StartupTimeline#getStartTime() start of the
+ * timeline}.
+ *
+ * @author agent
+ * @since 2.0.0
+ * @see StartupTimeline#start(String)
+ */
+public final class StartupStep {
+
+	static final StartupStep NONE = new StartupStep(null, -1, null, "none", 0);
+
+	private final StartupTimeline timeline;
+
+	private final int id;
+
+	private final StartupStep parent;
+
+	private final String name;
+
+	private final long threadId;
+
+	private final String threadName;
+
+	private final long startTime;
+
+	private volatile long endTime = -1;
+
+	private volatile Map<String, String> tags = Collections.emptyMap();
+
+	StartupStep(StartupTimeline timeline, int id, StartupStep parent, String name,
+			long startTime) {
+		Thread thread = Thread.currentThread();
+		this.timeline = timeline;
+		this.id = id;
+		this.parent = parent;
+		this.name = name;
+		this.threadId = thread.getId();
+		this.threadName = thread.getName();
+		this.startTime = startTime;
+	}
+
+	/**
+	 * Add a tag to the step. Tags should be added before the step is {@link #end()
+	 * ended}.
+	 * @param key the tag key
+	 * @param value the tag value
+	 * @return this step
+	 */
+	public StartupStep tag(String key, Object value) {
+		if (this.timeline != null) {
+			synchronized (this) {
+				// Copy on write so that the tags can be read safely from any thread
+				Map<String, String> tags = new LinkedHashMap<>(this.tags);
+				tags.put(key, String.valueOf(value));
+				this.tags = Collections.unmodifiableMap(tags);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * End the step. Any subsequent step started on the same thread will no longer be a
+	 * child of this step.
+	 */
+	public void end() {
+		if (this.timeline != null && this.endTime == -1) {
+			this.timeline.end(this);
+		}
+	}
+
+	void setEndTime(long endTime) {
+		this.endTime = endTime;
+	}
+
+	/**
+	 * Return the ID of the step, unique within its timeline and increasing in the order
+	 * that steps were started.
+	 * @return the step ID
+	 */
+	public int getId() {
+		return this.id;
+	}
+
+	/**
+	 * Return the parent step or {@code null} if this is a root step.
+	 * @return the parent step
+	 */
+	public StartupStep getParent() {
+		return this.parent;
+	}
+
+	/**
+	 * Return the name of the step.
+	 * @return the step name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the ID of the thread that started the step.
+	 * @return the thread ID
+	 */
+	public long getThreadId() {
+		return this.threadId;
+	}
+
+	/**
+	 * Return the name of the thread that started the step.
+	 * @return the thread name
+	 */
+	public String getThreadName() {
+		return this.threadName;
+	}
+
+	/**
+	 * Return the time that the step started.
+	 * @return the start time in nanoseconds
+	 */
+	public long getStartTime() {
+		return this.startTime;
+	}
+
+	/**
+	 * Return the time that the step ended or {@code -1} if the step has not ended.
+	 * @return the end time in nanoseconds
+	 */
+	public long getEndTime() {
+		return this.endTime;
+	}
+
+	/**
+	 * Return the duration of the step or {@code -1} if the step has not ended.
+	 * @return the duration in nanoseconds
+	 */
+	public long getDuration() {
+		long endTime = this.endTime;
+		return (endTime == -1 ? -1 : endTime - this.startTime);
+	}
+
+	/**
+	 * Return if the step has ended.
+	 * @return if the step has ended
+	 */
+	public boolean isEnded() {
+		return this.endTime != -1;
+	}
+
+	/**
+	 * Return the tags of the step.
+	 * @return the tags
+	 */
+	public Map<String, String> getTags() {
+		return this.tags;
+	}
+
+	@Override
+	public String toString() {
+		return this.name + " " + this.tags;
+	}
+
+}
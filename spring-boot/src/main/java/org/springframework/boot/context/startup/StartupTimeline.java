@@ -0,0 +1,229 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.startup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.HierarchicalBeanFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.util.Assert;
+
+/**
+ * Records a tree of timed {@link StartupStep steps} taken while an application starts.
+ * Steps are held in a bounded buffer, any step started once the buffer is full is
+ * dropped. Recording stops once the timeline is {@link #finish() finished}.
+ * <p>
+ * A timeline is typically {@link #register(ConfigurableListableBeanFactory) registered}
+ * with the bean factory of the application so that the instantiation and post-processing
+ * of each bean is recorded and so that other components can
+ * {@link #get(BeanFactory) find it} to record their own steps.
+ *
+ * @author agent
+ * @since 2.0.0
+ * @see org.springframework.boot.SpringApplication#setStartupTimeline(StartupTimeline)
+ */
+public class StartupTimeline {
+
+	/**
+	 * The name of the bean that holds the timeline.
+	 */
+	public static final String BEAN_NAME = "springBootStartupTimeline";
+
+	private static final int DEFAULT_CAPACITY = 10000;
+
+	private static final StartupTimeline NONE;
+
+	static {
+		NONE = new StartupTimeline(1);
+		NONE.finish();
+	}
+
+	private final long startTime = System.currentTimeMillis();
+
+	private final long startNanoTime = System.nanoTime();
+
+	private final AtomicReferenceArray<StartupStep> steps;
+
+	private final AtomicInteger started = new AtomicInteger();
+
+	private final ThreadLocal<StartupStep> current = new ThreadLocal<>();
+
+	private volatile boolean recording;
+
+	/**
+	 * Create a new {@link StartupTimeline} instance able to hold 10,000 steps.
+	 */
+	public StartupTimeline() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@link StartupTimeline} instance.
+	 * @param capacity the maximum number of steps that will be held
+	 */
+	public StartupTimeline(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.steps = new AtomicReferenceArray<>(capacity);
+		this.recording = true;
+	}
+
+	/**
+	 * Start a new step. The step will be a child of the step currently in progress on
+	 * the calling thread, if any, and must be {@link StartupStep#end() ended} once
+	 * complete.
+	 * @param name the name of the step
+	 * @return the step
+	 */
+	public StartupStep start(String name) {
+		if (!this.recording) {
+			return StartupStep.NONE;
+		}
+		int id = this.started.getAndIncrement();
+		if (id >= this.steps.length()) {
+			return StartupStep.NONE;
+		}
+		StartupStep step = new StartupStep(this, id, this.current.get(), name,
+				getElapsedTime());
+		this.steps.set(id, step);
+		this.current.set(step);
+		return step;
+	}
+
+	void end(StartupStep step) {
+		step.setEndTime(getElapsedTime());
+		abandon(step);
+	}
+
+	/**
+	 * Abandon the given step without ending it so that subsequent steps started on the
+	 * calling thread are no longer its children.
+	 * @param step the step to abandon
+	 */
+	void abandon(StartupStep step) {
+		StartupStep current = this.current.get();
+		while (current != null) {
+			if (current == step) {
+				// Any descendant that was never ended is abandoned
+				this.current.set(step.getParent());
+				return;
+			}
+			current = current.getParent();
+		}
+	}
+
+	private long getElapsedTime() {
+		return System.nanoTime() - this.startNanoTime;
+	}
+
+	/**
+	 * Finish the timeline. Steps started after the timeline has finished are not
+	 * recorded.
+	 */
+	public void finish() {
+		this.recording = false;
+	}
+
+	/**
+	 * Return if the timeline is recording steps.
+	 * @return if the timeline is recording
+	 */
+	public boolean isRecording() {
+		return this.recording;
+	}
+
+	/**
+	 * Return the wall-clock time that the timeline was created. The times of each step
+	 * are relative to this time.
+	 * @return the start time in milliseconds since the epoch
+	 */
+	public long getStartTime() {
+		return this.startTime;
+	}
+
+	/**
+	 * Return the recorded steps in the order that they were started.
+	 * @return the steps
+	 */
+	public List<StartupStep> getSteps() {
+		int size = Math.min(this.started.get(), this.steps.length());
+		List<StartupStep> steps = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			StartupStep step = this.steps.get(i);
+			if (step != null) {
+				steps.add(step);
+			}
+		}
+		return Collections.unmodifiableList(steps);
+	}
+
+	/**
+	 * Return the number of steps that were not recorded because the buffer was full.
+	 * @return the number of dropped steps
+	 */
+	public int getDroppedSteps() {
+		return Math.max(0, this.started.get() - this.steps.length());
+	}
+
+	/**
+	 * Register the timeline with the given bean factory so that it can be
+	 * {@link #get(BeanFactory) found} and so that the instantiation and post-processing
+	 * of beans is recorded.
+	 * @param beanFactory the bean factory
+	 */
+	public void register(ConfigurableListableBeanFactory beanFactory) {
+		beanFactory.registerSingleton(BEAN_NAME, this);
+		StartupTimelineBeanPostProcessor.register(beanFactory, this);
+	}
+
+	/**
+	 * Return the timeline registered with the given bean factory or any of its parents.
+	 * If no timeline has been registered a timeline that does not record any steps is
+	 * returned.
+	 * @param beanFactory the bean factory (may be {@code null})
+	 * @return the timeline
+	 */
+	public static StartupTimeline get(BeanFactory beanFactory) {
+		while (beanFactory != null) {
+			if (beanFactory instanceof SingletonBeanRegistry) {
+				Object timeline = ((SingletonBeanRegistry) beanFactory)
+						.getSingleton(BEAN_NAME);
+				if (timeline instanceof StartupTimeline) {
+					return (StartupTimeline) timeline;
+				}
+			}
+			beanFactory = (beanFactory instanceof HierarchicalBeanFactory
+					? ((HierarchicalBeanFactory) beanFactory).getParentBeanFactory()
+					: null);
+		}
+		return NONE;
+	}
+
+	/**
+	 * Return a timeline that does not record any steps.
+	 * @return a timeline that does not record
+	 */
+	public static StartupTimeline none() {
+		return NONE;
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.startup;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * {@link InstantiationAwareBeanPostProcessor} that records a {@link StartupStep} for the
+ * instantiation of each bean with a child step for its post-processing and
+ * initialization callbacks.
+ * <p>
+ * The processor is added ahead of all other post-processors so that it sees each bean
+ * first. Steps are ended by a {@link CompletionBeanPostProcessor} that is registered as a
+ * bean so that it runs after the other post-processors. Beans created before it has been
+ * registered, such as other post-processors, are not recorded. The steps of a bean
+ * whose creation failed are abandoned when the bean is next created. A
+ * {@code FactoryBean} may also be instantiated only to determine the type of object that
+ * it creates, in which case it is never initialized and its step is abandoned once the
+ * bean factory no longer considers it to be in creation.
+ *
+ * @author agent
+ */
+class StartupTimelineBeanPostProcessor implements InstantiationAwareBeanPostProcessor {
+
+	private static final String COMPLETION_BEAN_NAME = StartupTimeline.BEAN_NAME
+			+ "CompletionBeanPostProcessor";
+
+	private final DefaultListableBeanFactory beanFactory;
+
+	private final StartupTimeline timeline;
+
+	private final CompletionBeanPostProcessor completion = new CompletionBeanPostProcessor();
+
+	private final Map<String, StartupStep> instantiationSteps = new ConcurrentHashMap<>();
+
+	private final Map<String, StartupStep> postProcessingSteps = new ConcurrentHashMap<>();
+
+	private final Set<String> trackedCreations = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean completionRegistered;
+
+	StartupTimelineBeanPostProcessor(DefaultListableBeanFactory beanFactory,
+			StartupTimeline timeline) {
+		this.beanFactory = beanFactory;
+		this.timeline = timeline;
+	}
+
+	@Override
+	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName)
+			throws BeansException {
+		if (isRecording()) {
+			abandonPartialCreations();
+			abandon(this.postProcessingSteps, beanName);
+			abandon(this.instantiationSteps, beanName);
+			StartupStep step = this.timeline.start("spring.beans.instantiate")
+					.tag("beanName", beanName).tag("beanType", beanClass.getName());
+			this.instantiationSteps.put(beanName, step);
+			if (this.beanFactory.isCurrentlyInCreation(beanName)) {
+				this.trackedCreations.add(beanName);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName)
+			throws BeansException {
+		abandonPartialCreations();
+		if (this.instantiationSteps.containsKey(beanName)) {
+			this.postProcessingSteps.put(beanName,
+					this.timeline.start("spring.beans.post-process"));
+		}
+		return bean;
+	}
+
+	private void abandonPartialCreations() {
+		// A bean that is no longer in creation but has not been post-processed was only
+		// instantiated to determine its type, its step must not parent any later step
+		for (String beanName : this.trackedCreations) {
+			if (!this.beanFactory.isCurrentlyInCreation(beanName)
+					&& !this.postProcessingSteps.containsKey(beanName)) {
+				abandon(this.instantiationSteps, beanName);
+			}
+		}
+	}
+
+	private void abandon(Map<String, StartupStep> steps, String beanName) {
+		// A step that is still in progress belongs to an earlier attempt that failed
+		StartupStep step = steps.remove(beanName);
+		if (step != null) {
+			this.timeline.abandon(step);
+		}
+		this.trackedCreations.remove(beanName);
+	}
+
+	private boolean isRecording() {
+		if (!this.timeline.isRecording()) {
+			return false;
+		}
+		if (!this.completionRegistered) {
+			this.completionRegistered = this.beanFactory.getBeanPostProcessors()
+					.contains(this.completion);
+		}
+		return this.completionRegistered;
+	}
+
+	static void register(ConfigurableListableBeanFactory beanFactory,
+			StartupTimeline timeline) {
+		if (beanFactory instanceof DefaultListableBeanFactory) {
+			new StartupTimelineBeanPostProcessor((DefaultListableBeanFactory) beanFactory,
+					timeline).register();
+		}
+	}
+
+	private void register() {
+		RootBeanDefinition definition = new RootBeanDefinition(
+				CompletionBeanPostProcessor.class, () -> this.completion);
+		definition.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+		this.beanFactory.registerBeanDefinition(COMPLETION_BEAN_NAME, definition);
+		this.beanFactory.addBeanPostProcessor(this);
+	}
+
+	/**
+	 * {@link BeanPostProcessor} that ends the steps started by the
+	 * {@link StartupTimelineBeanPostProcessor}.
+	 */
+	private class CompletionBeanPostProcessor implements BeanPostProcessor {
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName)
+				throws BeansException {
+			end(StartupTimelineBeanPostProcessor.this.postProcessingSteps, beanName);
+			end(StartupTimelineBeanPostProcessor.this.instantiationSteps, beanName);
+			StartupTimelineBeanPostProcessor.this.trackedCreations.remove(beanName);
+			return bean;
+		}
+
+		private void end(Map<String, StartupStep> steps, String beanName) {
+			StartupStep step = steps.remove(beanName);
+			if (step != null) {
+				step.end();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.startup;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.ApplicationPid;
+
+/**
+ * Writes a {@link StartupTimeline} as JSON in the Trace Event Format so that it can be
+ * loaded into trace viewers such as {@code chrome://tracing} or Perfetto. Each ended
+ * step is written as a complete event and each step that has not ended as a begin
+ * event. Times are written in microseconds with nanosecond precision.
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+public class StartupTimelineTraceEventWriter {
+
+	/**
+	 * Write the given timeline.
+	 * @param timeline the timeline to write
+	 * @param out the destination of the JSON
+	 * @throws IOException on write error
+	 */
+	public void write(StartupTimeline timeline, Appendable out) throws IOException {
+		String pid = getPid();
+		List<StartupStep> steps = timeline.getSteps();
+		out.append("{\"displayTimeUnit\":\"ns\",\"otherData\":{\"startTime\":");
+		out.append(Long.toString(timeline.getStartTime()));
+		out.append(",\"droppedSteps\":");
+		out.append(Integer.toString(timeline.getDroppedSteps()));
+		out.append("},\"traceEvents\":[");
+		boolean first = true;
+		for (Map.Entry<Long, String> thread : getThreadNames(steps).entrySet()) {
+			first = appendSeparator(out, first);
+			out.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":").append(pid);
+			out.append(",\"tid\":").append(Long.toString(thread.getKey()));
+			out.append(",\"args\":{\"name\":");
+			appendString(out, thread.getValue());
+			out.append("}}");
+		}
+		for (StartupStep step : steps) {
+			first = appendSeparator(out, first);
+			writeStep(step, pid, out);
+		}
+		out.append("]}");
+	}
+
+	private void writeStep(StartupStep step, String pid, Appendable out)
+			throws IOException {
+		out.append("{\"name\":");
+		appendString(out, step.getName());
+		out.append(",\"cat\":\"startup\",\"ph\":");
+		out.append(step.isEnded() ? "\"X\"" : "\"B\"");
+		out.append(",\"pid\":").append(pid);
+		out.append(",\"tid\":").append(Long.toString(step.getThreadId()));
+		out.append(",\"ts\":");
+		appendMicros(out, step.getStartTime());
+		if (step.isEnded()) {
+			out.append(",\"dur\":");
+			appendMicros(out, step.getDuration());
+		}
+		out.append(",\"args\":{\"id\":").append(Integer.toString(step.getId()));
+		if (step.getParent() != null) {
+			out.append(",\"parentId\":");
+			out.append(Integer.toString(step.getParent().getId()));
+		}
+		for (Map.Entry<String, String> tag : step.getTags().entrySet()) {
+			out.append(",");
+			appendString(out, tag.getKey());
+			out.append(":");
+			appendString(out, tag.getValue());
+		}
+		out.append("}}");
+	}
+
+	private Map<Long, String> getThreadNames(List<StartupStep> steps) {
+		Map<Long, String> threadNames = new LinkedHashMap<>();
+		for (StartupStep step : steps) {
+			threadNames.putIfAbsent(step.getThreadId(), step.getThreadName());
+		}
+		return threadNames;
+	}
+
+	private String getPid() {
+		String pid = new ApplicationPid().toString();
+		return (pid.chars().allMatch(Character::isDigit) ? pid : "0");
+	}
+
+	private boolean appendSeparator(Appendable out, boolean first) throws IOException {
+		if (!first) {
+			out.append(",");
+		}
+		return false;
+	}
+
+	private void appendMicros(Appendable out, long nanos) throws IOException {
+		String fraction = Long.toString(1000 + nanos % 1000).substring(1);
+		out.append(Long.toString(nanos / 1000)).append(".").append(fraction);
+	}
+
+	private void appendString(Appendable out, String value) throws IOException {
+		out.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			if (ch == '"' || ch == '\\') {
+				out.append('\\').append(ch);
+			}
+			else if (ch < ' ') {
+				out.append(String.format("\\u%04x", (int) ch));
+			}
+			else {
+				out.append(ch);
+			}
+		}
+		out.append('"');
+	}
+
+}
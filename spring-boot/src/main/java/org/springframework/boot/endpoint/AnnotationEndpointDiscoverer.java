@@ -258,14 +258,13 @@ public abstract class AnnotationEndpointDiscoverer<T extends Operation, K>
 				.apply(endpointId);
 		return this.operationFactory.createOperation(endpointId, operationAttributes,
 				this.applicationContext.getBean(beanName), method, operationType,
-				determineTimeToLive(cachingConfiguration, operationType, method));
+				determineTimeToLive(cachingConfiguration, operationType));
 	}
 
 	private long determineTimeToLive(CachingConfiguration cachingConfiguration,
-			OperationType operationType, Method method) {
+			OperationType operationType) {
 		if (cachingConfiguration != null && cachingConfiguration.getTimeToLive() > 0
-				&& operationType == OperationType.READ
-				&& method.getParameters().length == 0) {
+				&& operationType == OperationType.READ) {
 			return cachingConfiguration.getTimeToLive();
 		}
 		return 0;
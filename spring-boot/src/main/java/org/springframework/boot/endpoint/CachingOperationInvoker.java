@@ -16,35 +16,68 @@
 
 package org.springframework.boot.endpoint;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.util.Assert;
 
 /**
  * An {@link OperationInvoker} that caches the response of an operation with a
- * configurable time to live.
+ * configurable time to live. A response is cached for each distinct set of arguments,
+ * up to a configurable maximum number of entries beyond which the least recently used
+ * response is evicted. Concurrent invocations that find no fresh response for the same
+ * arguments wait for a single invocation of the target rather than each invoking it.
  *
  * @author Stephane Nicoll
  * @since 2.0.0
  */
 public class CachingOperationInvoker implements OperationInvoker {
 
+	private static final int DEFAULT_MAX_SIZE = 100;
+
 	private final OperationInvoker target;
 
 	private final long timeToLive;
 
-	private volatile CachedResponse cachedResponse;
+	private final int maxSize;
+
+	private final ResponseCache cachedResponses;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
 
 	/**
 	 * Create a new instance with the target {@link OperationInvoker} to use to compute
-	 * the response and the time to live for the cache.
+	 * the response and the time to live for the cache. Up to {@value #DEFAULT_MAX_SIZE}
+	 * responses are cached.
 	 * @param target the {@link OperationInvoker} this instance wraps
 	 * @param timeToLive the maximum time in milliseconds that a response can be cached
 	 */
 	public CachingOperationInvoker(OperationInvoker target, long timeToLive) {
+		this(target, timeToLive, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create a new instance with the target {@link OperationInvoker} to use to compute
+	 * the response, the time to live for the cache and the maximum number of distinct
+	 * argument combinations for which a response is cached.
+	 * @param target the {@link OperationInvoker} this instance wraps
+	 * @param timeToLive the maximum time in milliseconds that a response can be cached
+	 * @param maxSize the maximum number of cached responses
+	 */
+	public CachingOperationInvoker(OperationInvoker target, long timeToLive,
+			int maxSize) {
 		Assert.state(timeToLive > 0, "TimeToLive must be strictly positive");
+		Assert.state(maxSize > 0, "MaxSize must be strictly positive");
 		this.target = target;
 		this.timeToLive = timeToLive;
+		this.maxSize = maxSize;
+		this.cachedResponses = new ResponseCache(maxSize);
 	}
 
 	/**
@@ -55,39 +88,139 @@ public class CachingOperationInvoker implements OperationInvoker {
 		return this.timeToLive;
 	}
 
+	/**
+	 * Return the maximum number of responses that can be cached.
+	 * @return the maximum size of the cache
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Return the number of invocations that were served from the cache.
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Return the number of invocations that required the target to be invoked.
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Discard every cached response so that subsequent invocations invoke the target.
+	 * Invocations that are in progress complete but their response is not cached.
+	 */
+	public void clear() {
+		synchronized (this.cachedResponses) {
+			this.cachedResponses.clear();
+		}
+	}
+
 	@Override
 	public Object invoke(Map<String, Object> arguments) {
+		Map<String, Object> key = new HashMap<>(arguments);
 		long accessTime = System.currentTimeMillis();
-		CachedResponse cached = this.cachedResponse;
-		if (cached == null || cached.isStale(accessTime, this.timeToLive)) {
+		CachedResponse cached;
+		boolean owner = false;
+		synchronized (this.cachedResponses) {
+			cached = this.cachedResponses.get(key);
+			if (cached == null || cached.isStale(accessTime, this.timeToLive)) {
+				cached = new CachedResponse(accessTime);
+				this.cachedResponses.put(key, cached);
+				owner = true;
+			}
+		}
+		if (owner) {
+			this.misses.increment();
+			return computeResponse(key, arguments, cached);
+		}
+		this.hits.increment();
+		return cached.getResponse();
+	}
+
+	private Object computeResponse(Map<String, Object> key,
+			Map<String, Object> arguments, CachedResponse cached) {
+		try {
 			Object response = this.target.invoke(arguments);
-			this.cachedResponse = new CachedResponse(response, accessTime);
+			cached.complete(response);
 			return response;
 		}
-		return cached.getResponse();
+		catch (RuntimeException | Error ex) {
+			synchronized (this.cachedResponses) {
+				this.cachedResponses.remove(key, cached);
+			}
+			cached.completeExceptionally(ex);
+			throw ex;
+		}
+	}
+
+	/**
+	 * Access-ordered map of cached responses that evicts the least recently used
+	 * response once its maximum size is exceeded. Must be synchronized on.
+	 */
+	private static class ResponseCache
+			extends LinkedHashMap<Map<String, Object>, CachedResponse> {
+
+		private final int maxSize;
+
+		ResponseCache(int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<Map<String, Object>, CachedResponse> eldest) {
+			return size() > this.maxSize;
+		}
+
 	}
 
 	/**
 	 * A cached response that encapsulates the response itself and the time at which it
-	 * was created.
+	 * was created. The response may still be being computed, in which case callers of
+	 * {@link #getResponse()} wait for it.
 	 */
 	static class CachedResponse {
 
-		private final Object response;
+		private final CompletableFuture<Object> response = new CompletableFuture<>();
 
 		private final long creationTime;
 
-		CachedResponse(Object response, long creationTime) {
-			this.response = response;
+		CachedResponse(long creationTime) {
 			this.creationTime = creationTime;
 		}
 
 		public boolean isStale(long accessTime, long timeToLive) {
-			return (accessTime - this.creationTime) >= timeToLive;
+			return this.response.isDone()
+					&& (accessTime - this.creationTime) >= timeToLive;
 		}
 
 		public Object getResponse() {
-			return this.response;
+			try {
+				return this.response.join();
+			}
+			catch (CompletionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw (RuntimeException) cause;
+			}
+		}
+
+		void complete(Object response) {
+			this.response.complete(response);
+		}
+
+		void completeExceptionally(Throwable ex) {
+			this.response.completeExceptionally(ex);
 		}
 
 	}
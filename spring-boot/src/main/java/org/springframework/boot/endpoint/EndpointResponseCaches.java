@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.endpoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps track of the {@link CachingOperationInvoker caching invokers} of each endpoint
+ * so that their cached responses can be discarded once an operation that may change
+ * the state of the endpoint has been invoked. Invokers are weakly referenced so that
+ * those of endpoints that are no longer in use can be garbage collected.
+ *
+ * @author agent
+ * @since 2.0.0
+ */
+public class EndpointResponseCaches {
+
+	private final Map<String, Set<CachingOperationInvoker>> invokers = new HashMap<>();
+
+	/**
+	 * Return a {@link CachingOperationInvoker} that caches the responses of the given
+	 * {@code invoker} of the endpoint with the given {@code endpointId}.
+	 * @param endpointId the id of the endpoint
+	 * @param invoker the invoker of a read operation
+	 * @param timeToLive the maximum time in milliseconds that a response can be cached
+	 * @return the caching invoker
+	 */
+	public CachingOperationInvoker cache(String endpointId, OperationInvoker invoker,
+			long timeToLive) {
+		CachingOperationInvoker cachingInvoker = new CachingOperationInvoker(invoker,
+				timeToLive);
+		synchronized (this.invokers) {
+			this.invokers.computeIfAbsent(endpointId,
+					(id) -> Collections.newSetFromMap(new WeakHashMap<>()))
+					.add(cachingInvoker);
+		}
+		return cachingInvoker;
+	}
+
+	/**
+	 * Return an {@link OperationInvoker} that clears the cached responses of the
+	 * endpoint with the given {@code endpointId} each time the given {@code invoker}
+	 * has been invoked.
+	 * @param endpointId the id of the endpoint
+	 * @param invoker the invoker of an operation that may change the endpoint's state
+	 * @return the invalidating invoker
+	 */
+	public OperationInvoker invalidating(String endpointId, OperationInvoker invoker) {
+		return (arguments) -> {
+			try {
+				return invoker.invoke(arguments);
+			}
+			finally {
+				clear(endpointId);
+			}
+		};
+	}
+
+	/**
+	 * Clear the cached responses of the endpoint with the given {@code endpointId}.
+	 * @param endpointId the id of the endpoint
+	 */
+	public void clear(String endpointId) {
+		List<CachingOperationInvoker> invokers;
+		synchronized (this.invokers) {
+			Set<CachingOperationInvoker> cachingInvokers = this.invokers.get(endpointId);
+			if (cachingInvokers == null) {
+				return;
+			}
+			invokers = new ArrayList<>(cachingInvokers);
+		}
+		invokers.forEach(CachingOperationInvoker::clear);
+	}
+
+}
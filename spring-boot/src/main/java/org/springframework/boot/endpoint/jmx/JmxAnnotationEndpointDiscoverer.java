@@ -29,10 +29,10 @@ import java.util.stream.Collectors;
 
 import org.springframework.boot.endpoint.AnnotationEndpointDiscoverer;
 import org.springframework.boot.endpoint.CachingConfiguration;
-import org.springframework.boot.endpoint.CachingOperationInvoker;
 import org.springframework.boot.endpoint.Endpoint;
 import org.springframework.boot.endpoint.EndpointExposure;
 import org.springframework.boot.endpoint.EndpointInfo;
+import org.springframework.boot.endpoint.EndpointResponseCaches;
 import org.springframework.boot.endpoint.OperationInvoker;
 import org.springframework.boot.endpoint.OperationParameterMapper;
 import org.springframework.boot.endpoint.OperationType;
@@ -106,6 +106,9 @@ public class JmxAnnotationEndpointDiscoverer
 
 		private final OperationParameterMapper parameterMapper;
 
+		private final EndpointResponseCaches responseCaches =
+				new EndpointResponseCaches();
+
 		JmxEndpointOperationFactory(OperationParameterMapper parameterMapper) {
 			this.parameterMapper = parameterMapper;
 		}
@@ -121,8 +124,11 @@ public class JmxAnnotationEndpointDiscoverer
 			List<JmxEndpointOperationParameterInfo> parameters = getParameters(method);
 			OperationInvoker invoker = new ReflectiveOperationInvoker(
 					this.parameterMapper, target, method);
-			if (timeToLive > 0) {
-				invoker = new CachingOperationInvoker(invoker, timeToLive);
+			if (type != OperationType.READ) {
+				invoker = this.responseCaches.invalidating(endpointId, invoker);
+			}
+			else if (timeToLive > 0) {
+				invoker = this.responseCaches.cache(endpointId, invoker, timeToLive);
 			}
 			return new JmxEndpointOperation(type, invoker, operationName, outputType,
 					description, parameters);
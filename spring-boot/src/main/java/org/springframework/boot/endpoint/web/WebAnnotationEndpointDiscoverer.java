@@ -29,10 +29,10 @@ import org.reactivestreams.Publisher;
 
 import org.springframework.boot.endpoint.AnnotationEndpointDiscoverer;
 import org.springframework.boot.endpoint.CachingConfiguration;
-import org.springframework.boot.endpoint.CachingOperationInvoker;
 import org.springframework.boot.endpoint.Endpoint;
 import org.springframework.boot.endpoint.EndpointExposure;
 import org.springframework.boot.endpoint.EndpointInfo;
+import org.springframework.boot.endpoint.EndpointResponseCaches;
 import org.springframework.boot.endpoint.OperationInvoker;
 import org.springframework.boot.endpoint.OperationParameterMapper;
 import org.springframework.boot.endpoint.OperationType;
@@ -118,6 +118,9 @@ public class WebAnnotationEndpointDiscoverer extends
 
 		private final Collection<String> producedMediaTypes;
 
+		private final EndpointResponseCaches responseCaches =
+				new EndpointResponseCaches();
+
 		private WebEndpointOperationFactory(OperationParameterMapper parameterMapper,
 				Collection<String> consumedMediaTypes,
 				Collection<String> producedMediaTypes) {
@@ -137,8 +140,11 @@ public class WebAnnotationEndpointDiscoverer extends
 					determineProducedMediaTypes(method));
 			OperationInvoker invoker = new ReflectiveOperationInvoker(
 					this.parameterMapper, target, method);
-			if (timeToLive > 0) {
-				invoker = new CachingOperationInvoker(invoker, timeToLive);
+			if (type != OperationType.READ) {
+				invoker = this.responseCaches.invalidating(endpointId, invoker);
+			}
+			else if (timeToLive > 0 && !producesResourceResponseBody(method)) {
+				invoker = this.responseCaches.cache(endpointId, invoker, timeToLive);
 			}
 			return new WebEndpointOperation(type, invoker, determineBlocking(method),
 					requestPredicate, determineId(endpointId, method));
@@ -51,6 +51,8 @@ import org.springframework.boot.context.event.ApplicationFailedEvent;
 import org.springframework.boot.context.event.ApplicationPreparedEvent;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.event.ApplicationStartingEvent;
+import org.springframework.boot.context.startup.StartupStep;
+import org.springframework.boot.context.startup.StartupTimeline;
 import org.springframework.boot.testsupport.rule.OutputCapture;
 import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
 import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
@@ -913,6 +915,54 @@ public class SpringApplicationTests {
 		assertThat(args.containsOption("debug")).isTrue();
 	}
 
+	@Test
+	public void startupTimeline() throws Exception {
+		SpringApplication application = new SpringApplication(ExampleConfig.class);
+		application.setWebApplicationType(WebApplicationType.NONE);
+		StartupTimeline timeline = new StartupTimeline();
+		application.setStartupTimeline(timeline);
+		this.context = application.run();
+		assertThat(this.context.getBean(StartupTimeline.class)).isSameAs(timeline);
+		assertThat(timeline.isRecording()).isFalse();
+		List<StartupStep> steps = timeline.getSteps();
+		assertThat(steps).extracting(StartupStep::getName).contains(
+				"spring.boot.application.run", "spring.boot.environment.prepare",
+				"spring.boot.context.refresh", "spring.beans.instantiate");
+		StartupStep run = steps.get(0);
+		assertThat(run.getName()).isEqualTo("spring.boot.application.run");
+		assertThat(steps.subList(1, steps.size()))
+				.allMatch((step) -> step.getParent() != null);
+		assertThat(steps).allMatch(StartupStep::isEnded);
+	}
+
+	@Test
+	public void startupTimelineWhenRefreshFails() throws Exception {
+		SpringApplication application = new SpringApplication(
+				RefreshFailureConfig.class);
+		application.setWebApplicationType(WebApplicationType.NONE);
+		StartupTimeline timeline = new StartupTimeline();
+		application.setStartupTimeline(timeline);
+		try {
+			application.run();
+			fail("Did not throw");
+		}
+		catch (BeanCreationException ex) {
+			// Expected
+		}
+		assertThat(timeline.isRecording()).isFalse();
+		assertThat(timeline.getSteps()).filteredOn((step) -> step.getParent() == null)
+				.extracting(StartupStep::getName)
+				.containsExactly("spring.boot.application.run");
+		assertThat(timeline.getSteps())
+				.filteredOn((step) -> step.getName().startsWith("spring.boot."))
+				.extracting(StartupStep::getName)
+				.contains("spring.boot.context.refresh")
+				.doesNotContain("spring.boot.application.runners");
+		assertThat(timeline.getSteps())
+				.filteredOn((step) -> step.getName().startsWith("spring.boot."))
+				.allMatch(StartupStep::isEnded);
+	}
+
 	@Test
 	public void webApplicationSwitchedOffInListener() throws Exception {
 		TestSpringApplication application = new TestSpringApplication(
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.bind;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+import org.springframework.util.StopWatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Speed tests for binding {@code @ConfigurationProperties} style beans, 500 fields in
+ * total, against an environment with a large system environment and several profile
+ * specific property sources.
+ *
+ * @author agent
+ */
+public class BinderSpeedTests {
+
+	private static final int BEANS = 50;
+
+	private static final int PROFILES = 4;
+
+	private static final int ENVIRONMENT_VARIABLES = 300;
+
+	private static final int number = Boolean.getBoolean("performance.test") ? 100
+			: 2;
+
+	private static StopWatch watch = new StopWatch("binder");
+
+	private StandardEnvironment environment;
+
+	@AfterClass
+	public static void washup() {
+		System.err.println(watch.prettyPrint());
+	}
+
+	@Before
+	public void setup() {
+		this.environment = new StandardEnvironment();
+		MutablePropertySources sources = this.environment.getPropertySources();
+		Map<String, Object> variables = new LinkedHashMap<>();
+		for (int i = 0; i < ENVIRONMENT_VARIABLES; i++) {
+			variables.put("SOME_ENVIRONMENT_VARIABLE_" + i, "value" + i);
+		}
+		sources.addFirst(new SystemEnvironmentPropertySource("env", variables));
+		for (int profile = 0; profile < PROFILES; profile++) {
+			Map<String, Object> properties = new LinkedHashMap<>();
+			for (int bean = 0; bean < BEANS; bean++) {
+				// Each profile overrides a different subset of the fields
+				for (int field = profile; field < 10; field += PROFILES) {
+					properties.put("app.bean" + bean + ".field" + field,
+							"profile" + profile);
+				}
+			}
+			sources.addFirst(new MapPropertySource("profile" + profile, properties));
+		}
+		ConfigurationPropertySources.attach(this.environment);
+	}
+
+	@Test
+	public void bind() {
+		String taskName = "bind" + BEANS * 10 + "fields";
+		watch.start(taskName);
+		SampleProperties properties = null;
+		try {
+			for (int i = 0; i < number; i++) {
+				Binder binder = Binder.get(this.environment);
+				for (int bean = 0; bean < BEANS; bean++) {
+					properties = binder.bind("app.bean" + bean, SampleProperties.class)
+							.get();
+				}
+			}
+		}
+		finally {
+			watch.stop();
+		}
+		double rate = (double) number * BEANS / watch.getLastTaskTimeMillis() * 1000;
+		System.err.println(taskName + " rate=" + rate);
+		assertThat(properties.getField0()).isEqualTo("profile0");
+		assertThat(properties.getField9()).isEqualTo("profile1");
+	}
+
+	public static class SampleProperties {
+
+		private String field0;
+
+		private String field1;
+
+		private String field2;
+
+		private String field3;
+
+		private String field4;
+
+		private String field5;
+
+		private String field6;
+
+		private String field7;
+
+		private String field8;
+
+		private String field9;
+
+		public String getField0() {
+			return this.field0;
+		}
+
+		public void setField0(String field0) {
+			this.field0 = field0;
+		}
+
+		public String getField1() {
+			return this.field1;
+		}
+
+		public void setField1(String field1) {
+			this.field1 = field1;
+		}
+
+		public String getField2() {
+			return this.field2;
+		}
+
+		public void setField2(String field2) {
+			this.field2 = field2;
+		}
+
+		public String getField3() {
+			return this.field3;
+		}
+
+		public void setField3(String field3) {
+			this.field3 = field3;
+		}
+
+		public String getField4() {
+			return this.field4;
+		}
+
+		public void setField4(String field4) {
+			this.field4 = field4;
+		}
+
+		public String getField5() {
+			return this.field5;
+		}
+
+		public void setField5(String field5) {
+			this.field5 = field5;
+		}
+
+		public String getField6() {
+			return this.field6;
+		}
+
+		public void setField6(String field6) {
+			this.field6 = field6;
+		}
+
+		public String getField7() {
+			return this.field7;
+		}
+
+		public void setField7(String field7) {
+			this.field7 = field7;
+		}
+
+		public String getField8() {
+			return this.field8;
+		}
+
+		public void setField8(String field8) {
+			this.field8 = field8;
+		}
+
+		public String getField9() {
+			return this.field9;
+		}
+
+		public void setField9(String field9) {
+			this.field9 = field9;
+		}
+
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.source;
+
+import java.util.function.IntPredicate;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import org.springframework.util.StopWatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Speed tests for the most frequently used {@link ConfigurationPropertyName}
+ * operations.
+ *
+ * @author agent
+ */
+public class ConfigurationPropertyNameSpeedTests {
+
+	private static final int number = Boolean.getBoolean("performance.test") ? 10000000
+			: 100000;
+
+	private static final String[] names = { "spring.main.banner-mode",
+			"server.tomcat.accesslog.enabled", "spring.datasource.hikari.maximum-pool-size",
+			"logging.level[org.springframework.boot]", "server.hosts[0].name",
+			"management.endpoints.web.base-path", "app.some-bean.nested[key].value",
+			"spring.jpa.properties[hibernate.format_sql]" };
+
+	private static StopWatch watch = new StopWatch("configurationPropertyName");
+
+	@AfterClass
+	public static void washup() {
+		System.err.println(watch.prettyPrint());
+	}
+
+	@Test
+	public void of() {
+		iterate("of", (i) -> !ConfigurationPropertyName.of(name(i)).isEmpty());
+	}
+
+	@Test
+	public void ofCharSequence() {
+		StringBuilder[] builders = new StringBuilder[names.length];
+		for (int i = 0; i < names.length; i++) {
+			builders[i] = new StringBuilder(names[i]);
+		}
+		iterate("ofCharSequence", (i) -> !ConfigurationPropertyName
+				.of(builders[i % builders.length]).isEmpty());
+	}
+
+	@Test
+	public void append() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("spring.main");
+		iterate("append", (i) -> name.append("banner-mode").getNumberOfElements() == 3);
+	}
+
+	@Test
+	public void isParentOf() {
+		ConfigurationPropertyName parent = ConfigurationPropertyName
+				.of("spring.datasource.hikari");
+		ConfigurationPropertyName child = ConfigurationPropertyName
+				.of("spring.datasource.hikari.maximum-pool-size");
+		iterate("isParentOf", (i) -> parent.isParentOf(child));
+	}
+
+	@Test
+	public void equals() {
+		ConfigurationPropertyName[] first = new ConfigurationPropertyName[names.length];
+		ConfigurationPropertyName[] second = new ConfigurationPropertyName[names.length];
+		for (int i = 0; i < names.length; i++) {
+			first[i] = ConfigurationPropertyName.of(names[i]);
+			second[i] = ConfigurationPropertyName.of(new StringBuilder(names[i]));
+		}
+		iterate("equals", (i) -> first[i % names.length].equals(second[i % names.length])
+				&& !first[i % names.length].equals(second[(i + 1) % names.length]));
+	}
+
+	private String name(int i) {
+		return names[i % names.length];
+	}
+
+	private void iterate(String taskName, IntPredicate operation) {
+		boolean result = true;
+		watch.start(taskName);
+		try {
+			for (int i = 0; i < number; i++) {
+				result &= operation.test(i);
+			}
+		}
+		finally {
+			watch.stop();
+		}
+		assertThat(result).isTrue();
+		double rate = (double) number / watch.getLastTaskTimeMillis() * 1000;
+		System.err.println(taskName + " rate=" + rate);
+	}
+
+}
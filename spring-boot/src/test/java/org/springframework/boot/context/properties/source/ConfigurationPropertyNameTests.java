@@ -575,6 +575,32 @@ public class ConfigurationPropertyNameTests {
 		assertThat((Object) n10).isNotEqualTo(n09);
 	}
 
+	@Test
+	public void ofWhenStringShouldReturnSameInstance() throws Exception {
+		assertThat(ConfigurationPropertyName.of("foo.bar[baz]"))
+				.isSameAs(ConfigurationPropertyName.of("foo.bar[baz]"));
+	}
+
+	@Test
+	public void ofWhenCharSequenceShouldReturnEqualInstance() throws Exception {
+		ConfigurationPropertyName name = ConfigurationPropertyName
+				.of(new StringBuilder("foo.bar[baz]"));
+		assertThat(name).isEqualTo(ConfigurationPropertyName.of("foo.bar[baz]"));
+		assertThat(name.hashCode())
+				.isEqualTo(ConfigurationPropertyName.of("foo.bar[baz]").hashCode());
+		assertThat(name.getElement(2, Form.ORIGINAL)).isEqualTo("baz");
+	}
+
+	@Test
+	public void equalsWhenHashCodesKnownAndDifferentShouldReturnFalse()
+			throws Exception {
+		ConfigurationPropertyName n1 = ConfigurationPropertyName.of("foo.bar");
+		ConfigurationPropertyName n2 = ConfigurationPropertyName.of("foo.baz");
+		assertThat(n1.hashCode()).isNotEqualTo(n2.hashCode());
+		assertThat((Object) n1).isNotEqualTo(n2);
+		assertThat(n1.chop(1).isParentOf(n2)).isTrue();
+	}
+
 	@Test
 	public void isValidWhenValidShouldReturnTrue() throws Exception {
 		assertThat(ConfigurationPropertyName.isValid("")).isTrue();
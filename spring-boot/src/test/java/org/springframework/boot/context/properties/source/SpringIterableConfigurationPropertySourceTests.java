@@ -172,6 +172,49 @@ public class SpringIterableConfigurationPropertySourceTests {
 				.isEqualTo(ConfigurationPropertyState.ABSENT);
 	}
 
+	@Test
+	public void containsDescendantOfShouldCheckAllAncestors() throws Exception {
+		Map<String, Object> source = new LinkedHashMap<>();
+		source.put("foo.bar[0].baz-qux", "value");
+		EnumerablePropertySource<?> propertySource = new OriginCapablePropertySource<>(
+				new MapPropertySource("test", source));
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				propertySource, DefaultPropertyMapper.INSTANCE);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.EMPTY))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("foo.bar")))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(adapter.containsDescendantOf(
+				ConfigurationPropertyName.of("foo.bar[0]")))
+						.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(adapter.containsDescendantOf(
+				ConfigurationPropertyName.of("foo.bar[0].bazqux")))
+						.isEqualTo(ConfigurationPropertyState.ABSENT);
+		assertThat(adapter.containsDescendantOf(
+				ConfigurationPropertyName.of("foo.bar[1]")))
+						.isEqualTo(ConfigurationPropertyState.ABSENT);
+	}
+
+	@Test
+	public void getValueShouldReflectChangesToSourceNames() throws Exception {
+		Map<String, Object> source = new LinkedHashMap<>();
+		source.put("key1", "value1");
+		EnumerablePropertySource<?> propertySource = new OriginCapablePropertySource<>(
+				new MapPropertySource("test", source));
+		TestPropertyMapper mapper = new TestPropertyMapper();
+		mapper.addFromPropertySource("key1", "my.key1");
+		mapper.addFromPropertySource("key2", "my.key2");
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				propertySource, mapper);
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("my.key2");
+		assertThat(adapter.getConfigurationProperty(name)).isNull();
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("my")))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+		source.put("key2", "value2");
+		assertThat(adapter.getConfigurationProperty(name).getValue())
+				.isEqualTo("value2");
+	}
+
 	/**
 	 * Test {@link PropertySource} that's also a {@link OriginLookup}.
 	 */
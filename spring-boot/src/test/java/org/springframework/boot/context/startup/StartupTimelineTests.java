@@ -0,0 +1,285 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.startup;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link StartupTimeline}.
+ *
+ * @author agent
+ */
+public class StartupTimelineTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void createWhenCapacityIsZeroShouldThrowException() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Capacity must be greater than 0");
+		new StartupTimeline(0);
+	}
+
+	@Test
+	public void stepsStartedWithinAStepAreChildren() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		StartupStep parent = timeline.start("parent");
+		StartupStep first = timeline.start("first");
+		first.end();
+		StartupStep second = timeline.start("second").tag("key", 123);
+		second.end();
+		parent.end();
+		StartupStep sibling = timeline.start("sibling");
+		sibling.end();
+		assertThat(timeline.getSteps()).containsExactly(parent, first, second,
+				sibling);
+		assertThat(parent.getParent()).isNull();
+		assertThat(first.getParent()).isSameAs(parent);
+		assertThat(second.getParent()).isSameAs(parent);
+		assertThat(second.getTags()).containsEntry("key", "123");
+		assertThat(sibling.getParent()).isNull();
+		assertThat(parent.getDuration()).isGreaterThanOrEqualTo(
+				first.getDuration() + second.getDuration());
+		assertThat(second.getStartTime()).isGreaterThanOrEqualTo(first.getEndTime());
+	}
+
+	@Test
+	public void stepThatIsNotEndedIsAbandonedWhenItsParentEnds() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		StartupStep parent = timeline.start("parent");
+		StartupStep abandoned = timeline.start("abandoned");
+		parent.end();
+		StartupStep next = timeline.start("next");
+		assertThat(abandoned.isEnded()).isFalse();
+		assertThat(abandoned.getDuration()).isEqualTo(-1);
+		assertThat(next.getParent()).isNull();
+	}
+
+	@Test
+	public void stepsBeyondCapacityAreDropped() throws Exception {
+		StartupTimeline timeline = new StartupTimeline(2);
+		for (int i = 0; i < 5; i++) {
+			timeline.start("step" + i).end();
+		}
+		assertThat(timeline.getSteps()).extracting(StartupStep::getName)
+				.containsExactly("step0", "step1");
+		assertThat(timeline.getDroppedSteps()).isEqualTo(3);
+	}
+
+	@Test
+	public void stepsAreNotRecordedOnceFinished() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		timeline.start("before").end();
+		timeline.finish();
+		timeline.start("after").tag("key", "value").end();
+		assertThat(timeline.isRecording()).isFalse();
+		assertThat(timeline.getSteps()).extracting(StartupStep::getName)
+				.containsExactly("before");
+		assertThat(timeline.getDroppedSteps()).isEqualTo(0);
+	}
+
+	@Test
+	public void getWhenNotRegisteredShouldReturnTimelineThatDoesNotRecord()
+			throws Exception {
+		StartupTimeline timeline = StartupTimeline.get(new DefaultListableBeanFactory());
+		assertThat(timeline).isSameAs(StartupTimeline.none());
+		assertThat(timeline.isRecording()).isFalse();
+		timeline.start("step").end();
+		assertThat(timeline.getSteps()).isEmpty();
+	}
+
+	@Test
+	public void getShouldFindTimelineRegisteredWithParent() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		DefaultListableBeanFactory parent = new DefaultListableBeanFactory();
+		timeline.register(parent);
+		assertThat(StartupTimeline.get(new DefaultListableBeanFactory(parent)))
+				.isSameAs(timeline);
+	}
+
+	@Test
+	public void registerShouldRecordBeanInstantiationAndPostProcessing()
+			throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+			timeline.register(context.getBeanFactory());
+			context.register(ExampleConfig.class);
+			context.refresh();
+		}
+		List<StartupStep> instantiations = timeline.getSteps().stream()
+				.filter((step) -> step.getName().equals("spring.beans.instantiate"))
+				.collect(Collectors.toList());
+		assertThat(instantiations).extracting((step) -> step.getTags().get("beanName"))
+				.contains("startupTimelineTests.ExampleConfig", "outer", "inner");
+		StartupStep outer = getInstantiation(instantiations, "outer");
+		StartupStep inner = getInstantiation(instantiations, "inner");
+		assertThat(outer.isEnded()).isTrue();
+		assertThat(inner.getParent()).isSameAs(outer);
+		assertThat(timeline.getSteps()).filteredOn((step) -> step.getParent() == outer)
+				.extracting(StartupStep::getName).contains("spring.beans.post-process");
+		assertThat(timeline.getSteps()).allMatch(StartupStep::isEnded);
+	}
+
+	@Test
+	public void registerWhenBeanCreationFailsShouldAbandonItsStepOnRetry()
+			throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+			timeline.register(context.getBeanFactory());
+			context.register(FailingConfig.class);
+			context.refresh();
+			try {
+				context.getBean("failing");
+				fail("Did not throw");
+			}
+			catch (BeanCreationException ex) {
+				// Expected
+			}
+			context.getBean("failing");
+			context.getBean("other");
+		}
+		List<StartupStep> failing = getInstantiations(timeline.getSteps(), "failing");
+		assertThat(failing).hasSize(2);
+		assertThat(failing.get(0).isEnded()).isFalse();
+		assertThat(failing.get(1).isEnded()).isTrue();
+		assertThat(failing.get(1).getParent()).isNull();
+		assertThat(getInstantiation(timeline.getSteps(), "other").getParent()).isNull();
+	}
+
+	@Test
+	public void registerWhenFactoryBeanIsInstantiatedForTypeCheckShouldAbandonItsStep()
+			throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+			timeline.register(context.getBeanFactory());
+			context.registerBean("typeChecking", TypeCheckingBean.class);
+			context.registerBean("factory", ExampleFactoryBean.class);
+			context.registerBean("other", StringBuilder.class);
+			context.refresh();
+		}
+		List<StartupStep> steps = timeline.getSteps();
+		StartupStep typeChecking = getInstantiation(steps, "typeChecking");
+		List<StartupStep> factory = getInstantiations(steps, "factory");
+		assertThat(factory).hasSize(2);
+		assertThat(factory.get(0).getParent()).isSameAs(typeChecking);
+		assertThat(factory.get(0).isEnded()).isFalse();
+		assertThat(factory.get(1).isEnded()).isTrue();
+		assertThat(factory.get(1).getParent()).isNull();
+		assertThat(steps).filteredOn((step) -> step.getParent() == factory.get(0))
+				.isEmpty();
+		assertThat(steps).filteredOn((step) -> step.getParent() == typeChecking)
+				.extracting(StartupStep::getName).contains("spring.beans.post-process");
+		assertThat(typeChecking.isEnded()).isTrue();
+		assertThat(getInstantiation(steps, "other").getParent()).isNull();
+	}
+
+	private StartupStep getInstantiation(List<StartupStep> steps, String beanName) {
+		return getInstantiations(steps, beanName).get(0);
+	}
+
+	private List<StartupStep> getInstantiations(List<StartupStep> steps,
+			String beanName) {
+		return steps.stream()
+				.filter((step) -> step.getName().equals("spring.beans.instantiate"))
+				.filter((step) -> beanName.equals(step.getTags().get("beanName")))
+				.collect(Collectors.toList());
+	}
+
+	@Configuration
+	static class FailingConfig {
+
+		private final AtomicInteger attempts = new AtomicInteger();
+
+		@Bean
+		@Lazy
+		public String failing() {
+			if (this.attempts.getAndIncrement() == 0) {
+				throw new IllegalStateException("Failed");
+			}
+			return "failing";
+		}
+
+		@Bean
+		@Lazy
+		public StringBuilder other() {
+			return new StringBuilder();
+		}
+
+	}
+
+	@Configuration
+	static class ExampleConfig {
+
+		@Bean
+		@Lazy
+		public String inner() {
+			return "inner";
+		}
+
+		@Bean
+		public StringBuilder outer(String inner) {
+			return new StringBuilder(inner);
+		}
+
+	}
+
+	static class TypeCheckingBean implements BeanFactoryAware {
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+			((ListableBeanFactory) beanFactory).getBeanNamesForType(Runnable.class);
+		}
+
+	}
+
+	static class ExampleFactoryBean implements FactoryBean<Object> {
+
+		@Override
+		public Object getObject() {
+			return "example";
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return Object.class;
+		}
+
+	}
+
+}
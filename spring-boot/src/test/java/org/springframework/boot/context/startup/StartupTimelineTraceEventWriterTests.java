@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.startup;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.boot.json.JsonParser;
+import org.springframework.boot.json.JsonParserFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupTimelineTraceEventWriter}.
+ *
+ * @author agent
+ */
+public class StartupTimelineTraceEventWriterTests {
+
+	private final JsonParser parser = JsonParserFactory.getJsonParser();
+
+	@Test
+	public void writeEmptyTimeline() throws Exception {
+		Map<String, Object> json = write(new StartupTimeline());
+		assertThat(json).containsEntry("displayTimeUnit", "ns");
+		assertThat((List<?>) json.get("traceEvents")).isEmpty();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void writeSteps() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		StartupStep parent = timeline.start("parent");
+		timeline.start("child").tag("name", "a \"quoted\"\n\\value").end();
+		parent.end();
+		timeline.start("open");
+		Map<String, Object> json = write(timeline);
+		List<Map<String, Object>> events = (List<Map<String, Object>>) json
+				.get("traceEvents");
+		assertThat(events).hasSize(4);
+		assertThat(events.get(0)).containsEntry("name", "thread_name")
+				.containsEntry("ph", "M");
+		Map<String, Object> parentEvent = events.get(1);
+		Map<String, Object> childEvent = events.get(2);
+		Map<String, Object> openEvent = events.get(3);
+		assertThat(parentEvent).containsEntry("name", "parent").containsEntry("ph", "X")
+				.containsKeys("ts", "dur");
+		assertThat(childEvent).containsEntry("name", "child");
+		assertThat((Map<String, Object>) childEvent.get("args"))
+				.containsEntry("parentId", parent.getId())
+				.containsEntry("name", "a \"quoted\"\n\\value");
+		assertThat(openEvent).containsEntry("ph", "B").doesNotContainKey("dur");
+	}
+
+	@Test
+	public void timesAreWrittenInMicrosecondsWithNanosecondPrecision() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		StartupStep step = timeline.start("step");
+		step.end();
+		StringBuilder out = new StringBuilder();
+		new StartupTimelineTraceEventWriter().write(timeline, out);
+		String expected = (step.getStartTime() / 1000) + "."
+				+ String.format("%03d", step.getStartTime() % 1000);
+		assertThat(out.toString()).contains("\"ts\":" + expected + ",");
+	}
+
+	private Map<String, Object> write(StartupTimeline timeline) throws Exception {
+		StringBuilder out = new StringBuilder();
+		new StartupTimelineTraceEventWriter().write(timeline, out);
+		return this.parser.parseMap(out.toString());
+	}
+
+}
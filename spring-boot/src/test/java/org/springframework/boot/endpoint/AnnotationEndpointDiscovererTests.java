@@ -165,7 +165,7 @@ public class AnnotationEndpointDiscovererTests {
 					.isEqualTo(500);
 			assertThat(operations.get(ReflectionUtils.findMethod(TestEndpoint.class,
 					"getOne", String.class)).getInvoker())
-							.isNotInstanceOf(CachingOperationInvoker.class);
+							.isInstanceOf(CachingOperationInvoker.class);
 			assertThat(operations.get(ReflectionUtils.findMethod(TestEndpoint.class,
 					"update", String.class, String.class)).getInvoker())
 							.isNotInstanceOf(CachingOperationInvoker.class);
@@ -16,14 +16,23 @@
 
 package org.springframework.boot.endpoint;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -74,4 +83,140 @@ public class CachingOperationInvokerTests {
 		verify(target, times(2)).invoke(parameters);
 	}
 
+	@Test
+	public void targetInvokedWhenCacheIsCleared() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		Map<String, Object> parameters = new HashMap<>();
+		given(target.invoke(parameters)).willReturn(new Object());
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		invoker.invoke(parameters);
+		invoker.clear();
+		invoker.invoke(parameters);
+		verify(target, times(2)).invoke(parameters);
+	}
+
+	@Test
+	public void createInstanceWithMaxSizeSetToZero() {
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("MaxSize");
+		new CachingOperationInvoker(mock(OperationInvoker.class), 500L, 0);
+	}
+
+	@Test
+	public void cacheResponsePerArguments() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		Map<String, Object> foo = Collections.singletonMap("name", "foo");
+		Map<String, Object> bar = Collections.singletonMap("name", "bar");
+		given(target.invoke(foo)).willReturn("foo");
+		given(target.invoke(bar)).willReturn("bar");
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		assertThat(invoker.invoke(foo)).isEqualTo("foo");
+		assertThat(invoker.invoke(bar)).isEqualTo("bar");
+		assertThat(invoker.invoke(new HashMap<>(foo))).isEqualTo("foo");
+		assertThat(invoker.invoke(bar)).isEqualTo("bar");
+		verify(target, times(1)).invoke(foo);
+		verify(target, times(1)).invoke(bar);
+		assertThat(invoker.getHitCount()).isEqualTo(2);
+		assertThat(invoker.getMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void oldestResponseIsEvictedWhenMaxSizeIsExceeded() throws Exception {
+		OperationInvoker target = mock(OperationInvoker.class);
+		Map<String, Object> foo = Collections.singletonMap("name", "foo");
+		Map<String, Object> bar = Collections.singletonMap("name", "bar");
+		given(target.invoke(any())).willReturn(new Object());
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L, 1);
+		invoker.invoke(foo);
+		Thread.sleep(5);
+		invoker.invoke(bar);
+		invoker.invoke(bar);
+		invoker.invoke(foo);
+		verify(target, times(2)).invoke(foo);
+		verify(target, times(1)).invoke(bar);
+	}
+
+	@Test
+	public void failedInvocationIsNotCached() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		Map<String, Object> parameters = new HashMap<>();
+		given(target.invoke(parameters)).willThrow(new IllegalStateException("test"))
+				.willReturn("ok");
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		try {
+			invoker.invoke(parameters);
+			fail("Did not throw");
+		}
+		catch (IllegalStateException ex) {
+			assertThat(ex).hasMessage("test");
+		}
+		assertThat(invoker.invoke(parameters)).isEqualTo("ok");
+		verify(target, times(2)).invoke(parameters);
+	}
+
+	@Test
+	public void leastRecentlyUsedResponseIsEvictedWhenMaxSizeIsExceeded() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		Map<String, Object> foo = Collections.singletonMap("name", "foo");
+		Map<String, Object> bar = Collections.singletonMap("name", "bar");
+		Map<String, Object> baz = Collections.singletonMap("name", "baz");
+		given(target.invoke(any())).willReturn(new Object());
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L, 2);
+		invoker.invoke(foo);
+		invoker.invoke(bar);
+		invoker.invoke(foo);
+		invoker.invoke(baz);
+		invoker.invoke(foo);
+		invoker.invoke(bar);
+		verify(target, times(1)).invoke(foo);
+		verify(target, times(2)).invoke(bar);
+		verify(target, times(1)).invoke(baz);
+	}
+
+	@Test
+	public void concurrentInvocationsOfStaleResponseAreCoalesced() throws Exception {
+		CountDownLatch invoked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		OperationInvoker target = (arguments) -> {
+			if (invocations.incrementAndGet() > 1) {
+				invoked.countDown();
+				try {
+					release.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return "response" + invocations.get();
+		};
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 50L);
+		Map<String, Object> parameters = new HashMap<>();
+		assertThat(invoker.invoke(parameters)).isEqualTo("response1");
+		Thread.sleep(55);
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			Future<Object> first = executor.submit(() -> invoker.invoke(parameters));
+			assertThat(invoked.await(5, TimeUnit.SECONDS)).isTrue();
+			Future<Object> second = executor.submit(() -> invoker.invoke(parameters));
+			Future<Object> third = executor.submit(() -> invoker.invoke(parameters));
+			long deadline = System.currentTimeMillis() + 5000;
+			while (invoker.getHitCount() < 2 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertThat(invoker.getHitCount()).isEqualTo(2);
+			assertThat(second.isDone()).isFalse();
+			assertThat(third.isDone()).isFalse();
+			release.countDown();
+			assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("response2");
+			assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("response2");
+			assertThat(third.get(5, TimeUnit.SECONDS)).isEqualTo("response2");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(invocations.get()).isEqualTo(2);
+		assertThat(invoker.getMissCount()).isEqualTo(2);
+	}
+
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.endpoint;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link EndpointResponseCaches}.
+ *
+ * @author agent
+ */
+public class EndpointResponseCachesTests {
+
+	private final EndpointResponseCaches caches = new EndpointResponseCaches();
+
+	private final Map<String, Object> arguments = Collections.singletonMap("name",
+			"foo");
+
+	@Test
+	public void invalidatingInvokerClearsCachesOfSameEndpoint() {
+		OperationInvoker read = mockInvoker();
+		OperationInvoker cached = this.caches.cache("test", read, 60000);
+		OperationInvoker write = this.caches.invalidating("test", mockInvoker());
+		cached.invoke(this.arguments);
+		cached.invoke(this.arguments);
+		write.invoke(this.arguments);
+		cached.invoke(this.arguments);
+		verify(read, times(2)).invoke(this.arguments);
+	}
+
+	@Test
+	public void invalidatingInvokerDoesNotClearCachesOfOtherEndpoints() {
+		OperationInvoker read = mockInvoker();
+		OperationInvoker cached = this.caches.cache("test", read, 60000);
+		OperationInvoker write = this.caches.invalidating("other", mockInvoker());
+		cached.invoke(this.arguments);
+		write.invoke(this.arguments);
+		cached.invoke(this.arguments);
+		verify(read, times(1)).invoke(this.arguments);
+	}
+
+	@Test
+	public void invalidatingInvokerClearsCachesWhenTargetFails() {
+		OperationInvoker read = mockInvoker();
+		OperationInvoker cached = this.caches.cache("test", read, 60000);
+		OperationInvoker failing = mock(OperationInvoker.class);
+		given(failing.invoke(any())).willThrow(new IllegalStateException("test"));
+		OperationInvoker write = this.caches.invalidating("test", failing);
+		cached.invoke(this.arguments);
+		try {
+			write.invoke(this.arguments);
+			fail("Expected IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			assertThat(ex).hasMessage("test");
+		}
+		cached.invoke(this.arguments);
+		verify(read, times(2)).invoke(this.arguments);
+	}
+
+	@Test
+	public void clearUnknownEndpoint() {
+		this.caches.clear("unknown");
+	}
+
+	private OperationInvoker mockInvoker() {
+		OperationInvoker invoker = mock(OperationInvoker.class);
+		given(invoker.invoke(any())).willReturn(new Object());
+		return invoker;
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.boot.endpoint.jmx;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -34,6 +35,7 @@ import org.springframework.boot.endpoint.DeleteOperation;
 import org.springframework.boot.endpoint.Endpoint;
 import org.springframework.boot.endpoint.EndpointExposure;
 import org.springframework.boot.endpoint.EndpointInfo;
+import org.springframework.boot.endpoint.OperationInvoker;
 import org.springframework.boot.endpoint.ReadOperation;
 import org.springframework.boot.endpoint.ReflectiveOperationInvoker;
 import org.springframework.boot.endpoint.WriteOperation;
@@ -192,6 +194,25 @@ public class JmxAnnotationEndpointDiscovererTests {
 				});
 	}
 
+	@Test
+	public void cachedReadOperationsAreInvalidatedByWriteOperation() {
+		load(StatefulEndpoint.class, (id) -> new CachingConfiguration(60000),
+				(discoverer) -> {
+					Map<String, JmxEndpointOperation> operationByName = mapOperations(
+							discover(discoverer).get("stateful").getOperations());
+					OperationInvoker get = operationByName.get("get").getInvoker();
+					OperationInvoker set = operationByName.get("set").getInvoker();
+					assertThat(get.invoke(Collections.singletonMap("name", "a")))
+							.isNull();
+					Map<String, Object> arguments = new HashMap<>();
+					arguments.put("name", "a");
+					arguments.put("value", "one");
+					set.invoke(arguments);
+					assertThat(get.invoke(Collections.singletonMap("name", "a")))
+							.isEqualTo("one");
+				});
+	}
+
 	@Test
 	public void discoveryFailsWhenTwoExtensionsHaveTheSameEndpointType() {
 		load(ClashingJmxEndpointConfiguration.class, (discoverer) -> {
@@ -351,6 +372,23 @@ public class JmxAnnotationEndpointDiscovererTests {
 
 	}
 
+	@Endpoint(id = "stateful")
+	private static class StatefulEndpoint {
+
+		private final Map<String, String> values = new HashMap<>();
+
+		@ReadOperation
+		public String get(String name) {
+			return this.values.get(name);
+		}
+
+		@WriteOperation
+		public void set(String name, String value) {
+			this.values.put(name, value);
+		}
+
+	}
+
 	@Endpoint(id = "jmx", exposure = EndpointExposure.JMX)
 	private static class TestJmxEndpoint {
 
@@ -203,6 +203,26 @@ public class WebAnnotationEndpointDiscovererTests {
 				});
 	}
 
+	@Test
+	public void cachedReadOperationsAreInvalidatedByWriteOperation() {
+		load((id) -> new CachingConfiguration(60000),
+				StatefulEndpointConfiguration.class, (discoverer) -> {
+					Map<String, EndpointInfo<WebEndpointOperation>> endpoints = mapEndpoints(
+							discoverer.discoverEndpoints());
+					Map<WebEndpointHttpMethod, OperationInvoker> invokers =
+							new HashMap<>();
+					endpoints.get("stateful").getOperations()
+							.forEach((operation) -> invokers.put(
+									operation.getRequestPredicate().getHttpMethod(),
+									operation.getInvoker()));
+					OperationInvoker read = invokers.get(WebEndpointHttpMethod.GET);
+					assertThat(read.invoke(Collections.emptyMap())).isNull();
+					invokers.get(WebEndpointHttpMethod.POST)
+							.invoke(Collections.singletonMap("value", "one"));
+					assertThat(read.invoke(Collections.emptyMap())).isEqualTo("one");
+				});
+	}
+
 	@Test
 	public void operationsThatReturnResourceProduceApplicationOctetStream() {
 		load(ResourceEndpointConfiguration.class, (discoverer) -> {
@@ -330,6 +350,23 @@ public class WebAnnotationEndpointDiscovererTests {
 
 	}
 
+	@Endpoint(id = "stateful")
+	static class StatefulEndpoint {
+
+		private String value;
+
+		@ReadOperation
+		public String get() {
+			return this.value;
+		}
+
+		@WriteOperation
+		public void set(String value) {
+			this.value = value;
+		}
+
+	}
+
 	@Endpoint(id = "test")
 	static class ClashingOperationsEndpoint {
 
@@ -492,6 +529,16 @@ public class WebAnnotationEndpointDiscovererTests {
 
 	}
 
+	@Configuration
+	static class StatefulEndpointConfiguration {
+
+		@Bean
+		public StatefulEndpoint statefulEndpoint() {
+			return new StatefulEndpoint();
+		}
+
+	}
+
 	@Configuration
 	static class ClashingWebEndpointConfiguration {
 